@@ -0,0 +1,99 @@
+package io.github.alejo2075.enzonasdk.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.response.PaymentDetailsResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentsListResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundsListResponse;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming codecs of {@code ModelCodecs} with Jackson's bean introspection, which
+ * {@code codecs=false} falls back to through the {@code enzona.json.codecs} system property.
+ *
+ * <p>{@code firstCalls} runs once per fresh JVM and measures what the first call to each payment endpoint pays for
+ * JSON: reading a payment, a payments list and a refunds list and writing a payment creation. The other benchmarks
+ * measure the same work once warmed up.</p>
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecBenchmark {
+
+    @Param({"true", "false"})
+    public String codecs;
+
+    @Param({"100"})
+    public int size;
+
+    private byte[] paymentJson;
+    private byte[] paymentsJson;
+    private byte[] refundsJson;
+    private CreatePaymentRequest createPaymentRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        System.setProperty("enzona.json.codecs", codecs);
+        // Written by a separate mapper so that JsonUtil meets these types for the first time in the benchmark
+        ObjectMapper mapper = new ObjectMapper();
+        PaymentsListResponse payments = Payloads.paymentsList(size);
+        paymentJson = mapper.writeValueAsBytes(payments.getPayments().get(0));
+        paymentsJson = mapper.writeValueAsBytes(payments);
+        refundsJson = mapper.writeValueAsBytes(Payloads.refundsList(size));
+        createPaymentRequest = Payloads.createPaymentRequest(3);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public void firstCalls(Blackhole blackhole) {
+        blackhole.consume(JsonUtil.fromJson(paymentJson, PaymentDetailsResponse.class));
+        blackhole.consume(JsonUtil.fromJson(paymentsJson, PaymentsListResponse.class));
+        blackhole.consume(JsonUtil.fromJson(refundsJson, RefundsListResponse.class));
+        blackhole.consume(JsonUtil.toJsonBytes(createPaymentRequest));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public PaymentsListResponse readPayments() {
+        return JsonUtil.fromJson(paymentsJson, PaymentsListResponse.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public RefundsListResponse readRefunds() {
+        return JsonUtil.fromJson(refundsJson, RefundsListResponse.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public byte[] writeCreatePayment() {
+        return JsonUtil.toJsonBytes(createPaymentRequest);
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.alejo2075.enzonasdk.benchmarks;
+
+import io.github.alejo2075.enzonasdk.model.response.PaymentsListResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundsListResponse;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading list responses of realistic size, from a {@code String} as the SDK used to and from the raw bytes
+ * and stream it reads them from now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private byte[] paymentsJson;
+    private String paymentsString;
+    private byte[] refundsJson;
+    private String refundsString;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        paymentsJson = Payloads.json(Payloads.paymentsList(size));
+        paymentsString = new String(paymentsJson, StandardCharsets.UTF_8);
+        refundsJson = Payloads.json(Payloads.refundsList(size));
+        refundsString = new String(refundsJson, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public PaymentsListResponse paymentsFromString() {
+        return JsonUtil.fromJson(paymentsString, PaymentsListResponse.class);
+    }
+
+    @Benchmark
+    public PaymentsListResponse paymentsFromBytes() {
+        return JsonUtil.fromJson(paymentsJson, PaymentsListResponse.class);
+    }
+
+    @Benchmark
+    public PaymentsListResponse paymentsFromStream() {
+        return JsonUtil.fromJson(new ByteArrayInputStream(paymentsJson), PaymentsListResponse.class);
+    }
+
+    @Benchmark
+    public RefundsListResponse refundsFromString() {
+        return JsonUtil.fromJson(refundsString, RefundsListResponse.class);
+    }
+
+    @Benchmark
+    public RefundsListResponse refundsFromBytes() {
+        return JsonUtil.fromJson(refundsJson, RefundsListResponse.class);
+    }
+
+    @Benchmark
+    public RefundsListResponse refundsFromStream() {
+        return JsonUtil.fromJson(new ByteArrayInputStream(refundsJson), RefundsListResponse.class);
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.alejo2075.enzonasdk.benchmarks;
+
+import io.github.alejo2075.enzonasdk.client.AsyncPaymentApi;
+import io.github.alejo2075.enzonasdk.client.EnzonaClient;
+import io.github.alejo2075.enzonasdk.client.PaymentApi;
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.request.PaymentsListRequest;
+import io.github.alejo2075.enzonasdk.model.request.RefundsListRequest;
+import io.github.alejo2075.enzonasdk.model.response.CreatePaymentResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentDetailsResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentsListResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundsListResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete calls through {@link EnzonaClient} against a {@link StubServer} on the loopback interface: request
+ * building, serialization, the connection pool, rate limiter, retry and breaker bookkeeping, and response parsing.
+ * Sample-time mode reports latency percentiles (p50 to p99.99) next to throughput; the GC profiler adds the allocation
+ * rate per call. The access token is fetched once in setup, so calls hit the token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(4)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    @Param({"100"})
+    public int listSize;
+
+    private StubServer server;
+    private EnzonaClient client;
+    private PaymentApi paymentApi;
+    private AsyncPaymentApi asyncPaymentApi;
+    private CreatePaymentRequest createPaymentRequest;
+    private PaymentsListRequest paymentsListRequest;
+    private RefundsListRequest refundsListRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, EnzonaException {
+        server = new StubServer(Payloads.json(Payloads.paymentsList(listSize)), Payloads.json(Payloads.refundsList(listSize)));
+        client = EnzonaClient.builder("benchmark-key", "benchmark-secret")
+                .baseUrl(server.baseUrl())
+                .build();
+        paymentApi = new PaymentApi(client);
+        asyncPaymentApi = new AsyncPaymentApi(client);
+        client.getAuthClient().getAccessToken();
+
+        createPaymentRequest = Payloads.createPaymentRequest(3);
+        paymentsListRequest = new PaymentsListRequest();
+        paymentsListRequest.setMerchantUuid("4e5a4f4e-4100-0001-9e37-79b97f4a7c15");
+        paymentsListRequest.setLimit(String.valueOf(listSize));
+        paymentsListRequest.setOffset("0");
+        paymentsListRequest.setStartDateFilter("2024-01-01T00:00:00");
+        refundsListRequest = new RefundsListRequest();
+        refundsListRequest.setMerchantUuid("4e5a4f4e-4100-0001-9e37-79b97f4a7c15");
+        refundsListRequest.setLimit(String.valueOf(listSize));
+        refundsListRequest.setOffset("0");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public PaymentDetailsResponse getPaymentDetails() throws EnzonaException {
+        return paymentApi.getPaymentDetails("4e5a4f4e-4100-03e8-0000-000000000000");
+    }
+
+    @Benchmark
+    public PaymentDetailsResponse getPaymentDetailsAsync() throws InterruptedException, ExecutionException {
+        return asyncPaymentApi.getPaymentDetails("4e5a4f4e-4100-03e8-0000-000000000000").get();
+    }
+
+    @Benchmark
+    public CreatePaymentResponse createPayment() throws EnzonaException {
+        return paymentApi.createPayment(createPaymentRequest);
+    }
+
+    @Benchmark
+    public PaymentsListResponse getPaymentsList() throws EnzonaException {
+        return paymentApi.getPaymentsList(paymentsListRequest);
+    }
+
+    @Benchmark
+    public RefundsListResponse getRefundsList() throws EnzonaException {
+        return paymentApi.getRefundsList(refundsListRequest);
+    }
+}
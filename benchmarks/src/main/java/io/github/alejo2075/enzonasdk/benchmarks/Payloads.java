@@ -0,0 +1,201 @@
+package io.github.alejo2075.enzonasdk.benchmarks;
+
+import io.github.alejo2075.enzonasdk.model.Amount;
+import io.github.alejo2075.enzonasdk.model.Item;
+import io.github.alejo2075.enzonasdk.model.Link;
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.request.PayProductRequest;
+import io.github.alejo2075.enzonasdk.model.response.PaymentsListResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundsListResponse;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the requests and response bodies the benchmarks work on. Values are deterministic and shaped like those of
+ * a shop checkout: a handful of line items, realistic UUIDs, timestamps and descriptions.
+ */
+final class Payloads {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private Payloads() {
+    }
+
+    static CreatePaymentRequest createPaymentRequest(int itemCount) {
+        Amount.Details details = Amount.Details.builder()
+                .shipping(5.0)
+                .tax(1.25)
+                .build();
+        List<Item> items = new ArrayList<>(itemCount);
+        double total = details.getShipping() + details.getTax();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = Item.builder()
+                    .quantity(1 + i % 3)
+                    .price(9.99 + i)
+                    .name("Product " + i)
+                    .description("Reference item number " + i + " of the benchmark cart")
+                    .tax(0.25)
+                    .build();
+            items.add(item);
+            total += item.getQuantity() * item.getPrice();
+        }
+        Amount amount = Amount.builder()
+                .total(total)
+                .details(details)
+                .build();
+
+        CreatePaymentRequest request = new CreatePaymentRequest();
+        request.setMerchantUuid(uuid(1));
+        request.setMerchantOpId(1_000_001L);
+        request.setAmount(amount);
+        request.setDescription("Order #1000001 for benchmark customer");
+        request.setReturnUrl("https://shop.example.com/checkout/return?order=1000001");
+        request.setCancelUrl("https://shop.example.com/checkout/cancel?order=1000001");
+        request.setCurrency("CUP");
+        request.setItems(items);
+        request.setInvoiceNumber(20240001L);
+        request.setTerminalId(12);
+        return request;
+    }
+
+    static PayProductRequest payProductRequest(int itemCount) {
+        PayProductRequest.Amount amount = new PayProductRequest.Amount();
+        amount.setShipping(5.0);
+        List<PayProductRequest.Item> items = new ArrayList<>(itemCount);
+        double total = amount.getShipping();
+        for (int i = 0; i < itemCount; i++) {
+            PayProductRequest.Item item = new PayProductRequest.Item();
+            item.setQuantity(1 + i % 3);
+            item.setPrice(9.99 + i);
+            item.setProductId("SKU-" + (10_000 + i));
+            item.setProductName("Product " + i);
+            items.add(item);
+            total += item.getQuantity() * item.getPrice();
+        }
+        amount.setTotal(total);
+
+        PayProductRequest request = new PayProductRequest();
+        request.setCartId(uuid(2));
+        request.setAmount(amount);
+        request.setFundingSourceUuid(uuid(3));
+        request.setPaymentPassword("0000");
+        request.setFingerprint("2f1c6c1d0b6e4f0b9c3d1a7e5f8a9b0c");
+        request.setDescription("Cart checkout for benchmark customer");
+        request.setCurrency("CUP");
+        request.setMerchantUuid(uuid(1));
+        request.setIdShop("shop-42");
+        request.setItems(items);
+        return request;
+    }
+
+    static PaymentsListResponse paymentsList(int size) {
+        List<PaymentsListResponse.Payment> payments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Amount amount = Amount.builder()
+                    .total(25.97 + i)
+                    .details(Amount.Details.builder().shipping(5.0).tax(1.25).build())
+                    .build();
+
+            List<Link> links = new ArrayList<>(2);
+            for (String rel : new String[]{"confirm", "cancel"}) {
+                links.add(Link.builder()
+                        .method("REDIRECT")
+                        .rel(rel)
+                        .href("https://www.enzona.net/checkout/login/" + uuid(1000 + i))
+                        .build());
+            }
+            List<Item> items = new ArrayList<>(3);
+            for (int j = 0; j < 3; j++) {
+                items.add(Item.builder()
+                        .quantity(1 + j)
+                        .price(4.99 + j)
+                        .name("Product " + j)
+                        .description("Reference item number " + j)
+                        .tax(0.25)
+                        .build());
+            }
+
+            PaymentsListResponse.Payment payment = new PaymentsListResponse.Payment();
+            payment.setAmount(amount);
+            payment.setStatusCode(i % 5 == 0 ? "1113" : "1111");
+            payment.setStatusDenom(i % 5 == 0 ? "Pendiente" : "Confirmado");
+            payment.setCreatedAt(EPOCH.plusMinutes(i).toString());
+            payment.setUpdateAt(EPOCH.plusMinutes(i + 1).toString());
+            payment.setDescription("Order #" + (1_000_000 + i));
+            payment.setTransactionUuid(uuid(1000 + i));
+            payment.setMerchantOpId(1_000_000L + i);
+            payment.setCurrency("CUP");
+            payment.setLinks(links);
+            payment.setInvoiceNumberAsLong(20_240_000 + i);
+            payment.setItems(items);
+            payment.setTerminalIdAsLong(12);
+            payments.add(payment);
+        }
+        PaymentsListResponse response = new PaymentsListResponse();
+        response.setPayments(payments);
+        return response;
+    }
+
+    static RefundsListResponse refundsList(int size) {
+        List<RefundsListResponse.Refund> refunds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Amount.Details details = Amount.Details.builder()
+                    .shipping(5.0)
+                    .tax(1.25)
+                    .refunded(10.0)
+                    .totalRefunded(10.0)
+                    .build();
+            Amount amount = Amount.builder()
+                    .total(10.0)
+                    .details(details)
+                    .build();
+
+            List<Item> items = new ArrayList<>(2);
+            for (int j = 0; j < 2; j++) {
+                items.add(Item.builder()
+                        .quantity(1)
+                        .price(5.0)
+                        .name("Product " + j)
+                        .description("Reference item number " + j)
+                        .tax(0.25)
+                        .build());
+            }
+
+            RefundsListResponse.Refund refund = new RefundsListResponse.Refund();
+            refund.setTransactionCode(1000 + i);
+            refund.setAmount(amount);
+            refund.setStatusCode("1111");
+            refund.setStatusDenom("Confirmado");
+            refund.setTransactionSignature("c2lnbmF0dXJlLW9mLXJlZnVuZC0" + i);
+            refund.setTransactionDenom("Devolucion");
+            refund.setTransactionUuid(uuid(5000 + i));
+            refund.setAvatar("https://www.enzona.net/media/avatars/" + uuid(9000 + i % 50) + ".png");
+            refund.setTransactionDescription("Refund of order #" + (1_000_000 + i));
+            refund.setTransactionCreatedAt(EPOCH.plusMinutes(i).toString());
+            refund.setTransactionUpdatedAt(EPOCH.plusMinutes(i + 2).toString());
+            refund.setName("Customer");
+            refund.setLastname("Number " + i % 50);
+            refund.setUsername("customer" + i % 50);
+            refund.setCurrency("CUP");
+            refund.setInvoiceNumberAsLong(20_240_000 + i);
+            refund.setItems(items);
+            refund.setTerminalIdAsLong(12);
+            refunds.add(refund);
+        }
+        RefundsListResponse response = new RefundsListResponse();
+        response.setRefunds(refunds);
+        return response;
+    }
+
+    static byte[] json(Object value) {
+        return JsonUtil.toJsonBytes(value);
+    }
+
+    private static String uuid(long seed) {
+        return new UUID(0x4e5a4f4e41L << 24 | seed, seed * 0x9E3779B97F4A7C15L).toString();
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.alejo2075.enzonasdk.benchmarks;
+
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.request.PayProductRequest;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how request bodies are written: {@link JsonUtil#toJson(Object)} against {@link JsonUtil#toJsonBytes(Object)},
+ * which is what the clients send, each with compact and pretty-printed output. Run with the GC profiler to compare the
+ * bytes allocated per request body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"3", "25"})
+    public int items;
+
+    @Param({"false", "true"})
+    public boolean prettyPrint;
+
+    private CreatePaymentRequest createPaymentRequest;
+    private PayProductRequest payProductRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        createPaymentRequest = Payloads.createPaymentRequest(items);
+        payProductRequest = Payloads.payProductRequest(items);
+        JsonUtil.setPrettyPrint(prettyPrint);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JsonUtil.setPrettyPrint(false);
+    }
+
+    @Benchmark
+    public String createPaymentToString() {
+        return JsonUtil.toJson(createPaymentRequest);
+    }
+
+    @Benchmark
+    public byte[] createPaymentToBytes() {
+        return JsonUtil.toJsonBytes(createPaymentRequest);
+    }
+
+    @Benchmark
+    public String payProductToString() {
+        return JsonUtil.toJson(payProductRequest);
+    }
+
+    @Benchmark
+    public byte[] payProductToBytes() {
+        return JsonUtil.toJsonBytes(payProductRequest);
+    }
+}
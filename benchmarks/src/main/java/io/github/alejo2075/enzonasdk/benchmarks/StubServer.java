@@ -0,0 +1,127 @@
+package io.github.alejo2075.enzonasdk.benchmarks;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-process stand-in for the Enzona API, answering on the loopback interface with canned bodies so that end-to-end
+ * benchmarks measure the client rather than the network or the server. It always speaks HTTP/1.1 and, when asked to,
+ * cleartext HTTP/2 as well, both through prior knowledge and through an {@code Upgrade: h2c} request.
+ *
+ * <ul>
+ *     <li>{@code POST /token} returns an access token valid for an hour;</li>
+ *     <li>{@code GET /payments?...} returns the payments list given at construction;</li>
+ *     <li>{@code GET /payments/refunds?...} returns the refunds list given at construction;</li>
+ *     <li>{@code POST /payments} and {@code GET /payments/{uuid}} return a single payment.</li>
+ * </ul>
+ */
+final class StubServer implements AutoCloseable {
+
+    private static final byte[] TOKEN = ("{\"access_token\":\"benchmark-token\",\"token_type\":\"Bearer\","
+            + "\"expires_in\":3600,\"scope\":\"enzona_business_payment\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final Server server;
+    private final ServerConnector connector;
+    private final byte[] payment;
+    private final byte[] paymentsList;
+    private final byte[] refundsList;
+
+    StubServer(byte[] paymentsList, byte[] refundsList) throws IOException {
+        this(paymentsList, refundsList, false);
+    }
+
+    StubServer(byte[] paymentsList, byte[] refundsList, boolean http2) throws IOException {
+        this.paymentsList = paymentsList;
+        this.refundsList = refundsList;
+        this.payment = ("{\"transactionUuid\":\"4e5a4f4e-4100-03e8-0000-000000000000\",\"statusCode\":\"1116\","
+                + "\"statusDenom\":\"Pendiente\",\"currency\":\"CUP\",\"description\":\"Order #1000001\","
+                + "\"amount\":{\"total\":25.97,\"details\":{\"shipping\":5.0,\"tax\":1.25,\"discount\":0.0,\"tip\":0.0}},"
+                + "\"links\":[{\"method\":\"REDIRECT\",\"rel\":\"confirm\","
+                + "\"href\":\"https://www.enzona.net/checkout/login/4e5a4f4e-4100-03e8-0000-000000000000\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        QueuedThreadPool threads = new QueuedThreadPool(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()));
+        threads.setName("stub-server");
+        threads.setDaemon(true);
+        this.server = new Server(threads);
+        HttpConfiguration configuration = new HttpConfiguration();
+        configuration.setSendServerVersion(false);
+        ConnectionFactory[] factories = http2
+                ? new ConnectionFactory[]{new HttpConnectionFactory(configuration), new HTTP2CServerConnectionFactory(configuration)}
+                : new ConnectionFactory[]{new HttpConnectionFactory(configuration)};
+        this.connector = new ServerConnector(server, factories);
+        connector.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        connector.setPort(0);
+        connector.setAcceptQueueSize(1024);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                respond(request, response, route(request.getMethod(), request.getRequestURI()));
+            }
+        });
+        try {
+            server.start();
+        } catch (Exception e) {
+            throw new IOException("Cannot start the stub server", e);
+        }
+    }
+
+    /**
+     * Returns the base URL to configure the SDK with, ending in a slash.
+     *
+     * @return the URL of the stub.
+     */
+    String baseUrl() {
+        return "http://" + connector.getHost() + ":" + connector.getLocalPort() + "/";
+    }
+
+    private byte[] route(String method, String path) {
+        if (path.startsWith("/token")) {
+            return TOKEN;
+        } else if (path.startsWith("/payments/refunds")) {
+            return refundsList;
+        } else if ("GET".equals(method) && path.equals("/payments")) {
+            return paymentsList;
+        }
+        return payment;
+    }
+
+    private static void respond(HttpServletRequest request, HttpServletResponse response, byte[] body) throws IOException {
+        try (InputStream in = request.getInputStream()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        response.setStatus(200);
+        response.setContentType("application/json");
+        response.setContentLength(body.length);
+        try (OutputStream out = response.getOutputStream()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.stop();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot stop the stub server", e);
+        }
+    }
+}
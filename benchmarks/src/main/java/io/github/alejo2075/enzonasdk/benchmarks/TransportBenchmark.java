@@ -0,0 +1,111 @@
+package io.github.alejo2075.enzonasdk.benchmarks;
+
+import io.github.alejo2075.enzonasdk.client.EnzonaClient;
+import io.github.alejo2075.enzonasdk.client.PaymentApi;
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.request.PaymentsListRequest;
+import io.github.alejo2075.enzonasdk.model.request.RefundsListRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the pooled HTTP/1.1 transport with the HTTP/2 transport of {@link EnzonaClient.Builder#http2(boolean)} under
+ * many concurrent blocking calls against a {@link StubServer} on the loopback interface. Each call is drawn from a
+ * fixed mix of 60% payment details, 20% payments lists, 10% refunds lists and 10% payment creations.
+ *
+ * <p>{@code serverHttp2=false} runs the HTTP/2 transport against a server that only speaks HTTP/1.1, measuring its
+ * fallback. Example: {@code java -jar target/benchmarks.jar TransportBenchmark -t 64}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(64)
+@Fork(1)
+public class TransportBenchmark {
+
+    private static final String PAYMENT_UUID = "4e5a4f4e-4100-03e8-0000-000000000000";
+    private static final String MERCHANT_UUID = "4e5a4f4e-4100-0001-9e37-79b97f4a7c15";
+
+    @Param({"false", "true"})
+    public boolean http2;
+
+    @Param({"true", "false"})
+    public boolean serverHttp2;
+
+    @Param({"20"})
+    public int listSize;
+
+    private StubServer server;
+    private EnzonaClient client;
+    private PaymentApi paymentApi;
+    private CreatePaymentRequest createPaymentRequest;
+    private PaymentsListRequest paymentsListRequest;
+    private RefundsListRequest refundsListRequest;
+
+    /**
+     * Position of a benchmark thread in the traffic mix.
+     */
+    @State(Scope.Thread)
+    public static class Mix {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, EnzonaException {
+        server = new StubServer(Payloads.json(Payloads.paymentsList(listSize)), Payloads.json(Payloads.refundsList(listSize)),
+                serverHttp2);
+        client = EnzonaClient.builder("benchmark-key", "benchmark-secret")
+                .baseUrl(server.baseUrl())
+                .http2(http2)
+                .build();
+        paymentApi = new PaymentApi(client);
+        client.getAuthClient().getAccessToken();
+
+        createPaymentRequest = Payloads.createPaymentRequest(3);
+        paymentsListRequest = new PaymentsListRequest();
+        paymentsListRequest.setMerchantUuid(MERCHANT_UUID);
+        paymentsListRequest.setLimit(String.valueOf(listSize));
+        paymentsListRequest.setOffset("0");
+        refundsListRequest = new RefundsListRequest();
+        refundsListRequest.setMerchantUuid(MERCHANT_UUID);
+        refundsListRequest.setLimit(String.valueOf(listSize));
+        refundsListRequest.setOffset("0");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Object trafficMix(Mix mix) throws EnzonaException {
+        int slot = mix.next++ % 10;
+        if (slot < 6) {
+            return paymentApi.getPaymentDetails(PAYMENT_UUID);
+        } else if (slot < 8) {
+            return paymentApi.getPaymentsList(paymentsListRequest);
+        } else if (slot < 9) {
+            return paymentApi.getRefundsList(refundsListRequest);
+        }
+        return paymentApi.createPayment(createPaymentRequest);
+    }
+}
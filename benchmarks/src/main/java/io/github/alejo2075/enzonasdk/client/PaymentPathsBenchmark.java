@@ -0,0 +1,83 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.model.request.ListRefundsRequest;
+import io.github.alejo2075.enzonasdk.model.request.PaymentsListRequest;
+import io.github.alejo2075.enzonasdk.model.request.RefundsListRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the query strings of the list endpoints with every filter set, dates included so that
+ * URL encoding has work to do. Lives in the SDK's client package to reach the package-private {@link PaymentPaths}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentPathsBenchmark {
+
+    private RefundsListRequest refundsListRequest;
+    private PaymentsListRequest paymentsListRequest;
+    private ListRefundsRequest listRefundsRequest;
+
+    @Setup
+    public void setUp() {
+        refundsListRequest = new RefundsListRequest();
+        refundsListRequest.setMerchantUuid("4e5a4f4e-4100-0001-9e37-79b97f4a7c15");
+        refundsListRequest.setTransactionUuid("4e5a4f4e-4100-0002-3c6e-f372fe94f82a");
+        refundsListRequest.setCommerceRefundId("refund/2024 #17");
+        refundsListRequest.setLimit("100");
+        refundsListRequest.setOffset("2500");
+        refundsListRequest.setStatusFilter("1111");
+        refundsListRequest.setStartDateFilter("2024-01-01T00:00:00");
+        refundsListRequest.setEndDateFilter("2024-12-31T23:59:59");
+        refundsListRequest.setOrderFilter("desc");
+
+        paymentsListRequest = new PaymentsListRequest();
+        paymentsListRequest.setMerchantUuid("4e5a4f4e-4100-0001-9e37-79b97f4a7c15");
+        paymentsListRequest.setLimit("100");
+        paymentsListRequest.setOffset("2500");
+        paymentsListRequest.setMerchantOpFilter("1000001");
+        paymentsListRequest.setEnzonaOpFilter("20240001");
+        paymentsListRequest.setStatusFilter("1111");
+        paymentsListRequest.setStartDateFilter("2024-01-01T00:00:00");
+        paymentsListRequest.setEndDateFilter("2024-12-31T23:59:59");
+        paymentsListRequest.setOrderFilter("desc");
+
+        listRefundsRequest = new ListRefundsRequest();
+        listRefundsRequest.setTransactionUuid("4e5a4f4e-4100-0002-3c6e-f372fe94f82a");
+        listRefundsRequest.setLimit("100");
+        listRefundsRequest.setOffset("2500");
+        listRefundsRequest.setStatusFilter("1111");
+        listRefundsRequest.setStartDateFilter("2024-01-01T00:00:00");
+        listRefundsRequest.setEndDateFilter("2024-12-31T23:59:59");
+        listRefundsRequest.setOrderFilter("desc");
+    }
+
+    @Benchmark
+    public String refundsList() {
+        return PaymentPaths.refundsList(refundsListRequest);
+    }
+
+    @Benchmark
+    public String paymentsList() {
+        return PaymentPaths.paymentsList(paymentsListRequest);
+    }
+
+    @Benchmark
+    public String listRefunds() {
+        return PaymentPaths.listRefunds(listRefundsRequest);
+    }
+}
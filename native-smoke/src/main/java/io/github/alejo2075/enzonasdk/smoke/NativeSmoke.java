@@ -0,0 +1,116 @@
+package io.github.alejo2075.enzonasdk.smoke;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.alejo2075.enzonasdk.client.EnzonaClient;
+import io.github.alejo2075.enzonasdk.client.PaymentApi;
+import io.github.alejo2075.enzonasdk.model.Amount;
+import io.github.alejo2075.enzonasdk.model.Item;
+import io.github.alejo2075.enzonasdk.model.Money;
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.response.CreatePaymentResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Creates a payment through {@link PaymentApi} against an in-process stand-in for the Enzona API and exits with a
+ * non-zero status if the token request, the payment request or the parsed response is not as expected.
+ *
+ * <p>Built as a native image by the {@code native} profile, it checks that the reachability metadata shipped with the
+ * SDK covers the JSON models, the HTTP client and its resources, and reports how long the process took from start to
+ * its first payment.</p>
+ */
+public final class NativeSmoke {
+
+    private static final String TRANSACTION_UUID = "4e5a4f4e-4100-03e8-0000-000000000000";
+
+    private static final byte[] TOKEN = ("{\"access_token\":\"smoke-token\",\"token_type\":\"Bearer\","
+            + "\"expires_in\":3600,\"scope\":\"enzona_business_payment\"}").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] PAYMENT = ("{\"transactionUuid\":\"" + TRANSACTION_UUID + "\",\"statusCode\":\"1116\","
+            + "\"statusDenom\":\"Pendiente\",\"currency\":\"CUP\",\"description\":\"Order #1000001\","
+            + "\"amount\":{\"total\":25.97,\"details\":{\"shipping\":5.0,\"tax\":1.25,\"discount\":0.0,\"tip\":0.0}},"
+            + "\"links\":[{\"method\":\"REDIRECT\",\"rel\":\"confirm\","
+            + "\"href\":\"https://www.enzona.net/checkout/login/" + TRANSACTION_UUID + "\"}]}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private NativeSmoke() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        AtomicReference<String> paymentBody = new AtomicReference<>("");
+        server.createContext("/token", exchange -> respond(exchange, TOKEN, null));
+        server.createContext("/payments", exchange -> respond(exchange, PAYMENT, paymentBody));
+        server.start();
+        String baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+
+        try (EnzonaClient client = EnzonaClient.builder("smoke-key", "smoke-secret").baseUrl(baseUrl).build()) {
+            long start = System.nanoTime();
+            CreatePaymentResponse response = new PaymentApi(client).createPayment(request());
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            check(paymentBody.get().contains("\"total\":25.97"), "request body: " + paymentBody.get());
+            check(TRANSACTION_UUID.equals(response.getTransactionUuid()), "transaction UUID: " + response.getTransactionUuid());
+            check(Money.of("25.97").equals(response.getAmount().getTotalMoney()), "total: " + response.getAmount());
+            check(response.getLinks().size() == 1 && "confirm".equals(response.getLinks().get(0).getRel()),
+                    "links: " + response.getLinks());
+
+            String sinceStart = ProcessHandle.current().info().startInstant()
+                    .map(started -> Duration.between(started, Instant.now()).toMillis() + " ms after process start")
+                    .orElse("process start time unknown");
+            System.out.println("createPayment " + response.getStatusDenom() + " in " + elapsedMillis + " ms, "
+                    + sinceStart);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static CreatePaymentRequest request() {
+        CreatePaymentRequest request = new CreatePaymentRequest();
+        request.setAmount(Amount.builder()
+                .total(Money.of("25.97"))
+                .details(Amount.Details.builder().shipping(5.0).tax(1.25).build())
+                .build());
+        request.setItems(List.of(Item.builder()
+                .quantity(2)
+                .price(Money.of("9.86"))
+                .name("Product 1")
+                .tax(0.25)
+                .build()));
+        request.setDescription("Order #1000001");
+        request.setCurrency("CUP");
+        request.setReturnUrl("https://shop.example.com/checkout/return?order=1000001");
+        request.setCancelUrl("https://shop.example.com/checkout/cancel?order=1000001");
+        return request;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body, AtomicReference<String> received) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String request = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (received != null) {
+                received.set(request);
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("Unexpected " + what);
+        }
+    }
+}
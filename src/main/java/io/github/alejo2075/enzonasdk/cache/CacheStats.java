@@ -0,0 +1,62 @@
+package io.github.alejo2075.enzonasdk.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the counters of a {@link DetailsCache}. Counters only grow over the life of the cache.
+ */
+@Getter
+@ToString
+public final class CacheStats {
+
+    /**
+     * The number of lookups answered from the cache.
+     */
+    private final long hitCount;
+
+    /**
+     * The number of lookups that had to call the API, including those finding an expired entry.
+     */
+    private final long missCount;
+
+    /**
+     * The number of entries removed to stay within the maximum size.
+     */
+    private final long evictionCount;
+
+    /**
+     * The number of entries found expired and removed.
+     */
+    private final long expirationCount;
+
+    /**
+     * The number of entries removed because a call changed the transaction they describe.
+     */
+    private final long invalidationCount;
+
+    /**
+     * The number of entries currently held, including expired ones not looked up since.
+     */
+    private final long size;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount, long invalidationCount,
+               long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.invalidationCount = invalidationCount;
+        this.size = size;
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit ratio between 0 and 1, or 1 if there were no lookups
+     */
+    public double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+    }
+}
@@ -0,0 +1,410 @@
+package io.github.alejo2075.enzonasdk.cache;
+
+import io.github.alejo2075.enzonasdk.model.response.PaymentDetailsResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundDetailsResponse;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory read-through cache for payment and refund details, shared by every API of an
+ * {@link io.github.alejo2075.enzonasdk.client.EnzonaClient} through
+ * {@link io.github.alejo2075.enzonasdk.client.EnzonaClient.Builder#detailsCache(DetailsCache)}.
+ *
+ * <p>How long a response is kept depends on its {@code statusCode}. Transactions in a final state never change again,
+ * so they are kept for {@link Builder#terminalTtl(Duration)}; all others for {@link Builder#pendingTtl(Duration)},
+ * which defaults to zero so that they are not cached at all. Calls that change a transaction, such as completing,
+ * cancelling, confirming or refunding it, remove its entries. The cache holds at most
+ * {@link Builder#maximumSize(int)} entries and evicts the least recently used one first.</p>
+ *
+ * <p>A read that started before such a call may finish after it. To keep its outdated response out of the cache, the
+ * reader takes the {@link #generation(String)} of the transaction before sending the request and hands it to
+ * {@link #putPayment(String, long, PaymentDetailsResponse)} or {@link #putRefund(String, long, RefundDetailsResponse)},
+ * which drop the response if the transaction was invalidated in between.</p>
+ *
+ * <p>Cached responses are shared between callers and must be treated as read-only.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * DetailsCache cache = DetailsCache.builder()
+ *         .maximumSize(50_000)
+ *         .terminalTtl(Duration.ofHours(6))
+ *         .pendingTtl(Duration.ofSeconds(2))
+ *         .build();
+ * EnzonaClient client = EnzonaClient.builder("consumerKey", "consumerSecret")
+ *         .detailsCache(cache)
+ *         .build();
+ * </pre>
+ */
+public final class DetailsCache {
+
+    /**
+     * Status codes treated as final when no others are configured.
+     */
+    public static final Set<String> DEFAULT_TERMINAL_STATUS_CODES =
+            Set.copyOf(Arrays.asList("1111", "1113", "1114", "1115"));
+
+    private final int maximumSize;
+    private final long terminalTtlNanos;
+    private final long pendingTtlNanos;
+    private final Set<String> terminalStatusCodes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries;
+    private final LinkedHashMap<String, Long> generations;
+    private long lastGeneration;
+    private long forgottenGeneration;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+    private long invalidationCount;
+
+    private DetailsCache(Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.terminalTtlNanos = builder.terminalTtl.toNanos();
+        this.pendingTtlNanos = builder.pendingTtl.toNanos();
+        this.terminalStatusCodes = builder.terminalStatusCodes;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        // Generations of invalidated transactions, forgotten oldest first: a forgotten transaction reports the newest
+        // generation forgotten so far, which is at least as new as its own
+        this.generations = new LinkedHashMap<String, Long>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > maximumSize) {
+                    forgottenGeneration = Math.max(forgottenGeneration, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Starts building a cache with the default settings: 10,000 entries, final transactions kept for one hour and
+     * others not cached.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the cached details of a payment.
+     *
+     * @param transactionUuid the UUID of the payment.
+     * @return the cached details, or null if they are not cached or have expired.
+     */
+    public PaymentDetailsResponse getPayment(String transactionUuid) {
+        return (PaymentDetailsResponse) get(new Key(false, transactionUuid));
+    }
+
+    /**
+     * Caches the details of a payment for the time matching its status.
+     *
+     * @param transactionUuid the UUID of the payment.
+     * @param details the details returned by the API.
+     */
+    public void putPayment(String transactionUuid, PaymentDetailsResponse details) {
+        put(new Key(false, transactionUuid), details, details.getStatusCode(), -1);
+    }
+
+    /**
+     * Caches the details of a payment for the time matching its status, unless the payment was invalidated since
+     * {@code generation} was taken.
+     *
+     * @param transactionUuid the UUID of the payment.
+     * @param generation the {@link #generation(String)} of the payment taken before requesting the details.
+     * @param details the details returned by the API.
+     */
+    public void putPayment(String transactionUuid, long generation, PaymentDetailsResponse details) {
+        put(new Key(false, transactionUuid), details, details.getStatusCode(), generation);
+    }
+
+    /**
+     * Returns the cached details of a refund.
+     *
+     * @param transactionUuid the UUID of the refund.
+     * @return the cached details, or null if they are not cached or have expired.
+     */
+    public RefundDetailsResponse getRefund(String transactionUuid) {
+        return (RefundDetailsResponse) get(new Key(true, transactionUuid));
+    }
+
+    /**
+     * Caches the details of a refund for the time matching its status.
+     *
+     * @param transactionUuid the UUID of the refund.
+     * @param details the details returned by the API.
+     */
+    public void putRefund(String transactionUuid, RefundDetailsResponse details) {
+        put(new Key(true, transactionUuid), details, details.getTransactionStatusCode(), -1);
+    }
+
+    /**
+     * Caches the details of a refund for the time matching its status, unless the refund was invalidated since
+     * {@code generation} was taken.
+     *
+     * @param transactionUuid the UUID of the refund.
+     * @param generation the {@link #generation(String)} of the refund taken before requesting the details.
+     * @param details the details returned by the API.
+     */
+    public void putRefund(String transactionUuid, long generation, RefundDetailsResponse details) {
+        put(new Key(true, transactionUuid), details, details.getTransactionStatusCode(), generation);
+    }
+
+    /**
+     * Returns the generation of a transaction, which changes whenever the transaction is invalidated. Taken before
+     * requesting its details, it lets the cache tell whether the response is still current when it arrives.
+     *
+     * @param transactionUuid the UUID of the payment or refund.
+     * @return the current generation of the transaction.
+     */
+    public long generation(String transactionUuid) {
+        lock.lock();
+        try {
+            return currentGeneration(Objects.requireNonNull(transactionUuid));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the cached payment and refund details of a transaction, e.g. after it was changed outside this client.
+     *
+     * @param transactionUuid the UUID of the transaction.
+     */
+    public void invalidate(String transactionUuid) {
+        lock.lock();
+        try {
+            generations.put(Objects.requireNonNull(transactionUuid), ++lastGeneration);
+            if (entries.remove(new Key(false, transactionUuid)) != null) {
+                invalidationCount++;
+            }
+            if (entries.remove(new Key(true, transactionUuid)) != null) {
+                invalidationCount++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            invalidationCount += entries.size();
+            entries.clear();
+            generations.clear();
+            forgottenGeneration = ++lastGeneration;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss, eviction and expiration counters.
+     *
+     * @return the current statistics.
+     */
+    public CacheStats getStats() {
+        lock.lock();
+        try {
+            return new CacheStats(hitCount, missCount, evictionCount, expirationCount, invalidationCount, entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells whether a status code denotes a final state.
+     *
+     * @param statusCode the {@code statusCode} of a payment or refund.
+     * @return {@code true} if the transaction will not change anymore.
+     */
+    public boolean isTerminal(String statusCode) {
+        return statusCode != null && terminalStatusCodes.contains(statusCode);
+    }
+
+    private Object get(Key key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+            if (now - entry.expiresAtNanos >= 0) {
+                entries.remove(key);
+                expirationCount++;
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches a response, unless {@code generation} is set and the transaction was invalidated since.
+     *
+     * @param generation the generation taken before the request, or -1 to cache the response unconditionally.
+     */
+    private void put(Key key, Object value, String statusCode, long generation) {
+        long ttlNanos = isTerminal(statusCode) ? terminalTtlNanos : pendingTtlNanos;
+        if (ttlNanos <= 0) {
+            return;
+        }
+        Entry entry = new Entry(value, System.nanoTime() + ttlNanos);
+        lock.lock();
+        try {
+            if (generation >= 0 && generation != currentGeneration(key.transactionUuid)) {
+                return;
+            }
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long currentGeneration(String transactionUuid) {
+        Long generation = generations.get(transactionUuid);
+        return generation != null ? generation : forgottenGeneration;
+    }
+
+    private static final class Key {
+        private final boolean refund;
+        private final String transactionUuid;
+
+        private Key(boolean refund, String transactionUuid) {
+            this.refund = refund;
+            this.transactionUuid = Objects.requireNonNull(transactionUuid);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return refund == other.refund && transactionUuid.equals(other.transactionUuid);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * transactionUuid.hashCode() + (refund ? 1 : 0);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAtNanos;
+
+        private Entry(Object value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * Builder for {@link DetailsCache}.
+     */
+    public static class Builder {
+        private int maximumSize = 10_000;
+        private Duration terminalTtl = Duration.ofHours(1);
+        private Duration pendingTtl = Duration.ZERO;
+        private Set<String> terminalStatusCodes = DEFAULT_TERMINAL_STATUS_CODES;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of cached payments and refunds. Defaults to 10,000.
+         *
+         * @param maximumSize the maximum number of entries, must be positive.
+         * @return this builder.
+         */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("maximumSize must be positive");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets how long transactions in a final state are kept. Defaults to one hour.
+         *
+         * @param terminalTtl the time to live of final transactions, zero to not cache them.
+         * @return this builder.
+         */
+        public Builder terminalTtl(Duration terminalTtl) {
+            this.terminalTtl = requireNotNegative(terminalTtl, "terminalTtl");
+            return this;
+        }
+
+        /**
+         * Sets how long transactions that may still change are kept. Defaults to zero, which does not cache them; a
+         * short time to live absorbs bursts of lookups while bounding how stale a status can be.
+         *
+         * @param pendingTtl the time to live of non-final transactions, zero to not cache them.
+         * @return this builder.
+         */
+        public Builder pendingTtl(Duration pendingTtl) {
+            this.pendingTtl = requireNotNegative(pendingTtl, "pendingTtl");
+            return this;
+        }
+
+        /**
+         * Sets the {@code statusCode} values of transactions that never change again. Defaults to
+         * {@link #DEFAULT_TERMINAL_STATUS_CODES}.
+         *
+         * @param statusCodes the final status codes.
+         * @return this builder.
+         */
+        public Builder terminalStatusCodes(Collection<String> statusCodes) {
+            this.terminalStatusCodes = Set.copyOf(new HashSet<>(statusCodes));
+            return this;
+        }
+
+        /**
+         * Builds the cache.
+         *
+         * @return a new, empty {@link DetailsCache}.
+         */
+        public DetailsCache build() {
+            return new DetailsCache(this);
+        }
+
+        private static Duration requireNotNegative(Duration value, String name) {
+            if (value.isNegative()) {
+                throw new IllegalArgumentException(name + " must not be negative");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package io.github.alejo2075.enzonasdk.circuitbreaker;
+
+import io.github.alejo2075.enzonasdk.exception.CircuitBreakerOpenException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stops calling an endpoint family while it is failing, so callers fail fast instead of each waiting for a timeout.
+ *
+ * <p>The breaker records the outcome of the last {@code slidingWindowSize} calls. Once at least {@code minimumCalls}
+ * are recorded and either the share of failed calls reaches {@code failureRateThreshold} or the share of calls slower
+ * than {@code slowCallDuration} reaches {@code slowCallRateThreshold}, the breaker opens: calls are rejected with a
+ * {@link CircuitBreakerOpenException} for {@code openDuration}. It then half-opens and lets
+ * {@code permittedCallsInHalfOpen} probe calls through; if their failure and slow-call rates stay below the thresholds
+ * the breaker closes, otherwise it opens again.</p>
+ *
+ * <p>The SDK counts network errors and HTTP 5xx responses as failures. State transitions are published to the
+ * registered {@link CircuitBreakerListener}s and counters are available through {@link #getMetrics()}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * CircuitBreaker breaker = CircuitBreaker.builder("payments")
+ *         .failureRateThreshold(50)
+ *         .slowCallDuration(Duration.ofSeconds(2))
+ *         .openDuration(Duration.ofSeconds(15))
+ *         .build();
+ * breaker.addListener((source, from, to) -&gt; log.warn("{} moved from {} to {}", source.getName(), from, to));
+ * </pre>
+ */
+public final class CircuitBreaker {
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Calls are permitted and their outcomes recorded.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected until the open duration has elapsed.
+         */
+        OPEN,
+        /**
+         * A limited number of probe calls is permitted to decide whether to close or reopen.
+         */
+        HALF_OPEN,
+        /**
+         * Calls are always permitted and nothing is recorded.
+         */
+        DISABLED
+    }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int permittedCallsInHalfOpen;
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong notPermittedCalls = new AtomicLong();
+
+    private volatile State state;
+    private byte[] window;
+    private int windowIndex;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+
+    private CircuitBreaker(Builder builder, State initialState) {
+        this.name = builder.name;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.slidingWindowSize);
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallNanos = builder.slowCallDuration.toNanos();
+        this.openNanos = builder.openDuration.toNanos();
+        this.permittedCallsInHalfOpen = builder.permittedCallsInHalfOpen;
+        this.state = initialState;
+        this.window = new byte[slidingWindowSize];
+    }
+
+    /**
+     * Starts building a breaker with the given name, initialised with the defaults: a window of 100 calls evaluated
+     * from 20 calls on, opening at 50% failures or 100% calls slower than 10 seconds, staying open for 30 seconds and
+     * probing with 5 calls.
+     *
+     * @param name the name of the breaker, reported in events and exceptions.
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Returns a breaker that permits every call and records nothing.
+     *
+     * @param name the name of the breaker.
+     * @return a disabled breaker.
+     */
+    public static CircuitBreaker disabled(String name) {
+        return new CircuitBreaker(new Builder(name), State.DISABLED);
+    }
+
+    /**
+     * Returns the name of this breaker.
+     *
+     * @return the breaker name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the current state of this breaker. An open breaker whose open duration has elapsed is reported as open
+     * until the next call attempt moves it to half-open.
+     *
+     * @return the current state.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Registers a listener notified of every state transition and rejected call.
+     *
+     * @param listener the listener to add.
+     */
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove.
+     */
+    public void removeListener(CircuitBreakerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Takes permission to make a call. Every granted permission must be followed by exactly one of
+     * {@link #onSuccess(long)}, {@link #onFailure(long)} or {@link #releasePermission()}.
+     *
+     * @throws CircuitBreakerOpenException if the breaker is open, or half-open with all probes in flight.
+     */
+    public void acquirePermission() throws CircuitBreakerOpenException {
+        State current = state;
+        if (current == State.CLOSED || current == State.DISABLED) {
+            return;
+        }
+        State from = null;
+        long remainingNanos = 0;
+        boolean permitted;
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                remainingNanos = openNanos - (System.nanoTime() - openedAt);
+                if (remainingNanos <= 0) {
+                    from = State.OPEN;
+                    transitionTo(State.HALF_OPEN);
+                }
+            }
+            if (state == State.HALF_OPEN) {
+                permitted = halfOpenPermits > 0;
+                if (permitted) {
+                    halfOpenPermits--;
+                }
+                remainingNanos = 0;
+            } else {
+                permitted = state == State.CLOSED;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (from != null) {
+            publishTransition(from, State.HALF_OPEN);
+        }
+        if (!permitted) {
+            notPermittedCalls.incrementAndGet();
+            for (CircuitBreakerListener listener : listeners) {
+                listener.onCallNotPermitted(this);
+            }
+            throw new CircuitBreakerOpenException(name, Duration.ofNanos(Math.max(0, remainingNanos)));
+        }
+    }
+
+    /**
+     * Records a call that completed normally.
+     *
+     * @param durationNanos how long the call took.
+     */
+    public void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? SLOW : SUCCESS);
+    }
+
+    /**
+     * Records a call that failed.
+     *
+     * @param durationNanos how long the call took.
+     */
+    public void onFailure(long durationNanos) {
+        record(FAILURE);
+    }
+
+    /**
+     * Returns a permission without recording an outcome, e.g. when the call was never sent.
+     */
+    public void releasePermission() {
+        if (state != State.HALF_OPEN) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermits + bufferedCalls < permittedCallsInHalfOpen) {
+                halfOpenPermits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the calls recorded in the current state.
+     *
+     * @return the current metrics.
+     */
+    public Metrics getMetrics() {
+        lock.lock();
+        try {
+            return new Metrics(state, bufferedCalls, failedCalls, slowCalls, notPermittedCalls.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(byte outcome) {
+        if (state == State.DISABLED) {
+            return;
+        }
+        State from;
+        State to = null;
+        lock.lock();
+        try {
+            from = state;
+            if (from == State.CLOSED) {
+                if (bufferedCalls == slidingWindowSize) {
+                    byte evicted = window[windowIndex];
+                    failedCalls -= evicted == FAILURE ? 1 : 0;
+                    slowCalls -= evicted == SLOW ? 1 : 0;
+                } else {
+                    bufferedCalls++;
+                }
+                window[windowIndex] = outcome;
+                windowIndex = (windowIndex + 1) % slidingWindowSize;
+                count(outcome);
+                if (bufferedCalls >= minimumCalls && exceedsThresholds()) {
+                    to = State.OPEN;
+                }
+            } else if (from == State.HALF_OPEN) {
+                bufferedCalls++;
+                count(outcome);
+                if (exceedsThresholds()) {
+                    to = State.OPEN;
+                } else if (bufferedCalls >= permittedCallsInHalfOpen) {
+                    to = State.CLOSED;
+                }
+            }
+            if (to != null) {
+                transitionTo(to);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (to != null) {
+            publishTransition(from, to);
+        }
+    }
+
+    private void count(byte outcome) {
+        if (outcome == FAILURE) {
+            failedCalls++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+    }
+
+    private boolean exceedsThresholds() {
+        int calls = state == State.HALF_OPEN ? permittedCallsInHalfOpen : bufferedCalls;
+        return failedCalls * 100f / calls >= failureRateThreshold || slowCalls * 100f / calls >= slowCallRateThreshold;
+    }
+
+    /**
+     * Moves to the given state and resets the recorded calls. Called with the lock held.
+     */
+    private void transitionTo(State next) {
+        state = next;
+        bufferedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        windowIndex = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (next == State.HALF_OPEN) {
+            halfOpenPermits = permittedCallsInHalfOpen;
+        }
+    }
+
+    private void publishTransition(State from, State to) {
+        for (CircuitBreakerListener listener : listeners) {
+            listener.onStateTransition(this, from, to);
+        }
+    }
+
+    /**
+     * A snapshot of the calls recorded by a breaker since its last state transition.
+     */
+    public static final class Metrics {
+        private final State state;
+        private final int bufferedCalls;
+        private final int failedCalls;
+        private final int slowCalls;
+        private final long notPermittedCalls;
+
+        private Metrics(State state, int bufferedCalls, int failedCalls, int slowCalls, long notPermittedCalls) {
+            this.state = state;
+            this.bufferedCalls = bufferedCalls;
+            this.failedCalls = failedCalls;
+            this.slowCalls = slowCalls;
+            this.notPermittedCalls = notPermittedCalls;
+        }
+
+        /**
+         * @return the state of the breaker when the snapshot was taken.
+         */
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * @return the number of calls in the sliding window, or probe calls completed while half-open.
+         */
+        public int getBufferedCalls() {
+            return bufferedCalls;
+        }
+
+        /**
+         * @return the number of recorded calls that failed.
+         */
+        public int getFailedCalls() {
+            return failedCalls;
+        }
+
+        /**
+         * @return the number of recorded calls that succeeded but were slow.
+         */
+        public int getSlowCalls() {
+            return slowCalls;
+        }
+
+        /**
+         * @return the number of calls rejected since the breaker was created.
+         */
+        public long getNotPermittedCalls() {
+            return notPermittedCalls;
+        }
+
+        /**
+         * @return the percentage of recorded calls that failed, or -1 if no call is recorded.
+         */
+        public float getFailureRate() {
+            return bufferedCalls == 0 ? -1 : failedCalls * 100f / bufferedCalls;
+        }
+
+        /**
+         * @return the percentage of recorded calls that were slow, or -1 if no call is recorded.
+         */
+        public float getSlowCallRate() {
+            return bufferedCalls == 0 ? -1 : slowCalls * 100f / bufferedCalls;
+        }
+    }
+
+    /**
+     * Builder for {@link CircuitBreaker}.
+     */
+    public static class Builder {
+        private final String name;
+        private int slidingWindowSize = 100;
+        private int minimumCalls = 20;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private Duration slowCallDuration = Duration.ofSeconds(10);
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpen = 5;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "Name must not be null");
+        }
+
+        /**
+         * Sets the number of most recent calls whose outcome is evaluated. Defaults to 100.
+         *
+         * @param slidingWindowSize the size of the sliding window.
+         * @return this builder.
+         */
+        public Builder slidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = requirePositive(slidingWindowSize, "slidingWindowSize");
+            return this;
+        }
+
+        /**
+         * Sets the number of calls that must be recorded before the rates are evaluated. Defaults to 20.
+         *
+         * @param minimumCalls the minimum number of recorded calls.
+         * @return this builder.
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = requirePositive(minimumCalls, "minimumCalls");
+            return this;
+        }
+
+        /**
+         * Sets the percentage of failed calls at which the breaker opens. Defaults to 50.
+         *
+         * @param failureRateThreshold a percentage between 0 (exclusive) and 100.
+         * @return this builder.
+         */
+        public Builder failureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = requirePercentage(failureRateThreshold, "failureRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the percentage of slow calls at which the breaker opens. Defaults to 100.
+         *
+         * @param slowCallRateThreshold a percentage between 0 (exclusive) and 100.
+         * @return this builder.
+         */
+        public Builder slowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = requirePercentage(slowCallRateThreshold, "slowCallRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the duration from which a successful call counts as slow. Defaults to 10 seconds.
+         *
+         * @param slowCallDuration the slow call threshold.
+         * @return this builder.
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = Objects.requireNonNull(slowCallDuration);
+            return this;
+        }
+
+        /**
+         * Sets how long the breaker rejects calls before probing the API again. Defaults to 30 seconds.
+         *
+         * @param openDuration the time spent open.
+         * @return this builder.
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = Objects.requireNonNull(openDuration);
+            return this;
+        }
+
+        /**
+         * Sets the number of probe calls permitted while half-open. Defaults to 5.
+         *
+         * @param permittedCallsInHalfOpen the number of probe calls.
+         * @return this builder.
+         */
+        public Builder permittedCallsInHalfOpen(int permittedCallsInHalfOpen) {
+            this.permittedCallsInHalfOpen = requirePositive(permittedCallsInHalfOpen, "permittedCallsInHalfOpen");
+            return this;
+        }
+
+        /**
+         * Builds the breaker, initially closed.
+         *
+         * @return a new {@link CircuitBreaker}.
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this, State.CLOSED);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+
+        private static float requirePercentage(float value, String name) {
+            if (!(value > 0 && value <= 100)) {
+                throw new IllegalArgumentException(name + " must be between 0 and 100");
+            }
+            return value;
+        }
+    }
+}
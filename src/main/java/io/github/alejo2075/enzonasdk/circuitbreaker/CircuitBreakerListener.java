@@ -0,0 +1,26 @@
+package io.github.alejo2075.enzonasdk.circuitbreaker;
+
+/**
+ * Receives the events of a {@link CircuitBreaker}. Listeners are called on the thread that caused the event, outside
+ * of the breaker's lock, and must not block.
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    /**
+     * Called after the breaker moved from one state to another.
+     *
+     * @param breaker the breaker whose state changed.
+     * @param from the previous state.
+     * @param to the new state.
+     */
+    void onStateTransition(CircuitBreaker breaker, CircuitBreaker.State from, CircuitBreaker.State to);
+
+    /**
+     * Called when a call is rejected because the breaker is open. Does nothing by default.
+     *
+     * @param breaker the breaker that rejected the call.
+     */
+    default void onCallNotPermitted(CircuitBreaker breaker) {
+    }
+}
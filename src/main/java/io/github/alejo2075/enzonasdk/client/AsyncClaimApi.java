@@ -0,0 +1,104 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.model.request.CreateClaimsRequest;
+import io.github.alejo2075.enzonasdk.model.response.CreateClaimsResponse;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking counterpart of {@link ClaimApi}.
+ * Claims are created through the {@link HttpClient java.net.http.HttpClient} of the shared {@link EnzonaClient}
+ * and the result is delivered through a {@link CompletableFuture}.
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * AsyncClaimApi claimApi = new AsyncClaimApi(client);
+ * claimApi.createClaims(request).thenAccept(response -&gt; ...);
+ * </pre>
+ */
+@Data
+public class AsyncClaimApi {
+
+    private final String baseUrl;
+    private final AuthClient authClient;
+    private final Duration requestTimeout;
+
+    @Getter(AccessLevel.NONE)
+    private final EnzonaClient client;
+
+    @Getter(AccessLevel.NONE)
+    private final RequestExecutor requestExecutor;
+
+    @Getter(AccessLevel.NONE)
+    private final Executor permitExecutor;
+
+    /**
+     * Constructs an AsyncClaimApi instance that sends its requests through the given {@link EnzonaClient},
+     * sharing its access token with every other API built on the same client.
+     *
+     * @param client The shared Enzona transport.
+     */
+    public AsyncClaimApi(EnzonaClient client) {
+        this.baseUrl = client.getBaseUrl() + "payment/";
+        this.authClient = client.getAuthClient();
+        this.client = client;
+        this.requestTimeout = client.getRequestTimeout();
+        this.requestExecutor = client.getRequestExecutor();
+        this.permitExecutor = task -> client.getTaskExecutor().execute(task);
+    }
+
+    /**
+     * Returns the non-blocking HTTP client the requests are sent through, which the shared {@link EnzonaClient}
+     * creates on first use.
+     *
+     * @return the shared {@link HttpClient}.
+     */
+    public HttpClient getHttpClient() {
+        return client.getAsyncHttpClient();
+    }
+
+    /**
+     * Creates a new claim based on the provided {@link CreateClaimsRequest}.
+     *
+     * @param request The request containing all necessary information for creating the claim, must not be null.
+     * @return A future completed with the {@link CreateClaimsResponse}, or exceptionally with an {@link EnzonaException}
+     * if there is an issue with network communication or the API response indicates an error.
+     */
+    public CompletableFuture<CreateClaimsResponse> createClaims(CreateClaimsRequest request) {
+        CompletableFuture<CreateClaimsResponse> result = new CompletableFuture<>();
+        byte[] json = JsonUtil.toJsonBytes(request);
+        HttpRequest.Builder httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + "createClaims"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json));
+        requestExecutor.sendAsync(client.getAsyncHttpClient(), authClient, EndpointFamily.CLAIMS, "createClaims", httpRequest, requestTimeout, false, permitExecutor)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        result.completeExceptionally(cause instanceof EnzonaException
+                                ? cause
+                                : new EnzonaException("Exception occurred while creating claim: " + cause.getMessage(), cause));
+                        return;
+                    }
+                    if (response.statusCode() != 200) {
+                        result.completeExceptionally(HttpErrors.from(response));
+                        return;
+                    }
+                    try {
+                        result.complete(JsonUtil.fromJson(response.body(), CreateClaimsResponse.class));
+                    } catch (Exception e) {
+                        result.completeExceptionally(new EnzonaException("Exception occurred while creating claim: " + e.getMessage(), e));
+                    }
+                });
+        return result;
+    }
+}
@@ -0,0 +1,377 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.cache.DetailsCache;
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaHttpException;
+import io.github.alejo2075.enzonasdk.model.request.*;
+import io.github.alejo2075.enzonasdk.model.response.*;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking counterpart of {@link PaymentApi}.
+ * Every operation returns immediately with a {@link CompletableFuture} that completes with the same response models
+ * as the blocking API, so thousands of calls can be in flight while only a handful of threads are used.
+ *
+ * <p>Requests are sent through the {@link HttpClient java.net.http.HttpClient} of the shared {@link EnzonaClient}
+ * and authenticated with its cached access token. Failures complete the future exceptionally with an
+ * {@link EnzonaException}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * AsyncPaymentApi paymentApi = new AsyncPaymentApi(client);
+ * paymentApi.getPaymentDetails("transactionUuid")
+ *         .thenAccept(details -&gt; System.out.println(details.getStatusCode()));
+ * </pre>
+ */
+@Data
+public class AsyncPaymentApi {
+
+    private final String baseUrl;
+    private final AuthClient authClient;
+    private final Duration requestTimeout;
+
+    @Getter(AccessLevel.NONE)
+    private final EnzonaClient client;
+
+    @Getter(AccessLevel.NONE)
+    private final RequestExecutor requestExecutor;
+
+    @Getter(AccessLevel.NONE)
+    private final Executor permitExecutor;
+
+    @Getter(AccessLevel.NONE)
+    private final DetailsCache detailsCache;
+
+    /**
+     * Constructs an AsyncPaymentApi instance that sends its requests through the given {@link EnzonaClient},
+     * sharing its access token with every other API built on the same client.
+     *
+     * @param client The shared Enzona transport.
+     */
+    public AsyncPaymentApi(EnzonaClient client) {
+        this.baseUrl = client.getBaseUrl();
+        this.authClient = client.getAuthClient();
+        this.client = client;
+        this.requestTimeout = client.getRequestTimeout();
+        this.requestExecutor = client.getRequestExecutor();
+        this.permitExecutor = task -> client.getTaskExecutor().execute(task);
+        this.detailsCache = client.getDetailsCache();
+    }
+
+    /**
+     * Returns the non-blocking HTTP client the requests are sent through, which the shared {@link EnzonaClient}
+     * creates on first use.
+     *
+     * @return the shared {@link HttpClient}.
+     */
+    public HttpClient getHttpClient() {
+        return client.getAsyncHttpClient();
+    }
+
+    /**
+     * Confirms a payment for a specified transaction using its unique identifier.
+     *
+     * @param transactionUuid The unique identifier of the transaction to be confirmed.
+     * @param request The {@link ConfirmPaymentRequest} object containing the necessary data for payment confirmation.
+     * @return A future completed with the {@link ConfirmPaymentResponse} containing the status of the confirmed payment.
+     */
+    public CompletableFuture<ConfirmPaymentResponse> confirmPayment(String transactionUuid, ConfirmPaymentRequest request) {
+        return invalidating(transactionUuid, send("confirmPayment", EndpointFamily.PAYMENTS, post("payments/" + transactionUuid + "/confirm", request), false, ConfirmPaymentResponse.class,
+                "confirming payment"));
+    }
+
+    /**
+     * Completes a payment for the given transaction UUID.
+     *
+     * @param transactionUuid The unique identifier of the transaction to be completed.
+     * @return A future completed with the {@link CompletePaymentResponse} describing the completed payment transaction.
+     */
+    public CompletableFuture<CompletePaymentResponse> completePayment(String transactionUuid) {
+        return invalidating(transactionUuid, send("completePayment", EndpointFamily.PAYMENTS, post("payments/" + transactionUuid + "/complete", null), false, CompletePaymentResponse.class,
+                "completing payment"));
+    }
+
+    /**
+     * Retrieves the details of a refund for a specific transaction.
+     * Served from the client's {@link DetailsCache} when one is configured and holds the refund.
+     *
+     * @param transactionUuid The unique identifier of the refund transaction to retrieve details for.
+     * @return A future completed with the {@link RefundDetailsResponse} describing the requested refund.
+     */
+    public CompletableFuture<RefundDetailsResponse> getRefundDetails(String transactionUuid) {
+        if (detailsCache != null) {
+            RefundDetailsResponse cached = detailsCache.getRefund(transactionUuid);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        long generation = detailsCache != null ? detailsCache.generation(transactionUuid) : -1;
+        CompletableFuture<RefundDetailsResponse> details = send("getRefundDetails", EndpointFamily.REFUNDS, get("payments/refund/" + transactionUuid), true,
+                RefundDetailsResponse.class, "retrieving refund details");
+        return detailsCache == null ? details : details.thenApply(response -> {
+            detailsCache.putRefund(transactionUuid, generation, response);
+            return response;
+        });
+    }
+
+    /**
+     * Retrieves a list of refunds based on provided criteria encapsulated within a request object.
+     *
+     * @param request The {@link RefundsListRequest} object containing all the necessary data to filter the refunds list.
+     * @return A future completed with the {@link RefundsListResponse} containing the refunds that match the criteria.
+     */
+    public CompletableFuture<RefundsListResponse> getRefundsList(RefundsListRequest request) {
+        return send("getRefundsList", EndpointFamily.REFUNDS, get(PaymentPaths.refundsList(request)), true, RefundsListResponse.class,
+                "retrieving refunds list");
+    }
+
+    /**
+     * Creates a new payment with the specified details.
+     *
+     * <p>As with {@link PaymentApi#createPayment(CreatePaymentRequest)}, a request carrying a merchant UUID and a
+     * non-zero {@code merchantOpId} whose response is lost or fails with a transient error is retried only after the
+     * payments of the merchant are looked up by {@code merchantOpId}; the payment found is returned instead of
+     * creating a second one.</p>
+     *
+     * @param request The {@link CreatePaymentRequest} object containing all the necessary data to create a new payment.
+     * @return A future completed with the {@link CreatePaymentResponse} describing the created payment.
+     */
+    public CompletableFuture<CreatePaymentResponse> createPayment(CreatePaymentRequest request) {
+        RequestExecutor.AsyncOutcomeLookup<CreatePaymentResponse> lookup = request.getMerchantUuid() != null && request.getMerchantOpId() != 0
+                ? () -> findCreatedPayment(request)
+                : null;
+        return send("createPayment", EndpointFamily.PAYMENTS, post("payments", request), false, lookup,
+                CreatePaymentResponse.class, "creating payment");
+    }
+
+    /**
+     * Retrieves a list of payments based on specified criteria.
+     *
+     * @param request The {@link PaymentsListRequest} object containing all the necessary data to filter the payments list.
+     * @return A future completed with the {@link PaymentsListResponse} containing the payments that match the criteria.
+     */
+    public CompletableFuture<PaymentsListResponse> getPaymentsList(PaymentsListRequest request) {
+        return send("getPaymentsList", EndpointFamily.PAYMENTS, get(PaymentPaths.paymentsList(request)), true, PaymentsListResponse.class,
+                "retrieving payments list");
+    }
+
+    /**
+     * Retrieves the details of a specific payment transaction.
+     * Served from the client's {@link DetailsCache} when one is configured and holds the payment.
+     *
+     * @param transactionUuid The unique identifier of the payment transaction for which details are being requested.
+     * @return A future completed with the {@link PaymentDetailsResponse} describing the payment transaction.
+     */
+    public CompletableFuture<PaymentDetailsResponse> getPaymentDetails(String transactionUuid) {
+        if (detailsCache != null) {
+            PaymentDetailsResponse cached = detailsCache.getPayment(transactionUuid);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        long generation = detailsCache != null ? detailsCache.generation(transactionUuid) : -1;
+        CompletableFuture<PaymentDetailsResponse> details = send("getPaymentDetails", EndpointFamily.PAYMENTS, get("payments/" + transactionUuid), true,
+                PaymentDetailsResponse.class, "retrieving payment details");
+        return detailsCache == null ? details : details.thenApply(response -> {
+            detailsCache.putPayment(transactionUuid, generation, response);
+            return response;
+        });
+    }
+
+    /**
+     * Initiates the checkout process for a payment identified by the given UUID.
+     *
+     * @param uuid The unique identifier of the checkout process to be initiated.
+     * @return A future completed with the {@link CheckoutResponse} describing the outcome of the checkout initiation.
+     */
+    public CompletableFuture<CheckoutResponse> performCheckout(String uuid) {
+        return send("performCheckout", EndpointFamily.PAYMENTS, get("payments/checkout/" + uuid), true, CheckoutResponse.class,
+                "initiating checkout");
+    }
+
+    /**
+     * Creates a receive code for a vendor payment with specified details.
+     *
+     * @param request The {@link CreateReceiveCodeRequest} object containing all the necessary data to create a receive code.
+     * @return A future completed with the {@link CreateReceiveCodeResponse} returned by the payment service.
+     */
+    public CompletableFuture<CreateReceiveCodeResponse> createReceiveCode(CreateReceiveCodeRequest request) {
+        return send("createReceiveCode", EndpointFamily.PAYMENTS, post("payments/vendor/code", request), false, CreateReceiveCodeResponse.class,
+                "creating receive code");
+    }
+
+    /**
+     * Fetches a list of refunds associated with a specific payment transaction.
+     *
+     * @param request The {@link ListRefundsRequest} object containing the transaction UUID and optional filtering criteria.
+     * @return A future completed with the {@link ListRefundsResponse} containing the refunds matching the criteria.
+     */
+    public CompletableFuture<ListRefundsResponse> listRefunds(ListRefundsRequest request) {
+        return send("listRefunds", EndpointFamily.REFUNDS, get(PaymentPaths.listRefunds(request)), true, ListRefundsResponse.class,
+                "retrieving refunds list");
+    }
+
+    /**
+     * Submits a payment for products added to a shopping cart.
+     *
+     * @param request The {@link PayProductRequest} object containing all the necessary data for the payment transaction.
+     * @return A future completed with the {@link PayProductResponse} describing the outcome of the payment operation.
+     */
+    public CompletableFuture<PayProductResponse> payProduct(PayProductRequest request) {
+        return send("payProduct", EndpointFamily.SHOP, post("shop", request), false, PayProductResponse.class,
+                "paying for product");
+    }
+
+    /**
+     * Creates a payment order with the specified details.
+     *
+     * @param request The {@link CreatePaymentOrderRequest} object containing all the necessary data for the payment order creation.
+     * @return A future completed with the {@link CreatePaymentOrderResponse} describing the created payment order.
+     */
+    public CompletableFuture<CreatePaymentOrderResponse> createPaymentOrder(CreatePaymentOrderRequest request) {
+        return send("createPaymentOrder", EndpointFamily.PAYMENT_ORDERS, post("payment-orders", request), false, CreatePaymentOrderResponse.class,
+                "creating payment order");
+    }
+
+    /**
+     * Cancels a payment transaction identified by the given UUID.
+     *
+     * @param transactionUuid The unique identifier of the payment transaction to be canceled.
+     * @return A future completed with the {@link CancelPaymentResponse} describing the outcome of the cancellation.
+     */
+    public CompletableFuture<CancelPaymentResponse> cancelPayment(String transactionUuid) {
+        return invalidating(transactionUuid, send("cancelPayment", EndpointFamily.PAYMENTS, post("payments/" + transactionUuid + "/cancel", null), false, CancelPaymentResponse.class,
+                "canceling payment"));
+    }
+
+    /**
+     * Processes a refund for a specified payment transaction.
+     *
+     * @param transactionUuid The unique identifier of the payment transaction for which the refund is being processed.
+     * @param request The {@link RefundPaymentRequest} object containing all the necessary data for processing the refund.
+     * @return A future completed with the {@link RefundPaymentResponse} describing the processed refund.
+     */
+    public CompletableFuture<RefundPaymentResponse> refundPayment(String transactionUuid, RefundPaymentRequest request) {
+        return invalidating(transactionUuid, send("refundPayment", EndpointFamily.REFUNDS, post("payments/" + transactionUuid + "/refund", request), false, RefundPaymentResponse.class,
+                "processing refund"));
+    }
+
+    /**
+     * Removes the cached details of a transaction once a call that may have changed it completes, either way.
+     *
+     * @param transactionUuid The UUID of the changed transaction.
+     * @param call The pending call.
+     * @return the future of the call.
+     */
+    private <T> CompletableFuture<T> invalidating(String transactionUuid, CompletableFuture<T> call) {
+        if (detailsCache == null) {
+            return call;
+        }
+        return call.whenComplete((response, error) -> detailsCache.invalidate(transactionUuid));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    /**
+     * Looks up the payment created by an earlier attempt of {@link #createPayment(CreatePaymentRequest)}.
+     *
+     * @param request The request whose payment is looked up.
+     * @return A future completed with the payment with the request's merchant operation ID, or with null if the
+     * merchant has none.
+     */
+    private CompletableFuture<CreatePaymentResponse> findCreatedPayment(CreatePaymentRequest request) {
+        PaymentsListRequest filter = new PaymentsListRequest();
+        filter.setMerchantUuid(request.getMerchantUuid());
+        filter.setMerchantOpFilter(String.valueOf(request.getMerchantOpId()));
+        return getPaymentsList(filter).thenApply(list -> {
+            if (list.getPayments() != null) {
+                for (PaymentsListResponse.Payment payment : list.getPayments()) {
+                    if (payment.getMerchantOpId() == request.getMerchantOpId()) {
+                        return JsonUtil.convertValue(payment, CreatePaymentResponse.class);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private HttpRequest.Builder post(String path, Object body) {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(JsonUtil.toJsonBytes(body));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(publisher);
+    }
+
+    /**
+     * Authenticates and sends the request once the rate limiter of its family admits it, retrying transient failures
+     * as far as the request is safe to repeat, then converts the response body into {@code responseType}. Transport and token failures are reported as {@link EnzonaException} naming the
+     * failed {@code action}.
+     *
+     * @param operation The name of the calling method, reported to the client's instrumentation.
+     * @param family The endpoint family the request belongs to.
+     * @param request The request to send, without authentication headers.
+     * @param idempotent Whether the request can be repeated without changing its effect, which allows retrying it
+     *                   on transient failures.
+     * @param responseType The class of the type into which the JSON response should be converted.
+     * @param action A short description of the operation, used in error messages.
+     * @return a future completed with the converted response or exceptionally with an {@link EnzonaException}.
+     */
+    private <T> CompletableFuture<T> send(String operation, EndpointFamily family, HttpRequest.Builder request, boolean idempotent,
+                                          Class<T> responseType, String action) {
+        return send(operation, family, request, idempotent, null, responseType, action);
+    }
+
+    /**
+     * Sends the request like {@link #send(String, EndpointFamily, HttpRequest.Builder, boolean, Class, String)}, looking
+     * up the outcome of a mutation whose response is lost or fails with a transient error before sending it again.
+     *
+     * @param lookup Finds out whether a failed attempt took effect, or null if the outcome cannot be looked up.
+     */
+    private <T> CompletableFuture<T> send(String operation, EndpointFamily family, HttpRequest.Builder request, boolean idempotent,
+                                          RequestExecutor.AsyncOutcomeLookup<T> lookup, Class<T> responseType, String action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        requestExecutor.sendAsync(client.getAsyncHttpClient(), authClient, family, operation, request, requestTimeout, idempotent,
+                        lookup, response -> processHttpResponse(response, responseType), permitExecutor)
+                .whenComplete((value, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        result.completeExceptionally(cause instanceof EnzonaException
+                                ? cause
+                                : new EnzonaException("Exception occurred while " + action + ": " + cause.getMessage(), cause));
+                        return;
+                    }
+                    result.complete(value);
+                });
+        return result;
+    }
+
+    /**
+     * Processes the HTTP response from an API request.
+     * This method checks the response status code and parses the JSON response body into a specified Java type.
+     *
+     * @param response The HTTP response to process.
+     * @param responseType The class of the type into which the JSON response should be converted.
+     * @return An instance of {@code T}, which contains the data converted from the JSON response.
+     * @throws EnzonaHttpException If the response status is not 200 OK, indicating an error with the request.
+     */
+    private <T> T processHttpResponse(HttpResponse<byte[]> response, Class<T> responseType) throws EnzonaHttpException {
+        if (response.statusCode() != 200) {
+            throw HttpErrors.from(response);
+        }
+        return JsonUtil.fromJson(response.body(), responseType);
+    }
+}
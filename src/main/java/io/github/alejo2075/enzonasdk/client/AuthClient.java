@@ -1,8 +1,13 @@
 package io.github.alejo2075.enzonasdk.client;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.alejo2075.enzonasdk.util.EntityUtil;
 import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import io.github.alejo2075.enzonasdk.exception.EnzonaAuthException;
 import io.github.alejo2075.enzonasdk.exception.EnzonaException;
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.http.HttpHeaders;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.HttpClient;
@@ -10,11 +15,16 @@ import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.util.EntityUtils;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class provides functionality to authenticate with the Enzona API and retrieve an access token.
@@ -24,16 +34,55 @@ import java.util.Objects;
  * {@link #getAccessToken()} method to perform the authentication and receive an access token that can be used
  * for subsequent API requests. </p>
  *
- * <p> This class employs an {@link HttpClient} to send HTTP requests. It is initialized at the creation of the instance
- * and reused for all requests to improve performance and resource management. </p>
+ * <p> This class employs an {@link HttpClient} to send HTTP requests. Unless one is given, it is created on the first
+ * token request and reused for all later ones, so constructing an instance does no setup work. </p>
+ *
+ * <p> Access tokens are cached until shortly before the {@code expires_in} reported by the token endpoint. Once a
+ * cached token enters its refresh window a single background refresh is started while callers keep using the still
+ * valid token; only when no valid token exists do callers wait, and then they all share the same in-flight
+ * request instead of each hitting the token endpoint. </p>
  */
-@Data
+@Getter
+@Setter
 public class AuthClient {
 
+    private static final String DEFAULT_TOKEN_ENDPOINT = "https://api.enzona.net/token";
+    private static final Duration DEFAULT_EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(5);
+
     private HttpClient httpClient;
     private final String consumerKey;
     private final String consumerSecret;
-    private final String tokenEndpoint = "https://api.enzona.net/token";
+    private final String tokenEndpoint;
+
+    /**
+     * How long before the reported expiry a cached token stops being handed out.
+     */
+    private Duration expiryMargin = DEFAULT_EXPIRY_MARGIN;
+
+    /**
+     * How long before the reported expiry a background refresh of the cached token is started.
+     */
+    private Duration refreshAhead = DEFAULT_REFRESH_AHEAD;
+
+    /**
+     * Executor running background refreshes. Defaults to a short-lived daemon thread per refresh.
+     */
+    private Executor refreshExecutor = AuthClient::startRefreshThread;
+
+    private Clock clock = Clock.systemUTC();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final RequestExecutor requestExecutor;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicReference<CachedToken> cachedToken = new AtomicReference<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlightRefresh = new AtomicReference<>();
 
     /**
      * Constructs an {@link AuthClient} instance with the specified consumer key and secret.
@@ -43,23 +92,157 @@ public class AuthClient {
      * @throws NullPointerException if either consumerKey or consumerSecret is null.
      */
     public AuthClient(String consumerKey, String consumerSecret) {
+        this(consumerKey, consumerSecret, new LazyHttpClient(HttpClients::createDefault), DEFAULT_TOKEN_ENDPOINT);
+    }
+
+    /**
+     * Constructs an {@link AuthClient} that sends its token requests through the given HTTP client,
+     * typically the pooled client shared by an {@link EnzonaClient}.
+     *
+     * @param consumerKey    The consumer key issued by Enzona for API authentication. Must not be null.
+     * @param consumerSecret The consumer secret issued by Enzona for API authentication. Must not be null.
+     * @param httpClient     The HTTP client used to reach the token endpoint. Must not be null.
+     * @param tokenEndpoint  The full URL of the token endpoint. Must not be null.
+     * @throws NullPointerException if any argument is null.
+     */
+    public AuthClient(String consumerKey, String consumerSecret, HttpClient httpClient, String tokenEndpoint) {
+        this(consumerKey, consumerSecret, httpClient, tokenEndpoint, RequestExecutor.direct());
+    }
+
+    /**
+     * Constructs an {@link AuthClient} whose token requests go through the rate limiter and connection gate of an
+     * {@link EnzonaClient}.
+     *
+     * @param consumerKey     The consumer key issued by Enzona for API authentication. Must not be null.
+     * @param consumerSecret  The consumer secret issued by Enzona for API authentication. Must not be null.
+     * @param httpClient      The pooled HTTP client used to reach the token endpoint. Must not be null.
+     * @param tokenEndpoint   The full URL of the token endpoint. Must not be null.
+     * @param requestExecutor The executor shared with the APIs using the same pool.
+     */
+    AuthClient(String consumerKey, String consumerSecret, HttpClient httpClient, String tokenEndpoint, RequestExecutor requestExecutor) {
         Objects.requireNonNull(consumerKey, "Consumer Key must not be null");
         Objects.requireNonNull(consumerSecret, "Consumer Secret must not be null");
+        Objects.requireNonNull(httpClient, "HTTP Client must not be null");
+        Objects.requireNonNull(tokenEndpoint, "Token Endpoint must not be null");
 
         this.consumerKey = consumerKey;
         this.consumerSecret = consumerSecret;
-        this.httpClient = HttpClients.createDefault();
+        this.httpClient = httpClient;
+        this.tokenEndpoint = tokenEndpoint;
+        this.requestExecutor = requestExecutor;
     }
 
     /**
-     * Retrieves an access token from Enzona's authentication server by sending a HTTP POST request.
+     * Returns an access token for Enzona's API, fetching a new one from the authentication server only when
+     * there is no cached token that is still valid.
      * This token is necessary for making authorized API calls to Enzona.
      *
+     * <p>When the cached token is valid but close to expiry, a background refresh is triggered and the cached
+     * token is returned immediately. When no valid token is cached, the calling thread waits for a single
+     * refresh shared by all concurrent callers.</p>
+     *
      * @return A {@link String} representing the access token.
      * @throws EnzonaException if there is a failure in retrieving the access token, which may include
      * HTTP errors, network problems, or issues with JSON parsing.
      */
     public String getAccessToken() throws EnzonaException {
+        long now = clock.millis();
+        CachedToken token = cachedToken.get();
+        boolean hit = token != null && token.isUsableAt(now);
+        requestExecutor.getInstrumentation().onTokenCacheLookup(hit);
+        if (hit) {
+            if (token.shouldRefreshAt(now)) {
+                refresh(true);
+            }
+            return token.value;
+        }
+        try {
+            return refresh(false).join().value;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof EnzonaException) {
+                throw (EnzonaException) e.getCause();
+            }
+            throw new EnzonaException("Exception occurred while fetching access token: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns an access token without blocking the calling thread.
+     * A valid cached token is returned as an already completed future; otherwise the returned future completes
+     * when the shared refresh, run on the {@link #refreshExecutor}, finishes.
+     *
+     * @return A {@link CompletableFuture} completed with the access token, or completed exceptionally with an
+     * {@link EnzonaException} if the token cannot be retrieved.
+     */
+    public CompletableFuture<String> getAccessTokenAsync() {
+        long now = clock.millis();
+        CachedToken token = cachedToken.get();
+        boolean hit = token != null && token.isUsableAt(now);
+        requestExecutor.getInstrumentation().onTokenCacheLookup(hit);
+        if (hit) {
+            if (token.shouldRefreshAt(now)) {
+                refresh(true);
+            }
+            return CompletableFuture.completedFuture(token.value);
+        }
+        return refresh(true).thenApply(refreshed -> refreshed.value);
+    }
+
+    /**
+     * Discards the cached access token so that the next call to {@link #getAccessToken()} fetches a new one.
+     * Useful when the API rejects a token before its reported expiry.
+     */
+    public void invalidateAccessToken() {
+        cachedToken.set(null);
+    }
+
+    /**
+     * Returns the refresh already in flight or starts a new one. The thread that wins the race to start
+     * the refresh runs it, either inline or on the {@link #refreshExecutor} when {@code background} is set;
+     * every other caller gets the same future.
+     *
+     * @param background whether the refresh should run on the refresh executor instead of the calling thread
+     * @return a future completed with the newly cached token
+     */
+    private CompletableFuture<CachedToken> refresh(boolean background) {
+        CompletableFuture<CachedToken> refresh = new CompletableFuture<>();
+        while (!inFlightRefresh.compareAndSet(null, refresh)) {
+            CompletableFuture<CachedToken> existing = inFlightRefresh.get();
+            if (existing != null) {
+                return existing;
+            }
+        }
+        Runnable task = () -> {
+            try {
+                CachedToken token = fetchAccessToken();
+                cachedToken.set(token);
+                refresh.complete(token);
+            } catch (Throwable e) {
+                refresh.completeExceptionally(e);
+            } finally {
+                inFlightRefresh.compareAndSet(refresh, null);
+            }
+        };
+        if (background) {
+            try {
+                refreshExecutor.execute(task);
+            } catch (RuntimeException e) {
+                inFlightRefresh.compareAndSet(refresh, null);
+                refresh.completeExceptionally(e);
+            }
+        } else {
+            task.run();
+        }
+        return refresh;
+    }
+
+    /**
+     * Retrieves an access token from Enzona's authentication server by sending a HTTP POST request.
+     *
+     * @return the fetched token together with its expiry information.
+     * @throws EnzonaException if there is a failure in retrieving the access token.
+     */
+    private CachedToken fetchAccessToken() throws EnzonaException {
         try {
             HttpPost request = new HttpPost(tokenEndpoint);
 
@@ -72,25 +255,65 @@ public class AuthClient {
             urlParameters.add(new BasicNameValuePair("scope", "enzona_business_payment"));
             request.setEntity(new UrlEncodedFormEntity(urlParameters));
 
-            var response = httpClient.execute(request);
-            var responseString = EntityUtils.toString(response.getEntity());
+            long requestedAt = clock.millis();
+            TokenResponse jsonResponse = requestExecutor.execute(httpClient, null, EndpointFamily.TOKEN, "fetchAccessToken", request, true, response -> {
+                int statusCode = response.getStatusLine().getStatusCode();
+                if (statusCode != 200) {
+                    throw new EnzonaAuthException(statusCode, HttpErrors.endpoint(request),
+                            EntityUtil.toBoundedBytes(response.getEntity(), EntityUtil.MAX_ERROR_BODY_BYTES));
+                }
+                return JsonUtil.fromJson(response.getEntity().getContent(), TokenResponse.class);
+            });
 
-            if (response.getStatusLine().getStatusCode() != 200) {
-                throw new EnzonaException("Failed to retrieve access token: HTTP Status " + response.getStatusLine().getStatusCode() + " - " + responseString);
-            }
-
-            var jsonResponse = JsonUtil.fromJson(responseString, TokenResponse.class);
-            return jsonResponse.getAccessToken();
+            return new CachedToken(jsonResponse.getAccessToken(), requestedAt, jsonResponse.getExpiresIn(),
+                    expiryMargin, refreshAhead);
+        } catch (EnzonaException e) {
+            throw e;
         } catch (Exception e) {
             throw new EnzonaException("Exception occurred while fetching access token: " + e.getMessage(), e);
         }
     }
 
+    private static void startRefreshThread(Runnable task) {
+        Thread thread = new Thread(task, "enzona-token-refresh");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * An access token together with the instants at which it must be refreshed and stops being usable.
+     * Times are measured from when the token request was sent, so network latency only shortens the lifetime.
+     */
+    private static final class CachedToken {
+        private final String value;
+        private final long refreshAt;
+        private final long expiresAt;
+
+        private CachedToken(String value, long requestedAt, long expiresInSeconds, Duration expiryMargin, Duration refreshAhead) {
+            this.value = value;
+            long lifetime = Math.max(0, expiresInSeconds * 1000 - expiryMargin.toMillis());
+            this.expiresAt = requestedAt + lifetime;
+            this.refreshAt = requestedAt + Math.max(lifetime / 2, lifetime - refreshAhead.toMillis());
+        }
+
+        private boolean isUsableAt(long now) {
+            return now < expiresAt;
+        }
+
+        private boolean shouldRefreshAt(long now) {
+            return now >= refreshAt;
+        }
+    }
+
     /**
      * A private inner class to facilitate the parsing of JSON response containing the access token.
      */
     private static class TokenResponse {
-        private String access_token;
+        @JsonProperty("access_token")
+        private String accessToken;
+
+        @JsonProperty("expires_in")
+        private long expiresIn;
 
         /**
          * Returns the access token from the JSON response.
@@ -98,7 +321,16 @@ public class AuthClient {
          * @return A {@link String} that is the access token used for authentication.
          */
         public String getAccessToken() {
-            return access_token;
+            return accessToken;
+        }
+
+        /**
+         * Returns the lifetime of the access token in seconds, or zero when the server did not report one.
+         *
+         * @return the number of seconds the token remains valid after it was issued.
+         */
+        public long getExpiresIn() {
+            return expiresIn;
         }
     }
 }
@@ -0,0 +1,309 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.UncheckedEnzonaException;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Looks up many items by key with a bounded number of concurrent requests, handing back each result as soon as it
+ * completes. Lookups are obtained from {@link PaymentApi#getPaymentDetailsBatch(Collection)}.
+ *
+ * <p>Duplicate keys are requested once. At most {@link #parallelism(int)} requests are in flight at a time, all
+ * drawing from the connection pool of the shared {@link EnzonaClient} and subject to its rate limiters, retries and
+ * circuit breakers. Results arrive in completion order, not in the order of the keys. A failed item is reported as a
+ * {@link BatchResult} holding its exception and never aborts the rest of the batch.</p>
+ *
+ * <p>Results can be consumed as a {@link Stream}, through a callback or as a {@link Flow.Publisher}. At most
+ * {@code 2 * parallelism} results are buffered, so a slow consumer throttles the lookup instead of growing memory.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * paymentApi.getPaymentDetailsBatch(uuids)
+ *         .parallelism(32)
+ *         .forEach(result -&gt; {
+ *             if (result.isSuccess()) {
+ *                 ledger.reconcile(result.getValue());
+ *             } else {
+ *                 failures.add(result.getKey());
+ *             }
+ *         });
+ * </pre>
+ *
+ * @param <T> the type of the retrieved items
+ */
+public final class BatchLookup<T> {
+
+    /**
+     * Fetches the item identified by a key.
+     *
+     * @param <T> the type of the retrieved item
+     */
+    @FunctionalInterface
+    interface KeyFetcher<T> {
+        /**
+         * Fetches the item identified by the given key.
+         *
+         * @param key the key of the item
+         * @return the item
+         * @throws EnzonaException if the item cannot be retrieved
+         */
+        T fetch(String key) throws EnzonaException;
+    }
+
+    private final KeyFetcher<T> fetcher;
+    private final String[] keys;
+    private final Executor executor;
+    private int parallelism;
+
+    BatchLookup(KeyFetcher<T> fetcher, Collection<String> keys, int parallelism, Executor executor) {
+        LinkedHashSet<String> distinct = new LinkedHashSet<>(keys.size() * 4 / 3 + 1);
+        for (String key : keys) {
+            distinct.add(Objects.requireNonNull(key, "Keys must not be null"));
+        }
+        this.fetcher = fetcher;
+        this.keys = distinct.toArray(new String[0]);
+        this.executor = executor;
+        this.parallelism = requirePositive(parallelism);
+    }
+
+    /**
+     * Sets the maximum number of requests in flight at a time. Defaults to {@link PaymentApi#DEFAULT_BATCH_PARALLELISM}.
+     * Values above the pool's per-route connection limit only make requests wait for a connection.
+     *
+     * @param parallelism the concurrency cap, must be positive
+     * @return this lookup
+     */
+    public BatchLookup<T> parallelism(int parallelism) {
+        this.parallelism = requirePositive(parallelism);
+        return this;
+    }
+
+    private static int requirePositive(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        return parallelism;
+    }
+
+    /**
+     * Returns the number of distinct keys, which is the number of results the lookup produces.
+     *
+     * @return the number of distinct keys
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Starts the lookup and returns its results as they complete. Closing the stream before it is exhausted stops
+     * issuing requests; requests already in flight are left to finish. If the executor rejects every worker, or the
+     * workers stop on an {@link Error}, the keys left are reported as failures.
+     *
+     * @return a lazy {@link Stream} with one result per distinct key
+     */
+    public Stream<BatchResult<T>> stream() {
+        Lookup lookup = new Lookup();
+        int workers = Math.min(parallelism, keys.length);
+        for (int i = 0; i < workers; i++) {
+            lookup.workers.incrementAndGet();
+            try {
+                executor.execute(lookup::run);
+            } catch (RejectedExecutionException e) {
+                lookup.exited(e);
+            }
+        }
+        return StreamSupport.stream(Spliterators.spliterator(lookup, keys.length,
+                        Spliterator.NONNULL | Spliterator.DISTINCT), false)
+                .onClose(lookup::close);
+    }
+
+    /**
+     * Runs the lookup and passes each result to the callback as it completes, waiting until every key has been
+     * looked up. The callback runs on the calling thread, one result at a time.
+     *
+     * @param callback receives every result
+     * @throws UncheckedEnzonaException if the calling thread is interrupted while waiting
+     */
+    public void forEach(Consumer<? super BatchResult<T>> callback) {
+        try (Stream<BatchResult<T>> results = stream()) {
+            results.forEach(callback);
+        }
+    }
+
+    /**
+     * Returns a publisher that runs the lookup for each subscriber and signals its results as they complete, followed
+     * by {@code onComplete}. Results are collected on a thread of their own, so they keep flowing while the workers
+     * occupy the client's task executor, and are delivered on that executor honouring the subscriber's demand:
+     * requests stop being issued while the subscriber's buffer is full. Cancelling the subscription stops the lookup.
+     *
+     * @return a {@link Flow.Publisher} of results
+     */
+    public Flow.Publisher<BatchResult<T>> publisher() {
+        return subscriber -> {
+            SubmissionPublisher<BatchResult<T>> publisher = new SubmissionPublisher<>(executor,
+                    Math.max(Flow.defaultBufferSize(), parallelism));
+            publisher.subscribe(subscriber);
+            Thread drain = new Thread(() -> {
+                try (Stream<BatchResult<T>> results = stream()) {
+                    Iterator<BatchResult<T>> iterator = results.iterator();
+                    while (publisher.hasSubscribers() && iterator.hasNext()) {
+                        publisher.submit(iterator.next());
+                    }
+                    publisher.close();
+                } catch (RuntimeException e) {
+                    publisher.closeExceptionally(e);
+                }
+            }, "enzona-batch-publisher");
+            drain.setDaemon(true);
+            drain.start();
+        };
+    }
+
+    /**
+     * Shares the keys among the workers and merges their results through a bounded queue. Once no worker is left,
+     * the consumer claims the keys still unclaimed itself and reports them as failed.
+     */
+    private final class Lookup implements Iterator<BatchResult<T>> {
+
+        private final AtomicInteger nextKey = new AtomicInteger();
+        private final AtomicInteger workers = new AtomicInteger();
+        private final BlockingQueue<BatchResult<T>> results = new ArrayBlockingQueue<>(2 * parallelism);
+        private volatile boolean closed;
+        private volatile Throwable stopCause;
+        private int remaining = keys.length;
+
+        void run() {
+            Throwable failure = null;
+            try {
+                int index;
+                while (!closed && (index = nextKey.getAndIncrement()) < keys.length) {
+                    BatchResult<T> result;
+                    try {
+                        result = lookup(keys[index]);
+                    } catch (Error e) {
+                        offer(abandoned(keys[index], e));
+                        throw e;
+                    }
+                    if (!offer(result)) {
+                        return;
+                    }
+                }
+            } catch (Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                exited(failure);
+            }
+        }
+
+        /**
+         * Records that a worker stopped, or was never started, and why if it did not finish normally. Its results
+         * are already queued, so a consumer seeing no worker left only waits for those.
+         */
+        void exited(Throwable cause) {
+            if (cause != null) {
+                stopCause = cause;
+            }
+            workers.decrementAndGet();
+        }
+
+        private BatchResult<T> abandoned(String key, Throwable cause) {
+            return BatchResult.failure(key, new EnzonaException(
+                    "Could not look up " + key + ": " + cause, cause));
+        }
+
+        private BatchResult<T> lookup(String key) {
+            try {
+                return BatchResult.success(key, fetcher.fetch(key));
+            } catch (EnzonaException e) {
+                return BatchResult.failure(key, e);
+            } catch (UncheckedEnzonaException e) {
+                return BatchResult.failure(key, e.getCause());
+            } catch (RuntimeException e) {
+                return BatchResult.failure(key, new EnzonaException(
+                        "Exception occurred while looking up " + key + ": " + e.getMessage(), e));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public BatchResult<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                BatchResult<T> result = results.poll();
+                while (result == null && workers.get() > 0) {
+                    result = results.poll(100, TimeUnit.MILLISECONDS);
+                }
+                if (result == null) {
+                    // Queued before the last worker exited, or not at all
+                    result = results.poll();
+                }
+                if (result == null) {
+                    result = claimAbandoned();
+                }
+                remaining--;
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new UncheckedEnzonaException(new EnzonaException("Interrupted while waiting for batch results", e));
+            }
+        }
+
+        private BatchResult<T> claimAbandoned() {
+            int index = nextKey.getAndIncrement();
+            if (index >= keys.length) {
+                close();
+                throw new UncheckedEnzonaException(new EnzonaException(
+                        "Batch lookup workers stopped without reporting every result", stopCause));
+            }
+            return abandoned(keys[index], stopCause);
+        }
+
+        /**
+         * Stops handing out keys and drops buffered results.
+         */
+        void close() {
+            closed = true;
+            remaining = 0;
+            results.clear();
+        }
+
+        private boolean offer(BatchResult<T> result) {
+            try {
+                while (!closed) {
+                    if (results.offer(result, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of one item of a batch: either the value retrieved for its key or the exception that prevented it.
+ * Failures of single items are reported this way so that the rest of the batch keeps going.
+ *
+ * @param <T> the type of the retrieved values
+ */
+@Getter
+@ToString
+public final class BatchResult<T> {
+
+    /**
+     * The key the item was requested for, e.g. a transaction UUID.
+     */
+    private final String key;
+
+    /**
+     * The retrieved value, or null if the item failed.
+     */
+    private final T value;
+
+    /**
+     * The failure of the item, or null if it succeeded.
+     */
+    private final EnzonaException error;
+
+    private BatchResult(String key, T value, EnzonaException error) {
+        this.key = key;
+        this.value = value;
+        this.error = error;
+    }
+
+    static <T> BatchResult<T> success(String key, T value) {
+        return new BatchResult<>(key, value, null);
+    }
+
+    static <T> BatchResult<T> failure(String key, EnzonaException error) {
+        return new BatchResult<>(key, null, error);
+    }
+
+    /**
+     * Tells whether the item was retrieved.
+     *
+     * @return {@code true} if {@code getValue()} holds the result, {@code false} if {@code getError()} does
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the progress of a {@link BulkRefunder} run. The snapshot returned when the run ends doubles as its
+ * report.
+ */
+@Getter
+@ToString
+public final class BulkRefundProgress {
+
+    /**
+     * The number of instructions in the run, or -1 if it is not known.
+     */
+    private final long total;
+
+    /**
+     * The number of refunds handed to the transport so far.
+     */
+    private final long submitted;
+
+    /**
+     * The number of refunds issued by this run.
+     */
+    private final long succeeded;
+
+    /**
+     * The number of refunds rejected by the API.
+     */
+    private final long failed;
+
+    /**
+     * The number of refunds that may or may not have been issued, e.g. because the request timed out. They stay in
+     * doubt when the run is resumed with the same journal, until an operator resends them with
+     * {@link BulkRefunder#resendInDoubt(boolean)}.
+     */
+    private final long inDoubt;
+
+    /**
+     * The number of instructions skipped because the journal records them as done, or because they repeat an
+     * earlier instruction of the run.
+     */
+    private final long skipped;
+
+    /**
+     * The time since the run started.
+     */
+    private final Duration elapsed;
+
+    BulkRefundProgress(long total, long submitted, long succeeded, long failed, long inDoubt, long skipped,
+                       Duration elapsed) {
+        this.total = total;
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.inDoubt = inDoubt;
+        this.skipped = skipped;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Returns the number of instructions dealt with so far, whatever their outcome.
+     *
+     * @return the number of succeeded, failed, in-doubt and skipped instructions
+     */
+    public long getProcessed() {
+        return succeeded + failed + inDoubt + skipped;
+    }
+
+    /**
+     * Returns the rate at which refund requests have completed since the run started. Skipped instructions are not
+     * counted.
+     *
+     * @return the completed refund requests per second
+     */
+    public double getThroughput() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : (succeeded + failed + inDoubt) * 1e9 / nanos;
+    }
+
+    /**
+     * Estimates the time left until every instruction is processed, at the throughput achieved so far.
+     *
+     * @return the estimated remaining time, or null if the total is unknown or nothing has completed yet
+     */
+    public Duration getEta() {
+        double throughput = getThroughput();
+        if (total < 0 || throughput == 0) {
+            return null;
+        }
+        long remaining = Math.max(0, total - getProcessed());
+        return Duration.ofNanos((long) (remaining / throughput * 1e9));
+    }
+}
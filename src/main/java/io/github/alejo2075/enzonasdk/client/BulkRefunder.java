@@ -0,0 +1,407 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.CircuitBreakerOpenException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaHttpException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaRateLimitException;
+import io.github.alejo2075.enzonasdk.model.response.RefundPaymentResponse;
+import io.github.alejo2075.enzonasdk.ratelimit.RateLimiter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Issues large numbers of refunds through {@link PaymentApi#refundPayment(String, io.github.alejo2075.enzonasdk.model.request.RefundPaymentRequest)},
+ * keeping up to {@link #parallelism(int)} requests in flight over the shared connection pool and recording every
+ * outcome in an append-only journal file. Refunders are obtained from {@link PaymentApi#bulkRefunder(Path)}.
+ *
+ * <p>Running again with the same journal resumes an interrupted run without refunding twice:</p>
+ * <ul>
+ *     <li>instructions recorded as issued are skipped, as are rejected ones unless the rejection was transient or
+ *     {@link #retryFailed(boolean)} is set;</li>
+ *     <li>instructions whose outcome is unknown, because the run crashed or the request timed out, are counted as in
+ *     doubt and not sent. Refund listings do not echo the {@code commerceRefundId}, so whether such a refund was
+ *     issued cannot be proven from the API; an operator checks them and resends the ones that were not issued with
+ *     {@link #resendInDoubt(boolean)}.</li>
+ * </ul>
+ *
+ * <p>This relies on every {@link RefundInstruction} having its own ID, so a run rejects an input in which two
+ * instructions share one: a collection before any refund is sent, a stream when the duplicate is reached, after the
+ * refunds in flight are journaled. Two partial refunds of the same payment therefore need distinct
+ * {@code commerceRefundId}s, or distinct IDs given to {@link RefundInstruction#RefundInstruction(String, String,
+ * io.github.alejo2075.enzonasdk.model.request.RefundPaymentRequest)}.</p>
+ *
+ * <p>Requests are paced by the client's rate limiter for {@link EndpointFamily#REFUNDS} and, optionally, by a
+ * dedicated {@link #rateLimiter(RateLimiter)}. Instructions are pulled from the input only as slots free up, so a lazy
+ * stream is never read ahead by more than the parallelism. Progress, throughput and the estimated time left are
+ * passed to the {@link #progressListener(Consumer)} on the calling thread.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * BulkRefundProgress report = paymentApi.bulkRefunder(Paths.get("refunds-incident-42.journal"))
+ *         .parallelism(16)
+ *         .rateLimiter(TokenBucketRateLimiter.builder(50).build())
+ *         .progressListener(p -&gt; log.info("{}/{} refunds, {}/s, ETA {}", p.getProcessed(), p.getTotal(),
+ *                 p.getThroughput(), p.getEta()))
+ *         .run(instructions);
+ * </pre>
+ */
+public final class BulkRefunder {
+
+    private final PaymentApi paymentApi;
+    private final Path journalPath;
+    private final Executor executor;
+    private int parallelism = 8;
+    private RateLimiter rateLimiter = RateLimiter.unlimited();
+    private Consumer<? super BulkRefundProgress> progressListener;
+    private Duration progressInterval = Duration.ofSeconds(5);
+    private long expectedTotal = -1;
+    private boolean retryFailed;
+    private boolean resendInDoubt;
+
+    BulkRefunder(PaymentApi paymentApi, Path journalPath, Executor executor) {
+        this.paymentApi = paymentApi;
+        this.journalPath = Objects.requireNonNull(journalPath, "journal must not be null");
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the maximum number of refund requests in flight at a time. Defaults to eight.
+     *
+     * @param parallelism the concurrency cap, must be positive
+     * @return this refunder
+     */
+    public BulkRefunder parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets a limiter applied to this run's refund requests on top of the client's limiter for
+     * {@link EndpointFamily#REFUNDS}, e.g. to leave headroom for live traffic. Unlimited by default.
+     *
+     * @param rateLimiter the limiter of the run
+     * @return this refunder
+     */
+    public BulkRefunder rateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = Objects.requireNonNull(rateLimiter);
+        return this;
+    }
+
+    /**
+     * Sets the listener that receives a progress snapshot every {@link #progressInterval(Duration)} and once the run
+     * ends. It is called on the thread running the refunder.
+     *
+     * @param progressListener receives progress snapshots
+     * @return this refunder
+     */
+    public BulkRefunder progressListener(Consumer<? super BulkRefundProgress> progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * Sets how often progress is reported. Defaults to five seconds.
+     *
+     * @param progressInterval the time between two progress snapshots, must be positive
+     * @return this refunder
+     */
+    public BulkRefunder progressInterval(Duration progressInterval) {
+        if (progressInterval.isNegative() || progressInterval.isZero()) {
+            throw new IllegalArgumentException("progressInterval must be positive");
+        }
+        this.progressInterval = progressInterval;
+        return this;
+    }
+
+    /**
+     * Sets the number of instructions a stream will yield, so that {@link BulkRefundProgress#getEta()} can be
+     * estimated. Not needed when running a collection.
+     *
+     * @param expectedTotal the number of instructions
+     * @return this refunder
+     */
+    public BulkRefunder expectedTotal(long expectedTotal) {
+        this.expectedTotal = expectedTotal;
+        return this;
+    }
+
+    /**
+     * Sends again the refunds the journal records as permanently rejected, e.g. after fixing their amounts.
+     * By default only transient rejections, such as throttling, are sent again.
+     *
+     * @param retryFailed whether to resend rejected refunds
+     * @return this refunder
+     */
+    public BulkRefunder retryFailed(boolean retryFailed) {
+        this.retryFailed = retryFailed;
+        return this;
+    }
+
+    /**
+     * Sends again the refunds the journal records as in doubt. Only set this for instructions an operator has
+     * confirmed were not issued, since every in-doubt refund of the input is sent again.
+     *
+     * @param resendInDoubt whether to resend refunds whose outcome is unknown
+     * @return this refunder
+     */
+    public BulkRefunder resendInDoubt(boolean resendInDoubt) {
+        this.resendInDoubt = resendInDoubt;
+        return this;
+    }
+
+    /**
+     * Issues the refunds of the given collection.
+     *
+     * @param instructions the refunds to issue
+     * @return the final progress of the run
+     * @throws EnzonaException if the journal cannot be read or written, or the thread is interrupted. Refunds in
+     *                         flight are awaited and journaled first.
+     * @throws IllegalArgumentException if two instructions share an ID; no refund is sent then.
+     * @see #run(Stream)
+     */
+    public BulkRefundProgress run(Collection<RefundInstruction> instructions) throws EnzonaException {
+        Set<String> ids = new HashSet<>();
+        for (RefundInstruction instruction : instructions) {
+            if (!ids.add(instruction.getId())) {
+                throw duplicateId(instruction);
+            }
+        }
+        return run(instructions.iterator(), instructions.size());
+    }
+
+    /**
+     * Issues the refunds of the given stream, which is consumed lazily. Refunds rejected by the API, or whose outcome
+     * is unknown, do not stop the run; they are counted in the returned progress and recorded in the journal.
+     *
+     * @param instructions the refunds to issue
+     * @return the final progress of the run
+     * @throws EnzonaException if the journal cannot be read or written, or the thread is interrupted. Refunds in
+     *                         flight are awaited and journaled first.
+     * @throws IllegalArgumentException if an instruction has the ID of an earlier one. The run stops at that
+     *                                  instruction, once the refunds in flight are journaled.
+     */
+    public BulkRefundProgress run(Stream<RefundInstruction> instructions) throws EnzonaException {
+        return run(instructions.iterator(), expectedTotal);
+    }
+
+    private BulkRefundProgress run(Iterator<RefundInstruction> instructions, long total) throws EnzonaException {
+        try (RefundJournal journal = RefundJournal.open(journalPath)) {
+            return new Run(journal, total).execute(instructions);
+        } catch (IOException e) {
+            throw new EnzonaException("Exception occurred while accessing refund journal: " + e.getMessage(), e);
+        }
+    }
+
+    private static IllegalArgumentException duplicateId(RefundInstruction instruction) {
+        return new IllegalArgumentException("Refund instruction ID " + instruction.getId()
+                + " is used more than once; every refund needs its own ID");
+    }
+
+    /**
+     * State of a single run.
+     */
+    private final class Run {
+
+        private final RefundJournal journal;
+        private final long total;
+        private final long startNanos = System.nanoTime();
+        private final long intervalNanos = progressInterval.toNanos();
+        private final Semaphore slots = new Semaphore(parallelism);
+        private final Set<String> seen = new HashSet<>();
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong inDoubt = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicReference<IOException> journalFailure = new AtomicReference<>();
+        private long nextReportNanos;
+
+        Run(RefundJournal journal, long total) {
+            this.journal = journal;
+            this.total = total;
+            this.nextReportNanos = startNanos + intervalNanos;
+        }
+
+        BulkRefundProgress execute(Iterator<RefundInstruction> instructions) throws EnzonaException, IOException {
+            RefundInstruction duplicate = null;
+            try {
+                while (journalFailure.get() == null && instructions.hasNext()) {
+                    RefundInstruction instruction = instructions.next();
+                    if (!seen.add(instruction.getId())) {
+                        duplicate = instruction;
+                        break;
+                    }
+                    RefundJournal.Entry last = journal.latest(instruction.getId());
+                    if (isDone(last)) {
+                        skipped.incrementAndGet();
+                        continue;
+                    }
+                    if (isUnresolved(last) && !resendInDoubt) {
+                        inDoubt.incrementAndGet();
+                        continue;
+                    }
+                    acquire(1);
+                    submitted.incrementAndGet();
+                    executor.execute(() -> {
+                        try {
+                            process(instruction);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+                acquire(parallelism);
+            } catch (InterruptedException e) {
+                slots.acquireUninterruptibly(parallelism);
+                Thread.currentThread().interrupt();
+                throw new EnzonaException("Interrupted while issuing refunds", e);
+            }
+            IOException failure = journalFailure.get();
+            if (failure != null) {
+                throw failure;
+            }
+            if (duplicate != null) {
+                throw duplicateId(duplicate);
+            }
+            BulkRefundProgress progress = snapshot();
+            if (progressListener != null) {
+                progressListener.accept(progress);
+            }
+            return progress;
+        }
+
+        private boolean isDone(RefundJournal.Entry last) {
+            if (last == null) {
+                return false;
+            }
+            switch (last.getStatus()) {
+                case SUCCEEDED:
+                    return true;
+                case FAILED:
+                    return !retryFailed && !last.isRetryable();
+                default:
+                    return false;
+            }
+        }
+
+        private boolean isUnresolved(RefundJournal.Entry last) {
+            return last != null
+                    && (last.getStatus() == RefundJournal.Status.STARTED || last.getStatus() == RefundJournal.Status.IN_DOUBT);
+        }
+
+        /**
+         * Waits for free slots, reporting progress whenever the interval elapses.
+         */
+        private void acquire(int permits) throws InterruptedException {
+            if (progressListener == null) {
+                slots.acquire(permits);
+                return;
+            }
+            while (!slots.tryAcquire(permits, Math.max(0, nextReportNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                report();
+            }
+            if (System.nanoTime() - nextReportNanos >= 0) {
+                report();
+            }
+        }
+
+        private void report() {
+            nextReportNanos = System.nanoTime() + intervalNanos;
+            progressListener.accept(snapshot());
+        }
+
+        private BulkRefundProgress snapshot() {
+            return new BulkRefundProgress(total, submitted.get(), succeeded.get(), failed.get(), inDoubt.get(),
+                    skipped.get(), Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+
+        private void process(RefundInstruction instruction) {
+            try {
+                send(instruction);
+            } catch (IOException e) {
+                journalFailure.compareAndSet(null, e);
+            } catch (RuntimeException e) {
+                inDoubt.incrementAndGet();
+            }
+        }
+
+        private void send(RefundInstruction instruction) throws IOException {
+            RateLimiter.Permit permit;
+            try {
+                permit = rateLimiter.acquire();
+            } catch (EnzonaException e) {
+                journal.append(entry(instruction, RefundJournal.Status.FAILED, null, e), false);
+                failed.incrementAndGet();
+                return;
+            }
+            try {
+                journal.append(entry(instruction, RefundJournal.Status.STARTED, null, null), true);
+            } catch (IOException e) {
+                permit.release();
+                throw e;
+            }
+            try {
+                RefundPaymentResponse response = paymentApi.refundPayment(instruction.getTransactionUuid(), instruction.getRequest());
+                permit.success();
+                journal.append(entry(instruction, RefundJournal.Status.SUCCEEDED, response.getUuid(), null), false);
+                succeeded.incrementAndGet();
+            } catch (EnzonaException e) {
+                giveFeedback(permit, e);
+                if (isRejected(e)) {
+                    journal.append(entry(instruction, RefundJournal.Status.FAILED, null, e), false);
+                    failed.incrementAndGet();
+                } else {
+                    journal.append(entry(instruction, RefundJournal.Status.IN_DOUBT, null, e), false);
+                    inDoubt.incrementAndGet();
+                }
+            }
+        }
+
+        private RefundJournal.Entry entry(RefundInstruction instruction, RefundJournal.Status status, String refundUuid,
+                                          EnzonaException error) {
+            return new RefundJournal.Entry(instruction.getId(), instruction.getTransactionUuid(), status, refundUuid,
+                    error != null && error.isRetryable(), error != null ? error.getMessage() : null,
+                    System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Tells whether a failed refund request certainly did not issue the refund: the API answered with a client error,
+     * or the request was never sent.
+     */
+    private static boolean isRejected(EnzonaException e) {
+        if (e instanceof EnzonaHttpException) {
+            return ((EnzonaHttpException) e).getStatusCode() < 500;
+        }
+        return e instanceof CircuitBreakerOpenException;
+    }
+
+    private static void giveFeedback(RateLimiter.Permit permit, EnzonaException e) {
+        if (e instanceof EnzonaRateLimitException) {
+            permit.throttled(((EnzonaRateLimitException) e).getRetryAfter());
+        } else if (e instanceof EnzonaHttpException && ((EnzonaHttpException) e).getStatusCode() == 503) {
+            permit.throttled(null);
+        } else if (e instanceof EnzonaHttpException) {
+            permit.success();
+        } else {
+            permit.release();
+        }
+    }
+}
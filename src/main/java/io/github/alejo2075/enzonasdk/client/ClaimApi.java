@@ -3,14 +3,20 @@ package io.github.alejo2075.enzonasdk.client;
 import io.github.alejo2075.enzonasdk.exception.EnzonaException;
 import io.github.alejo2075.enzonasdk.model.request.CreateClaimsRequest;
 import io.github.alejo2075.enzonasdk.model.response.CreateClaimsResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import lombok.AccessLevel;
 import lombok.Data;
-import org.apache.http.client.methods.CloseableHttpResponse;
+import lombok.Getter;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 /**
  * Handles claim-related operations for the Enzona API.
@@ -32,20 +38,56 @@ import org.apache.http.util.EntityUtils;
 @Data
 public class ClaimApi {
 
-    private final String baseUrl = "https://api.enzona.net/payment/";
+    private final String baseUrl;
     private final AuthClient authClient;
-    private CloseableHttpClient httpClient = HttpClients.createDefault();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CloseableHttpClient httpClient;
+    private final EnzonaClient client;
+
+    @Getter(AccessLevel.NONE)
+    private final RequestExecutor requestExecutor;
 
     /**
      * Constructs a ClaimApi instance using provided consumer key and consumer secret.
-     * This constructor initializes an {@link AuthClient} for handling authentication.
+     * The API gets an {@link EnzonaClient} of its own, which is closed once the API is no longer reachable, so it must
+     * not be handed to other APIs. That client does not retry failed requests and has no circuit breakers, as before
+     * they were introduced; build an {@link EnzonaClient} and use {@link #ClaimApi(EnzonaClient)} to configure them and
+     * to share one connection pool and access token between APIs.
      *
      * @param consumerKey The consumer key issued by Enzona for API authentication.
      * @param consumerSecret The consumer secret issued by Enzona for API authentication.
      */
     public ClaimApi(String consumerKey, String consumerSecret) {
-        this.authClient = new AuthClient(consumerKey, consumerSecret);
+        this(EnzonaClient.standalone(consumerKey, consumerSecret));
+        client.closeWhenUnreachable(this);
+    }
+
+    /**
+     * Constructs a ClaimApi instance that sends its requests through the given {@link EnzonaClient},
+     * sharing its connection pool and access token with every other API built on the same client.
+     *
+     * @param client The shared Enzona transport.
+     */
+    public ClaimApi(EnzonaClient client) {
+        this.baseUrl = client.getBaseUrl() + "payment/";
+        this.authClient = client.getAuthClient();
+        this.httpClient = client.getHttpClient();
+        this.client = client;
+        this.requestExecutor = client.getRequestExecutor();
+    }
+
+    /**
+     * Runs the given calls concurrently on the executor of the shared {@link EnzonaClient} and waits for all of them.
+     * With {@link EnzonaClient.Builder#useVirtualThreads(boolean)} enabled, each call gets its own virtual thread,
+     * so tens of thousands of blocking calls can be in flight without tying up platform threads.
+     *
+     * @param tasks The calls to run, typically lambdas invoking methods of this API.
+     * @param <T> The result type of the calls.
+     * @return the completed futures, in the same order as {@code tasks}.
+     * @throws EnzonaException if the calling thread is interrupted while waiting.
+     * @see EnzonaClient#invokeAll(Collection)
+     */
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws EnzonaException {
+        return client.invokeAll(tasks);
     }
 
     /**
@@ -57,34 +99,40 @@ public class ClaimApi {
      * @throws EnzonaException if there is an issue with network communication, or if the API response indicates an error.
      */
     public CreateClaimsResponse createClaims(CreateClaimsRequest request) throws EnzonaException {
-        try (CloseableHttpResponse response = executeClaimRequest(request)) {
-            String jsonResponse = EntityUtils.toString(response.getEntity());
-            int statusCode = response.getStatusLine().getStatusCode();
+        try {
+            HttpPost httpPost = buildClaimRequest(request);
+            return requestExecutor.execute(httpClient, authClient, EndpointFamily.CLAIMS, "createClaims", httpPost, false, response -> {
+                int statusCode = response.getStatusLine().getStatusCode();
 
-            if (statusCode != 200) {
-                throw new EnzonaException("Failed to create claim: HTTP Status " + statusCode + " - " + jsonResponse);
-            }
+                if (statusCode != 200) {
+                    throw HttpErrors.from(httpPost, response);
+                }
 
-            return objectMapper.readValue(jsonResponse, CreateClaimsResponse.class);
+                try (InputStream content = response.getEntity().getContent()) {
+                    return JsonUtil.fromJson(content, CreateClaimsResponse.class);
+                }
+            });
+        } catch (EnzonaException e) {
+            throw e;
         } catch (Exception e) {
             throw new EnzonaException("Exception occurred while creating claim: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Executes a POST request to the claims endpoint.
+     * Builds a POST request to the claims endpoint. The access token is added by the {@link RequestExecutor} on every
+     * attempt.
      *
      * @param request The {@link CreateClaimsRequest} to be serialized and sent as part of the POST request.
-     * @return {@link CloseableHttpResponse} representing the response from the server.
-     * @throws Exception if an error occurs during the HTTP request execution.
+     * @return {@link HttpPost} ready to be executed.
+     * @throws Exception if the request cannot be serialized.
      */
-    private CloseableHttpResponse executeClaimRequest(CreateClaimsRequest request) throws Exception {
+    private HttpPost buildClaimRequest(CreateClaimsRequest request) throws Exception {
         String url = baseUrl + "createClaims";
         HttpPost httpPost = new HttpPost(url);
         configureRequestHeaders(httpPost);
-        String json = objectMapper.writeValueAsString(request);
-        httpPost.setEntity(new StringEntity(json));
-        return httpClient.execute(httpPost);
+        httpPost.setEntity(new ByteArrayEntity(JsonUtil.toJsonBytes(request), ContentType.APPLICATION_JSON));
+        return httpPost;
     }
 
     /**
@@ -92,8 +140,7 @@ public class ClaimApi {
      *
      * @param httpPost The {@link HttpPost} object whose headers need to be set.
      */
-    private void configureRequestHeaders(HttpPost httpPost) throws EnzonaException {
-        httpPost.setHeader("Authorization", "Bearer " + authClient.getAccessToken());
+    private void configureRequestHeaders(HttpPost httpPost) {
         httpPost.setHeader("Content-Type", "application/json");
     }
 }
@@ -0,0 +1,65 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests executing at once to the number of connections the pool can lend.
+ *
+ * <p>Apache HttpClient waits for a free pooled connection while holding a monitor, which pins a virtual thread to its
+ * carrier; with enough callers every carrier ends up pinned while the threads that would return connections cannot
+ * be scheduled. Callers therefore wait here instead, on a {@link Semaphore}, and only reach the pool once a connection
+ * is guaranteed to be available.</p>
+ */
+final class ConnectionGate {
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    /**
+     * Creates a gate admitting at most {@code maxConcurrent} requests.
+     *
+     * @param maxConcurrent the number of connections the pool can lend to a single route.
+     * @param timeout how long a request waits for admission before failing, mirroring the pool's request timeout.
+     */
+    ConnectionGate(int maxConcurrent, Duration timeout) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Waits until a connection is available for the calling request.
+     *
+     * @throws ConnectionPoolTimeoutException if no connection becomes available within the timeout.
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting.
+     */
+    void acquire() throws ConnectionPoolTimeoutException, InterruptedIOException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for connection from pool");
+        }
+    }
+
+    /**
+     * Returns the admission taken by {@link #acquire()} once the request's response has been closed.
+     */
+    void release() {
+        permits.release();
+    }
+
+    /**
+     * Returns the number of requests currently waiting for admission.
+     *
+     * @return an estimate of the number of waiting requests.
+     */
+    int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.alejo2075.enzonasdk.client;
+
+/**
+ * Groups the Enzona endpoints that are throttled together, so limits can be configured per family through
+ * {@link EnzonaClient.Builder#rateLimiter(EndpointFamily, io.github.alejo2075.enzonasdk.ratelimit.RateLimiter)}.
+ */
+public enum EndpointFamily {
+
+    /**
+     * Payment creation, lookup, listing, confirmation, completion, cancellation, checkout and vendor codes.
+     */
+    PAYMENTS("payments"),
+
+    /**
+     * Refund creation, lookup and listing.
+     */
+    REFUNDS("payments/refund"),
+
+    /**
+     * Payment order creation.
+     */
+    PAYMENT_ORDERS("payment-orders"),
+
+    /**
+     * Product payments through the shop endpoint.
+     */
+    SHOP("shop"),
+
+    /**
+     * Claim creation.
+     */
+    CLAIMS("createClaims"),
+
+    /**
+     * Access token requests.
+     */
+    TOKEN("token");
+
+    private final String path;
+
+    EndpointFamily(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the path, relative to the API base URL, that identifies this family.
+     *
+     * @return the representative path of the family.
+     */
+    public String getPath() {
+        return path;
+    }
+}
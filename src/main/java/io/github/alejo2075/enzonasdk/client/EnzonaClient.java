@@ -0,0 +1,859 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.cache.DetailsCache;
+import io.github.alejo2075.enzonasdk.circuitbreaker.CircuitBreaker;
+import io.github.alejo2075.enzonasdk.compression.CompressionPolicy;
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.instrumentation.ConnectionPoolMetrics;
+import io.github.alejo2075.enzonasdk.instrumentation.Instrumentation;
+import io.github.alejo2075.enzonasdk.ratelimit.RateLimiter;
+import io.github.alejo2075.enzonasdk.retry.RetryPolicy;
+import io.github.alejo2075.enzonasdk.util.VirtualThreads;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shared transport for the Enzona API.
+ * Owns a single pooled {@link CloseableHttpClient} and the {@link AuthClient} that every API built on top of it uses,
+ * so {@link PaymentApi}, {@link ClaimApi} and token requests all draw from the same connection pool.
+ * The non-blocking {@link AsyncPaymentApi} and {@link AsyncClaimApi} use a {@link HttpClient java.net.http.HttpClient}
+ * that is created on first use and shares the same access token.
+ *
+ * <p>Instances are created through {@link #builder(String, String)}, which exposes the pool limits, connection
+ * lifetime and timeouts. A single instance is meant to be shared by the whole application and closed on shutdown.</p>
+ *
+ * <p>Blocking calls can be fanned out with {@link #invokeAll(Collection)}. On JDK 21 the client can be switched to
+ * a virtual-thread-per-task executor with {@link Builder#useVirtualThreads(boolean)}, in which case token refreshes
+ * run on virtual threads too. Neither the connection pool nor the token cache holds a monitor during I/O, so
+ * blocked virtual threads do not pin their carrier threads.</p>
+ *
+ * <p>Requests can be throttled client-side with a {@link RateLimiter} per {@link EndpointFamily}, configured through
+ * {@link Builder#rateLimiter(EndpointFamily, RateLimiter)}. Limiters are told about HTTP 429 and 503 responses and
+ * the server's {@code Retry-After} delay, so batch jobs back off instead of being throttled repeatedly. Transient
+ * failures are retried with exponential backoff and jitter according to the {@link RetryPolicy} set through
+ * {@link Builder#retryPolicy(RetryPolicy)}.</p>
+ *
+ * <p>Each endpoint family is guarded by its own {@link CircuitBreaker}: when too many of its recent calls fail with
+ * network errors or HTTP 5xx, or take too long, further calls fail immediately with a
+ * {@link io.github.alejo2075.enzonasdk.exception.CircuitBreakerOpenException} until probe calls show that the API has
+ * recovered. Breakers are tuned through {@link Builder#circuitBreaker(EndpointFamily, CircuitBreaker)}.</p>
+ *
+ * <p>Latency, status, retries, body sizes, pool usage and token cache hits of every call are reported to the
+ * {@link Instrumentation} set through {@link Builder#instrumentation(Instrumentation)}, which can also propagate W3C
+ * trace context. Nothing is recorded by default.</p>
+ *
+ * <p>Payment and refund details can be served from a {@link DetailsCache} set through
+ * {@link Builder#detailsCache(DetailsCache)}, which keeps transactions in a final state far longer than pending ones.
+ * With {@link Builder#coalesceReads(boolean)}, concurrent identical reads share a single request.</p>
+ *
+ * <p>With {@link Builder#http2(boolean)}, blocking and non-blocking calls share one {@link HttpClient} that
+ * multiplexes concurrent requests over a few HTTP/2 connections instead of the pooled HTTP/1.1 client, falling back to
+ * HTTP/1.1 when the server does not negotiate HTTP/2.</p>
+ *
+ * <p>Responses are requested gzip-encoded and decoded while they are parsed. Request bodies can be compressed above a
+ * size threshold, per endpoint family, through {@link Builder#compression(EndpointFamily, CompressionPolicy)}.</p>
+ *
+ * <p>Building a client is cheap: the HTTP client, its connection pool and TLS setup are created when the first request
+ * is sent, so short-lived processes such as serverless functions can create their APIs eagerly and only pay for the
+ * transport they use.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * EnzonaClient client = EnzonaClient.builder("consumerKey", "consumerSecret")
+ *         .maxConnectionsTotal(400)
+ *         .maxConnectionsPerRoute(400)
+ *         .build();
+ * PaymentApi paymentApi = new PaymentApi(client);
+ * ClaimApi claimApi = new ClaimApi(client);
+ * </pre>
+ */
+@Getter
+public class EnzonaClient implements Closeable {
+
+    /**
+     * Root URL of the production Enzona API.
+     */
+    public static final String DEFAULT_BASE_URL = "https://api.enzona.net/";
+
+    private final String baseUrl;
+    private final AuthClient authClient;
+    private final CloseableHttpClient httpClient;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<PoolingHttpClientConnectionManager> connectionManager = new AtomicReference<>();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final RequestExecutor requestExecutor;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final Executor asyncExecutor;
+    private final ExecutorService callExecutor;
+    private final boolean ownsCallExecutor;
+    private final DetailsCache detailsCache;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final SingleFlight singleFlight;
+
+    @Getter(AccessLevel.NONE)
+    private final int maxConnectionsTotal;
+
+    @Getter(AccessLevel.NONE)
+    private final int maxConnectionsPerRoute;
+
+    @Getter(AccessLevel.NONE)
+    private final Duration connectionTimeToLive;
+
+    @Getter(AccessLevel.NONE)
+    private final Duration validateAfterInactivity;
+
+    @Getter(AccessLevel.NONE)
+    private final HttpClient.Version asyncVersion;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<HttpClient> asyncHttpClient = new AtomicReference<>();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<ExecutorService> taskExecutor = new AtomicReference<>();
+
+    private EnzonaClient(Builder builder) {
+        this.connectTimeout = builder.connectTimeout;
+        this.requestTimeout = builder.socketTimeout;
+        this.asyncExecutor = builder.asyncExecutor;
+        this.detailsCache = builder.detailsCache;
+        this.singleFlight = builder.coalesceReads ? new SingleFlight() : null;
+        this.ownsCallExecutor = builder.callExecutor == null && builder.useVirtualThreads;
+        this.callExecutor = ownsCallExecutor ? VirtualThreads.newVirtualThreadPerTaskExecutor() : builder.callExecutor;
+        this.baseUrl = builder.baseUrl.endsWith("/") ? builder.baseUrl : builder.baseUrl + "/";
+        this.maxConnectionsTotal = builder.maxConnectionsTotal;
+        this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        this.connectionTimeToLive = builder.connectionTimeToLive;
+        this.validateAfterInactivity = builder.validateAfterInactivity;
+        this.asyncVersion = builder.http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+
+        if (builder.http2) {
+            this.httpClient = new LazyHttpClient(() -> new Http2Transport(getAsyncHttpClient(), requestTimeout));
+        } else {
+            RequestConfig requestConfig = RequestConfig.custom()
+                    .setConnectTimeout((int) builder.connectTimeout.toMillis())
+                    .setSocketTimeout((int) builder.socketTimeout.toMillis())
+                    .setConnectionRequestTimeout((int) builder.connectionRequestTimeout.toMillis())
+                    .build();
+            ConnectionKeepAliveStrategy keepAliveStrategy = builder.keepAliveStrategy != null
+                    ? builder.keepAliveStrategy
+                    : cappedKeepAliveStrategy(builder.maxKeepAlive);
+            long maxIdleMillis = builder.maxIdleTime.toMillis();
+
+            this.httpClient = new LazyHttpClient(() -> HttpClients.custom()
+                    .setConnectionManager(getConnectionManager())
+                    .setDefaultRequestConfig(requestConfig)
+                    .setKeepAliveStrategy(keepAliveStrategy)
+                    .disableAutomaticRetries()
+                    .disableContentCompression()
+                    .evictExpiredConnections()
+                    .evictIdleConnections(maxIdleMillis, TimeUnit.MILLISECONDS)
+                    .build());
+        }
+
+        ConnectionGate connectionGate = new ConnectionGate(Math.min(builder.maxConnectionsTotal, builder.maxConnectionsPerRoute),
+                builder.connectionRequestTimeout);
+        Map<EndpointFamily, RateLimiter> rateLimiters = new EnumMap<>(EndpointFamily.class);
+        for (EndpointFamily family : EndpointFamily.values()) {
+            rateLimiters.put(family, builder.rateLimiters.getOrDefault(family, builder.defaultRateLimiter));
+        }
+        Map<EndpointFamily, CircuitBreaker> circuitBreakers = new EnumMap<>(EndpointFamily.class);
+        for (EndpointFamily family : EndpointFamily.values()) {
+            CircuitBreaker breaker = builder.circuitBreakers.get(family);
+            if (breaker == null) {
+                breaker = builder.circuitBreakersEnabled
+                        ? CircuitBreaker.builder(family.getPath()).build()
+                        : CircuitBreaker.disabled(family.getPath());
+            }
+            circuitBreakers.put(family, breaker);
+        }
+        Map<EndpointFamily, CompressionPolicy> compressionPolicies = new EnumMap<>(EndpointFamily.class);
+        for (EndpointFamily family : EndpointFamily.values()) {
+            compressionPolicies.put(family, builder.compressionPolicies.getOrDefault(family, builder.defaultCompression));
+        }
+        this.requestExecutor = new RequestExecutor(connectionGate, rateLimiters, circuitBreakers, compressionPolicies,
+                builder.retryPolicy, builder.instrumentation);
+        builder.instrumentation.bindConnectionPool(new ConnectionPoolMetrics() {
+            @Override
+            public int getLeased() {
+                return getPoolStats().getLeased();
+            }
+
+            @Override
+            public int getPending() {
+                return connectionGate.getQueueLength() + getPoolStats().getPending();
+            }
+
+            @Override
+            public int getAvailable() {
+                return getPoolStats().getAvailable();
+            }
+
+            @Override
+            public int getMax() {
+                return getPoolStats().getMax();
+            }
+        });
+        this.authClient = new AuthClient(builder.consumerKey, builder.consumerSecret, httpClient, baseUrl + "token",
+                requestExecutor);
+        if (callExecutor != null) {
+            authClient.setRefreshExecutor(callExecutor);
+        }
+    }
+
+    /**
+     * Starts building an {@link EnzonaClient} for the given credentials.
+     *
+     * @param consumerKey    The consumer key issued by Enzona for API authentication. Must not be null.
+     * @param consumerSecret The consumer secret issued by Enzona for API authentication. Must not be null.
+     * @return a new {@link Builder} initialised with the default transport settings.
+     */
+    public static Builder builder(String consumerKey, String consumerSecret) {
+        return new Builder(consumerKey, consumerSecret);
+    }
+
+    /**
+     * Creates the client behind one {@link PaymentApi#PaymentApi(String, String)} or
+     * {@link ClaimApi#ClaimApi(String, String)}. It keeps the behaviour those constructors had before retries and
+     * circuit breakers existed: both are off, and responses are accepted gzip-encoded as before. Since the transport
+     * is created on first request, an unused client costs nothing.
+     *
+     * @param consumerKey    The consumer key issued by Enzona for API authentication. Must not be null.
+     * @param consumerSecret The consumer secret issued by Enzona for API authentication. Must not be null.
+     * @return a new client for these credentials.
+     */
+    static EnzonaClient standalone(String consumerKey, String consumerSecret) {
+        return builder(consumerKey, consumerSecret)
+                .retryPolicy(RetryPolicy.disabled())
+                .circuitBreakersEnabled(false)
+                .build();
+    }
+
+    /**
+     * Closes this client once {@code owner} becomes unreachable, for a client no caller is expected to close itself.
+     * Closing it earlier is harmless: closing twice has no further effect.
+     *
+     * @param owner the object whose reachability bounds the life of this client; it must not be referenced by the
+     *              client.
+     */
+    void closeWhenUnreachable(Object owner) {
+        Reclaimer.CLEANER.register(owner, () -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the non-blocking HTTP client used by the asynchronous APIs, creating it on first use. With
+     * {@link Builder#http2(boolean)} it is the HTTP/2 client that the blocking APIs use as well.
+     *
+     * @return the shared {@link HttpClient}.
+     */
+    public HttpClient getAsyncHttpClient() {
+        HttpClient client = asyncHttpClient.get();
+        if (client == null) {
+            // Built under a lock: a client lost to a race would keep its selector thread running
+            synchronized (asyncHttpClient) {
+                client = asyncHttpClient.get();
+                if (client == null) {
+                    client = newAsyncHttpClient();
+                    asyncHttpClient.set(client);
+                }
+            }
+        }
+        return client;
+    }
+
+    private HttpClient newAsyncHttpClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(asyncVersion)
+                .connectTimeout(connectTimeout);
+        if (asyncExecutor != null) {
+            builder.executor(asyncExecutor);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the connection pool of the blocking HTTP/1.1 client, creating it on first use.
+     *
+     * @return the shared {@link PoolingHttpClientConnectionManager}.
+     */
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+        PoolingHttpClientConnectionManager manager = connectionManager.get();
+        if (manager == null) {
+            PoolingHttpClientConnectionManager created = new PoolingHttpClientConnectionManager(
+                    connectionTimeToLive.toMillis(), TimeUnit.MILLISECONDS);
+            created.setMaxTotal(maxConnectionsTotal);
+            created.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+            created.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+            if (connectionManager.compareAndSet(null, created)) {
+                manager = created;
+            } else {
+                created.shutdown();
+                manager = connectionManager.get();
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Runs the given calls concurrently and waits for all of them, as {@link ExecutorService#invokeAll(Collection)} does.
+     * The calls run on the executor configured through the builder; without one, a virtual-thread-per-task executor
+     * is used when the JVM supports it and a platform thread pool bounded by the pool's per-route limit otherwise.
+     *
+     * <p>Example usage:</p>
+     * <pre>
+     * List&lt;Callable&lt;PaymentDetailsResponse&gt;&gt; calls = uuids.stream()
+     *         .map(uuid -&gt; (Callable&lt;PaymentDetailsResponse&gt;) () -&gt; paymentApi.getPaymentDetails(uuid))
+     *         .collect(Collectors.toList());
+     * List&lt;Future&lt;PaymentDetailsResponse&gt;&gt; results = client.invokeAll(calls);
+     * </pre>
+     *
+     * @param tasks The calls to run.
+     * @param <T> The result type of the calls.
+     * @return the completed futures, in the same order as {@code tasks}.
+     * @throws EnzonaException if the calling thread is interrupted while waiting.
+     */
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws EnzonaException {
+        try {
+            if (callExecutor != null) {
+                return callExecutor.invokeAll(tasks);
+            }
+            ExecutorService executor = VirtualThreads.isSupported()
+                    ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                    : Executors.newFixedThreadPool(Math.max(1, Math.min(tasks.size(), maxConnectionsPerRoute)));
+            try {
+                return executor.invokeAll(tasks);
+            } finally {
+                executor.shutdown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnzonaException("Interrupted while waiting for calls to complete", e);
+        }
+    }
+
+    /**
+     * Returns the executor for the SDK's own background work, such as prefetching pages: the configured call
+     * executor if there is one, otherwise a pool of daemon threads created on first use and shut down on close.
+     *
+     * @return the executor for background requests.
+     */
+    Executor getTaskExecutor() {
+        if (callExecutor != null) {
+            return callExecutor;
+        }
+        ExecutorService executor = taskExecutor.get();
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService created = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "enzona-task-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (taskExecutor.compareAndSet(null, created)) {
+                executor = created;
+            } else {
+                created.shutdown();
+                executor = taskExecutor.get();
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Returns the number of reads answered by an identical request already in flight, as enabled through
+     * {@link Builder#coalesceReads(boolean)}.
+     *
+     * @return the number of requests saved by coalescing, zero if it is disabled.
+     */
+    public long getCoalescedReadCount() {
+        return singleFlight != null ? singleFlight.getCoalescedCount() : 0;
+    }
+
+    /**
+     * Returns the limiter applied to the requests of the given endpoint family.
+     *
+     * @param family the endpoint family.
+     * @return the configured limiter, or {@link RateLimiter#unlimited()} if the family is not limited.
+     */
+    public RateLimiter getRateLimiter(EndpointFamily family) {
+        return requestExecutor.getRateLimiter(family);
+    }
+
+    /**
+     * Returns the circuit breaker guarding the requests of the given endpoint family, e.g. to register a
+     * {@link io.github.alejo2075.enzonasdk.circuitbreaker.CircuitBreakerListener} or read its metrics.
+     *
+     * @param family the endpoint family.
+     * @return the family's breaker, in state {@link CircuitBreaker.State#DISABLED} if breakers are turned off.
+     */
+    public CircuitBreaker getCircuitBreaker(EndpointFamily family) {
+        return requestExecutor.getCircuitBreaker(family);
+    }
+
+    /**
+     * Returns the compression applied to the requests of the given endpoint family, whose
+     * {@link CompressionPolicy#getStats()} count the bytes it saved.
+     *
+     * @param family the endpoint family.
+     * @return the configured policy, or the shared default one if the family has none of its own.
+     */
+    public CompressionPolicy getCompressionPolicy(EndpointFamily family) {
+        return requestExecutor.getCompressionPolicy(family);
+    }
+
+    /**
+     * Returns a snapshot of the connection pool usage: leased, pending, available and maximum connections.
+     * The HTTP/2 transport does not use the pool, which then stays empty, as it does until the first request.
+     *
+     * @return the current {@link PoolStats} across all routes.
+     */
+    public PoolStats getPoolStats() {
+        PoolingHttpClientConnectionManager manager = connectionManager.get();
+        return manager != null ? manager.getTotalStats() : new PoolStats(0, 0, 0, maxConnectionsTotal);
+    }
+
+    /**
+     * Closes the underlying HTTP client, its connection pool and the idle connection evictor,
+     * and shuts down the executors this client created.
+     *
+     * @throws IOException if the HTTP client fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsCallExecutor) {
+            callExecutor.shutdown();
+        }
+        ExecutorService executor = taskExecutor.get();
+        if (executor != null) {
+            executor.shutdown();
+        }
+        httpClient.close();
+        PoolingHttpClientConnectionManager manager = connectionManager.get();
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    /**
+     * Keeps connections alive for as long as the server advertises, but never longer than {@code max},
+     * and for {@code max} when the server does not say.
+     */
+    private static ConnectionKeepAliveStrategy cappedKeepAliveStrategy(Duration max) {
+        long maxMillis = max.toMillis();
+        return (response, context) -> {
+            long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return advertised > 0 ? Math.min(advertised, maxMillis) : maxMillis;
+        };
+    }
+
+    /**
+     * Builder for {@link EnzonaClient}. Every setting has a default suitable for a few hundred concurrent requests
+     * against a single host.
+     */
+    public static class Builder {
+        private final String consumerKey;
+        private final String consumerSecret;
+        private String baseUrl = DEFAULT_BASE_URL;
+        private int maxConnectionsTotal = 200;
+        private int maxConnectionsPerRoute = 200;
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxKeepAlive = Duration.ofSeconds(30);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration socketTimeout = Duration.ofSeconds(30);
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+        private ConnectionKeepAliveStrategy keepAliveStrategy;
+        private Executor asyncExecutor;
+        private ExecutorService callExecutor;
+        private boolean useVirtualThreads;
+        private RateLimiter defaultRateLimiter = RateLimiter.unlimited();
+        private RetryPolicy retryPolicy = RetryPolicy.defaults();
+        private final Map<EndpointFamily, RateLimiter> rateLimiters = new EnumMap<>(EndpointFamily.class);
+        private boolean circuitBreakersEnabled = true;
+        private Instrumentation instrumentation = Instrumentation.noop();
+        private DetailsCache detailsCache;
+        private boolean coalesceReads;
+        private boolean http2;
+        private final Map<EndpointFamily, CircuitBreaker> circuitBreakers = new EnumMap<>(EndpointFamily.class);
+        private CompressionPolicy defaultCompression = CompressionPolicy.defaults();
+        private final Map<EndpointFamily, CompressionPolicy> compressionPolicies = new EnumMap<>(EndpointFamily.class);
+
+        private Builder(String consumerKey, String consumerSecret) {
+            this.consumerKey = Objects.requireNonNull(consumerKey, "Consumer Key must not be null");
+            this.consumerSecret = Objects.requireNonNull(consumerSecret, "Consumer Secret must not be null");
+        }
+
+        /**
+         * Sets the root URL of the API, e.g. a sandbox or a local stub. Defaults to {@link #DEFAULT_BASE_URL}.
+         *
+         * @param baseUrl the root URL that endpoint paths such as {@code payments} and {@code token} are appended to.
+         * @return this builder.
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = Objects.requireNonNull(baseUrl, "Base URL must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pooled connections across all routes. Defaults to 200.
+         *
+         * @param maxConnectionsTotal the maximum number of open connections.
+         * @return this builder.
+         */
+        public Builder maxConnectionsTotal(int maxConnectionsTotal) {
+            this.maxConnectionsTotal = requirePositive(maxConnectionsTotal, "maxConnectionsTotal");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pooled connections per route (host). Defaults to 200.
+         *
+         * @param maxConnectionsPerRoute the maximum number of open connections to a single host.
+         * @return this builder.
+         */
+        public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = requirePositive(maxConnectionsPerRoute, "maxConnectionsPerRoute");
+            return this;
+        }
+
+        /**
+         * Sets the maximum lifetime of a pooled connection, after which it is closed instead of reused.
+         * Defaults to five minutes.
+         *
+         * @param connectionTimeToLive the total lifetime of a connection.
+         * @return this builder.
+         */
+        public Builder connectionTimeToLive(Duration connectionTimeToLive) {
+            this.connectionTimeToLive = Objects.requireNonNull(connectionTimeToLive);
+            return this;
+        }
+
+        /**
+         * Sets how long a connection may sit idle in the pool before the background evictor closes it.
+         * Defaults to 30 seconds.
+         *
+         * @param maxIdleTime the idle time after which connections are evicted.
+         * @return this builder.
+         */
+        public Builder maxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = Objects.requireNonNull(maxIdleTime);
+            return this;
+        }
+
+        /**
+         * Caps how long a connection is kept alive between requests, whatever the server advertises in its
+         * {@code Keep-Alive} header. Defaults to 30 seconds.
+         *
+         * @param maxKeepAlive the maximum keep-alive duration.
+         * @return this builder.
+         */
+        public Builder maxKeepAlive(Duration maxKeepAlive) {
+            this.maxKeepAlive = Objects.requireNonNull(maxKeepAlive);
+            return this;
+        }
+
+        /**
+         * Replaces the default keep-alive strategy, which honours the server's {@code Keep-Alive} header
+         * capped at {@link #maxKeepAlive(Duration)}.
+         *
+         * @param keepAliveStrategy the strategy deciding how long idle connections stay reusable.
+         * @return this builder.
+         */
+        public Builder keepAliveStrategy(ConnectionKeepAliveStrategy keepAliveStrategy) {
+            this.keepAliveStrategy = Objects.requireNonNull(keepAliveStrategy);
+            return this;
+        }
+
+        /**
+         * Sets how long a pooled connection may be idle before it is re-validated on lease. Defaults to 2 seconds.
+         *
+         * @param validateAfterInactivity the inactivity period after which connections are checked for staleness.
+         * @return this builder.
+         */
+        public Builder validateAfterInactivity(Duration validateAfterInactivity) {
+            this.validateAfterInactivity = Objects.requireNonNull(validateAfterInactivity);
+            return this;
+        }
+
+        /**
+         * Sets the TCP connect timeout. Defaults to 5 seconds.
+         *
+         * @param connectTimeout the maximum time to establish a connection.
+         * @return this builder.
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = Objects.requireNonNull(connectTimeout);
+            return this;
+        }
+
+        /**
+         * Sets the socket read timeout, i.e. the maximum time between two packets of a response. Defaults to 30 seconds.
+         * The asynchronous APIs use it as the timeout for receiving the response headers.
+         *
+         * @param socketTimeout the maximum inactivity while waiting for data.
+         * @return this builder.
+         */
+        public Builder socketTimeout(Duration socketTimeout) {
+            this.socketTimeout = Objects.requireNonNull(socketTimeout);
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits to lease a connection from an exhausted pool. Defaults to 5 seconds.
+         *
+         * @param connectionRequestTimeout the maximum time to wait for a free pooled connection.
+         * @return this builder.
+         */
+        public Builder connectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = Objects.requireNonNull(connectionRequestTimeout);
+            return this;
+        }
+
+        /**
+         * Sets the executor on which the asynchronous APIs run response handling and dependent stages.
+         * Defaults to the {@link HttpClient}'s own executor.
+         *
+         * @param asyncExecutor the executor for asynchronous completions.
+         * @return this builder.
+         */
+        public Builder asyncExecutor(Executor asyncExecutor) {
+            this.asyncExecutor = Objects.requireNonNull(asyncExecutor);
+            return this;
+        }
+
+        /**
+         * Runs {@link EnzonaClient#invokeAll(Collection)} calls and token refreshes on a virtual-thread-per-task
+         * executor. Requires Java 21 or later. Defaults to {@code false}.
+         *
+         * @param useVirtualThreads whether to use virtual threads.
+         * @return this builder.
+         * @throws UnsupportedOperationException if enabled on a JVM without virtual threads.
+         */
+        public Builder useVirtualThreads(boolean useVirtualThreads) {
+            if (useVirtualThreads && !VirtualThreads.isSupported()) {
+                throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+            }
+            this.useVirtualThreads = useVirtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which {@link EnzonaClient#invokeAll(Collection)} runs calls and token refreshes happen.
+         * The executor is not shut down when the client is closed. Takes precedence over
+         * {@link #useVirtualThreads(boolean)}.
+         *
+         * @param callExecutor the executor for fanned-out calls.
+         * @return this builder.
+         */
+        public Builder callExecutor(ExecutorService callExecutor) {
+            this.callExecutor = Objects.requireNonNull(callExecutor);
+            return this;
+        }
+
+        /**
+         * Sets the limiter applied to the requests of one endpoint family, e.g. a
+         * {@link io.github.alejo2075.enzonasdk.ratelimit.TokenBucketRateLimiter} for {@link EndpointFamily#REFUNDS}.
+         * A limiter instance given for several families is shared by all of them.
+         *
+         * @param family the endpoint family to limit.
+         * @param rateLimiter the limiter for that family.
+         * @return this builder.
+         */
+        public Builder rateLimiter(EndpointFamily family, RateLimiter rateLimiter) {
+            this.rateLimiters.put(Objects.requireNonNull(family), Objects.requireNonNull(rateLimiter));
+            return this;
+        }
+
+        /**
+         * Sets the limiter applied to every endpoint family without a limiter of its own, sharing a single budget
+         * between them. By default requests are not limited.
+         *
+         * @param rateLimiter the limiter shared by the remaining families.
+         * @return this builder.
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.defaultRateLimiter = Objects.requireNonNull(rateLimiter);
+            return this;
+        }
+
+        /**
+         * Sets the policy deciding when failed requests are sent again. Reads are retried on transient failures;
+         * mutations only when the request provably had no effect. Defaults to {@link RetryPolicy#defaults()};
+         * use {@link RetryPolicy#disabled()} to fail on the first error.
+         *
+         * @param retryPolicy the retry policy shared by all requests of the client.
+         * @return this builder.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy);
+            return this;
+        }
+
+        /**
+         * Sets the breaker guarding one endpoint family. Families without a breaker of their own get one built with
+         * the defaults of {@link CircuitBreaker#builder(String)}, named after the family's path.
+         *
+         * @param family the endpoint family to guard.
+         * @param circuitBreaker the breaker for that family.
+         * @return this builder.
+         */
+        public Builder circuitBreaker(EndpointFamily family, CircuitBreaker circuitBreaker) {
+            this.circuitBreakers.put(Objects.requireNonNull(family), Objects.requireNonNull(circuitBreaker));
+            return this;
+        }
+
+        /**
+         * Turns the default circuit breakers on or off. Breakers set through
+         * {@link #circuitBreaker(EndpointFamily, CircuitBreaker)} are kept either way. Enabled by default.
+         *
+         * @param enabled whether families without a breaker of their own get a default one.
+         * @return this builder.
+         */
+        public Builder circuitBreakersEnabled(boolean enabled) {
+            this.circuitBreakersEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Sets the compression of the requests and responses of one endpoint family, e.g. to gzip the large item
+         * lists sent to {@link EndpointFamily#PAYMENTS} while leaving other families as they are.
+         *
+         * @param family the endpoint family to configure.
+         * @param compressionPolicy the compression for that family.
+         * @return this builder.
+         */
+        public Builder compression(EndpointFamily family, CompressionPolicy compressionPolicy) {
+            this.compressionPolicies.put(Objects.requireNonNull(family), Objects.requireNonNull(compressionPolicy));
+            return this;
+        }
+
+        /**
+         * Sets the compression of every endpoint family without a policy of its own, sharing its counters between
+         * them. Defaults to {@link CompressionPolicy#defaults()}, which accepts gzip responses and sends request
+         * bodies uncompressed; use {@link CompressionPolicy#disabled()} to turn compression off.
+         *
+         * @param compressionPolicy the compression of the remaining families.
+         * @return this builder.
+         */
+        public Builder compression(CompressionPolicy compressionPolicy) {
+            this.defaultCompression = Objects.requireNonNull(compressionPolicy);
+            return this;
+        }
+
+        /**
+         * Sets the instrumentation receiving the metrics and trace events of every call, e.g. a
+         * {@link io.github.alejo2075.enzonasdk.instrumentation.micrometer.MicrometerInstrumentation}.
+         * Defaults to {@link Instrumentation#noop()}.
+         *
+         * @param instrumentation the instrumentation of the client.
+         * @return this builder.
+         */
+        public Builder instrumentation(Instrumentation instrumentation) {
+            this.instrumentation = Objects.requireNonNull(instrumentation);
+            return this;
+        }
+
+        /**
+         * Sets the cache answering repeated payment and refund details lookups of every API built on the client.
+         * No cache is used by default.
+         *
+         * @param detailsCache the cache, or null to disable caching.
+         * @return this builder.
+         */
+        public Builder detailsCache(DetailsCache detailsCache) {
+            this.detailsCache = detailsCache;
+            return this;
+        }
+
+        /**
+         * Makes concurrent identical reads of {@link PaymentApi}, such as {@code getPaymentDetails} for the same UUID
+         * or a list query with the same filters, share a single request and its result. Callers arriving while the
+         * request is in flight wait for it; later callers send a new one. Shared responses must be treated as
+         * read-only. Disabled by default.
+         *
+         * @param coalesceReads whether to coalesce identical GET requests in flight.
+         * @return this builder.
+         */
+        public Builder coalesceReads(boolean coalesceReads) {
+            this.coalesceReads = coalesceReads;
+            return this;
+        }
+
+        /**
+         * Sends the requests of every API through a {@link HttpClient java.net.http.HttpClient} that prefers HTTP/2,
+         * so that concurrent calls are multiplexed over a few connections. A connection to a server that does not
+         * negotiate HTTP/2, through ALPN for {@code https} or an upgrade for {@code http}, is used as HTTP/1.1.
+         * Rate limiting, retries, circuit breaking and instrumentation work as with the default transport; the
+         * {@link #maxConnectionsTotal(int)} and {@link #maxConnectionsPerRoute(int)} limits then bound the number of
+         * requests in flight, and {@link #socketTimeout(Duration)} the time until the response headers arrive.
+         * Disabled by default, which keeps the pooled HTTP/1.1 client.
+         *
+         * @param http2 whether to use the HTTP/2 transport.
+         * @return this builder.
+         */
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        /**
+         * Builds the client. No connection pool, HTTP client or TLS context is created until the first request.
+         *
+         * @return a new {@link EnzonaClient}.
+         */
+        public EnzonaClient build() {
+            return new EnzonaClient(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Holds the cleaner of {@link #closeWhenUnreachable(Object)}, whose thread starts on first use.
+     */
+    private static final class Reclaimer {
+        private static final Cleaner CLEANER = Cleaner.create();
+    }
+}
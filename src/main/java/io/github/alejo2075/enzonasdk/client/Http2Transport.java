@@ -0,0 +1,165 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Blocking transport that sends the requests of {@link PaymentApi}, {@link ClaimApi} and {@link AuthClient} through a
+ * {@link HttpClient java.net.http.HttpClient} preferring HTTP/2, enabled through
+ * {@link EnzonaClient.Builder#http2(boolean)}. Concurrent calls are multiplexed as streams over a few connections
+ * instead of each holding a pooled connection of its own. When a server does not negotiate HTTP/2, through ALPN for
+ * {@code https} or an upgrade for {@code http}, that connection is used as HTTP/1.1.
+ *
+ * <p>It takes the place of the pooled Apache client, so rate limiting, the connection gate, retries, circuit breaking
+ * and instrumentation apply unchanged. Response bodies are streamed, not buffered, and released when the response is
+ * closed.</p>
+ */
+final class Http2Transport extends CloseableHttpClient {
+
+    /**
+     * Headers that {@link HttpClient} sets itself and refuses to take from the caller.
+     */
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "expect", "host", "upgrade", "keep-alive", "transfer-encoding");
+
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+    private static final ProtocolVersion HTTP_1_1 = new ProtocolVersion("HTTP", 1, 1);
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    /**
+     * Creates a transport.
+     *
+     * @param httpClient the client sending the requests, shared with the non-blocking APIs.
+     * @param requestTimeout the timeout for receiving the response headers of each request.
+     */
+    Http2Transport(HttpClient httpClient, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+            throws IOException {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri(target, request))
+                .timeout(requestTimeout)
+                .method(request.getRequestLine().getMethod(), bodyPublisher(request));
+        for (Header header : request.getAllHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting for the response");
+            interrupted.initCause(e);
+            throw interrupted;
+        }
+        return toResponse(response);
+    }
+
+    /**
+     * Nothing to release: {@link HttpClient} closes idle connections itself, and its threads are daemons.
+     */
+    @Override
+    public void close() {
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        throw new UnsupportedOperationException("Not supported by the HTTP/2 transport");
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        throw new UnsupportedOperationException("Not supported by the HTTP/2 transport");
+    }
+
+    private static URI uri(HttpHost target, HttpRequest request) {
+        if (request instanceof HttpUriRequest && ((HttpUriRequest) request).getURI().isAbsolute()) {
+            return ((HttpUriRequest) request).getURI();
+        }
+        return URI.create(target.toURI()).resolve(request.getRequestLine().getUri());
+    }
+
+    private static java.net.http.HttpRequest.BodyPublisher bodyPublisher(HttpRequest request) throws IOException {
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest
+                ? ((HttpEntityEnclosingRequest) request).getEntity()
+                : null;
+        if (entity == null) {
+            return java.net.http.HttpRequest.BodyPublishers.noBody();
+        }
+        return java.net.http.HttpRequest.BodyPublishers.ofByteArray(EntityUtils.toByteArray(entity));
+    }
+
+    private static CloseableHttpResponse toResponse(HttpResponse<InputStream> response) {
+        ProtocolVersion version = response.version() == HttpClient.Version.HTTP_2 ? HTTP_2 : HTTP_1_1;
+        StreamingResponse converted = new StreamingResponse(new BasicStatusLine(version, response.statusCode(),
+                EnglishReasonPhraseCatalog.INSTANCE.getReason(response.statusCode(), Locale.ENGLISH)), response.body());
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (header.getKey().startsWith(":")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                converted.addHeader(header.getKey(), value);
+            }
+        }
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(response.body());
+        entity.setContentLength(response.headers().firstValueAsLong("Content-Length").orElse(-1));
+        entity.setContentType(converted.getFirstHeader("Content-Type"));
+        entity.setContentEncoding(converted.getFirstHeader("Content-Encoding"));
+        converted.setEntity(entity);
+        return converted;
+    }
+
+    /**
+     * A response whose body is still being received; closing it releases the stream.
+     */
+    private static final class StreamingResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        private final InputStream body;
+
+        private StreamingResponse(BasicStatusLine statusLine, InputStream body) {
+            super(statusLine);
+            this.body = body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
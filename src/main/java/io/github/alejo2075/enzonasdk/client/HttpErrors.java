@@ -0,0 +1,67 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaHttpException;
+import io.github.alejo2075.enzonasdk.util.EntityUtil;
+import io.github.alejo2075.enzonasdk.util.HeaderUtil;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+
+/**
+ * Turns error responses of the blocking and non-blocking clients into typed {@link EnzonaHttpException}s.
+ * Only the bounded raw body is read here; decoding and parsing are left to the exception.
+ */
+final class HttpErrors {
+
+    private HttpErrors() {
+    }
+
+    /**
+     * Builds the exception for an error response of the blocking client.
+     *
+     * @param request the request that failed.
+     * @param response the error response.
+     * @return the exception matching the response's status.
+     * @throws IOException if the error body cannot be read.
+     */
+    static EnzonaHttpException from(HttpUriRequest request, HttpResponse response) throws IOException {
+        Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        return EnzonaHttpException.of(response.getStatusLine().getStatusCode(), endpoint(request),
+                EntityUtil.toBoundedBytes(response.getEntity(), EntityUtil.MAX_ERROR_BODY_BYTES),
+                HeaderUtil.parseRetryAfter(retryAfter != null ? retryAfter.getValue() : null, Clock.systemUTC()));
+    }
+
+    /**
+     * Builds the exception for an error response of the non-blocking client, whose body is already buffered.
+     *
+     * @param response the error response.
+     * @return the exception matching the response's status.
+     */
+    static EnzonaHttpException from(java.net.http.HttpResponse<byte[]> response) {
+        return EnzonaHttpException.of(response.statusCode(), endpoint(response.request()), response.body(),
+                HeaderUtil.parseRetryAfter(response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null), Clock.systemUTC()));
+    }
+
+    /**
+     * Describes a blocking request as its method and path, without the query string and its filters.
+     */
+    static String endpoint(HttpUriRequest request) {
+        return endpoint(request.getMethod(), request.getURI());
+    }
+
+    /**
+     * Describes a non-blocking request as its method and path, without the query string and its filters.
+     */
+    static String endpoint(java.net.http.HttpRequest request) {
+        return endpoint(request.method(), request.uri());
+    }
+
+    private static String endpoint(String method, URI uri) {
+        return method + " " + uri.getRawPath();
+    }
+}
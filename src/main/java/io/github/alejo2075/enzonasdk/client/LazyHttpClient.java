@@ -0,0 +1,104 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Blocking transport that builds the client it delegates to on the first request instead of at construction.
+ *
+ * <p>Building a pooled client sets up the default TLS context and socket factories and starts the idle connection
+ * evictor, which is a large share of the time a short-lived process spends before its first call. Deferring it lets
+ * {@link EnzonaClient}, {@link PaymentApi}, {@link ClaimApi} and {@link AuthClient} be created cheaply, e.g. during
+ * the static initialization of a serverless function, and leaves nothing to release if no request is ever sent.</p>
+ */
+final class LazyHttpClient extends CloseableHttpClient {
+
+    private final Supplier<? extends CloseableHttpClient> factory;
+    private final Object lock = new Object();
+    private volatile CloseableHttpClient delegate;
+    private boolean closed;
+
+    /**
+     * Creates a transport.
+     *
+     * @param factory builds the client on the first request; called at most once.
+     */
+    LazyHttpClient(Supplier<? extends CloseableHttpClient> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the client, building it on first use. Building involves no I/O, so waiting threads are only held for
+     * as long as the factory takes.
+     *
+     * @return the client requests are delegated to.
+     */
+    CloseableHttpClient get() {
+        CloseableHttpClient client = delegate;
+        if (client == null) {
+            synchronized (lock) {
+                client = delegate;
+                if (client == null) {
+                    if (closed) {
+                        throw new IllegalStateException("Connection pool shut down");
+                    }
+                    client = factory.get();
+                    delegate = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Tells whether the client has been built, i.e. whether a request has been sent.
+     *
+     * @return true once the first request has been sent.
+     */
+    boolean isInitialized() {
+        return delegate != null;
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+            throws IOException {
+        return get().execute(target, request, context);
+    }
+
+    /**
+     * Closes the client if it has been built; later requests fail as they would on a closed pool.
+     *
+     * @throws IOException if the client fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        CloseableHttpClient client;
+        synchronized (lock) {
+            closed = true;
+            client = delegate;
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return get().getParams();
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return get().getConnectionManager();
+    }
+}
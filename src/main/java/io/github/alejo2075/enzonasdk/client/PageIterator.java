@@ -0,0 +1,161 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.UncheckedEnzonaException;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the items of a limit/offset paginated endpoint, fetching pages only as they are needed.
+ * Only the page being consumed and up to {@code prefetch} pages requested ahead of it are held in memory, so
+ * arbitrarily long listings can be walked in constant memory.
+ *
+ * <p>With a positive prefetch depth the next pages are requested on the given executor while the current one is
+ * consumed. Iteration stops at the first page holding fewer items than the page size. Failures surface as
+ * {@link UncheckedEnzonaException} from {@link #hasNext()}.</p>
+ *
+ * @param <T> the type of the listed items
+ */
+final class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * Fetches a single page of items.
+     *
+     * @param <T> the type of the listed items
+     */
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        /**
+         * Fetches the items in {@code [offset, offset + limit)}.
+         *
+         * @param offset the number of items to skip
+         * @param limit the maximum number of items to return
+         * @return the items of the page, never null
+         * @throws EnzonaException if the page cannot be retrieved
+         */
+        List<T> fetch(long offset, int limit) throws EnzonaException;
+    }
+
+    private final PageFetcher<T> fetcher;
+    private final int pageSize;
+    private final int prefetch;
+    private final Executor executor;
+    private final Deque<CompletableFuture<List<T>>> pending = new ArrayDeque<>();
+    private long nextOffset;
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean lastPageReached;
+
+    /**
+     * Creates an iterator starting at {@code startOffset}.
+     *
+     * @param fetcher the function retrieving one page
+     * @param startOffset the offset of the first item to return
+     * @param pageSize the number of items requested per page
+     * @param prefetch the number of pages requested ahead of the one being consumed, zero to fetch on demand only
+     * @param executor the executor running prefetched requests
+     */
+    PageIterator(PageFetcher<T> fetcher, long startOffset, int pageSize, int prefetch, Executor executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("prefetch must not be negative");
+        }
+        this.fetcher = fetcher;
+        this.nextOffset = startOffset;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.executor = executor;
+    }
+
+    /**
+     * Wraps this iterator in a sequential stream that cancels outstanding prefetches when closed.
+     *
+     * @return a lazy {@link Stream} over the remaining items
+     */
+    Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (lastPageReached) {
+                return false;
+            }
+            List<T> page = nextPage();
+            if (page.size() < pageSize) {
+                lastPageReached = true;
+                close();
+            }
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Cancels the requests issued ahead of the current page. Requests already on the wire still complete,
+     * but their results are dropped.
+     */
+    @Override
+    public void close() {
+        CompletableFuture<List<T>> future;
+        while ((future = pending.poll()) != null) {
+            future.cancel(false);
+        }
+    }
+
+    private List<T> nextPage() {
+        if (prefetch == 0) {
+            return fetch(advance());
+        }
+        while (pending.size() <= prefetch) {
+            long offset = advance();
+            pending.add(CompletableFuture.supplyAsync(() -> fetch(offset), executor));
+        }
+        try {
+            return pending.poll().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private long advance() {
+        long offset = nextOffset;
+        nextOffset += pageSize;
+        return offset;
+    }
+
+    private List<T> fetch(long offset) {
+        try {
+            List<T> page = fetcher.fetch(offset, pageSize);
+            return page != null ? page : Collections.emptyList();
+        } catch (EnzonaException e) {
+            throw new UncheckedEnzonaException(e);
+        }
+    }
+}
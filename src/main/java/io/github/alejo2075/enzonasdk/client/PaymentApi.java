@@ -4,27 +4,36 @@ import io.github.alejo2075.enzonasdk.model.request.*;
 import io.github.alejo2075.enzonasdk.model.response.*;
 import io.github.alejo2075.enzonasdk.model.request.*;
 import io.github.alejo2075.enzonasdk.model.response.*;
+import io.github.alejo2075.enzonasdk.cache.DetailsCache;
+import io.github.alejo2075.enzonasdk.util.EntityUtil;
 import io.github.alejo2075.enzonasdk.util.JsonUtil;
 import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaHttpException;
+import io.github.alejo2075.enzonasdk.exception.UncheckedEnzonaException;
 import io.github.alejo2075.enzonasdk.model.request.*;
 import io.github.alejo2075.enzonasdk.model.response.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * Handles payment-related operations for the Enzona API.
@@ -46,19 +55,74 @@ import java.util.List;
 @Data
 public class PaymentApi {
 
-    private final String baseUrl = "https://api.enzona.net/";
+    /**
+     * Number of items requested per page by the streaming list methods when no page size is given.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Number of concurrent requests issued by {@link #getPaymentDetailsBatch(Collection)} when no parallelism is given.
+     */
+    public static final int DEFAULT_BATCH_PARALLELISM = 16;
+
+    private final String baseUrl;
     private final AuthClient authClient;
-    private CloseableHttpClient httpClient = HttpClients.createDefault();
+    private final CloseableHttpClient httpClient;
+    private final EnzonaClient client;
+
+    @Getter(AccessLevel.NONE)
+    private final RequestExecutor requestExecutor;
+
+    @Getter(AccessLevel.NONE)
+    private final DetailsCache detailsCache;
+
+    @Getter(AccessLevel.NONE)
+    private final SingleFlight singleFlight;
 
     /**
      * Constructs a PaymentApi instance using provided consumer key and consumer secret.
-     * This constructor initializes an {@link AuthClient} for handling authentication.
+     * The API gets an {@link EnzonaClient} of its own, which is closed once the API is no longer reachable, so it must
+     * not be handed to other APIs. That client does not retry failed requests and has no circuit breakers, as before
+     * they were introduced; build an {@link EnzonaClient} and use {@link #PaymentApi(EnzonaClient)} to configure them and
+     * to share one connection pool and access token between APIs.
      *
      * @param consumerKey The consumer key issued by Enzona for API authentication.
      * @param consumerSecret The consumer secret issued by Enzona for API authentication.
      */
     public PaymentApi(String consumerKey, String consumerSecret) {
-        this.authClient = new AuthClient(consumerKey, consumerSecret);
+        this(EnzonaClient.standalone(consumerKey, consumerSecret));
+        client.closeWhenUnreachable(this);
+    }
+
+    /**
+     * Constructs a PaymentApi instance that sends its requests through the given {@link EnzonaClient},
+     * sharing its connection pool and access token with every other API built on the same client.
+     *
+     * @param client The shared Enzona transport.
+     */
+    public PaymentApi(EnzonaClient client) {
+        this.baseUrl = client.getBaseUrl();
+        this.authClient = client.getAuthClient();
+        this.httpClient = client.getHttpClient();
+        this.client = client;
+        this.requestExecutor = client.getRequestExecutor();
+        this.detailsCache = client.getDetailsCache();
+        this.singleFlight = client.getSingleFlight();
+    }
+
+    /**
+     * Runs the given calls concurrently on the executor of the shared {@link EnzonaClient} and waits for all of them.
+     * With {@link EnzonaClient.Builder#useVirtualThreads(boolean)} enabled, each call gets its own virtual thread,
+     * so tens of thousands of blocking calls can be in flight without tying up platform threads.
+     *
+     * @param tasks The calls to run, typically lambdas invoking methods of this API.
+     * @param <T> The result type of the calls.
+     * @return the completed futures, in the same order as {@code tasks}.
+     * @throws EnzonaException if the calling thread is interrupted while waiting.
+     * @see EnzonaClient#invokeAll(Collection)
+     */
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws EnzonaException {
+        return client.invokeAll(tasks);
     }
 
     /**
@@ -75,13 +139,12 @@ public class PaymentApi {
             String url = baseUrl + "payments/" + transactionUuid + "/confirm";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            String json = JsonUtil.toJson(request);
-            httpPost.setEntity(new StringEntity(json));
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, ConfirmPaymentResponse.class);
-            }
+            httpPost.setEntity(new ByteArrayEntity(JsonUtil.toJsonBytes(request), ContentType.APPLICATION_JSON));
+            return execute("confirmPayment", EndpointFamily.PAYMENTS, httpPost, false, ConfirmPaymentResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while confirming payment: " + e.getMessage(), e);
+        } finally {
+            invalidate(transactionUuid);
         }
     }
 
@@ -98,30 +161,40 @@ public class PaymentApi {
             String url = baseUrl + "payments/" + transactionUuid + "/complete";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, CompletePaymentResponse.class);
-            }
+            return execute("completePayment", EndpointFamily.PAYMENTS, httpPost, false, CompletePaymentResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while completing payment: " + e.getMessage(), e);
+        } finally {
+            invalidate(transactionUuid);
         }
     }
 
     /**
      * Retrieves the details of a refund for a specific transaction.
      * This method makes a GET request to the payment service, querying for details about a particular refund.
+     * Served from the client's {@link DetailsCache} when one is configured and holds the refund.
      *
      * @param transactionUuid The unique identifier of the refund transaction to retrieve details for.
      * @return A {@link RefundDetailsResponse} object containing detailed information about the requested refund.
      * @throws EnzonaException If there is an issue with network communication or processing the request/response.
      */
     public RefundDetailsResponse getRefundDetails(String transactionUuid) throws EnzonaException {
+        if (detailsCache != null) {
+            RefundDetailsResponse cached = detailsCache.getRefund(transactionUuid);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long generation = detailsCache != null ? detailsCache.generation(transactionUuid) : -1;
         try {
             String url = baseUrl + "payments/refund/" + transactionUuid;
             HttpGet httpGet = new HttpGet(url);
             configureHttpHeaders(httpGet);
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
-                return processHttpResponse(response, RefundDetailsResponse.class);
+            RefundDetailsResponse details = execute("getRefundDetails", EndpointFamily.REFUNDS, httpGet, true, RefundDetailsResponse.class);
+            if (detailsCache != null) {
+                detailsCache.putRefund(transactionUuid, generation, details);
             }
+            return details;
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while retrieving refund details: " + e.getMessage(), e);
         }
@@ -137,23 +210,10 @@ public class PaymentApi {
      */
     public RefundsListResponse getRefundsList(RefundsListRequest request) throws EnzonaException {
         try {
-            List<String> queryParams = new ArrayList<>();
-            if (request.getMerchantUuid() != null) {
-                queryParams.add("merchant_uuid=" + URLEncoder.encode(request.getMerchantUuid(), StandardCharsets.UTF_8));
-            }
-            if (request.getTransactionUuid() != null) {
-                queryParams.add("transaction_uuid=" + URLEncoder.encode(request.getTransactionUuid(), StandardCharsets.UTF_8));
-            }
-            if (request.getCommerceRefundId() != null) {
-                queryParams.add("commerce_refund_id=" + URLEncoder.encode(request.getCommerceRefundId(), StandardCharsets.UTF_8));
-            }
-            String queryStr = String.join("&", queryParams);
-            String url = baseUrl + "payments/refunds" + (queryStr.isEmpty() ? "" : "?" + queryStr);
+            String url = baseUrl + PaymentPaths.refundsList(request);
             HttpGet httpGet = new HttpGet(url);
             configureHttpHeaders(httpGet);
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
-                return processHttpResponse(response, RefundsListResponse.class);
-            }
+            return execute("getRefundsList", EndpointFamily.REFUNDS, httpGet, true, RefundsListResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while retrieving refunds list: " + e.getMessage(), e);
         }
@@ -163,6 +223,10 @@ public class PaymentApi {
      * Creates a new payment with the specified details.
      * This method sends a POST request to the payment service and expects a response containing the status of the payment.
      *
+     * <p>When the request carries a merchant UUID and a non-zero {@code merchantOpId}, a request whose response is lost
+     * or fails with a transient error is safe to retry: the payments of the merchant are first looked up by
+     * {@code merchantOpId}, and the payment found is returned instead of creating a second one.</p>
+     *
      * @param request The {@link CreatePaymentRequest} object containing all the necessary data to create a new payment.
      * @return A {@link CreatePaymentResponse} object containing the detailed result of the payment creation process.
      * @throws EnzonaException If there is an issue with network communication or processing the request/response.
@@ -172,11 +236,12 @@ public class PaymentApi {
             String url = baseUrl + "payments";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            String json = JsonUtil.toJson(request);
-            httpPost.setEntity(new StringEntity(json));
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, CreatePaymentResponse.class);
-            }
+            httpPost.setEntity(new ByteArrayEntity(JsonUtil.toJsonBytes(request), ContentType.APPLICATION_JSON));
+            RequestExecutor.OutcomeLookup<CreatePaymentResponse> lookup = request.getMerchantUuid() != null && request.getMerchantOpId() != 0
+                    ? () -> findCreatedPayment(request)
+                    : null;
+            return requestExecutor.execute(httpClient, authClient, EndpointFamily.PAYMENTS, "createPayment", httpPost, lookup,
+                    response -> processHttpResponse(httpPost, response, CreatePaymentResponse.class));
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while creating payment: " + e.getMessage(), e);
         }
@@ -192,43 +257,157 @@ public class PaymentApi {
      */
     public PaymentsListResponse getPaymentsList(PaymentsListRequest request) throws EnzonaException {
         try {
-            List<String> queryParams = new ArrayList<>();
-            if (request.getMerchantUuid() != null) {
-                queryParams.add("merchant_uuid=" + URLEncoder.encode(request.getMerchantUuid(), StandardCharsets.UTF_8));
-            }
-            String queryStr = queryParams.isEmpty() ? "" : "?" + String.join("&", queryParams);
-            String url = baseUrl + "payments" + queryStr;
+            String url = baseUrl + PaymentPaths.paymentsList(request);
             HttpGet httpGet = new HttpGet(url);
             configureHttpHeaders(httpGet);
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
-                return processHttpResponse(response, PaymentsListResponse.class);
-            }
+            return execute("getPaymentsList", EndpointFamily.PAYMENTS, httpGet, true, PaymentsListResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while retrieving payments list: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Lists every payment matching the filters of the given request as a lazy stream, fetching pages of
+     * {@link #DEFAULT_PAGE_SIZE} payments on demand and prefetching the next page while the current one is consumed.
+     *
+     * @param request The {@link PaymentsListRequest} holding the filters; its limit is ignored and its offset, if set,
+     *                is where the stream starts.
+     * @return A lazy {@link Stream} of payments. Failures are thrown from the stream as {@link UncheckedEnzonaException}.
+     * @see #streamPayments(PaymentsListRequest, int, int)
+     */
+    public Stream<PaymentsListResponse.Payment> streamPayments(PaymentsListRequest request) {
+        return streamPayments(request, DEFAULT_PAGE_SIZE, 1);
+    }
+
+    /**
+     * Lists every payment matching the filters of the given request as a lazy stream.
+     * Pages are requested only as the stream is consumed, with up to {@code prefetchPages} pages requested ahead
+     * of the one being read, so the whole listing never has to fit in memory. The stream ends at the first page
+     * holding fewer than {@code pageSize} payments. Closing the stream cancels outstanding prefetches.
+     *
+     * <p>Example usage:</p>
+     * <pre>
+     * try (Stream&lt;PaymentsListResponse.Payment&gt; payments = paymentApi.streamPayments(filter, 500, 2)) {
+     *     payments.forEach(ledger::reconcile);
+     * }
+     * </pre>
+     *
+     * @param request The {@link PaymentsListRequest} holding the filters; its limit is ignored and its offset, if set,
+     *                is where the stream starts.
+     * @param pageSize The number of payments requested per page.
+     * @param prefetchPages The number of pages requested ahead of the one being consumed, zero to fetch on demand only.
+     * @return A lazy {@link Stream} of payments. Failures are thrown from the stream as {@link UncheckedEnzonaException}.
+     */
+    public Stream<PaymentsListResponse.Payment> streamPayments(PaymentsListRequest request, int pageSize, int prefetchPages) {
+        long startOffset = request.getOffset() != null ? Long.parseLong(request.getOffset()) : 0;
+        PageIterator<PaymentsListResponse.Payment> pages = new PageIterator<>((offset, limit) -> {
+            PaymentsListResponse page = getPaymentsList(copyWithPage(request, offset, limit));
+            return page.getPayments();
+        }, startOffset, pageSize, prefetchPages, client.getTaskExecutor());
+        return pages.stream();
+    }
+
+    /**
+     * Creates a {@link RefundScanner} over the merchant refunds matching the filters of the given request.
+     * Pages are retrieved through {@link #getRefundsList(RefundsListRequest)} with every filter of the request;
+     * its limit is ignored and its offset, if set, is where each scan starts.
+     *
+     * @param request The {@link RefundsListRequest} holding the filters.
+     * @return A scanner listing the matching refunds as a lazy stream.
+     */
+    public RefundScanner<RefundsListResponse.Refund> refundScanner(RefundsListRequest request) {
+        long startOffset = request.getOffset() != null ? Long.parseLong(request.getOffset()) : 0;
+        return new RefundScanner<>((startDate, endDate, offset, limit) -> {
+            RefundsListResponse page = getRefundsList(copyWithPage(request, startDate, endDate, offset, limit));
+            return page.getRefunds();
+        }, startOffset, client.getTaskExecutor());
+    }
+
+    /**
+     * Creates a {@link RefundScanner} over the refunds of a single payment matching the filters of the given request.
+     * Pages are retrieved through {@link #listRefunds(ListRefundsRequest)} with every filter of the request;
+     * its limit is ignored and its offset, if set, is where each scan starts.
+     *
+     * @param request The {@link ListRefundsRequest} holding the transaction UUID and the filters.
+     * @return A scanner listing the matching refunds as a lazy stream.
+     */
+    public RefundScanner<ListRefundsResponse.Refund> refundScanner(ListRefundsRequest request) {
+        long startOffset = request.getOffset() != null ? Long.parseLong(request.getOffset()) : 0;
+        return new RefundScanner<>((startDate, endDate, offset, limit) -> {
+            ListRefundsResponse page = listRefunds(new ListRefundsRequest(request.getTransactionUuid(),
+                    String.valueOf(limit), String.valueOf(offset), request.getStatusFilter(),
+                    startDate != null ? startDate : request.getStartDateFilter(),
+                    endDate != null ? endDate : request.getEndDateFilter(),
+                    request.getOrderFilter()));
+            return page.getRefunds();
+        }, startOffset, client.getTaskExecutor());
+    }
+
     /**
      * Retrieves the details of a specific payment transaction.
      * This method sends a GET request to the payment service, querying for detailed information about a payment.
+     * Served from the client's {@link DetailsCache} when one is configured and holds the payment.
      *
      * @param transactionUuid The unique identifier of the payment transaction for which details are being requested.
      * @return A {@link PaymentDetailsResponse} object containing detailed information about the specified payment transaction.
      * @throws EnzonaException If there is an issue with network communication or processing the request/response.
      */
     public PaymentDetailsResponse getPaymentDetails(String transactionUuid) throws EnzonaException {
+        if (detailsCache != null) {
+            PaymentDetailsResponse cached = detailsCache.getPayment(transactionUuid);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long generation = detailsCache != null ? detailsCache.generation(transactionUuid) : -1;
         try {
             String url = baseUrl + "payments/" + transactionUuid;
             HttpGet httpGet = new HttpGet(url);
             configureHttpHeaders(httpGet);
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
-                return processHttpResponse(response, PaymentDetailsResponse.class);
+            PaymentDetailsResponse details = execute("getPaymentDetails", EndpointFamily.PAYMENTS, httpGet, true, PaymentDetailsResponse.class);
+            if (detailsCache != null) {
+                detailsCache.putPayment(transactionUuid, generation, details);
             }
+            return details;
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while retrieving payment details: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Creates a {@link BatchLookup} retrieving the details of many payments concurrently, with up to
+     * {@link #DEFAULT_BATCH_PARALLELISM} requests in flight. Duplicate UUIDs are requested once.
+     *
+     * @param transactionUuids The UUIDs of the payments to look up.
+     * @return A lookup producing one {@link BatchResult} per distinct UUID as its request completes.
+     * @see #getPaymentDetailsBatch(Collection, int)
+     */
+    public BatchLookup<PaymentDetailsResponse> getPaymentDetailsBatch(Collection<String> transactionUuids) {
+        return getPaymentDetailsBatch(transactionUuids, DEFAULT_BATCH_PARALLELISM);
+    }
+
+    /**
+     * Creates a {@link BatchLookup} retrieving the details of many payments through
+     * {@link #getPaymentDetails(String)}, fanning out over the shared connection pool on the client's task executor.
+     * Nothing is requested until the results are consumed; a payment that cannot be retrieved is reported as a failed
+     * {@link BatchResult} without aborting the batch.
+     *
+     * <p>Example usage:</p>
+     * <pre>
+     * try (Stream&lt;BatchResult&lt;PaymentDetailsResponse&gt;&gt; results =
+     *         paymentApi.getPaymentDetailsBatch(uuids, 32).stream()) {
+     *     results.filter(BatchResult::isSuccess).forEach(result -&gt; ledger.reconcile(result.getValue()));
+     * }
+     * </pre>
+     *
+     * @param transactionUuids The UUIDs of the payments to look up.
+     * @param parallelism The maximum number of requests in flight at a time.
+     * @return A lookup producing one {@link BatchResult} per distinct UUID as its request completes.
+     */
+    public BatchLookup<PaymentDetailsResponse> getPaymentDetailsBatch(Collection<String> transactionUuids, int parallelism) {
+        return new BatchLookup<>(this::getPaymentDetails, transactionUuids, parallelism, client.getTaskExecutor());
+    }
+
     /**
      * Initiates the checkout process for a payment identified by the given UUID.
      * This method sends a GET request to the payment service to initiate the checkout process.
@@ -242,9 +421,7 @@ public class PaymentApi {
             String url = baseUrl + "payments/checkout/" + uuid;
             HttpGet httpGet = new HttpGet(url);
             configureHttpHeaders(httpGet);
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
-                return processHttpResponse(response, CheckoutResponse.class);
-            }
+            return execute("performCheckout", EndpointFamily.PAYMENTS, httpGet, true, CheckoutResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while initiating checkout: " + e.getMessage(), e);
         }
@@ -263,11 +440,8 @@ public class PaymentApi {
             String url = baseUrl + "payments/vendor/code";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            String json = JsonUtil.toJson(request);
-            httpPost.setEntity(new StringEntity(json));
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, CreateReceiveCodeResponse.class);
-            }
+            httpPost.setEntity(new ByteArrayEntity(JsonUtil.toJsonBytes(request), ContentType.APPLICATION_JSON));
+            return execute("createReceiveCode", EndpointFamily.PAYMENTS, httpPost, false, CreateReceiveCodeResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while creating receive code: " + e.getMessage(), e);
         }
@@ -283,18 +457,10 @@ public class PaymentApi {
      */
     public ListRefundsResponse listRefunds(ListRefundsRequest request) throws EnzonaException {
         try {
-            List<String> queryParams = new ArrayList<>();
-            queryParams.add("transaction_uuid=" + URLEncoder.encode(request.getTransactionUuid(), StandardCharsets.UTF_8));
-            if (request.getStatusFilter() != null) {
-                queryParams.add("status_filter=" + URLEncoder.encode(request.getStatusFilter(), StandardCharsets.UTF_8));
-            }
-            String queryString = String.join("&", queryParams);
-            String url = baseUrl + "payments/" + request.getTransactionUuid() + "/refunds" + "?" + queryString;
+            String url = baseUrl + PaymentPaths.listRefunds(request);
             HttpGet httpGet = new HttpGet(url);
             configureHttpHeaders(httpGet);
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
-                return processHttpResponse(response, ListRefundsResponse.class);
-            }
+            return execute("listRefunds", EndpointFamily.REFUNDS, httpGet, true, ListRefundsResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while retrieving refunds list: " + e.getMessage(), e);
         }
@@ -313,11 +479,8 @@ public class PaymentApi {
             String url = baseUrl + "shop";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            String json = JsonUtil.toJson(request);
-            httpPost.setEntity(new StringEntity(json));
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, PayProductResponse.class);
-            }
+            httpPost.setEntity(new ByteArrayEntity(JsonUtil.toJsonBytes(request), ContentType.APPLICATION_JSON));
+            return execute("payProduct", EndpointFamily.SHOP, httpPost, false, PayProductResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while paying for product: " + e.getMessage(), e);
         }
@@ -337,11 +500,8 @@ public class PaymentApi {
             String url = baseUrl + "payment-orders";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            String json = JsonUtil.toJson(request);
-            httpPost.setEntity(new StringEntity(json));
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, CreatePaymentOrderResponse.class);
-            }
+            httpPost.setEntity(new ByteArrayEntity(JsonUtil.toJsonBytes(request), ContentType.APPLICATION_JSON));
+            return execute("createPaymentOrder", EndpointFamily.PAYMENT_ORDERS, httpPost, false, CreatePaymentOrderResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while creating payment order: " + e.getMessage(), e);
         }
@@ -360,11 +520,11 @@ public class PaymentApi {
             String url = baseUrl + "payments/" + transactionUuid + "/cancel";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, CancelPaymentResponse.class);
-            }
+            return execute("cancelPayment", EndpointFamily.PAYMENTS, httpPost, false, CancelPaymentResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while canceling payment: " + e.getMessage(), e);
+        } finally {
+            invalidate(transactionUuid);
         }
     }
 
@@ -382,47 +542,149 @@ public class PaymentApi {
             String url = baseUrl + "payments/" + transactionUuid + "/refund";
             HttpPost httpPost = new HttpPost(url);
             configureHttpHeaders(httpPost);
-            String json = JsonUtil.toJson(request);
-            httpPost.setEntity(new StringEntity(json));
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                return processHttpResponse(response, RefundPaymentResponse.class);
-            }
+            httpPost.setEntity(new ByteArrayEntity(JsonUtil.toJsonBytes(request), ContentType.APPLICATION_JSON));
+            return execute("refundPayment", EndpointFamily.REFUNDS, httpPost, false, RefundPaymentResponse.class);
         } catch (IOException e) {
             throw new EnzonaException("Exception occurred while processing refund: " + e.getMessage(), e);
+        } finally {
+            invalidate(transactionUuid);
+        }
+    }
+
+    /**
+     * Creates a {@link BulkRefunder} issuing refunds through {@link #refundPayment(String, RefundPaymentRequest)} in
+     * parallel on the client's task executor, journaling every outcome to the given file so that an interrupted run
+     * can be resumed without refunding twice.
+     *
+     * @param journal The journal file, created if it does not exist. Reuse it to resume a run.
+     * @return A refunder to configure and run.
+     */
+    public BulkRefunder bulkRefunder(Path journal) {
+        return new BulkRefunder(this, journal, client.getTaskExecutor());
+    }
+
+    /**
+     * Looks up the payment created by an earlier attempt of {@link #createPayment(CreatePaymentRequest)}.
+     *
+     * @param request The request whose payment is looked up.
+     * @return The payment with the request's merchant operation ID, or null if the merchant has none.
+     * @throws EnzonaException If the payments list cannot be retrieved.
+     */
+    private CreatePaymentResponse findCreatedPayment(CreatePaymentRequest request) throws EnzonaException {
+        PaymentsListRequest filter = new PaymentsListRequest();
+        filter.setMerchantUuid(request.getMerchantUuid());
+        filter.setMerchantOpFilter(String.valueOf(request.getMerchantOpId()));
+        List<PaymentsListResponse.Payment> payments = getPaymentsList(filter).getPayments();
+        if (payments != null) {
+            for (PaymentsListResponse.Payment payment : payments) {
+                if (payment.getMerchantOpId() == request.getMerchantOpId()) {
+                    return JsonUtil.convertValue(payment, CreatePaymentResponse.class);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static PaymentsListRequest copyWithPage(PaymentsListRequest request, long offset, int limit) {
+        PaymentsListRequest page = new PaymentsListRequest();
+        page.setMerchantUuid(request.getMerchantUuid());
+        page.setLimit(String.valueOf(limit));
+        page.setOffset(String.valueOf(offset));
+        page.setMerchantOpFilter(request.getMerchantOpFilter());
+        page.setEnzonaOpFilter(request.getEnzonaOpFilter());
+        page.setStatusFilter(request.getStatusFilter());
+        page.setStartDateFilter(request.getStartDateFilter());
+        page.setEndDateFilter(request.getEndDateFilter());
+        page.setOrderFilter(request.getOrderFilter());
+        return page;
+    }
+
+    private static RefundsListRequest copyWithPage(RefundsListRequest request, String startDate, String endDate, long offset, int limit) {
+        RefundsListRequest page = new RefundsListRequest();
+        page.setMerchantUuid(request.getMerchantUuid());
+        page.setTransactionUuid(request.getTransactionUuid());
+        page.setCommerceRefundId(request.getCommerceRefundId());
+        page.setLimit(String.valueOf(limit));
+        page.setOffset(String.valueOf(offset));
+        page.setStatusFilter(request.getStatusFilter());
+        page.setStartDateFilter(startDate != null ? startDate : request.getStartDateFilter());
+        page.setEndDateFilter(endDate != null ? endDate : request.getEndDateFilter());
+        page.setOrderFilter(request.getOrderFilter());
+        return page;
+    }
+
+    /**
+     * Removes the cached details of a transaction that a call may have changed, whether or not the call succeeded.
+     *
+     * @param transactionUuid The UUID of the changed transaction.
+     */
+    private void invalidate(String transactionUuid) {
+        if (detailsCache != null) {
+            detailsCache.invalidate(transactionUuid);
         }
     }
 
     /**
      * Configures the common HTTP headers for every request sent to the Enzona API.
-     * This method sets the authorization token and content type headers.
+     * This method sets the content type header; the access token is added by the {@link RequestExecutor} on every attempt.
      *
      * @param request The HTTP request to which headers need to be added.
-     * @throws EnzonaException If there is an issue obtaining the access token.
      */
-    private void configureHttpHeaders(HttpRequest request) throws EnzonaException {
-        request.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authClient.getAccessToken());
+    private void configureHttpHeaders(HttpRequest request) {
         request.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
     }
 
+    /**
+     * Executes a request once the rate limiter of its endpoint family and the shared connection gate admit it,
+     * and converts the response into {@code responseType}. Idempotent requests are retried on transient failures;
+     * other requests only when they provably did not reach the server.
+     * With read coalescing enabled on the client, identical GET requests in flight at the same time share one call.
+     *
+     * @param operation The name of the calling method, reported to the client's instrumentation.
+     * @param family The endpoint family the request belongs to.
+     * @param request The fully configured HTTP request.
+     * @param idempotent Whether the request can be repeated without changing its effect.
+     * @param responseType The class of the type into which the JSON response should be converted.
+     * @return An instance of {@code T}, which contains the data converted from the JSON response.
+     * @throws IOException If there is an issue with sending the request or reading the response.
+     * @throws EnzonaException If the request is not admitted in time or the response status is not 200 OK.
+     */
+    private <T> T execute(String operation, EndpointFamily family, HttpUriRequest request, boolean idempotent, Class<T> responseType) throws IOException, EnzonaException {
+        if (singleFlight != null && idempotent && HttpGet.METHOD_NAME.equals(request.getMethod())) {
+            return singleFlight.execute(request.getURI().toString(), responseType, () -> requestExecutor.execute(
+                    httpClient, authClient, family, operation, request, true, response -> processHttpResponse(request, response, responseType)));
+        }
+        return requestExecutor.execute(httpClient, authClient, family, operation, request, idempotent, response -> processHttpResponse(request, response, responseType));
+    }
+
     /**
      * Processes the HTTP response from an API request.
      * This method checks the response status code and parses the JSON response body into a specified Java type.
+     * Successful bodies are parsed straight from the entity stream; error bodies are read only up to
+     * {@link EntityUtil#MAX_ERROR_BODY_BYTES}.
      *
+     * @param request The request the response answers, identifying the endpoint in errors.
      * @param response The HTTP response to process.
      * @param responseType The class of the type into which the JSON response should be converted.
      * @return An instance of {@code T}, which contains the data converted from the JSON response.
      * @throws IOException If there is an issue with reading the response.
-     * @throws EnzonaException If the response status is not 200 OK, indicating an error with the request.
+     * @throws EnzonaHttpException If the response status is not 200 OK, indicating an error with the request.
+     * @throws EnzonaException If the response has no body.
      */
-    private <T> T processHttpResponse(HttpResponse response, Class<T> responseType) throws IOException, EnzonaException {
+    private <T> T processHttpResponse(HttpUriRequest request, HttpResponse response, Class<T> responseType) throws IOException, EnzonaException {
         int statusCode = response.getStatusLine().getStatusCode();
-        String jsonResponse = EntityUtils.toString(response.getEntity());
+        HttpEntity entity = response.getEntity();
 
         if (statusCode != 200) {
-            throw new EnzonaException("Request failed with HTTP Status " + statusCode + ": " + jsonResponse);
+            throw HttpErrors.from(request, response);
+        }
+        if (entity == null) {
+            throw new EnzonaException("Request failed with HTTP Status " + statusCode + ": empty response body");
         }
 
-        return JsonUtil.fromJson(jsonResponse, responseType);
+        try (InputStream content = entity.getContent()) {
+            return JsonUtil.fromJson(content, responseType);
+        }
     }
 
 }
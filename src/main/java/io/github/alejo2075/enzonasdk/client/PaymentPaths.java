@@ -0,0 +1,87 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.model.request.ListRefundsRequest;
+import io.github.alejo2075.enzonasdk.model.request.PaymentsListRequest;
+import io.github.alejo2075.enzonasdk.model.request.RefundsListRequest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the relative paths, including query strings, of the payment endpoints that take filter parameters.
+ * Shared by {@link PaymentApi} and {@link AsyncPaymentApi} so both send exactly the same requests.
+ */
+final class PaymentPaths {
+
+    private PaymentPaths() {
+    }
+
+    /**
+     * Builds the path of the refunds list endpoint for the given filters.
+     *
+     * @param request The {@link RefundsListRequest} holding the filters to send.
+     * @return the path relative to the API base URL.
+     */
+    static String refundsList(RefundsListRequest request) {
+        List<String> queryParams = new ArrayList<>();
+        addParam(queryParams, "merchant_uuid", request.getMerchantUuid());
+        addParam(queryParams, "transaction_uuid", request.getTransactionUuid());
+        addParam(queryParams, "commerce_refund_id", request.getCommerceRefundId());
+        addParam(queryParams, "limit", request.getLimit());
+        addParam(queryParams, "offset", request.getOffset());
+        addParam(queryParams, "status_filter", request.getStatusFilter());
+        addParam(queryParams, "start_date_filter", request.getStartDateFilter());
+        addParam(queryParams, "end_date_filter", request.getEndDateFilter());
+        addParam(queryParams, "order_filter", request.getOrderFilter());
+        String queryStr = String.join("&", queryParams);
+        return "payments/refunds" + (queryStr.isEmpty() ? "" : "?" + queryStr);
+    }
+
+    /**
+     * Builds the path of the payments list endpoint for the given filters.
+     *
+     * @param request The {@link PaymentsListRequest} holding the filters to send.
+     * @return the path relative to the API base URL.
+     */
+    static String paymentsList(PaymentsListRequest request) {
+        List<String> queryParams = new ArrayList<>();
+        addParam(queryParams, "merchant_uuid", request.getMerchantUuid());
+        addParam(queryParams, "limit", request.getLimit());
+        addParam(queryParams, "offset", request.getOffset());
+        addParam(queryParams, "merchant_op_filter", request.getMerchantOpFilter());
+        addParam(queryParams, "enzona_op_filter", request.getEnzonaOpFilter());
+        addParam(queryParams, "status_filter", request.getStatusFilter());
+        addParam(queryParams, "start_date_filter", request.getStartDateFilter());
+        addParam(queryParams, "end_date_filter", request.getEndDateFilter());
+        addParam(queryParams, "order_filter", request.getOrderFilter());
+        String queryStr = queryParams.isEmpty() ? "" : "?" + String.join("&", queryParams);
+        return "payments" + queryStr;
+    }
+
+    /**
+     * Builds the path of the endpoint listing the refunds of a single payment.
+     *
+     * @param request The {@link ListRefundsRequest} holding the transaction UUID and the filters to send.
+     * @return the path relative to the API base URL.
+     */
+    static String listRefunds(ListRefundsRequest request) {
+        List<String> queryParams = new ArrayList<>();
+        addParam(queryParams, "transaction_uuid", request.getTransactionUuid());
+        addParam(queryParams, "limit", request.getLimit());
+        addParam(queryParams, "offset", request.getOffset());
+        addParam(queryParams, "status_filter", request.getStatusFilter());
+        addParam(queryParams, "start_date_filter", request.getStartDateFilter());
+        addParam(queryParams, "end_date_filter", request.getEndDateFilter());
+        addParam(queryParams, "order_filter", request.getOrderFilter());
+        String queryString = String.join("&", queryParams);
+        return "payments/" + request.getTransactionUuid() + "/refunds" + "?" + queryString;
+    }
+
+    private static void addParam(List<String> queryParams, String name, String value) {
+        if (value != null) {
+            queryParams.add(name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.cache.DetailsCache;
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaHttpException;
+import io.github.alejo2075.enzonasdk.model.request.PaymentsListRequest;
+import io.github.alejo2075.enzonasdk.model.response.PaymentDetailsResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentsListResponse;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Watches payments until they reach a final status, without a thread per payment. Every watched payment is polled
+ * from a single timer wheel, and the polls themselves run on the task executor of the shared {@link EnzonaClient}
+ * with at most {@link Builder#maxConcurrentPolls(int)} in flight.
+ *
+ * <p>Each payment is first polled with {@link PaymentApi#getPaymentDetails(String)}. While its status stays the same,
+ * the interval between polls grows from {@link Builder#initialInterval(Duration)} by
+ * {@link Builder#backoffMultiplier(double)} up to {@link Builder#maxInterval(Duration)}; a status change resets it.
+ * When at least {@link Builder#batchThreshold(int)} payments of the same merchant and status are due together, they
+ * are checked with {@link PaymentApi#getPaymentsList(PaymentsListRequest)} filtered by that status and by the
+ * earliest creation date among them. Only the payments missing from the listing, whose status must have changed, are
+ * then fetched one by one, so thousands of pending checkouts cost a few list pages per interval.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * PaymentWatcher watcher = PaymentWatcher.builder(paymentApi)
+ *         .initialInterval(Duration.ofSeconds(2))
+ *         .timeout(Duration.ofMinutes(15))
+ *         .build();
+ * watcher.watch(transactionUuid, details -&gt; log.info("Payment now {}", details.getStatusCode()))
+ *         .thenAccept(orders::settle);
+ * </pre>
+ */
+public final class PaymentWatcher implements Closeable {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final PaymentApi paymentApi;
+    private final Executor executor;
+    private final long tickNanos;
+    private final long initialIntervalNanos;
+    private final long maxIntervalNanos;
+    private final double backoffMultiplier;
+    private final long timeoutNanos;
+    private final int batchThreshold;
+    private final int pageSize;
+    private final int maxListPages;
+    private final Set<String> terminalStatusCodes;
+    private final Semaphore polls;
+    private final Set<Watch> active = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Watch> incoming = new ConcurrentLinkedQueue<>();
+    private final List<ArrayDeque<Watch>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final long startNanos = System.nanoTime();
+    private final Thread timer;
+    private volatile boolean closed;
+    private long currentTick;
+
+    private PaymentWatcher(Builder builder) {
+        this.paymentApi = builder.paymentApi;
+        this.executor = builder.paymentApi.getClient().getTaskExecutor();
+        this.tickNanos = builder.tickDuration.toNanos();
+        this.initialIntervalNanos = builder.initialInterval.toNanos();
+        this.maxIntervalNanos = builder.maxInterval.toNanos();
+        this.backoffMultiplier = builder.backoffMultiplier;
+        this.timeoutNanos = builder.timeout.toNanos();
+        this.batchThreshold = builder.batchThreshold;
+        this.pageSize = builder.pageSize;
+        this.maxListPages = builder.maxListPages;
+        this.terminalStatusCodes = builder.terminalStatusCodes;
+        this.polls = new Semaphore(builder.maxConcurrentPolls);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.timer = new Thread(this::runTimer, "enzona-payment-watcher");
+        timer.setDaemon(true);
+        timer.start();
+    }
+
+    /**
+     * Starts building a watcher that polls through the given API.
+     *
+     * @param paymentApi the API used to poll payments.
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder(PaymentApi paymentApi) {
+        return new Builder(paymentApi);
+    }
+
+    /**
+     * Watches a payment until it reaches a final status.
+     *
+     * @param transactionUuid the UUID of the payment.
+     * @return a future completed with the final details of the payment, or exceptionally with an
+     * {@link EnzonaException} if it cannot be retrieved or does not finish within the timeout. Cancelling the future
+     * stops watching.
+     */
+    public CompletableFuture<PaymentDetailsResponse> watch(String transactionUuid) {
+        return watch(transactionUuid, null);
+    }
+
+    /**
+     * Watches a payment until it reaches a final status, passing its details to the listener whenever its status
+     * differs from the one seen before, including on the first poll and on the final one.
+     *
+     * @param transactionUuid the UUID of the payment.
+     * @param onStatusChange receives the details of the payment on every status change, or null. It runs on the
+     *                       client's task executor and must not block.
+     * @return a future completed with the final details of the payment, or exceptionally with an
+     * {@link EnzonaException} if it cannot be retrieved or does not finish within the timeout. Cancelling the future
+     * stops watching.
+     */
+    public CompletableFuture<PaymentDetailsResponse> watch(String transactionUuid,
+                                                           Consumer<? super PaymentDetailsResponse> onStatusChange) {
+        Objects.requireNonNull(transactionUuid, "transactionUuid must not be null");
+        if (closed) {
+            throw new IllegalStateException("PaymentWatcher is closed");
+        }
+        long now = System.nanoTime();
+        Watch watch = new Watch(transactionUuid, onStatusChange, now + timeoutNanos);
+        watch.future.whenComplete((details, error) -> active.remove(watch));
+        active.add(watch);
+        schedule(watch, now);
+        return watch.future;
+    }
+
+    /**
+     * Returns the number of payments currently watched.
+     *
+     * @return the number of unfinished watches.
+     */
+    public int getWatchedCount() {
+        return active.size();
+    }
+
+    /**
+     * Stops the timer and fails every unfinished watch. Polls in flight complete but are not rescheduled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        timer.interrupt();
+        for (Watch watch : active) {
+            watch.future.completeExceptionally(new EnzonaException("PaymentWatcher was closed while watching payment "
+                    + watch.transactionUuid));
+        }
+    }
+
+    private void schedule(Watch watch, long dueNanos) {
+        watch.dueNanos = dueNanos - watch.deadlineNanos < 0 ? dueNanos : watch.deadlineNanos;
+        incoming.add(watch);
+    }
+
+    private void runTimer() {
+        while (!closed) {
+            long deadline = startNanos + (currentTick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = deadline - System.nanoTime()) > 0 && !closed) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (closed) {
+                return;
+            }
+            currentTick++;
+            try {
+                transferIncoming();
+                dispatch(expire(wheel.get((int) (currentTick & (WHEEL_SIZE - 1)))));
+            } catch (RuntimeException e) {
+                // keep the timer alive for the watches of the other buckets
+            }
+        }
+    }
+
+    private void transferIncoming() {
+        Watch watch;
+        while ((watch = incoming.poll()) != null) {
+            long ticks = Math.max(1, -Math.floorDiv(-(watch.dueNanos - startNanos), tickNanos) - currentTick);
+            watch.dueTick = currentTick + ticks;
+            wheel.get((int) (watch.dueTick & (WHEEL_SIZE - 1))).add(watch);
+        }
+    }
+
+    /**
+     * Removes the due watches of a bucket, dropping finished ones and failing those past their deadline.
+     */
+    private List<Watch> expire(ArrayDeque<Watch> bucket) {
+        List<Watch> due = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Iterator<Watch> it = bucket.iterator(); it.hasNext(); ) {
+            Watch watch = it.next();
+            if (watch.future.isDone()) {
+                it.remove();
+            } else if (watch.dueTick <= currentTick) {
+                it.remove();
+                if (now - watch.deadlineNanos >= 0) {
+                    watch.future.completeExceptionally(new EnzonaException("Payment " + watch.transactionUuid
+                            + " did not reach a final status within " + Duration.ofNanos(timeoutNanos)));
+                } else {
+                    due.add(watch);
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Hands the due watches to the executor, merging those of the same merchant and status into list queries.
+     * Watches that find no free poll slot, or whose poll the executor rejects, are deferred to the next tick; they
+     * fail at the latest when their deadline passes. Once the executor is shut down they fail straight away.
+     */
+    private void dispatch(List<Watch> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<String, List<Watch>> groups = new HashMap<>();
+        List<Watch> singles = new ArrayList<>();
+        for (Watch watch : due) {
+            if (batchThreshold > 0 && watch.merchantUuid != null && watch.statusCode != null && watch.createdAt != null) {
+                groups.computeIfAbsent(watch.merchantUuid + '\u0000' + watch.statusCode, k -> new ArrayList<>()).add(watch);
+            } else {
+                singles.add(watch);
+            }
+        }
+        for (List<Watch> group : groups.values()) {
+            if (group.size() < batchThreshold) {
+                singles.addAll(group);
+            } else if (!polls.tryAcquire()) {
+                group.forEach(this::defer);
+            } else if (!submit(() -> pollGroup(group))) {
+                group.forEach(this::rejected);
+            }
+        }
+        for (Watch watch : singles) {
+            if (!polls.tryAcquire()) {
+                defer(watch);
+            } else if (!submit(() -> pollSingle(watch))) {
+                rejected(watch);
+            }
+        }
+    }
+
+    /**
+     * Runs a poll on the executor, releasing its slot when it ends.
+     *
+     * @return false if the executor rejected the poll.
+     */
+    private boolean submit(Runnable poll) {
+        try {
+            executor.execute(() -> {
+                try {
+                    poll.run();
+                } finally {
+                    polls.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            polls.release();
+            return false;
+        }
+    }
+
+    private void rejected(Watch watch) {
+        if (executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown()) {
+            watch.future.completeExceptionally(new EnzonaException("Cannot poll payment " + watch.transactionUuid
+                    + ": the client's task executor was shut down"));
+        } else {
+            defer(watch);
+        }
+    }
+
+    private void defer(Watch watch) {
+        watch.dueTick = currentTick + 1;
+        wheel.get((int) (watch.dueTick & (WHEEL_SIZE - 1))).add(watch);
+    }
+
+    private void pollSingle(Watch watch) {
+        if (watch.future.isDone()) {
+            return;
+        }
+        try {
+            observe(watch, paymentApi.getPaymentDetails(watch.transactionUuid));
+        } catch (EnzonaException e) {
+            if (e instanceof EnzonaHttpException && !e.isRetryable()) {
+                watch.future.completeExceptionally(e);
+            } else {
+                reschedule(watch);
+            }
+        } catch (RuntimeException e) {
+            watch.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Checks a group of payments sharing a merchant and a status with a single listing filtered by that status.
+     * Payments found in the listing are unchanged; the others are fetched individually.
+     */
+    private void pollGroup(List<Watch> group) {
+        Map<String, Watch> pending = new HashMap<>();
+        String earliest = null;
+        for (Watch watch : group) {
+            pending.put(watch.transactionUuid, watch);
+            if (earliest == null || watch.createdAt.compareTo(earliest) < 0) {
+                earliest = watch.createdAt;
+            }
+        }
+        Watch first = group.get(0);
+        Set<String> unchanged = new HashSet<>();
+        try {
+            PaymentsListRequest filter = new PaymentsListRequest();
+            filter.setMerchantUuid(first.merchantUuid);
+            filter.setStatusFilter(first.statusCode);
+            filter.setStartDateFilter(earliest);
+            filter.setLimit(String.valueOf(pageSize));
+            for (int page = 0; page < maxListPages && unchanged.size() < pending.size(); page++) {
+                filter.setOffset(String.valueOf((long) page * pageSize));
+                List<PaymentsListResponse.Payment> payments = paymentApi.getPaymentsList(filter).getPayments();
+                if (payments == null) {
+                    break;
+                }
+                for (PaymentsListResponse.Payment payment : payments) {
+                    if (pending.containsKey(payment.getTransactionUuid())
+                            && first.statusCode.equals(payment.getStatusCode())) {
+                        unchanged.add(payment.getTransactionUuid());
+                    }
+                }
+                if (payments.size() < pageSize) {
+                    break;
+                }
+            }
+        } catch (EnzonaException | RuntimeException e) {
+            group.forEach(this::reschedule);
+            return;
+        }
+        for (Watch watch : group) {
+            if (unchanged.contains(watch.transactionUuid)) {
+                reschedule(watch);
+            } else {
+                pollSingle(watch);
+            }
+        }
+    }
+
+    private void observe(Watch watch, PaymentDetailsResponse details) {
+        if (details.getMerchantUuid() != null) {
+            watch.merchantUuid = details.getMerchantUuid();
+        }
+        if (details.getCreatedAt() != null) {
+            watch.createdAt = details.getCreatedAt();
+        }
+        String statusCode = details.getStatusCode();
+        if (!Objects.equals(statusCode, watch.statusCode) || watch.intervalNanos == 0) {
+            watch.statusCode = statusCode;
+            watch.intervalNanos = initialIntervalNanos;
+            if (watch.listener != null) {
+                try {
+                    watch.listener.accept(details);
+                } catch (RuntimeException e) {
+                    watch.future.completeExceptionally(e);
+                    return;
+                }
+            }
+        } else {
+            watch.intervalNanos = Math.min(maxIntervalNanos, (long) (watch.intervalNanos * backoffMultiplier));
+        }
+        if (statusCode != null && terminalStatusCodes.contains(statusCode)) {
+            watch.future.complete(details);
+        } else if (!closed) {
+            schedule(watch, System.nanoTime() + watch.intervalNanos);
+        }
+    }
+
+    private void reschedule(Watch watch) {
+        if (watch.future.isDone() || closed) {
+            return;
+        }
+        watch.intervalNanos = watch.intervalNanos == 0
+                ? initialIntervalNanos
+                : Math.min(maxIntervalNanos, (long) (watch.intervalNanos * backoffMultiplier));
+        schedule(watch, System.nanoTime() + watch.intervalNanos);
+    }
+
+    /**
+     * A watched payment. Its fields are only touched by the poll currently holding it or by the timer thread, which
+     * hand it over through the incoming queue.
+     */
+    private static final class Watch {
+        private final String transactionUuid;
+        private final Consumer<? super PaymentDetailsResponse> listener;
+        private final long deadlineNanos;
+        private final CompletableFuture<PaymentDetailsResponse> future = new CompletableFuture<>();
+        private String merchantUuid;
+        private String createdAt;
+        private String statusCode;
+        private long intervalNanos;
+        private long dueNanos;
+        private long dueTick;
+
+        private Watch(String transactionUuid, Consumer<? super PaymentDetailsResponse> listener, long deadlineNanos) {
+            this.transactionUuid = transactionUuid;
+            this.listener = listener;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * Builder for {@link PaymentWatcher}.
+     */
+    public static class Builder {
+        private final PaymentApi paymentApi;
+        private Duration initialInterval = Duration.ofSeconds(1);
+        private Duration maxInterval = Duration.ofSeconds(30);
+        private double backoffMultiplier = 1.5;
+        private Duration timeout = Duration.ofMinutes(30);
+        private Duration tickDuration = Duration.ofMillis(100);
+        private int maxConcurrentPolls = 16;
+        private int batchThreshold = 8;
+        private int pageSize = PaymentApi.DEFAULT_PAGE_SIZE;
+        private int maxListPages = 10;
+        private Set<String> terminalStatusCodes = DetailsCache.DEFAULT_TERMINAL_STATUS_CODES;
+
+        private Builder(PaymentApi paymentApi) {
+            this.paymentApi = Objects.requireNonNull(paymentApi, "paymentApi must not be null");
+        }
+
+        /**
+         * Sets the interval between polls after a status change. Defaults to one second.
+         *
+         * @param initialInterval the shortest poll interval.
+         * @return this builder.
+         */
+        public Builder initialInterval(Duration initialInterval) {
+            this.initialInterval = requirePositive(initialInterval, "initialInterval");
+            return this;
+        }
+
+        /**
+         * Sets the longest interval between polls of an unchanged payment. Defaults to 30 seconds.
+         *
+         * @param maxInterval the longest poll interval.
+         * @return this builder.
+         */
+        public Builder maxInterval(Duration maxInterval) {
+            this.maxInterval = requirePositive(maxInterval, "maxInterval");
+            return this;
+        }
+
+        /**
+         * Sets the factor by which the poll interval grows while a payment's status stays the same. Defaults to 1.5.
+         *
+         * @param backoffMultiplier the growth factor, at least 1.
+         * @return this builder.
+         */
+        public Builder backoffMultiplier(double backoffMultiplier) {
+            if (backoffMultiplier < 1) {
+                throw new IllegalArgumentException("backoffMultiplier must be at least 1");
+            }
+            this.backoffMultiplier = backoffMultiplier;
+            return this;
+        }
+
+        /**
+         * Sets how long a payment is watched before its future fails. Defaults to 30 minutes.
+         *
+         * @param timeout the longest time to wait for a final status.
+         * @return this builder.
+         */
+        public Builder timeout(Duration timeout) {
+            this.timeout = requirePositive(timeout, "timeout");
+            return this;
+        }
+
+        /**
+         * Sets the resolution of the timer wheel. Defaults to 100 milliseconds.
+         *
+         * @param tickDuration the time between two timer ticks.
+         * @return this builder.
+         */
+        public Builder tickDuration(Duration tickDuration) {
+            this.tickDuration = requirePositive(tickDuration, "tickDuration");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of polls in flight. Defaults to 16; due payments beyond it wait for the next tick.
+         *
+         * @param maxConcurrentPolls the concurrency cap, must be positive.
+         * @return this builder.
+         */
+        public Builder maxConcurrentPolls(int maxConcurrentPolls) {
+            if (maxConcurrentPolls <= 0) {
+                throw new IllegalArgumentException("maxConcurrentPolls must be positive");
+            }
+            this.maxConcurrentPolls = maxConcurrentPolls;
+            return this;
+        }
+
+        /**
+         * Sets how many payments of the same merchant and status must be due together to be checked with a single
+         * list query. Defaults to eight; zero always polls payments one by one.
+         *
+         * @param batchThreshold the smallest group checked with a list query.
+         * @return this builder.
+         */
+        public Builder batchThreshold(int batchThreshold) {
+            if (batchThreshold < 0) {
+                throw new IllegalArgumentException("batchThreshold must not be negative");
+            }
+            this.batchThreshold = batchThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the page size of list queries and how many pages one query may read before the payments not found
+         * yet are polled individually. Defaults to {@link PaymentApi#DEFAULT_PAGE_SIZE} and ten pages.
+         *
+         * @param pageSize the number of payments per page, must be positive.
+         * @param maxListPages the maximum number of pages per list query, must be positive.
+         * @return this builder.
+         */
+        public Builder listPaging(int pageSize, int maxListPages) {
+            if (pageSize <= 0 || maxListPages <= 0) {
+                throw new IllegalArgumentException("pageSize and maxListPages must be positive");
+            }
+            this.pageSize = pageSize;
+            this.maxListPages = maxListPages;
+            return this;
+        }
+
+        /**
+         * Sets the {@code statusCode} values at which watching ends. Defaults to
+         * {@link DetailsCache#DEFAULT_TERMINAL_STATUS_CODES}.
+         *
+         * @param statusCodes the final status codes.
+         * @return this builder.
+         */
+        public Builder terminalStatusCodes(Collection<String> statusCodes) {
+            this.terminalStatusCodes = Set.copyOf(statusCodes);
+            return this;
+        }
+
+        /**
+         * Builds the watcher and starts its timer thread.
+         *
+         * @return a new {@link PaymentWatcher}.
+         */
+        public PaymentWatcher build() {
+            if (maxInterval.compareTo(initialInterval) < 0) {
+                throw new IllegalArgumentException("maxInterval must not be shorter than initialInterval");
+            }
+            return new PaymentWatcher(this);
+        }
+
+        private static Duration requirePositive(Duration value, String name) {
+            if (value.isNegative() || value.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+    }
+}
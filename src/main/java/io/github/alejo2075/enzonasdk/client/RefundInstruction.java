@@ -0,0 +1,64 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.model.request.RefundPaymentRequest;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Objects;
+
+/**
+ * A single refund to be issued by a {@link BulkRefunder}: the payment to refund, the refund request and the ID under
+ * which its outcome is recorded in the journal.
+ *
+ * <p>The ID must identify the refund across runs, since a resumed run skips every ID whose refund is already recorded
+ * as issued, and must differ between refunds: a payment refunded in several parts needs one ID per part.
+ * {@link #of(String, RefundPaymentRequest)} uses the request's {@code commerceRefundId}.</p>
+ */
+@Getter
+@ToString
+public final class RefundInstruction {
+
+    /**
+     * The ID under which the outcome of the refund is journaled.
+     */
+    private final String id;
+
+    /**
+     * The UUID of the payment to refund.
+     */
+    private final String transactionUuid;
+
+    /**
+     * The refund to issue.
+     */
+    private final RefundPaymentRequest request;
+
+    /**
+     * Constructs a refund instruction.
+     *
+     * @param id the ID under which the outcome of the refund is journaled, unique within the journal
+     * @param transactionUuid the UUID of the payment to refund
+     * @param request the refund to issue
+     */
+    public RefundInstruction(String id, String transactionUuid, RefundPaymentRequest request) {
+        this.id = Objects.requireNonNull(id, "id must not be null");
+        this.transactionUuid = Objects.requireNonNull(transactionUuid, "transactionUuid must not be null");
+        this.request = Objects.requireNonNull(request, "request must not be null");
+    }
+
+    /**
+     * Creates a refund instruction journaled under the request's {@code commerceRefundId}.
+     *
+     * @param transactionUuid the UUID of the payment to refund
+     * @param request the refund to issue, carrying a {@code commerceRefundId}
+     * @return the instruction
+     * @throws IllegalArgumentException if the request has no {@code commerceRefundId}; use
+     *                                  {@link #RefundInstruction(String, String, RefundPaymentRequest)} to choose an ID
+     */
+    public static RefundInstruction of(String transactionUuid, RefundPaymentRequest request) {
+        if (request.getCommerceRefundId() == null) {
+            throw new IllegalArgumentException("Refund of " + transactionUuid + " has no commerceRefundId to journal it under");
+        }
+        return new RefundInstruction(request.getCommerceRefundId(), transactionUuid, request);
+    }
+}
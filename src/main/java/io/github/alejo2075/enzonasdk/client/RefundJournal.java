@@ -0,0 +1,217 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.JsonProcessingException;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only record of the refunds issued by a {@link BulkRefunder}, one JSON entry per line.
+ *
+ * <p>Every refund is journaled as {@link Status#STARTED} before it is sent and with its outcome once it is known.
+ * Only the {@code STARTED} entries are forced to disk: losing an outcome entry in a crash leaves the refund in doubt,
+ * which a resumed run resolves, whereas losing a {@code STARTED} entry could issue the refund twice.</p>
+ */
+final class RefundJournal implements Closeable {
+
+    /**
+     * The state of a refund recorded by a journal entry.
+     */
+    enum Status {
+        /**
+         * The refund is about to be sent; without a later entry its outcome is unknown.
+         */
+        STARTED,
+        /**
+         * The refund was issued.
+         */
+        SUCCEEDED,
+        /**
+         * The API rejected the refund, so it was not issued.
+         */
+        FAILED,
+        /**
+         * The request failed in a way that leaves open whether the refund was issued.
+         */
+        IN_DOUBT
+    }
+
+    /**
+     * A line of the journal.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Entry {
+        private String id;
+        private String transactionUuid;
+        private Status status;
+        private String refundUuid;
+        private boolean retryable;
+        private String error;
+        private long time;
+    }
+
+    private static final byte NEWLINE = '\n';
+
+    private final FileChannel channel;
+    private final Map<String, Entry> latest;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private RefundJournal(FileChannel channel, Map<String, Entry> latest) {
+        this.channel = channel;
+        this.latest = latest;
+    }
+
+    /**
+     * Opens the journal at the given path for appending, creating it if it does not exist, and reads back the latest
+     * entry of every refund it records. A trailing line left incomplete by a crash is ignored and cut off, so that
+     * the next entry is appended in its place.
+     *
+     * @param path the journal file
+     * @return the opened journal
+     * @throws IOException if the file cannot be read or opened, or holds a malformed line other than the last
+     */
+    static RefundJournal open(Path path) throws IOException {
+        Map<String, Entry> latest = new HashMap<>();
+        boolean torn = false;
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                String malformed = null;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    if (malformed != null) {
+                        throw new IOException("Malformed refund journal entry at " + malformed);
+                    }
+                    try {
+                        Entry entry = JsonUtil.fromJson(line, Entry.class);
+                        latest.put(entry.getId(), entry);
+                    } catch (JsonProcessingException e) {
+                        malformed = path + ":" + lineNumber;
+                    }
+                }
+                torn = malformed != null;
+            }
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        try {
+            if (torn) {
+                channel.truncate(lastLineStart(path, channel.size()));
+            } else if (channel.size() > 0 && !endsWithNewline(path, channel.size())) {
+                channel.write(ByteBuffer.wrap(new byte[]{NEWLINE}));
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new RefundJournal(channel, latest);
+    }
+
+    /**
+     * Returns the latest entry recorded for a refund, including those appended since the journal was opened.
+     *
+     * @param id the ID of the refund
+     * @return the latest entry, or null if the refund has none
+     */
+    Entry latest(String id) {
+        lock.lock();
+        try {
+            return latest.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends an entry as a single line.
+     *
+     * @param entry the entry to append
+     * @param force whether to wait until the entry is on disk
+     * @throws IOException if the entry cannot be written
+     */
+    void append(Entry entry, boolean force) throws IOException {
+        byte[] json = JsonUtil.toJsonLineBytes(entry);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put(NEWLINE);
+        line.flip();
+        lock.lock();
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            if (force) {
+                channel.force(false);
+            }
+            latest.put(entry.getId(), entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean endsWithNewline(Path path, long size) throws IOException {
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, size - 1);
+            return last.get(0) == NEWLINE;
+        }
+    }
+
+    /**
+     * Returns the offset at which the last non-empty line of the file starts.
+     */
+    private static long lastLineStart(Path path, long size) throws IOException {
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer chunk = ByteBuffer.allocate(8192);
+            boolean inLine = false;
+            long end = size;
+            while (end > 0) {
+                long start = Math.max(0, end - chunk.capacity());
+                chunk.clear().limit((int) (end - start));
+                while (chunk.hasRemaining()) {
+                    if (reader.read(chunk, start + chunk.position()) < 0) {
+                        break;
+                    }
+                }
+                for (int i = chunk.limit() - 1; i >= 0; i--) {
+                    if (chunk.get(i) != NEWLINE) {
+                        inLine = true;
+                    } else if (inLine) {
+                        return start + i + 1;
+                    }
+                }
+                end = start;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.UncheckedEnzonaException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks a refund listing page by page as a lazy {@link Stream}, so refund audits never hold more than a few pages
+ * in memory. Scanners are obtained from {@link PaymentApi#refundScanner(io.github.alejo2075.enzonasdk.model.request.RefundsListRequest)}
+ * for a merchant-wide listing or {@link PaymentApi#refundScanner(io.github.alejo2075.enzonasdk.model.request.ListRefundsRequest)}
+ * for the refunds of a single payment; every filter of the originating request is sent with each page.
+ *
+ * <p>{@link #stream()} scans the filtered range sequentially, requesting up to {@link #prefetch(int)} pages ahead of
+ * the one being consumed. {@link #stream(LocalDateTime, LocalDateTime, int)} splits a date range into sub-ranges that
+ * are scanned concurrently, which lets large audits use every connection of the shared pool.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * try (Stream&lt;RefundsListResponse.Refund&gt; refunds = paymentApi.refundScanner(filter)
+ *         .pageSize(500)
+ *         .stream(from, to, 8)) {
+ *     refunds.forEach(audit::check);
+ * }
+ * </pre>
+ *
+ * <p>Failures are thrown from the stream as {@link UncheckedEnzonaException}. Always close the stream, or consume it
+ * fully, so that outstanding page requests are cancelled.</p>
+ *
+ * @param <T> the type of the listed refunds
+ */
+public final class RefundScanner<T> {
+
+    /**
+     * Fetches one page of refunds created within a date range.
+     *
+     * @param <T> the type of the listed refunds
+     */
+    @FunctionalInterface
+    interface RangePageFetcher<T> {
+        /**
+         * Fetches the refunds in {@code [offset, offset + limit)} of the listing restricted to the given dates.
+         *
+         * @param startDate the formatted start date filter, or null to keep the one of the originating request
+         * @param endDate the formatted end date filter, or null to keep the one of the originating request
+         * @param offset the number of refunds to skip
+         * @param limit the maximum number of refunds to return
+         * @return the refunds of the page, possibly null when the page is empty
+         * @throws EnzonaException if the page cannot be retrieved
+         */
+        List<T> fetch(String startDate, String endDate, long offset, int limit) throws EnzonaException;
+    }
+
+    private final RangePageFetcher<T> fetcher;
+    private final long startOffset;
+    private final Executor executor;
+    private int pageSize = PaymentApi.DEFAULT_PAGE_SIZE;
+    private int prefetch = 1;
+    private DateTimeFormatter dateFormatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private ChronoUnit datePrecision = ChronoUnit.SECONDS;
+
+    RefundScanner(RangePageFetcher<T> fetcher, long startOffset, Executor executor) {
+        this.fetcher = fetcher;
+        this.startOffset = startOffset;
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the number of refunds requested per page. Defaults to {@link PaymentApi#DEFAULT_PAGE_SIZE}.
+     *
+     * @param pageSize the page size, must be positive
+     * @return this scanner
+     */
+    public RefundScanner<T> pageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets how many pages are requested ahead of the one being consumed. When scanning sub-ranges in parallel this is
+     * the number of pages each sub-range may buffer. Defaults to one; zero fetches pages on demand only.
+     *
+     * @param pages the prefetch depth, must not be negative
+     * @return this scanner
+     */
+    public RefundScanner<T> prefetch(int pages) {
+        if (pages < 0) {
+            throw new IllegalArgumentException("prefetch must not be negative");
+        }
+        this.prefetch = pages;
+        return this;
+    }
+
+    /**
+     * Sets how sub-range boundaries are rendered into the {@code start_date_filter} and {@code end_date_filter}
+     * parameters. Defaults to {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} at second precision.
+     *
+     * <p>Date filters are treated as inclusive, so each sub-range ends one {@code precision} unit before the next
+     * begins. The precision must match the finest field the formatter prints, e.g. {@link ChronoUnit#DAYS} for
+     * {@link DateTimeFormatter#ISO_LOCAL_DATE}, otherwise refunds near the boundaries may be listed twice.</p>
+     *
+     * @param formatter the formatter applied to sub-range boundaries
+     * @param precision the smallest unit the formatter renders
+     * @return this scanner
+     */
+    public RefundScanner<T> dateFormat(DateTimeFormatter formatter, ChronoUnit precision) {
+        this.dateFormatter = formatter;
+        this.datePrecision = precision;
+        return this;
+    }
+
+    /**
+     * Lists every refund matching the filters of the originating request, in the order returned by the API.
+     * The stream ends at the first page holding fewer refunds than the page size.
+     *
+     * @return a lazy, sequential {@link Stream} of refunds
+     */
+    public Stream<T> stream() {
+        PageIterator<T> pages = new PageIterator<>((offset, limit) -> fetcher.fetch(null, null, offset, limit),
+                startOffset, pageSize, prefetch, executor);
+        return pages.stream();
+    }
+
+    /**
+     * Lists every refund created between {@code from} and {@code to} by splitting the range into {@code parallelism}
+     * contiguous sub-ranges that are scanned concurrently on the task executor of the shared {@link EnzonaClient}.
+     * The date filters of the originating request are replaced by the sub-range boundaries; all other filters are kept.
+     *
+     * <p>Refunds of the same sub-range keep the API order, but refunds of different sub-ranges are interleaved as
+     * their pages arrive. At most {@code parallelism * max(prefetch, 1)} pages are buffered, so a slow consumer throttles
+     * the scan instead of growing memory. Closing the stream stops every sub-range scan.</p>
+     *
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, inclusive
+     * @param parallelism the number of sub-ranges scanned concurrently, must be positive
+     * @return a lazy {@link Stream} of refunds
+     */
+    public Stream<T> stream(LocalDateTime from, LocalDateTime to, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        LocalDateTime start = from.truncatedTo(datePrecision);
+        LocalDateTime end = to.truncatedTo(datePrecision);
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        long units = datePrecision.between(start, end) + 1;
+        int parts = (int) Math.min(parallelism, units);
+
+        ParallelScan scan = new ParallelScan(parts, parts * Math.max(prefetch, 1));
+        long first = 0;
+        for (int i = 0; i < parts; i++) {
+            long last = units * (i + 1) / parts - 1;
+            String startDate = dateFormatter.format(start.plus(first, datePrecision));
+            String endDate = dateFormatter.format(start.plus(last, datePrecision));
+            executor.execute(() -> scan.run(startDate, endDate));
+            first = last + 1;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(scan, Spliterator.NONNULL), false)
+                .onClose(scan::close);
+    }
+
+    /**
+     * Merges the pages of concurrently scanned sub-ranges through a bounded queue.
+     */
+    private final class ParallelScan implements Iterator<T> {
+
+        private final Object endOfRange = new Object();
+        private final BlockingQueue<Object> pages;
+        private volatile boolean closed;
+        private int runningRanges;
+        private Iterator<T> current = Collections.emptyIterator();
+
+        ParallelScan(int ranges, int capacity) {
+            this.runningRanges = ranges;
+            this.pages = new ArrayBlockingQueue<>(capacity + ranges);
+        }
+
+        void run(String startDate, String endDate) {
+            Object last = endOfRange;
+            try {
+                long offset = startOffset;
+                while (!closed) {
+                    List<T> page = fetcher.fetch(startDate, endDate, offset, pageSize);
+                    if (page != null && !page.isEmpty() && !offer(page)) {
+                        return;
+                    }
+                    if (page == null || page.size() < pageSize) {
+                        break;
+                    }
+                    offset += pageSize;
+                }
+            } catch (EnzonaException e) {
+                last = new UncheckedEnzonaException(e);
+            } catch (RuntimeException e) {
+                last = e;
+            }
+            offer(last);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (runningRanges == 0) {
+                    return false;
+                }
+                Object next = take();
+                if (next == endOfRange) {
+                    runningRanges--;
+                } else if (next instanceof RuntimeException) {
+                    close();
+                    throw (RuntimeException) next;
+                } else {
+                    current = ((List<T>) next).iterator();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        /**
+         * Stops every sub-range scan after its in-flight page and drops buffered pages.
+         */
+        void close() {
+            closed = true;
+            runningRanges = 0;
+            pages.clear();
+        }
+
+        private boolean offer(Object element) {
+            try {
+                while (!closed) {
+                    if (pages.offer(element, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        private Object take() {
+            try {
+                return pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new UncheckedEnzonaException(new EnzonaException("Interrupted while scanning refunds", e));
+            }
+        }
+    }
+}
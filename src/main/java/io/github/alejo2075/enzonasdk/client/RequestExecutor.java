@@ -0,0 +1,774 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.circuitbreaker.CircuitBreaker;
+import io.github.alejo2075.enzonasdk.compression.CompressionPolicy;
+import io.github.alejo2075.enzonasdk.exception.CircuitBreakerOpenException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaHttpException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaTimeoutException;
+import io.github.alejo2075.enzonasdk.instrumentation.CallObservation;
+import io.github.alejo2075.enzonasdk.instrumentation.Instrumentation;
+import io.github.alejo2075.enzonasdk.instrumentation.TraceContext;
+import io.github.alejo2075.enzonasdk.ratelimit.RateLimiter;
+import io.github.alejo2075.enzonasdk.retry.RetryBudget;
+import io.github.alejo2075.enzonasdk.retry.RetryPolicy;
+import io.github.alejo2075.enzonasdk.util.HeaderUtil;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.entity.DecompressingEntity;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.net.ssl.SSLException;
+
+/**
+ * Sends blocking requests on behalf of {@link PaymentApi}, {@link ClaimApi} and {@link AuthClient}.
+ * Each attempt first asks the {@link CircuitBreaker} of its {@link EndpointFamily} for permission, then takes a permit
+ * from the family's {@link RateLimiter}, waits on the {@link ConnectionGate} for a pooled connection, and finally
+ * reports to the breaker whether the call failed and to the limiter whether the server throttled it.
+ * Failed attempts are retried according to the {@link RetryPolicy}, as far as the operation is safe to repeat; an open
+ * breaker fails the request immediately. Each attempt carries the access token current when it starts, and an attempt
+ * rejected with HTTP 401 discards the token and is repeated once with a new one. Bodies are compressed and decoded according to the family's
+ * {@link CompressionPolicy}. Every call is reported to the client's {@link Instrumentation}.
+ */
+final class RequestExecutor {
+
+    /**
+     * Converts a received response. The response is closed once the reader returns.
+     *
+     * @param <T> the type of the converted response
+     */
+    @FunctionalInterface
+    interface ResponseReader<T> {
+        T read(HttpResponse response) throws IOException, EnzonaException;
+    }
+
+    /**
+     * Finds out whether a mutation whose response was lost took effect, typically by looking up the resource it
+     * creates through a client-chosen identifier.
+     *
+     * @param <T> the type of the converted response
+     */
+    @FunctionalInterface
+    interface OutcomeLookup<T> {
+        /**
+         * Looks up the outcome of the mutation.
+         *
+         * @return the response equivalent to the one that was lost, or null if the mutation provably had no effect.
+         * @throws EnzonaException if the outcome cannot be determined.
+         */
+        T lookup() throws EnzonaException;
+    }
+
+    /**
+     * Converts a non-blocking response, whose body is already buffered.
+     *
+     * @param <T> the type of the converted response
+     */
+    @FunctionalInterface
+    interface AsyncResponseReader<T> {
+        T read(java.net.http.HttpResponse<byte[]> response) throws EnzonaException;
+    }
+
+    /**
+     * Non-blocking counterpart of {@link OutcomeLookup}.
+     *
+     * @param <T> the type of the converted response
+     */
+    @FunctionalInterface
+    interface AsyncOutcomeLookup<T> {
+        /**
+         * Looks up the outcome of the mutation.
+         *
+         * @return a future completed with the response equivalent to the one that was lost, with null if the mutation
+         * provably had no effect, or exceptionally if the outcome cannot be determined.
+         */
+        CompletableFuture<T> lookup();
+    }
+
+    private final ConnectionGate connectionGate;
+    private final Map<EndpointFamily, RateLimiter> rateLimiters;
+    private final Map<EndpointFamily, CircuitBreaker> circuitBreakers;
+    private final Map<EndpointFamily, CompressionPolicy> compressionPolicies;
+    private final RetryPolicy retryPolicy;
+    private final Instrumentation instrumentation;
+
+    /**
+     * Creates an executor.
+     *
+     * @param connectionGate the gate shared by every request using the same pool, or null to reach the client directly.
+     * @param rateLimiters the limiter of each family; families without one are not limited.
+     * @param circuitBreakers the breaker of each family; families without one are never cut off.
+     * @param compressionPolicies the compression of each family; families without one are not compressed.
+     * @param retryPolicy the policy deciding when failed requests are sent again.
+     * @param instrumentation receives the events of every call.
+     */
+    RequestExecutor(ConnectionGate connectionGate, Map<EndpointFamily, RateLimiter> rateLimiters,
+                    Map<EndpointFamily, CircuitBreaker> circuitBreakers,
+                    Map<EndpointFamily, CompressionPolicy> compressionPolicies, RetryPolicy retryPolicy,
+                    Instrumentation instrumentation) {
+        this.connectionGate = connectionGate;
+        this.rateLimiters = new EnumMap<>(EndpointFamily.class);
+        this.circuitBreakers = new EnumMap<>(EndpointFamily.class);
+        this.compressionPolicies = new EnumMap<>(EndpointFamily.class);
+        CompressionPolicy uncompressed = CompressionPolicy.disabled();
+        for (EndpointFamily family : EndpointFamily.values()) {
+            this.rateLimiters.put(family, rateLimiters.getOrDefault(family, RateLimiter.unlimited()));
+            CircuitBreaker breaker = circuitBreakers.get(family);
+            this.circuitBreakers.put(family, breaker != null ? breaker : CircuitBreaker.disabled(family.getPath()));
+            this.compressionPolicies.put(family, compressionPolicies.getOrDefault(family, uncompressed));
+        }
+        this.retryPolicy = retryPolicy;
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Creates an executor that neither limits, gates nor cuts off requests, for clients built outside an
+     * {@link EnzonaClient}. Idempotent requests are retried with the default {@link RetryPolicy}; bodies are left to
+     * the HTTP client and nothing is instrumented.
+     *
+     * @return a pass-through executor.
+     */
+    static RequestExecutor direct() {
+        return new RequestExecutor(null, Map.of(), Map.of(), Map.of(), RetryPolicy.defaults(), Instrumentation.noop());
+    }
+
+    /**
+     * Returns the limiter applied to the given family.
+     *
+     * @param family the endpoint family.
+     * @return the family's limiter, {@link RateLimiter#unlimited()} if none was configured.
+     */
+    RateLimiter getRateLimiter(EndpointFamily family) {
+        return rateLimiters.get(family);
+    }
+
+    /**
+     * Returns the breaker guarding the given family.
+     *
+     * @param family the endpoint family.
+     * @return the family's breaker, a disabled one if none was configured.
+     */
+    CircuitBreaker getCircuitBreaker(EndpointFamily family) {
+        return circuitBreakers.get(family);
+    }
+
+    /**
+     * Returns the compression applied to the given family.
+     *
+     * @param family the endpoint family.
+     * @return the family's compression policy, {@link CompressionPolicy#disabled()} if none was configured.
+     */
+    CompressionPolicy getCompressionPolicy(EndpointFamily family) {
+        return compressionPolicies.get(family);
+    }
+
+    /**
+     * Returns the policy deciding when failed requests are sent again.
+     *
+     * @return the retry policy.
+     */
+    RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Returns the instrumentation receiving the events of every call.
+     *
+     * @return the instrumentation, {@link Instrumentation#noop()} if none was configured.
+     */
+    Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Sends the request once the family's limiter and the connection gate admit it, and converts the response.
+     *
+     * <p>Idempotent requests are retried on transient network failures and on the retryable statuses of the
+     * {@link RetryPolicy}. Other requests are retried only when the server provably did not process them: when the
+     * connection could not be established, or when the server answered HTTP 429.</p>
+     *
+     * @param httpClient the client sending the request.
+     * @param authClient provides the access token of each attempt, or null to send the request as it is.
+     * @param family the endpoint family the request belongs to.
+     * @param operation the name of the SDK method, reported to the instrumentation.
+     * @param request the request to send, without authentication headers.
+     * @param idempotent whether sending the request several times has the same effect as sending it once.
+     * @param reader converts the response.
+     * @return the converted response.
+     * @throws IOException if the request cannot be sent or the response cannot be read.
+     * @throws CircuitBreakerOpenException if the family's circuit breaker is open.
+     * @throws EnzonaException if no access token or permit is obtained, or the reader rejects the response.
+     */
+    <T> T execute(HttpClient httpClient, AuthClient authClient, EndpointFamily family, String operation,
+                  HttpUriRequest request, boolean idempotent, ResponseReader<T> reader) throws IOException, EnzonaException {
+        return execute(httpClient, authClient, family, operation, request, idempotent, null, reader);
+    }
+
+    /**
+     * Sends a mutation whose outcome can be looked up, and converts the response.
+     *
+     * <p>Besides the failures after which any request may be retried, a lost response or a retryable error status
+     * triggers {@code lookup} once the backoff delay has passed: if it finds the effect of the mutation, its result is
+     * returned; if it proves there was none, the request is sent again.</p>
+     *
+     * @param httpClient the client sending the request.
+     * @param authClient provides the access token of each attempt, or null to send the request as it is.
+     * @param family the endpoint family the request belongs to.
+     * @param operation the name of the SDK method, reported to the instrumentation.
+     * @param request the request to send, without authentication headers.
+     * @param lookup finds out whether a failed attempt took effect, or null if the outcome cannot be looked up.
+     * @param reader converts the response.
+     * @return the converted response, or the result of the lookup.
+     * @throws IOException if the request cannot be sent or the response cannot be read.
+     * @throws CircuitBreakerOpenException if the family's circuit breaker is open.
+     * @throws EnzonaException if no access token or permit is obtained, or the reader rejects the response.
+     */
+    <T> T execute(HttpClient httpClient, AuthClient authClient, EndpointFamily family, String operation,
+                  HttpUriRequest request, OutcomeLookup<T> lookup, ResponseReader<T> reader) throws IOException, EnzonaException {
+        return execute(httpClient, authClient, family, operation, request, false, lookup, reader);
+    }
+
+    private <T> T execute(HttpClient httpClient, AuthClient authClient, EndpointFamily family, String operation,
+                          HttpUriRequest request, boolean idempotent, OutcomeLookup<T> lookup, ResponseReader<T> reader)
+            throws IOException, EnzonaException {
+        CallObservation observation = instrumentation.startCall(operation, family.getPath());
+        try {
+            String traceparent = observation.traceparent();
+            if (traceparent != null) {
+                request.setHeader(TraceContext.TRACEPARENT, traceparent);
+            }
+            return execute(httpClient, authClient, family, request, idempotent, lookup, reader, observation);
+        } catch (IOException e) {
+            if (isTimeout(e)) {
+                EnzonaTimeoutException timeout = new EnzonaTimeoutException(HttpErrors.endpoint(request),
+                        idempotent || e instanceof ConnectTimeoutException, e);
+                observation.onError(timeout);
+                throw timeout;
+            }
+            observation.onError(e);
+            throw e;
+        } catch (EnzonaException | RuntimeException e) {
+            observation.onError(e);
+            throw e;
+        } finally {
+            observation.end();
+        }
+    }
+
+    private <T> T execute(HttpClient httpClient, AuthClient authClient, EndpointFamily family, HttpUriRequest request,
+                          boolean idempotent, OutcomeLookup<T> lookup, ResponseReader<T> reader, CallObservation observation)
+            throws IOException, EnzonaException {
+        RetryBudget budget = retryPolicy.getBudget();
+        CircuitBreaker breaker = circuitBreakers.get(family);
+        CompressionPolicy compression = compressionPolicies.get(family);
+        encode(request, compression);
+        budget.onRequest();
+        boolean reauthenticated = false;
+        for (int attempt = 1; ; attempt++) {
+            boolean lastAttempt = attempt >= retryPolicy.getMaxAttempts();
+            if (authClient != null) {
+                request.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authClient.getAccessToken());
+            }
+            breaker.acquirePermission();
+            boolean recorded = false;
+            boolean reported = false;
+            long delayNanos = -1;
+            boolean ambiguous = false;
+            Exception failure = null;
+            RateLimiter.Permit permit = null;
+            try {
+                permit = rateLimiters.get(family).acquire();
+                if (connectionGate != null) {
+                    long waitStart = System.nanoTime();
+                    connectionGate.acquire();
+                    observation.onConnectionLeased(System.nanoTime() - waitStart);
+                }
+                try {
+                    long start = System.nanoTime();
+                    HttpResponse response;
+                    try {
+                        response = httpClient.execute(request);
+                    } catch (IOException e) {
+                        recorded = true;
+                        breaker.onFailure(System.nanoTime() - start);
+                        boolean notSent = isNotSent(e);
+                        boolean safe = notSent || (isTransient(e) && (idempotent || lookup != null));
+                        if (lastAttempt || !safe || !budget.tryAcquireRetry()) {
+                            throw e;
+                        }
+                        delayNanos = retryPolicy.delayNanos(attempt, null);
+                        ambiguous = !notSent && !idempotent;
+                        failure = e;
+                        response = null;
+                    }
+                    if (response != null) {
+                        try {
+                            int statusCode = response.getStatusLine().getStatusCode();
+                            Header retryAfterHeader = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+                            String retryAfter = retryAfterHeader != null ? retryAfterHeader.getValue() : null;
+                            recorded = true;
+                            record(breaker, statusCode, System.nanoTime() - start);
+                            HttpEntity entity = response.getEntity();
+                            observation.onResponse(statusCode, requestBodyLength(request),
+                                    entity != null ? entity.getContentLength() : 0);
+                            decode(response, compression);
+                            reported = true;
+                            report(permit, statusCode, retryAfter);
+                            if (statusCode == 401 && authClient != null && !reauthenticated) {
+                                // A rejected token never reached the operation, so even a mutation is sent again,
+                                // at once and without using up an attempt
+                                reauthenticated = true;
+                                authClient.invalidateAccessToken();
+                                attempt--;
+                                continue;
+                            }
+                            boolean safe = idempotent || statusCode == 429 || lookup != null;
+                            delayNanos = lastAttempt || !safe || !retryPolicy.isRetryableStatus(statusCode)
+                                    ? -1
+                                    : retryPolicy.delayNanos(attempt, HeaderUtil.parseRetryAfter(retryAfter, Clock.systemUTC()));
+                            if (delayNanos < 0 || !budget.tryAcquireRetry()) {
+                                return reader.read(response);
+                            }
+                            ambiguous = !idempotent && statusCode != 429;
+                            failure = new EnzonaHttpException(statusCode, HttpErrors.endpoint(request), null);
+                        } finally {
+                            if (response instanceof Closeable) {
+                                ((Closeable) response).close();
+                            }
+                        }
+                    }
+                } finally {
+                    if (connectionGate != null) {
+                        connectionGate.release();
+                    }
+                }
+            } finally {
+                if (permit != null && !reported) {
+                    permit.release();
+                }
+                if (!recorded) {
+                    breaker.releasePermission();
+                }
+            }
+
+            sleep(delayNanos);
+            if (ambiguous) {
+                T outcome;
+                try {
+                    outcome = lookup.lookup();
+                } catch (EnzonaException e) {
+                    e.addSuppressed(failure);
+                    throw e;
+                }
+                if (outcome != null) {
+                    return outcome;
+                }
+            }
+            observation.onRetry(attempt);
+        }
+    }
+
+    /**
+     * Authenticates and sends a non-blocking request once the family's breaker and limiter admit it, retrying failed
+     * attempts under the same rules as {@link #execute(HttpClient, AuthClient, EndpointFamily, String, HttpUriRequest, boolean, ResponseReader)}.
+     * Permits and retry delays are waited for on {@code executor}, never on the calling thread.
+     *
+     * @param httpClient the non-blocking client sending the request.
+     * @param authClient provides the access token.
+     * @param family the endpoint family the request belongs to.
+     * @param operation the name of the SDK method, reported to the instrumentation.
+     * @param request the request to send, without authentication headers.
+     * @param timeout the timeout for receiving the response headers of each attempt.
+     * @param idempotent whether the request can be repeated without changing its effect.
+     * @param executor the executor waiting for permits and retry delays.
+     * @return a future completed with the response of the last attempt, whatever its status.
+     */
+    CompletableFuture<java.net.http.HttpResponse<byte[]>> sendAsync(java.net.http.HttpClient httpClient, AuthClient authClient,
+                                                                    EndpointFamily family, String operation,
+                                                                    java.net.http.HttpRequest.Builder request,
+                                                                    Duration timeout, boolean idempotent, Executor executor) {
+        return sendAsync(httpClient, authClient, family, operation, request, timeout, idempotent, null, response -> response,
+                executor);
+    }
+
+    /**
+     * Sends a non-blocking request like {@link #sendAsync(java.net.http.HttpClient, AuthClient, EndpointFamily, String,
+     * java.net.http.HttpRequest.Builder, Duration, boolean, Executor)} and converts the response of the last attempt.
+     * A mutation given a {@code lookup} is handled like by
+     * {@link #execute(HttpClient, AuthClient, EndpointFamily, String, HttpUriRequest, OutcomeLookup, ResponseReader)}:
+     * after a lost response or a retryable error status, the lookup runs once the backoff delay has passed, and the
+     * request is sent again only if the lookup proves there was no effect.
+     *
+     * @param httpClient the non-blocking client sending the request.
+     * @param authClient provides the access token.
+     * @param family the endpoint family the request belongs to.
+     * @param operation the name of the SDK method, reported to the instrumentation.
+     * @param request the request to send, without authentication headers.
+     * @param timeout the timeout for receiving the response headers of each attempt.
+     * @param idempotent whether the request can be repeated without changing its effect.
+     * @param lookup finds out whether a failed attempt of a mutation took effect, or null if the outcome cannot be
+     *               looked up.
+     * @param reader converts the response of the last attempt.
+     * @param executor the executor waiting for permits, retry delays and lookups.
+     * @return a future completed with the converted response or the result of the lookup.
+     */
+    <T> CompletableFuture<T> sendAsync(java.net.http.HttpClient httpClient, AuthClient authClient, EndpointFamily family,
+                                       String operation, java.net.http.HttpRequest.Builder request, Duration timeout,
+                                       boolean idempotent, AsyncOutcomeLookup<T> lookup, AsyncResponseReader<T> reader,
+                                       Executor executor) {
+        CallObservation observation = instrumentation.startCall(operation, family.getPath());
+        String traceparent = observation.traceparent();
+        if (traceparent != null) {
+            request.header(TraceContext.TRACEPARENT, traceparent);
+        }
+        retryPolicy.getBudget().onRequest();
+        Attempts<T> attempts = new Attempts<>(httpClient, authClient, family, request, timeout, idempotent, lookup, reader,
+                executor, observation);
+        return attempts.send(1, false)
+                .handle((result, error) -> {
+                    if (error == null) {
+                        observation.end();
+                        return result;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof HttpTimeoutException) {
+                        cause = new EnzonaTimeoutException(HttpErrors.endpoint(request.copy().build()),
+                                idempotent || cause instanceof HttpConnectTimeoutException, cause);
+                    }
+                    observation.onError(cause);
+                    observation.end();
+                    throw new CompletionException(cause);
+                });
+    }
+
+    /**
+     * The attempts of a single non-blocking request.
+     */
+    private final class Attempts<T> {
+
+        private final java.net.http.HttpClient httpClient;
+        private final AuthClient authClient;
+        private final EndpointFamily family;
+        private final java.net.http.HttpRequest.Builder request;
+        private final Duration timeout;
+        private final boolean idempotent;
+        private final AsyncOutcomeLookup<T> lookup;
+        private final AsyncResponseReader<T> reader;
+        private final Executor executor;
+        private final CallObservation observation;
+
+        Attempts(java.net.http.HttpClient httpClient, AuthClient authClient, EndpointFamily family,
+                 java.net.http.HttpRequest.Builder request, Duration timeout, boolean idempotent,
+                 AsyncOutcomeLookup<T> lookup, AsyncResponseReader<T> reader, Executor executor,
+                 CallObservation observation) {
+            this.httpClient = httpClient;
+            this.authClient = authClient;
+            this.family = family;
+            this.request = request;
+            this.timeout = timeout;
+            this.idempotent = idempotent;
+            this.lookup = lookup;
+            this.reader = reader;
+            this.executor = executor;
+            this.observation = observation;
+        }
+
+        CompletableFuture<T> send(int attempt, boolean reauthenticated) {
+            return exchange()
+                    .handle((response, error) -> {
+                        if (response != null && response.statusCode() == 401 && !reauthenticated) {
+                            // Sent again at once with a new token, without using up an attempt
+                            authClient.invalidateAccessToken();
+                            return send(attempt, true);
+                        }
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        long delayNanos = response != null
+                                ? retryDelayNanos(attempt, idempotent, lookup != null, response.statusCode(),
+                                        response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null), null)
+                                : retryDelayNanos(attempt, idempotent, lookup != null, 0, null, cause);
+                        if (delayNanos < 0) {
+                            return response != null ? read(response) : CompletableFuture.<T>failedFuture(cause);
+                        }
+                        boolean ambiguous = !idempotent && (response != null
+                                ? response.statusCode() != 429
+                                : !isNotSent((IOException) cause));
+                        Exception failure = response != null
+                                ? new EnzonaHttpException(response.statusCode(), HttpErrors.endpoint(response.request()), null)
+                                : (Exception) cause;
+                        Executor delayed = CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, executor);
+                        CompletableFuture<Void> backoff = CompletableFuture.runAsync(() -> { }, delayed);
+                        if (!ambiguous) {
+                            return backoff.thenCompose(ignored -> retry(attempt, reauthenticated));
+                        }
+                        return backoff
+                                .thenCompose(ignored -> lookup.lookup())
+                                .handle((outcome, lookupError) -> {
+                                    if (lookupError != null) {
+                                        Throwable lookupCause = lookupError instanceof CompletionException && lookupError.getCause() != null
+                                                ? lookupError.getCause()
+                                                : lookupError;
+                                        lookupCause.addSuppressed(failure);
+                                        return CompletableFuture.<T>failedFuture(lookupCause);
+                                    }
+                                    return outcome != null ? CompletableFuture.completedFuture(outcome) : retry(attempt, reauthenticated);
+                                })
+                                .thenCompose(Function.identity());
+                    })
+                    .thenCompose(Function.identity());
+        }
+
+        private CompletableFuture<T> retry(int attempt, boolean reauthenticated) {
+            observation.onRetry(attempt);
+            return send(attempt + 1, reauthenticated);
+        }
+
+        private CompletableFuture<T> read(java.net.http.HttpResponse<byte[]> response) {
+            try {
+                return CompletableFuture.completedFuture(reader.read(response));
+            } catch (EnzonaException | RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        /**
+         * Authenticates and sends one attempt once the family's breaker and limiter admit it.
+         */
+        private CompletableFuture<java.net.http.HttpResponse<byte[]>> exchange() {
+            CircuitBreaker breaker = circuitBreakers.get(family);
+            CompressionPolicy compression = compressionPolicies.get(family);
+            return authClient.getAccessTokenAsync()
+                    .thenCompose(token -> {
+                        try {
+                            breaker.acquirePermission();
+                        } catch (CircuitBreakerOpenException e) {
+                            return CompletableFuture.failedFuture(e);
+                        }
+                        return rateLimiters.get(family).acquireAsync(executor)
+                                .whenComplete((permit, error) -> {
+                                    if (error != null) {
+                                        breaker.releasePermission();
+                                    }
+                                })
+                                .thenCompose(permit -> {
+                                    long start = System.nanoTime();
+                                    java.net.http.HttpRequest.Builder prepared = request.copy()
+                                            .timeout(timeout)
+                                            .header("Authorization", "Bearer " + token)
+                                            .header("Content-Type", "application/json");
+                                    if (compression.isAcceptGzip()) {
+                                        prepared.header(HttpHeaders.ACCEPT_ENCODING, CompressionPolicy.GZIP);
+                                    }
+                                    java.net.http.HttpRequest httpRequest = prepared.build();
+                                    return httpClient.sendAsync(httpRequest, bodyHandler(compression))
+                                            .whenComplete((response, error) -> {
+                                                if (response != null) {
+                                                    record(breaker, response.statusCode(), System.nanoTime() - start);
+                                                    observation.onResponse(response.statusCode(),
+                                                            requestBodyLength(httpRequest),
+                                                            response.body() != null ? response.body().length : 0);
+                                                    report(permit, response.statusCode(), response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null));
+                                                } else {
+                                                    breaker.onFailure(System.nanoTime() - start);
+                                                    permit.release();
+                                                }
+                                            });
+                                });
+                    });
+        }
+    }
+
+    /**
+     * Asks for gzip responses if the policy accepts them, and gzip-encodes a request body large enough to be worth it.
+     * A body that is already encoded, for instance on a request sent before, is left as it is.
+     */
+    private static void encode(HttpUriRequest request, CompressionPolicy compression) throws IOException {
+        if (compression.isAcceptGzip() && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, CompressionPolicy.GZIP);
+        }
+        if (!(request instanceof HttpEntityEnclosingRequest) || request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        HttpEntityEnclosingRequest enclosing = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = enclosing.getEntity();
+        if (entity == null || !entity.isRepeatable() || entity.getContentEncoding() != null
+                || entity.getContentLength() < compression.getRequestThreshold()) {
+            return;
+        }
+        byte[] body = EntityUtils.toByteArray(entity);
+        byte[] encoded = compression.compress(body);
+        if (encoded != body) {
+            ByteArrayEntity compressed = new ByteArrayEntity(encoded);
+            compressed.setContentType(entity.getContentType());
+            compressed.setContentEncoding(CompressionPolicy.GZIP);
+            enclosing.setEntity(compressed);
+            request.setHeader(HttpHeaders.CONTENT_ENCODING, CompressionPolicy.GZIP);
+        }
+    }
+
+    /**
+     * Replaces a gzip-encoded response entity with one decoding it while it is read, so readers parse the decoded
+     * body straight from the stream.
+     */
+    private static void decode(HttpResponse response, CompressionPolicy compression) {
+        HttpEntity entity = response.getEntity();
+        Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (entity == null || encoding == null || !CompressionPolicy.GZIP.equalsIgnoreCase(encoding.getValue().trim())) {
+            return;
+        }
+        response.setEntity(new DecompressingEntity(entity, compression::decompress));
+        response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+        response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    /**
+     * Buffers the body of a non-blocking response, decoding it if it is gzip-encoded.
+     */
+    private static java.net.http.HttpResponse.BodyHandler<byte[]> bodyHandler(CompressionPolicy compression) {
+        return info -> info.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                .filter(encoding -> CompressionPolicy.GZIP.equalsIgnoreCase(encoding.trim()))
+                .isPresent()
+                ? java.net.http.HttpResponse.BodySubscribers.mapping(
+                        java.net.http.HttpResponse.BodySubscribers.ofByteArray(), compression::decompress)
+                : java.net.http.HttpResponse.BodySubscribers.ofByteArray();
+    }
+
+    /**
+     * Decides whether an attempt of a non-blocking request is retried, applying the same rules as the blocking path.
+     * Takes a retry from the budget when the attempt is to be retried.
+     *
+     * @param attempt the number of the attempt that just ended, starting at 1.
+     * @param idempotent whether the request can be repeated without changing its effect.
+     * @param lookup whether the outcome of a failed attempt can be looked up.
+     * @param statusCode the HTTP status of the response, ignored if {@code error} is set.
+     * @param retryAfter the value of the {@code Retry-After} header, or null.
+     * @param error the failure of the attempt, or null if a response was received.
+     * @return the delay before the next attempt in nanoseconds, or a negative value if the request is not retried.
+     */
+    private long retryDelayNanos(int attempt, boolean idempotent, boolean lookup, int statusCode, String retryAfter,
+                                 Throwable error) {
+        if (attempt >= retryPolicy.getMaxAttempts()) {
+            return -1;
+        }
+        long delayNanos;
+        if (error != null) {
+            boolean safe = error instanceof IOException
+                    && (isNotSent((IOException) error) || ((idempotent || lookup) && isTransient((IOException) error)));
+            delayNanos = safe ? retryPolicy.delayNanos(attempt, null) : -1;
+        } else {
+            boolean safe = (idempotent || statusCode == 429 || lookup) && retryPolicy.isRetryableStatus(statusCode);
+            delayNanos = safe ? retryPolicy.delayNanos(attempt, HeaderUtil.parseRetryAfter(retryAfter, Clock.systemUTC())) : -1;
+        }
+        return delayNanos >= 0 && retryPolicy.getBudget().tryAcquireRetry() ? delayNanos : -1;
+    }
+
+    /**
+     * Tells whether the request failed because no connection to the server could be established, so no byte of it
+     * was sent. Running out of pooled connections does not count: retrying would only add load.
+     */
+    private static boolean isNotSent(IOException e) {
+        return (e instanceof ConnectException || e instanceof ConnectTimeoutException || e instanceof HttpConnectTimeoutException)
+                && !(e instanceof ConnectionPoolTimeoutException);
+    }
+
+    /**
+     * Tells whether the request failed because a timeout elapsed: waiting for a pooled connection, connecting or
+     * reading the response.
+     */
+    private static boolean isTimeout(IOException e) {
+        return e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException || e instanceof HttpTimeoutException;
+    }
+
+    /**
+     * Tells whether a network failure may go away on its own. Unknown hosts, TLS failures, exhausted pools and
+     * interrupted threads are not retried.
+     */
+    private static boolean isTransient(IOException e) {
+        if (e instanceof UnknownHostException || e instanceof SSLException || e instanceof ConnectionPoolTimeoutException) {
+            return false;
+        }
+        return !(e instanceof InterruptedIOException) || e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException;
+    }
+
+    private static void sleep(long delayNanos) throws EnzonaException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnzonaException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    /**
+     * Returns the size of the request's body, 0 if it has none and -1 if its size is unknown.
+     */
+    private static long requestBodyLength(HttpUriRequest request) {
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            return entity != null ? entity.getContentLength() : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the size of the request's body, 0 if it has none and -1 if its size is unknown.
+     */
+    private static long requestBodyLength(java.net.http.HttpRequest request) {
+        Optional<java.net.http.HttpRequest.BodyPublisher> body = request.bodyPublisher();
+        return body.isPresent() ? body.get().contentLength() : 0;
+    }
+
+    /**
+     * Records the outcome of an answered request in its breaker: server errors count as failures, every other status,
+     * including client errors and throttling, shows that the API is reachable and counts as a success.
+     */
+    private static void record(CircuitBreaker breaker, int statusCode, long durationNanos) {
+        if (statusCode >= 500) {
+            breaker.onFailure(durationNanos);
+        } else {
+            breaker.onSuccess(durationNanos);
+        }
+    }
+
+    /**
+     * Reports the outcome of an answered request to its permit: HTTP 429 and 503 count as throttling, together with
+     * the delay of their {@code Retry-After} header; every other status counts as accepted.
+     *
+     * @param permit the permit of the request.
+     * @param statusCode the HTTP status of the response.
+     * @param retryAfter the value of the {@code Retry-After} header, or null.
+     */
+    static void report(RateLimiter.Permit permit, int statusCode, String retryAfter) {
+        if (statusCode == 429 || statusCode == 503) {
+            permit.throttled(HeaderUtil.parseRetryAfter(retryAfter, Clock.systemUTC()));
+        } else {
+            permit.success();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent identical reads: while a request for a key is in flight, further callers for the same key wait
+ * for it and share its result or failure instead of sending a request of their own. Nothing is cached; the next call
+ * after the request completes is sent again.
+ *
+ * <p>Waiting callers do not hold a monitor, so blocked virtual threads do not pin their carrier threads.</p>
+ */
+final class SingleFlight {
+
+    /**
+     * A request that may be shared.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    interface Call<T> {
+        T call() throws IOException, EnzonaException;
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the call, unless a call with the same key is already in flight, in which case its outcome is awaited.
+     *
+     * @param key identifies identical calls, e.g. the request URL.
+     * @param resultType the type of the result.
+     * @param call the call to run if none is in flight.
+     * @param <T> the type of the result.
+     * @return the result of the call that ran.
+     * @throws IOException if the call that ran failed with it.
+     * @throws EnzonaException if the call that ran failed with it, or the thread is interrupted while waiting.
+     */
+    <T> T execute(String key, Class<T> resultType, Call<T> call) throws IOException, EnzonaException {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return resultType.cast(await(leader));
+        }
+        try {
+            T result = call.call();
+            flight.complete(result);
+            return result;
+        } catch (IOException | EnzonaException | RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Returns the number of calls that were answered by another call in flight instead of sending a request.
+     *
+     * @return the number of coalesced calls.
+     */
+    long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws IOException, EnzonaException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnzonaException("Interrupted while waiting for an identical request in flight", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof EnzonaException) {
+                throw (EnzonaException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+}
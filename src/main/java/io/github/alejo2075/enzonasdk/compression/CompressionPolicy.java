@@ -0,0 +1,271 @@
+package io.github.alejo2075.enzonasdk.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decides how the bodies of the requests of one or more endpoint families are compressed, and counts the bytes this
+ * saves. Set per {@link io.github.alejo2075.enzonasdk.client.EndpointFamily} through
+ * {@link io.github.alejo2075.enzonasdk.client.EnzonaClient.Builder#compression(
+ * io.github.alejo2075.enzonasdk.client.EndpointFamily, CompressionPolicy)}.
+ *
+ * <p>When accepting gzip, requests carry {@code Accept-Encoding: gzip} and gzip-encoded responses are decoded as a
+ * stream while the JSON parser reads them, so the decoded body is never buffered as a whole. Request bodies of at
+ * least {@link Builder#compressRequestsAbove(int)} bytes are sent with {@code Content-Encoding: gzip}, unless
+ * compression does not make them smaller; the API must accept such bodies, which is why this is off by default.</p>
+ *
+ * <p>A policy given for several families shares its counters between them; give each family its own policy to count
+ * them separately.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * CompressionPolicy payments = CompressionPolicy.builder()
+ *         .compressRequestsAbove(4096)
+ *         .build();
+ * EnzonaClient client = EnzonaClient.builder("consumerKey", "consumerSecret")
+ *         .compression(EndpointFamily.PAYMENTS, payments)
+ *         .build();
+ * long saved = payments.getStats().getBytesSaved();
+ * </pre>
+ */
+public final class CompressionPolicy {
+
+    /**
+     * The value of the {@code Content-Encoding} and {@code Accept-Encoding} headers for gzip.
+     */
+    public static final String GZIP = "gzip";
+
+    private final boolean acceptGzip;
+    private final int requestThreshold;
+    private final int level;
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder responseWireBytes = new LongAdder();
+    private final LongAdder responseDecodedBytes = new LongAdder();
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder requestOriginalBytes = new LongAdder();
+    private final LongAdder requestWireBytes = new LongAdder();
+
+    private CompressionPolicy(Builder builder) {
+        this.acceptGzip = builder.acceptGzip;
+        this.requestThreshold = builder.requestThreshold;
+        this.level = builder.level;
+    }
+
+    /**
+     * Starts building a policy with the default settings: gzip responses accepted, request bodies sent as they are.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a new policy accepting gzip responses and sending request bodies uncompressed.
+     *
+     * @return a policy with the default settings.
+     */
+    public static CompressionPolicy defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Returns a new policy that neither asks for compressed responses nor compresses requests.
+     *
+     * @return a policy turning compression off.
+     */
+    public static CompressionPolicy disabled() {
+        return builder().acceptGzip(false).build();
+    }
+
+    /**
+     * Tells whether requests ask for gzip-encoded responses.
+     *
+     * @return {@code true} if requests carry {@code Accept-Encoding: gzip}.
+     */
+    public boolean isAcceptGzip() {
+        return acceptGzip;
+    }
+
+    /**
+     * Returns the size from which request bodies are compressed.
+     *
+     * @return the threshold in bytes, {@link Integer#MAX_VALUE} if request bodies are never compressed.
+     */
+    public int getRequestThreshold() {
+        return requestThreshold;
+    }
+
+    /**
+     * Returns the body to send for a request body: gzip-encoded if it reaches the threshold and compression makes it
+     * smaller, otherwise the body itself. Encoded bodies are counted in the {@link #getStats() statistics}.
+     *
+     * @param body the serialized request body.
+     * @return the encoded body, or {@code body} itself if it is to be sent as it is.
+     */
+    public byte[] compress(byte[] body) {
+        if (body.length < requestThreshold) {
+            return body;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new LeveledGZIPOutputStream(buffer, level)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (buffer.size() >= body.length) {
+            return body;
+        }
+        compressedRequests.increment();
+        requestOriginalBytes.add(body.length);
+        requestWireBytes.add(buffer.size());
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Decodes a gzip-encoded response body while it is read, counting the bytes read and produced.
+     *
+     * @param wire the encoded body as received.
+     * @return the decoded body.
+     * @throws IOException if the gzip header cannot be read.
+     */
+    public InputStream decompress(InputStream wire) throws IOException {
+        compressedResponses.increment();
+        return new CountingInputStream(new GZIPInputStream(new CountingInputStream(wire, responseWireBytes), 8192),
+                responseDecodedBytes);
+    }
+
+    /**
+     * Decodes a gzip-encoded response body that was received as a whole.
+     *
+     * @param wire the encoded body as received.
+     * @return the decoded body.
+     * @throws UncheckedIOException if the body is not valid gzip.
+     */
+    public byte[] decompress(byte[] wire) {
+        try (InputStream in = decompress(new ByteArrayInputStream(wire))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the bytes sent and received compressed under this policy.
+     *
+     * @return the current statistics.
+     */
+    public CompressionStats getStats() {
+        return new CompressionStats(compressedResponses.sum(), responseWireBytes.sum(), responseDecodedBytes.sum(),
+                compressedRequests.sum(), requestOriginalBytes.sum(), requestWireBytes.sum());
+    }
+
+    private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+        private LeveledGZIPOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final LongAdder count;
+
+        private CountingInputStream(InputStream in, LongAdder count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count.add(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * Builder for {@link CompressionPolicy}.
+     */
+    public static class Builder {
+        private boolean acceptGzip = true;
+        private int requestThreshold = Integer.MAX_VALUE;
+        private int level = 6;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets whether requests ask for gzip-encoded responses. Enabled by default.
+         *
+         * @param acceptGzip whether to send {@code Accept-Encoding: gzip} and decode gzip responses.
+         * @return this builder.
+         */
+        public Builder acceptGzip(boolean acceptGzip) {
+            this.acceptGzip = acceptGzip;
+            return this;
+        }
+
+        /**
+         * Compresses request bodies of at least the given size. Request bodies are not compressed by default.
+         *
+         * @param bytes the smallest body to compress, must not be negative.
+         * @return this builder.
+         */
+        public Builder compressRequestsAbove(int bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("bytes must not be negative");
+            }
+            this.requestThreshold = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the deflate level used for request bodies, from 1 (fastest) to 9 (smallest). Defaults to 6.
+         *
+         * @param level the compression level.
+         * @return this builder.
+         */
+        public Builder level(int level) {
+            if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+                throw new IllegalArgumentException("level must be between 1 and 9");
+            }
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Builds the policy.
+         *
+         * @return a new {@link CompressionPolicy} with its counters at zero.
+         */
+        public CompressionPolicy build() {
+            return new CompressionPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.alejo2075.enzonasdk.compression;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the counters of a {@link CompressionPolicy}. Counters only grow over the life of the policy.
+ */
+@Getter
+@ToString
+public final class CompressionStats {
+
+    /**
+     * The number of gzip-encoded responses decoded.
+     */
+    private final long compressedResponseCount;
+
+    /**
+     * The number of gzip-encoded response bytes read from the wire.
+     */
+    private final long responseWireBytes;
+
+    /**
+     * The number of bytes the gzip-encoded responses decoded into.
+     */
+    private final long responseDecodedBytes;
+
+    /**
+     * The number of request bodies sent gzip-encoded.
+     */
+    private final long compressedRequestCount;
+
+    /**
+     * The size of the request bodies sent gzip-encoded, before compression.
+     */
+    private final long requestOriginalBytes;
+
+    /**
+     * The size of the request bodies sent gzip-encoded, after compression.
+     */
+    private final long requestWireBytes;
+
+    CompressionStats(long compressedResponseCount, long responseWireBytes, long responseDecodedBytes,
+                     long compressedRequestCount, long requestOriginalBytes, long requestWireBytes) {
+        this.compressedResponseCount = compressedResponseCount;
+        this.responseWireBytes = responseWireBytes;
+        this.responseDecodedBytes = responseDecodedBytes;
+        this.compressedRequestCount = compressedRequestCount;
+        this.requestOriginalBytes = requestOriginalBytes;
+        this.requestWireBytes = requestWireBytes;
+    }
+
+    /**
+     * Returns the number of bytes that compression kept off the wire, in both directions.
+     *
+     * @return the bytes saved by decoding responses plus those saved by encoding requests.
+     */
+    public long getBytesSaved() {
+        return (responseDecodedBytes - responseWireBytes) + (requestOriginalBytes - requestWireBytes);
+    }
+}
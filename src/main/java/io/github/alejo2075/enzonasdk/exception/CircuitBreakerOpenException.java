@@ -0,0 +1,54 @@
+package io.github.alejo2075.enzonasdk.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of sending a request while the circuit breaker of its endpoint family is open, i.e. while the
+ * Enzona API is considered unhealthy. The request never left the client, so it is always safe to retry later.
+ */
+public class CircuitBreakerOpenException extends EnzonaException {
+
+    private final String breakerName;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new CircuitBreakerOpenException.
+     *
+     * @param breakerName the name of the open circuit breaker
+     * @param retryAfter  how long the breaker stays open before probing the API again
+     */
+    public CircuitBreakerOpenException(String breakerName, Duration retryAfter) {
+        super("Circuit breaker '" + breakerName + "' is open, not calling the API for another "
+                + retryAfter.toMillis() + " ms");
+        this.breakerName = breakerName;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the name of the open circuit breaker, which is the path of its endpoint family.
+     *
+     * @return the breaker name
+     */
+    public String getBreakerName() {
+        return breakerName;
+    }
+
+    /**
+     * Always {@code true}: the request was not sent and can be retried once the breaker lets calls through again.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isRetryable() {
+        return true;
+    }
+
+    /**
+     * Returns how long the breaker stays open before it lets probe calls through, zero if probes are already running.
+     *
+     * @return the remaining open time
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.alejo2075.enzonasdk.exception;
+
+/**
+ * Thrown when the Enzona API rejects the credentials: the token endpoint refuses to issue an access token, or an API
+ * call is answered with HTTP 401 or 403. Retrying does not help unless the token endpoint itself reported a
+ * transient failure.
+ */
+public class EnzonaAuthException extends EnzonaHttpException {
+
+    /**
+     * Constructs a new EnzonaAuthException.
+     *
+     * @param statusCode the HTTP status of the response
+     * @param endpoint   the method and path of the failed request
+     * @param body       the error body as received, possibly truncated, or null if there is none
+     */
+    public EnzonaAuthException(int statusCode, String endpoint, byte[] body) {
+        super(statusCode, endpoint, body, statusCode != 401 && statusCode != 403 && isRetryableStatus(statusCode));
+    }
+}
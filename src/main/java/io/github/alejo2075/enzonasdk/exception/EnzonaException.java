@@ -26,4 +26,15 @@ public class EnzonaException extends Exception {
     public EnzonaException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Tells whether sending the same request again later may succeed. Plain {@code EnzonaException}s are not
+     * retryable; subtypes such as {@link EnzonaHttpException} and {@link EnzonaTimeoutException} decide from what
+     * they know about the failure, without inspecting the message.
+     *
+     * @return {@code true} if the failure is transient.
+     */
+    public boolean isRetryable() {
+        return false;
+    }
 }
@@ -0,0 +1,188 @@
+package io.github.alejo2075.enzonasdk.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.alejo2075.enzonasdk.util.EntityUtil;
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the Enzona API answers with an unexpected HTTP status.
+ *
+ * <p>The status, the endpoint and whether the failure is transient are plain fields, so callers can classify errors
+ * without looking at the message. The error body is kept as received, up to
+ * {@link EntityUtil#MAX_ERROR_BODY_BYTES}; it is decoded, parsed and formatted into the message only when asked for.</p>
+ *
+ * <p>Authentication failures are reported as {@link EnzonaAuthException} and throttling as
+ * {@link EnzonaRateLimitException}; {@link #of(int, String, byte[], Duration)} picks the right type for a status.</p>
+ */
+public class EnzonaHttpException extends EnzonaException {
+
+    private static final Object NOT_JSON = new Object();
+
+    private final int statusCode;
+    private final String endpoint;
+    private final byte[] body;
+    private final boolean retryable;
+    private transient volatile String decodedBody;
+    private transient volatile Object parsedBody;
+
+    /**
+     * Constructs a new EnzonaHttpException, retryable if the status denotes a transient failure.
+     *
+     * @param statusCode the HTTP status of the response
+     * @param endpoint   the method and path of the failed request, e.g. {@code POST /payments}
+     * @param body       the error body as received, possibly truncated, or null if there is none
+     */
+    public EnzonaHttpException(int statusCode, String endpoint, byte[] body) {
+        this(statusCode, endpoint, body, isRetryableStatus(statusCode));
+    }
+
+    /**
+     * Constructs a new EnzonaHttpException.
+     *
+     * @param statusCode the HTTP status of the response
+     * @param endpoint   the method and path of the failed request
+     * @param body       the error body as received, possibly truncated, or null if there is none
+     * @param retryable  whether sending the request again later may succeed
+     */
+    protected EnzonaHttpException(int statusCode, String endpoint, byte[] body, boolean retryable) {
+        super(null);
+        this.statusCode = statusCode;
+        this.endpoint = endpoint;
+        this.body = body;
+        this.retryable = retryable;
+    }
+
+    /**
+     * Creates the exception matching the status: {@link EnzonaAuthException} for 401 and 403,
+     * {@link EnzonaRateLimitException} for 429 and {@link EnzonaHttpException} otherwise.
+     *
+     * @param statusCode the HTTP status of the response
+     * @param endpoint   the method and path of the failed request
+     * @param body       the error body as received, possibly truncated, or null if there is none
+     * @param retryAfter the delay requested by the {@code Retry-After} header, or null
+     * @return the exception to throw
+     */
+    public static EnzonaHttpException of(int statusCode, String endpoint, byte[] body, Duration retryAfter) {
+        switch (statusCode) {
+            case 401:
+            case 403:
+                return new EnzonaAuthException(statusCode, endpoint, body);
+            case 429:
+                return new EnzonaRateLimitException(endpoint, body, retryAfter);
+            default:
+                return new EnzonaHttpException(statusCode, endpoint, body);
+        }
+    }
+
+    /**
+     * Tells whether a status denotes a failure that may go away on its own: 408, 425, 429, 500, 502, 503 and 504.
+     *
+     * @param statusCode the HTTP status
+     * @return {@code true} if the status is transient
+     */
+    public static boolean isRetryableStatus(int statusCode) {
+        switch (statusCode) {
+            case 408:
+            case 425:
+            case 429:
+            case 500:
+            case 502:
+            case 503:
+            case 504:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the HTTP status of the response.
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns the method and path of the failed request, without its query string.
+     *
+     * @return the endpoint, e.g. {@code POST /payments/{uuid}/refund}
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Tells whether the status denotes a transient failure.
+     *
+     * @return {@code true} if sending the request again later may succeed
+     */
+    @Override
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Returns the error body decoded as UTF-8, followed by an ellipsis if it was truncated.
+     *
+     * @return the body, or an empty string if the response had none
+     */
+    public String getBody() {
+        String decoded = decodedBody;
+        if (decoded == null) {
+            decoded = EntityUtil.toBoundedString(body, EntityUtil.MAX_ERROR_BODY_BYTES);
+            decodedBody = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns the error body parsed as JSON. Parsed on first call and cached.
+     *
+     * @return the JSON tree of the body, or null if the body is empty, truncated or not JSON
+     */
+    public JsonNode getBodyAsJson() {
+        Object parsed = parsedBody;
+        if (parsed == null) {
+            parsed = NOT_JSON;
+            if (body != null && body.length > 0 && body.length <= EntityUtil.MAX_ERROR_BODY_BYTES) {
+                try {
+                    parsed = JsonUtil.fromJson(body, JsonNode.class);
+                } catch (JsonProcessingException e) {
+                    parsed = NOT_JSON;
+                }
+            }
+            parsedBody = parsed;
+        }
+        return parsed instanceof JsonNode ? (JsonNode) parsed : null;
+    }
+
+    /**
+     * Converts the error body into the given type, e.g. an application-specific error class.
+     *
+     * @param type the class to convert the body into
+     * @param <T>  the type of the converted body
+     * @return the converted body, or null if there is no body
+     * @throws JsonProcessingException if the body cannot be converted
+     */
+    public <T> T getBodyAs(Class<T> type) {
+        JsonNode json = getBodyAsJson();
+        if (json == null) {
+            return body == null || body.length == 0 ? null : JsonUtil.fromJson(body, type);
+        }
+        return JsonUtil.convertValue(json, type);
+    }
+
+    /**
+     * Formats the status and the error body. The message is only built when it is asked for, e.g. when logged.
+     *
+     * @return the detail message
+     */
+    @Override
+    public String getMessage() {
+        return "Request failed with HTTP Status " + statusCode + ": " + getBody();
+    }
+}
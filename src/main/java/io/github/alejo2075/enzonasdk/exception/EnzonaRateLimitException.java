@@ -0,0 +1,33 @@
+package io.github.alejo2075.enzonasdk.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the Enzona API throttles a request with HTTP 429 and the retries allowed by the client's retry policy
+ * are used up. Always retryable, preferably not before {@link #getRetryAfter()} has passed.
+ */
+public class EnzonaRateLimitException extends EnzonaHttpException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new EnzonaRateLimitException.
+     *
+     * @param endpoint   the method and path of the throttled request
+     * @param body       the error body as received, possibly truncated, or null if there is none
+     * @param retryAfter the delay requested by the {@code Retry-After} header, or null if the server sent none
+     */
+    public EnzonaRateLimitException(String endpoint, byte[] body, Duration retryAfter) {
+        super(429, endpoint, body, true);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the delay the server asked for before the next request.
+     *
+     * @return the {@code Retry-After} delay, or null if the server sent none
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.alejo2075.enzonasdk.exception;
+
+/**
+ * Thrown when a request timed out: while waiting for a pooled connection, while connecting, or while waiting for the
+ * response. No response was received, so there is no status code or body.
+ *
+ * <p>The request is retryable if it provably did not reach the server, or if it is safe to repeat anyway because it
+ * only reads. A mutation that timed out while waiting for its response may or may not have taken effect.</p>
+ */
+public class EnzonaTimeoutException extends EnzonaException {
+
+    private final String endpoint;
+    private final boolean retryable;
+
+    /**
+     * Constructs a new EnzonaTimeoutException.
+     *
+     * @param endpoint  the method and path of the request that timed out
+     * @param retryable whether sending the request again is safe and may succeed
+     * @param cause     the timeout reported by the HTTP client
+     */
+    public EnzonaTimeoutException(String endpoint, boolean retryable, Throwable cause) {
+        super("Request to " + endpoint + " timed out: " + cause.getMessage(), cause);
+        this.endpoint = endpoint;
+        this.retryable = retryable;
+    }
+
+    /**
+     * Returns the method and path of the request that timed out, without its query string.
+     *
+     * @return the endpoint, e.g. {@code GET /payments/{uuid}}
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Tells whether the request can be sent again safely.
+     *
+     * @return {@code true} if the request did not reach the server or only reads
+     */
+    @Override
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.alejo2075.enzonasdk.exception;
+
+/**
+ * Wraps an {@link EnzonaException} where a checked exception cannot be thrown, such as from an
+ * {@link java.util.Iterator} or a {@link java.util.stream.Stream} that fetches pages lazily.
+ *
+ * <p>The original exception is always available through {@link #getCause()}.</p>
+ */
+public class UncheckedEnzonaException extends RuntimeException {
+
+    /**
+     * Constructs a new UncheckedEnzonaException wrapping the given cause.
+     *
+     * @param cause the {@link EnzonaException} being wrapped, must not be null
+     */
+    public UncheckedEnzonaException(EnzonaException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /**
+     * Returns the wrapped {@link EnzonaException}.
+     *
+     * @return the cause of this exception
+     */
+    @Override
+    public synchronized EnzonaException getCause() {
+        return (EnzonaException) super.getCause();
+    }
+}
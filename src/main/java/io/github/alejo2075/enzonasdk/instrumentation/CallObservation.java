@@ -0,0 +1,53 @@
+package io.github.alejo2075.enzonasdk.instrumentation;
+
+/**
+ * Receives the events of a single API call, from its first attempt to its outcome. Obtained from
+ * {@link Instrumentation#startCall(String, String)}; {@link #end()} is always the last method called.
+ */
+public interface CallObservation {
+
+    /**
+     * Returns the W3C trace context to send with the call, in the format of the {@code traceparent} header
+     * ({@code 00-<trace-id>-<span-id>-<flags>}). Called once, before the first attempt; the same value is sent with
+     * every attempt.
+     *
+     * @return the header value, or null to send no trace context.
+     */
+    String traceparent();
+
+    /**
+     * Called when an attempt obtained a pooled connection.
+     *
+     * @param waitNanos how long the attempt waited for the connection.
+     */
+    void onConnectionLeased(long waitNanos);
+
+    /**
+     * Called when an attempt received a response.
+     *
+     * @param statusCode the HTTP status of the response.
+     * @param bytesSent the size of the request body, 0 if there is none or -1 if unknown.
+     * @param bytesReceived the size of the response body, -1 if unknown.
+     */
+    void onResponse(int statusCode, long bytesSent, long bytesReceived);
+
+    /**
+     * Called when a failed attempt is about to be retried.
+     *
+     * @param attempt the number of the attempt that failed, starting at 1.
+     */
+    void onRetry(int attempt);
+
+    /**
+     * Called when the call fails without a converted response, e.g. on a network error, an error status or an open
+     * circuit breaker.
+     *
+     * @param error the failure reported to the caller.
+     */
+    void onError(Throwable error);
+
+    /**
+     * Called once when the call completes, successfully or not.
+     */
+    void end();
+}
@@ -0,0 +1,27 @@
+package io.github.alejo2075.enzonasdk.instrumentation;
+
+/**
+ * Live view of a client's connection pool. Every method reads the current value, so instances can back gauges.
+ */
+public interface ConnectionPoolMetrics {
+
+    /**
+     * @return the number of connections currently lent to requests.
+     */
+    int getLeased();
+
+    /**
+     * @return the number of requests waiting for a connection.
+     */
+    int getPending();
+
+    /**
+     * @return the number of idle connections kept open.
+     */
+    int getAvailable();
+
+    /**
+     * @return the maximum number of connections.
+     */
+    int getMax();
+}
@@ -0,0 +1,58 @@
+package io.github.alejo2075.enzonasdk.instrumentation;
+
+/**
+ * Service provider interface through which the SDK reports what happens on every API call: latency and status per
+ * operation, retries, bytes on the wire, connection pool usage and token cache efficiency. It also lets a tracing
+ * system propagate its context to the Enzona API through W3C {@code traceparent} headers.
+ *
+ * <p>The default, {@link #noop()}, records nothing; it returns shared objects only, so an uninstrumented client does
+ * not allocate anything for instrumentation on the request path. A Micrometer binding is available as
+ * {@link io.github.alejo2075.enzonasdk.instrumentation.micrometer.MicrometerInstrumentation}, for applications that
+ * have Micrometer on their class path.</p>
+ *
+ * <p>Implementations are called concurrently from every thread sending requests and must be thread safe and
+ * non-blocking.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * EnzonaClient client = EnzonaClient.builder("consumerKey", "consumerSecret")
+ *         .instrumentation(MicrometerInstrumentation.builder(meterRegistry).build())
+ *         .build();
+ * </pre>
+ */
+public interface Instrumentation {
+
+    /**
+     * Returns the instrumentation that records nothing.
+     *
+     * @return the shared no-op instrumentation.
+     */
+    static Instrumentation noop() {
+        return NoopInstrumentation.INSTANCE;
+    }
+
+    /**
+     * Called when an API operation starts, before its first attempt is sent. The returned observation receives the
+     * events of every attempt and is ended exactly once.
+     *
+     * @param operation the name of the SDK method, e.g. {@code createPayment} or {@code fetchAccessToken}.
+     * @param endpointFamily the path of the endpoint family the operation belongs to, e.g. {@code payments/refund}.
+     * @return the observation of this call.
+     */
+    CallObservation startCall(String operation, String endpointFamily);
+
+    /**
+     * Called every time an access token is requested.
+     *
+     * @param hit {@code true} if a cached token was returned, {@code false} if the caller had to wait for the token
+     *            endpoint.
+     */
+    void onTokenCacheLookup(boolean hit);
+
+    /**
+     * Called once when a client is built, handing over live views of its connection pool, e.g. to register gauges.
+     *
+     * @param pool the connection pool of the client.
+     */
+    void bindConnectionPool(ConnectionPoolMetrics pool);
+}
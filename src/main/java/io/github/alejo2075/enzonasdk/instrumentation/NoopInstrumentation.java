@@ -0,0 +1,51 @@
+package io.github.alejo2075.enzonasdk.instrumentation;
+
+/**
+ * Instrumentation that records nothing. A single instance serves as both the instrumentation and every call
+ * observation, so disabled instrumentation never allocates.
+ */
+final class NoopInstrumentation implements Instrumentation, CallObservation {
+
+    static final NoopInstrumentation INSTANCE = new NoopInstrumentation();
+
+    private NoopInstrumentation() {
+    }
+
+    @Override
+    public CallObservation startCall(String operation, String endpointFamily) {
+        return this;
+    }
+
+    @Override
+    public void onTokenCacheLookup(boolean hit) {
+    }
+
+    @Override
+    public void bindConnectionPool(ConnectionPoolMetrics pool) {
+    }
+
+    @Override
+    public String traceparent() {
+        return null;
+    }
+
+    @Override
+    public void onConnectionLeased(long waitNanos) {
+    }
+
+    @Override
+    public void onResponse(int statusCode, long bytesSent, long bytesReceived) {
+    }
+
+    @Override
+    public void onRetry(int attempt) {
+    }
+
+    @Override
+    public void onError(Throwable error) {
+    }
+
+    @Override
+    public void end() {
+    }
+}
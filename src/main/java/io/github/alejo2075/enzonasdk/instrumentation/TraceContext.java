@@ -0,0 +1,95 @@
+package io.github.alejo2075.enzonasdk.instrumentation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds W3C Trace Context {@code traceparent} header values (version 00), for instrumentations that start a span
+ * for each API call.
+ *
+ * @see <a href="https://www.w3.org/TR/trace-context/">W3C Trace Context</a>
+ */
+public final class TraceContext {
+
+    /**
+     * The name of the header carrying the trace context.
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    private TraceContext() {
+    }
+
+    /**
+     * Starts a new sampled trace.
+     *
+     * @return a {@code traceparent} value with a random trace id and span id.
+     */
+    public static String newTraceparent() {
+        char[] value = "00-00000000000000000000000000000000-0000000000000000-01".toCharArray();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        writeHex(value, 3, random.nextLong() | 1);
+        writeHex(value, 19, random.nextLong());
+        writeHex(value, 36, random.nextLong() | 1);
+        return new String(value);
+    }
+
+    /**
+     * Starts a child span of the given parent, keeping its trace id and flags. Starts a new trace if the parent is
+     * missing or malformed.
+     *
+     * @param parent the {@code traceparent} of the caller's current span, or null.
+     * @return a {@code traceparent} value with the parent's trace id and a new span id.
+     */
+    public static String childOf(String parent) {
+        if (!isValid(parent)) {
+            return newTraceparent();
+        }
+        char[] value = parent.toCharArray();
+        value[0] = '0';
+        value[1] = '0';
+        writeHex(value, 36, ThreadLocalRandom.current().nextLong() | 1);
+        return new String(value, 0, 55);
+    }
+
+    /**
+     * Tells whether the value is a well-formed {@code traceparent}.
+     *
+     * @param traceparent the value to check, may be null.
+     * @return {@code true} if it has the version 00 layout with a non-zero trace id and span id.
+     */
+    public static boolean isValid(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55 || traceparent.charAt(2) != '-'
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-'
+                || (traceparent.length() > 55 && traceparent.charAt(55) != '-')) {
+            return false;
+        }
+        for (int i = 0; i < 55; i++) {
+            if (i != 2 && i != 35 && i != 52 && Character.digit(traceparent.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return !traceparent.startsWith("ff")
+                && !traceparent.regionMatches(3, INVALID_TRACE_ID, 0, 32)
+                && !traceparent.regionMatches(36, INVALID_SPAN_ID, 0, 16);
+    }
+
+    /**
+     * Returns the span id of a {@code traceparent} value.
+     *
+     * @param traceparent a valid {@code traceparent} value.
+     * @return its 16 hex digit span id.
+     */
+    public static String spanId(String traceparent) {
+        return traceparent.substring(36, 52);
+    }
+
+    private static void writeHex(char[] target, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.github.alejo2075.enzonasdk.instrumentation.micrometer;
+
+import io.github.alejo2075.enzonasdk.instrumentation.CallObservation;
+import io.github.alejo2075.enzonasdk.instrumentation.ConnectionPoolMetrics;
+import io.github.alejo2075.enzonasdk.instrumentation.Instrumentation;
+import io.github.alejo2075.enzonasdk.instrumentation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records the SDK's instrumentation events as Micrometer meters. Requires {@code io.micrometer:micrometer-core} on the
+ * class path; the SDK declares it as an optional dependency.
+ *
+ * <p>Meters, all prefixed with {@code enzona.client} by default:</p>
+ * <ul>
+ *     <li>{@code requests} (timer): duration of each API call including retries, tagged with {@code operation},
+ *     {@code family}, the final HTTP {@code status} ({@code NONE} without a response), {@code outcome} and
+ *     {@code exception};</li>
+ *     <li>{@code retries} (counter): retried attempts, tagged with {@code operation} and {@code family};</li>
+ *     <li>{@code bytes.sent} and {@code bytes.received} (distribution summaries): body sizes per attempt, tagged with
+ *     {@code operation};</li>
+ *     <li>{@code pool.lease} (timer): time waited for a pooled connection;</li>
+ *     <li>{@code pool.leased}, {@code pool.pending}, {@code pool.available}, {@code pool.max} (gauges);</li>
+ *     <li>{@code token.cache} (counter): access token lookups, tagged with {@code result} {@code hit} or
+ *     {@code miss}.</li>
+ * </ul>
+ *
+ * <p>With {@link Builder#propagateTraceContext(boolean)} enabled, every call is sent with a W3C {@code traceparent}
+ * header: a child of the span returned by {@link Builder#currentTraceparent(Supplier)}, or the root of a new trace.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Instrumentation instrumentation = MicrometerInstrumentation.builder(meterRegistry)
+ *         .tags(Tags.of("application", "checkout"))
+ *         .propagateTraceContext(true)
+ *         .currentTraceparent(() -&gt; currentSpanTraceparent())
+ *         .build();
+ * </pre>
+ */
+public final class MicrometerInstrumentation implements Instrumentation {
+
+    private final MeterRegistry registry;
+    private final String prefix;
+    private final Tags tags;
+    private final boolean propagateTraceContext;
+    private final Supplier<String> currentTraceparent;
+    private final Counter tokenCacheHits;
+    private final Counter tokenCacheMisses;
+    private final Timer poolLease;
+
+    private MicrometerInstrumentation(Builder builder) {
+        this.registry = builder.registry;
+        this.prefix = builder.prefix;
+        this.tags = builder.tags;
+        this.propagateTraceContext = builder.propagateTraceContext;
+        this.currentTraceparent = builder.currentTraceparent;
+        this.tokenCacheHits = Counter.builder(prefix + ".token.cache").tags(tags).tag("result", "hit")
+                .description("Access token lookups served from the cache").register(registry);
+        this.tokenCacheMisses = Counter.builder(prefix + ".token.cache").tags(tags).tag("result", "miss")
+                .description("Access token lookups that waited for the token endpoint").register(registry);
+        this.poolLease = Timer.builder(prefix + ".pool.lease").tags(tags)
+                .description("Time waited for a pooled connection").register(registry);
+    }
+
+    /**
+     * Starts building an instrumentation recording into the given registry.
+     *
+     * @param registry the registry to register the meters with.
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder(MeterRegistry registry) {
+        return new Builder(registry);
+    }
+
+    @Override
+    public CallObservation startCall(String operation, String endpointFamily) {
+        String traceparent = null;
+        if (propagateTraceContext) {
+            traceparent = TraceContext.childOf(currentTraceparent != null ? currentTraceparent.get() : null);
+        }
+        return new Observation(operation, endpointFamily, traceparent, registry.config().clock().monotonicTime());
+    }
+
+    @Override
+    public void onTokenCacheLookup(boolean hit) {
+        (hit ? tokenCacheHits : tokenCacheMisses).increment();
+    }
+
+    @Override
+    public void bindConnectionPool(ConnectionPoolMetrics pool) {
+        Gauge.builder(prefix + ".pool.leased", pool, ConnectionPoolMetrics::getLeased).tags(tags)
+                .description("Connections lent to requests").register(registry);
+        Gauge.builder(prefix + ".pool.pending", pool, ConnectionPoolMetrics::getPending).tags(tags)
+                .description("Requests waiting for a connection").register(registry);
+        Gauge.builder(prefix + ".pool.available", pool, ConnectionPoolMetrics::getAvailable).tags(tags)
+                .description("Idle pooled connections").register(registry);
+        Gauge.builder(prefix + ".pool.max", pool, ConnectionPoolMetrics::getMax).tags(tags)
+                .description("Maximum number of pooled connections").register(registry);
+    }
+
+    private final class Observation implements CallObservation {
+        private final String operation;
+        private final String family;
+        private final String traceparent;
+        private final long startNanos;
+        private int statusCode;
+        private Throwable error;
+
+        private Observation(String operation, String family, String traceparent, long startNanos) {
+            this.operation = operation;
+            this.family = family;
+            this.traceparent = traceparent;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public String traceparent() {
+            return traceparent;
+        }
+
+        @Override
+        public void onConnectionLeased(long waitNanos) {
+            poolLease.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void onResponse(int statusCode, long bytesSent, long bytesReceived) {
+            this.statusCode = statusCode;
+            if (bytesSent >= 0) {
+                bytes("sent").record(bytesSent);
+            }
+            if (bytesReceived >= 0) {
+                bytes("received").record(bytesReceived);
+            }
+        }
+
+        @Override
+        public void onRetry(int attempt) {
+            Counter.builder(prefix + ".retries").tags(tags)
+                    .tag("operation", operation)
+                    .tag("family", family)
+                    .description("Retried API call attempts")
+                    .register(registry)
+                    .increment();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void end() {
+            long durationNanos = registry.config().clock().monotonicTime() - startNanos;
+            Timer.builder(prefix + ".requests").tags(tags)
+                    .tag("operation", operation)
+                    .tag("family", family)
+                    .tag("status", statusCode != 0 ? Integer.toString(statusCode) : "NONE")
+                    .tag("outcome", outcome())
+                    .tag("exception", error != null ? error.getClass().getSimpleName() : "none")
+                    .description("Enzona API calls, including retries")
+                    .register(registry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private String outcome() {
+            if (statusCode == 0) {
+                return "UNKNOWN";
+            } else if (statusCode < 400) {
+                return error == null ? "SUCCESS" : "UNKNOWN";
+            } else if (statusCode < 500) {
+                return "CLIENT_ERROR";
+            }
+            return "SERVER_ERROR";
+        }
+
+        private DistributionSummary bytes(String direction) {
+            return DistributionSummary.builder(prefix + ".bytes." + direction).tags(tags)
+                    .tag("operation", operation)
+                    .baseUnit("bytes")
+                    .description("Body size of Enzona API requests and responses")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Builder for {@link MicrometerInstrumentation}.
+     */
+    public static class Builder {
+        private final MeterRegistry registry;
+        private String prefix = "enzona.client";
+        private Tags tags = Tags.empty();
+        private boolean propagateTraceContext;
+        private Supplier<String> currentTraceparent;
+
+        private Builder(MeterRegistry registry) {
+            this.registry = Objects.requireNonNull(registry, "Registry must not be null");
+        }
+
+        /**
+         * Sets the prefix of every meter name. Defaults to {@code enzona.client}.
+         *
+         * @param prefix the meter name prefix.
+         * @return this builder.
+         */
+        public Builder prefix(String prefix) {
+            this.prefix = Objects.requireNonNull(prefix);
+            return this;
+        }
+
+        /**
+         * Adds tags to every meter, e.g. to tell several clients apart.
+         *
+         * @param tags the common tags.
+         * @return this builder.
+         */
+        public Builder tags(Iterable<Tag> tags) {
+            this.tags = this.tags.and(tags);
+            return this;
+        }
+
+        /**
+         * Sends a W3C {@code traceparent} header with every call. Disabled by default.
+         *
+         * @param propagateTraceContext whether to send trace context.
+         * @return this builder.
+         */
+        public Builder propagateTraceContext(boolean propagateTraceContext) {
+            this.propagateTraceContext = propagateTraceContext;
+            return this;
+        }
+
+        /**
+         * Sets where the {@code traceparent} of the caller's current span comes from, e.g. the application's tracer.
+         * Calls become child spans of it; without a supplier, or when it returns null, each call starts a new trace.
+         *
+         * @param currentTraceparent supplies the current {@code traceparent}, or null outside a span.
+         * @return this builder.
+         */
+        public Builder currentTraceparent(Supplier<String> currentTraceparent) {
+            this.currentTraceparent = Objects.requireNonNull(currentTraceparent);
+            this.propagateTraceContext = true;
+            return this;
+        }
+
+        /**
+         * Builds the instrumentation and registers its fixed meters.
+         *
+         * @return a new {@link MicrometerInstrumentation}.
+         */
+        public MicrometerInstrumentation build() {
+            return new MicrometerInstrumentation(this);
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+
+/**
+ * The amount of a payment or refund: its total and how it breaks down. The same type is used by every request and
+ * response carrying an amount, so a value read from one endpoint can be passed to another as it is. Instances are
+ * immutable and can be shared between threads; {@link #toBuilder()} starts a modified copy.
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Amount amount = Amount.builder()
+ *         .total(Money.of("25.97"))
+ *         .details(Amount.Details.builder().shipping(Money.of("5.00")).tax(Money.of("1.25")).build())
+ *         .build();
+ * </pre>
+ */
+@Getter
+@EqualsAndHashCode(doNotUseGetters = true)
+@ToString
+public final class Amount {
+    @MoneyField
+    private final long total;
+    private final Details details;
+
+    @JsonCreator
+    private Amount(@JsonProperty("total") @JsonDeserialize(using = Money.Deserializer.class) long total,
+                   @JsonProperty("details") Details details) {
+        this.total = total;
+        this.details = details;
+    }
+
+    /**
+     * Starts building an amount.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts building a copy of this amount.
+     *
+     * @return a new {@link Builder} holding the values of this amount.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.total = total;
+        builder.details = details;
+        return builder;
+    }
+
+    @JsonIgnore
+    public double getTotal() {
+        return Money.toDouble(total);
+    }
+
+    @JsonIgnore
+    public Money getTotalMoney() {
+        return Money.ofMinorUnits(total);
+    }
+
+    /**
+     * Builder for {@link Amount}.
+     */
+    public static class Builder {
+        private long total;
+        private Details details;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the total, rounded to cents.
+         *
+         * @param total the total.
+         * @return this builder.
+         */
+        public Builder total(double total) {
+            this.total = Money.toMinorUnits(total);
+            return this;
+        }
+
+        /**
+         * Sets the total.
+         *
+         * @param total the total, {@code null} for zero.
+         * @return this builder.
+         */
+        public Builder total(Money total) {
+            this.total = Money.toMinorUnits(total);
+            return this;
+        }
+
+        /**
+         * Sets the breakdown of the total.
+         *
+         * @param details the breakdown.
+         * @return this builder.
+         */
+        public Builder details(Details details) {
+            this.details = details;
+            return this;
+        }
+
+        /**
+         * Builds the amount.
+         *
+         * @return a new {@link Amount}.
+         */
+        public Amount build() {
+            return new Amount(total, details);
+        }
+    }
+
+    /**
+     * Writes an {@link Amount} with the streaming generator, see {@link ModelCodecs}.
+     */
+    static final class Serializer extends StdSerializer<Amount> {
+        static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString TOTAL = new SerializedString("total");
+        private static final SerializedString DETAILS = new SerializedString("details");
+
+        private Serializer() {
+            super(Amount.class);
+        }
+
+        @Override
+        public void serialize(Amount amount, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(amount);
+            gen.writeFieldName(TOTAL);
+            Money.write(amount.total, gen);
+            gen.writeFieldName(DETAILS);
+            CodecSupport.writeValue(amount.details, gen, provider, Details.Serializer.INSTANCE);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads an {@link Amount} with the streaming parser, see {@link ModelCodecs}.
+     */
+    static final class Deserializer extends StdDeserializer<Amount> {
+        static final Deserializer INSTANCE = new Deserializer();
+
+        private Deserializer() {
+            super(Amount.class);
+        }
+
+        @Override
+        public Amount deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (Amount) ctxt.handleUnexpectedToken(Amount.class, p);
+            }
+            long total = 0;
+            Details details = null;
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "total":
+                        total = Money.read(p, ctxt);
+                        break;
+                    case "details":
+                        details = CodecSupport.readValue(p, ctxt, Details.Deserializer.INSTANCE);
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, Amount.class, field);
+                }
+            }
+            return new Amount(total, details);
+        }
+    }
+
+    /**
+     * The breakdown of an {@link Amount}. {@code totalRefunded} and {@code refunded} are only reported for refunds
+     * and are left out of the JSON while zero.
+     */
+    @Getter
+    @EqualsAndHashCode(doNotUseGetters = true)
+    @ToString
+    public static final class Details {
+        @MoneyField
+        private final long shipping;
+        @MoneyField
+        private final long discount;
+        @MoneyField
+        private final long tax;
+        @MoneyField
+        private final long tip;
+        @MoneyField
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+        private final long totalRefunded;
+        @MoneyField
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+        private final long refunded;
+
+        @JsonCreator
+        private Details(@JsonProperty("shipping") @JsonDeserialize(using = Money.Deserializer.class) long shipping,
+                        @JsonProperty("discount") @JsonDeserialize(using = Money.Deserializer.class) long discount,
+                        @JsonProperty("tax") @JsonDeserialize(using = Money.Deserializer.class) long tax,
+                        @JsonProperty("tip") @JsonDeserialize(using = Money.Deserializer.class) long tip,
+                        @JsonProperty("totalRefunded") @JsonDeserialize(using = Money.Deserializer.class) long totalRefunded,
+                        @JsonProperty("refunded") @JsonDeserialize(using = Money.Deserializer.class) long refunded) {
+            this.shipping = shipping;
+            this.discount = discount;
+            this.tax = tax;
+            this.tip = tip;
+            this.totalRefunded = totalRefunded;
+            this.refunded = refunded;
+        }
+
+        /**
+         * Starts building a breakdown with every part at zero.
+         *
+         * @return a new {@link Builder}.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Starts building a copy of this breakdown.
+         *
+         * @return a new {@link Builder} holding the values of this breakdown.
+         */
+        public Builder toBuilder() {
+            Builder builder = new Builder();
+            builder.shipping = shipping;
+            builder.discount = discount;
+            builder.tax = tax;
+            builder.tip = tip;
+            builder.totalRefunded = totalRefunded;
+            builder.refunded = refunded;
+            return builder;
+        }
+
+        @JsonIgnore
+        public double getShipping() {
+            return Money.toDouble(shipping);
+        }
+
+        @JsonIgnore
+        public Money getShippingMoney() {
+            return Money.ofMinorUnits(shipping);
+        }
+
+        @JsonIgnore
+        public double getDiscount() {
+            return Money.toDouble(discount);
+        }
+
+        @JsonIgnore
+        public Money getDiscountMoney() {
+            return Money.ofMinorUnits(discount);
+        }
+
+        @JsonIgnore
+        public double getTax() {
+            return Money.toDouble(tax);
+        }
+
+        @JsonIgnore
+        public Money getTaxMoney() {
+            return Money.ofMinorUnits(tax);
+        }
+
+        @JsonIgnore
+        public double getTip() {
+            return Money.toDouble(tip);
+        }
+
+        @JsonIgnore
+        public Money getTipMoney() {
+            return Money.ofMinorUnits(tip);
+        }
+
+        @JsonIgnore
+        public double getTotalRefunded() {
+            return Money.toDouble(totalRefunded);
+        }
+
+        @JsonIgnore
+        public Money getTotalRefundedMoney() {
+            return Money.ofMinorUnits(totalRefunded);
+        }
+
+        @JsonIgnore
+        public double getRefunded() {
+            return Money.toDouble(refunded);
+        }
+
+        @JsonIgnore
+        public Money getRefundedMoney() {
+            return Money.ofMinorUnits(refunded);
+        }
+
+        /**
+         * Builder for {@link Details}.
+         */
+        public static class Builder {
+            private long shipping;
+            private long discount;
+            private long tax;
+            private long tip;
+            private long totalRefunded;
+            private long refunded;
+
+            private Builder() {
+            }
+
+            /**
+             * Sets the shipping cost, rounded to cents.
+             *
+             * @param shipping the shipping cost.
+             * @return this builder.
+             */
+            public Builder shipping(double shipping) {
+                this.shipping = Money.toMinorUnits(shipping);
+                return this;
+            }
+
+            /**
+             * Sets the shipping cost.
+             *
+             * @param shipping the shipping cost, {@code null} for zero.
+             * @return this builder.
+             */
+            public Builder shipping(Money shipping) {
+                this.shipping = Money.toMinorUnits(shipping);
+                return this;
+            }
+
+            /**
+             * Sets the discount, rounded to cents.
+             *
+             * @param discount the discount.
+             * @return this builder.
+             */
+            public Builder discount(double discount) {
+                this.discount = Money.toMinorUnits(discount);
+                return this;
+            }
+
+            /**
+             * Sets the discount.
+             *
+             * @param discount the discount, {@code null} for zero.
+             * @return this builder.
+             */
+            public Builder discount(Money discount) {
+                this.discount = Money.toMinorUnits(discount);
+                return this;
+            }
+
+            /**
+             * Sets the tax, rounded to cents.
+             *
+             * @param tax the tax.
+             * @return this builder.
+             */
+            public Builder tax(double tax) {
+                this.tax = Money.toMinorUnits(tax);
+                return this;
+            }
+
+            /**
+             * Sets the tax.
+             *
+             * @param tax the tax, {@code null} for zero.
+             * @return this builder.
+             */
+            public Builder tax(Money tax) {
+                this.tax = Money.toMinorUnits(tax);
+                return this;
+            }
+
+            /**
+             * Sets the tip, rounded to cents.
+             *
+             * @param tip the tip.
+             * @return this builder.
+             */
+            public Builder tip(double tip) {
+                this.tip = Money.toMinorUnits(tip);
+                return this;
+            }
+
+            /**
+             * Sets the tip.
+             *
+             * @param tip the tip, {@code null} for zero.
+             * @return this builder.
+             */
+            public Builder tip(Money tip) {
+                this.tip = Money.toMinorUnits(tip);
+                return this;
+            }
+
+            /**
+             * Sets the amount refunded so far, rounded to cents.
+             *
+             * @param totalRefunded the amount refunded.
+             * @return this builder.
+             */
+            public Builder totalRefunded(double totalRefunded) {
+                this.totalRefunded = Money.toMinorUnits(totalRefunded);
+                return this;
+            }
+
+            /**
+             * Sets the amount refunded so far.
+             *
+             * @param totalRefunded the amount refunded, {@code null} for zero.
+             * @return this builder.
+             */
+            public Builder totalRefunded(Money totalRefunded) {
+                this.totalRefunded = Money.toMinorUnits(totalRefunded);
+                return this;
+            }
+
+            /**
+             * Sets the amount of this refund, rounded to cents.
+             *
+             * @param refunded the amount refunded.
+             * @return this builder.
+             */
+            public Builder refunded(double refunded) {
+                this.refunded = Money.toMinorUnits(refunded);
+                return this;
+            }
+
+            /**
+             * Sets the amount of this refund.
+             *
+             * @param refunded the amount refunded, {@code null} for zero.
+             * @return this builder.
+             */
+            public Builder refunded(Money refunded) {
+                this.refunded = Money.toMinorUnits(refunded);
+                return this;
+            }
+
+            /**
+             * Builds the breakdown.
+             *
+             * @return a new {@link Details}.
+             */
+            public Details build() {
+                return new Details(shipping, discount, tax, tip, totalRefunded, refunded);
+            }
+        }
+
+        /**
+         * Writes a {@link Details} with the streaming generator, see {@link ModelCodecs}.
+         */
+        static final class Serializer extends StdSerializer<Details> {
+            static final Serializer INSTANCE = new Serializer();
+            private static final SerializedString SHIPPING = new SerializedString("shipping");
+            private static final SerializedString DISCOUNT = new SerializedString("discount");
+            private static final SerializedString TAX = new SerializedString("tax");
+            private static final SerializedString TIP = new SerializedString("tip");
+            private static final SerializedString TOTAL_REFUNDED = new SerializedString("totalRefunded");
+            private static final SerializedString REFUNDED = new SerializedString("refunded");
+
+            private Serializer() {
+                super(Details.class);
+            }
+
+            @Override
+            public void serialize(Details details, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeStartObject(details);
+                gen.writeFieldName(SHIPPING);
+                Money.write(details.shipping, gen);
+                gen.writeFieldName(DISCOUNT);
+                Money.write(details.discount, gen);
+                gen.writeFieldName(TAX);
+                Money.write(details.tax, gen);
+                gen.writeFieldName(TIP);
+                Money.write(details.tip, gen);
+                if (details.totalRefunded != 0) {
+                    gen.writeFieldName(TOTAL_REFUNDED);
+                    Money.write(details.totalRefunded, gen);
+                }
+                if (details.refunded != 0) {
+                    gen.writeFieldName(REFUNDED);
+                    Money.write(details.refunded, gen);
+                }
+                gen.writeEndObject();
+            }
+        }
+
+        /**
+         * Reads a {@link Details} with the streaming parser, see {@link ModelCodecs}.
+         */
+        static final class Deserializer extends StdDeserializer<Details> {
+            static final Deserializer INSTANCE = new Deserializer();
+
+            private Deserializer() {
+                super(Details.class);
+            }
+
+            @Override
+            public Details deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                if (!CodecSupport.isObject(p)) {
+                    return (Details) ctxt.handleUnexpectedToken(Details.class, p);
+                }
+                long shipping = 0;
+                long discount = 0;
+                long tax = 0;
+                long tip = 0;
+                long totalRefunded = 0;
+                long refunded = 0;
+                for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                    p.nextToken();
+                    switch (field) {
+                        case "shipping":
+                            shipping = Money.read(p, ctxt);
+                            break;
+                        case "discount":
+                            discount = Money.read(p, ctxt);
+                            break;
+                        case "tax":
+                            tax = Money.read(p, ctxt);
+                            break;
+                        case "tip":
+                            tip = Money.read(p, ctxt);
+                            break;
+                        case "totalRefunded":
+                            totalRefunded = Money.read(p, ctxt);
+                            break;
+                        case "refunded":
+                            refunded = Money.read(p, ctxt);
+                            break;
+                        default:
+                            handleUnknownProperty(p, ctxt, Details.class, field);
+                    }
+                }
+                return new Details(shipping, discount, tax, tip, totalRefunded, refunded);
+            }
+        }
+    }
+}
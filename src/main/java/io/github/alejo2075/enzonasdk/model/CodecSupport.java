@@ -0,0 +1,110 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reading and writing primitives shared by the codecs of {@link ModelCodecs}. Scalars are converted as leniently as
+ * bean introspection converts them, e.g. a number is accepted for a string property and a numeric string for a number.
+ */
+final class CodecSupport {
+
+    /**
+     * The deserializers bean introspection uses for {@code int} and {@code long} properties.
+     */
+    @SuppressWarnings("unchecked")
+    private static final JsonDeserializer<Integer> INT = (JsonDeserializer<Integer>) NumberDeserializers.find(int.class, "int");
+    @SuppressWarnings("unchecked")
+    private static final JsonDeserializer<Long> LONG = (JsonDeserializer<Long>) NumberDeserializers.find(long.class, "long");
+
+    private CodecSupport() {
+    }
+
+    /**
+     * Tells whether the parser is positioned where an object can be read by {@link #firstFieldName(JsonParser)}.
+     */
+    static boolean isObject(JsonParser p) {
+        JsonToken token = p.currentToken();
+        return token == JsonToken.START_OBJECT || token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT;
+    }
+
+    /**
+     * Returns the name of the first property of the object the parser is positioned on, or null if it is empty. The
+     * value of the returned property is reached with {@link JsonParser#nextToken()}, the next property with
+     * {@link JsonParser#nextFieldName()}.
+     */
+    static String firstFieldName(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return p.nextFieldName();
+        }
+        return token == JsonToken.FIELD_NAME ? p.currentName() : null;
+    }
+
+    static String readText(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : StringDeserializer.instance.deserialize(p, ctxt);
+    }
+
+    static int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return INT.deserialize(p, ctxt);
+    }
+
+    static long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return LONG.deserialize(p, ctxt);
+    }
+
+    static <V> V readValue(JsonParser p, DeserializationContext ctxt, JsonDeserializer<V> deserializer)
+            throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : deserializer.deserialize(p, ctxt);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> List<V> readList(JsonParser p, DeserializationContext ctxt, JsonDeserializer<V> deserializer)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            return (List<V>) ctxt.handleUnexpectedToken(List.class, p);
+        }
+        List<V> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readValue(p, ctxt, deserializer));
+        }
+        return values;
+    }
+
+    static <V> void writeValue(V value, JsonGenerator gen, SerializerProvider provider, JsonSerializer<V> serializer)
+            throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            serializer.serialize(value, gen, provider);
+        }
+    }
+
+    static <V> void writeList(List<V> values, JsonGenerator gen, SerializerProvider provider,
+                              JsonSerializer<V> serializer) throws IOException {
+        if (values == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(values, values.size());
+        for (V value : values) {
+            writeValue(value, gen, provider, serializer);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * The invoice number and terminal ID a payment or refund was registered under. Both are identifiers the API sends as
+ * JSON integers, held as exact {@code long}s by the response models implementing this interface.
+ *
+ * <p>The {@code double} accessors predate the exact ones and are kept for source compatibility only: they lose
+ * precision above 2<sup>53</sup>, and their setters truncate.</p>
+ */
+public interface InvoiceReference {
+
+    /**
+     * Returns the invoice number.
+     *
+     * @return the exact invoice number.
+     */
+    long getInvoiceNumberAsLong();
+
+    /**
+     * Sets the invoice number.
+     *
+     * @param invoiceNumber the invoice number.
+     */
+    void setInvoiceNumberAsLong(long invoiceNumber);
+
+    /**
+     * Returns the ID of the terminal.
+     *
+     * @return the exact terminal ID.
+     */
+    long getTerminalIdAsLong();
+
+    /**
+     * Sets the ID of the terminal.
+     *
+     * @param terminalId the terminal ID.
+     */
+    void setTerminalIdAsLong(long terminalId);
+
+    /**
+     * Returns the invoice number.
+     *
+     * @return the invoice number as a floating point number.
+     * @deprecated Use {@link #getInvoiceNumberAsLong()}, which holds the exact value.
+     */
+    @Deprecated
+    @JsonIgnore
+    default double getInvoiceNumber() {
+        return getInvoiceNumberAsLong();
+    }
+
+    /**
+     * Sets the invoice number.
+     *
+     * @param invoiceNumber the invoice number, truncated to an integer.
+     * @deprecated Truncates the value; use {@link #setInvoiceNumberAsLong(long)} instead.
+     */
+    @Deprecated
+    @JsonIgnore
+    default void setInvoiceNumber(double invoiceNumber) {
+        setInvoiceNumberAsLong((long) invoiceNumber);
+    }
+
+    /**
+     * Returns the ID of the terminal.
+     *
+     * @return the terminal ID as a floating point number.
+     * @deprecated Use {@link #getTerminalIdAsLong()}, which holds the exact value.
+     */
+    @Deprecated
+    @JsonIgnore
+    default double getTerminalId() {
+        return getTerminalIdAsLong();
+    }
+
+    /**
+     * Sets the ID of the terminal.
+     *
+     * @param terminalId the terminal ID, truncated to an integer.
+     * @deprecated Truncates the value; use {@link #setTerminalIdAsLong(long)} instead.
+     */
+    @Deprecated
+    @JsonIgnore
+    default void setTerminalId(double terminalId) {
+        setTerminalIdAsLong((long) terminalId);
+    }
+}
@@ -0,0 +1,279 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+
+/**
+ * A line of a payment or refund: what was sold, how many and at which unit price and tax. Instances are immutable and
+ * can be shared between threads.
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Item item = Item.builder()
+ *         .name("Coffee")
+ *         .quantity(2)
+ *         .price(Money.of("1.25"))
+ *         .build();
+ * </pre>
+ */
+@Getter
+@EqualsAndHashCode(doNotUseGetters = true)
+@ToString
+public final class Item {
+    private final int quantity;
+    @MoneyField
+    private final long price;
+    private final String name;
+    private final String description;
+    @MoneyField
+    private final long tax;
+
+    @JsonCreator
+    private Item(@JsonProperty("quantity") int quantity,
+                 @JsonProperty("price") @JsonDeserialize(using = Money.Deserializer.class) long price,
+                 @JsonProperty("name") String name,
+                 @JsonProperty("description") String description,
+                 @JsonProperty("tax") @JsonDeserialize(using = Money.Deserializer.class) long tax) {
+        this.quantity = quantity;
+        this.price = price;
+        this.name = name;
+        this.description = description;
+        this.tax = tax;
+    }
+
+    /**
+     * Starts building an item.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts building a copy of this item.
+     *
+     * @return a new {@link Builder} holding the values of this item.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.quantity = quantity;
+        builder.price = price;
+        builder.name = name;
+        builder.description = description;
+        builder.tax = tax;
+        return builder;
+    }
+
+    @JsonIgnore
+    public double getPrice() {
+        return Money.toDouble(price);
+    }
+
+    @JsonIgnore
+    public Money getPriceMoney() {
+        return Money.ofMinorUnits(price);
+    }
+
+    @JsonIgnore
+    public double getTax() {
+        return Money.toDouble(tax);
+    }
+
+    @JsonIgnore
+    public Money getTaxMoney() {
+        return Money.ofMinorUnits(tax);
+    }
+
+    /**
+     * Builder for {@link Item}.
+     */
+    public static class Builder {
+        private int quantity;
+        private long price;
+        private String name;
+        private String description;
+        private long tax;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of units.
+         *
+         * @param quantity the quantity.
+         * @return this builder.
+         */
+        public Builder quantity(int quantity) {
+            this.quantity = quantity;
+            return this;
+        }
+
+        /**
+         * Sets the price of one unit, rounded to cents.
+         *
+         * @param price the unit price.
+         * @return this builder.
+         */
+        public Builder price(double price) {
+            this.price = Money.toMinorUnits(price);
+            return this;
+        }
+
+        /**
+         * Sets the price of one unit.
+         *
+         * @param price the unit price, {@code null} for zero.
+         * @return this builder.
+         */
+        public Builder price(Money price) {
+            this.price = Money.toMinorUnits(price);
+            return this;
+        }
+
+        /**
+         * Sets the name of the item.
+         *
+         * @param name the name.
+         * @return this builder.
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the description of the item.
+         *
+         * @param description the description.
+         * @return this builder.
+         */
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * Sets the tax of one unit, rounded to cents.
+         *
+         * @param tax the unit tax.
+         * @return this builder.
+         */
+        public Builder tax(double tax) {
+            this.tax = Money.toMinorUnits(tax);
+            return this;
+        }
+
+        /**
+         * Sets the tax of one unit.
+         *
+         * @param tax the unit tax, {@code null} for zero.
+         * @return this builder.
+         */
+        public Builder tax(Money tax) {
+            this.tax = Money.toMinorUnits(tax);
+            return this;
+        }
+
+        /**
+         * Builds the item.
+         *
+         * @return a new {@link Item}.
+         */
+        public Item build() {
+            return new Item(quantity, price, name, description, tax);
+        }
+    }
+
+    /**
+     * Writes an {@link Item} with the streaming generator, see {@link ModelCodecs}.
+     */
+    static final class Serializer extends StdSerializer<Item> {
+        static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString QUANTITY = new SerializedString("quantity");
+        private static final SerializedString PRICE = new SerializedString("price");
+        private static final SerializedString NAME = new SerializedString("name");
+        private static final SerializedString DESCRIPTION = new SerializedString("description");
+        private static final SerializedString TAX = new SerializedString("tax");
+
+        private Serializer() {
+            super(Item.class);
+        }
+
+        @Override
+        public void serialize(Item item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(item);
+            gen.writeFieldName(QUANTITY);
+            gen.writeNumber(item.quantity);
+            gen.writeFieldName(PRICE);
+            Money.write(item.price, gen);
+            gen.writeFieldName(NAME);
+            gen.writeString(item.name);
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(item.description);
+            gen.writeFieldName(TAX);
+            Money.write(item.tax, gen);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads an {@link Item} with the streaming parser, see {@link ModelCodecs}.
+     */
+    static final class Deserializer extends StdDeserializer<Item> {
+        static final Deserializer INSTANCE = new Deserializer();
+
+        private Deserializer() {
+            super(Item.class);
+        }
+
+        @Override
+        public Item deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (Item) ctxt.handleUnexpectedToken(Item.class, p);
+            }
+            int quantity = 0;
+            long price = 0;
+            String name = null;
+            String description = null;
+            long tax = 0;
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "quantity":
+                        quantity = CodecSupport.readInt(p, ctxt);
+                        break;
+                    case "price":
+                        price = Money.read(p, ctxt);
+                        break;
+                    case "name":
+                        name = CodecSupport.readText(p, ctxt);
+                        break;
+                    case "description":
+                        description = CodecSupport.readText(p, ctxt);
+                        break;
+                    case "tax":
+                        tax = Money.read(p, ctxt);
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, Item.class, field);
+                }
+            }
+            return new Item(quantity, price, name, description, tax);
+        }
+    }
+}
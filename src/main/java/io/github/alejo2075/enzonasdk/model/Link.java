@@ -0,0 +1,174 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+
+/**
+ * A link returned with a payment or refund, such as the checkout page the buyer is redirected to in order to confirm
+ * a payment. Instances are immutable and can be shared between threads.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class Link {
+    private final String method;
+    private final String rel;
+    private final String href;
+
+    @JsonCreator
+    private Link(@JsonProperty("method") String method,
+                 @JsonProperty("rel") String rel,
+                 @JsonProperty("href") String href) {
+        this.method = method;
+        this.rel = rel;
+        this.href = href;
+    }
+
+    /**
+     * Starts building a link.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts building a copy of this link.
+     *
+     * @return a new {@link Builder} holding the values of this link.
+     */
+    public Builder toBuilder() {
+        return new Builder().method(method).rel(rel).href(href);
+    }
+
+    /**
+     * Builder for {@link Link}.
+     */
+    public static class Builder {
+        private String method;
+        private String rel;
+        private String href;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets how the link is followed, e.g. {@code REDIRECT}.
+         *
+         * @param method the method.
+         * @return this builder.
+         */
+        public Builder method(String method) {
+            this.method = method;
+            return this;
+        }
+
+        /**
+         * Sets the relation of the link to the transaction, e.g. {@code confirm}.
+         *
+         * @param rel the relation.
+         * @return this builder.
+         */
+        public Builder rel(String rel) {
+            this.rel = rel;
+            return this;
+        }
+
+        /**
+         * Sets the target of the link.
+         *
+         * @param href the URL.
+         * @return this builder.
+         */
+        public Builder href(String href) {
+            this.href = href;
+            return this;
+        }
+
+        /**
+         * Builds the link.
+         *
+         * @return a new {@link Link}.
+         */
+        public Link build() {
+            return new Link(method, rel, href);
+        }
+    }
+
+    /**
+     * Writes a {@link Link} with the streaming generator, see {@link ModelCodecs}.
+     */
+    static final class Serializer extends StdSerializer<Link> {
+        static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString METHOD = new SerializedString("method");
+        private static final SerializedString REL = new SerializedString("rel");
+        private static final SerializedString HREF = new SerializedString("href");
+
+        private Serializer() {
+            super(Link.class);
+        }
+
+        @Override
+        public void serialize(Link link, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(link);
+            gen.writeFieldName(METHOD);
+            gen.writeString(link.method);
+            gen.writeFieldName(REL);
+            gen.writeString(link.rel);
+            gen.writeFieldName(HREF);
+            gen.writeString(link.href);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads a {@link Link} with the streaming parser, see {@link ModelCodecs}.
+     */
+    static final class Deserializer extends StdDeserializer<Link> {
+        static final Deserializer INSTANCE = new Deserializer();
+
+        private Deserializer() {
+            super(Link.class);
+        }
+
+        @Override
+        public Link deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (Link) ctxt.handleUnexpectedToken(Link.class, p);
+            }
+            String method = null;
+            String rel = null;
+            String href = null;
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "method":
+                        method = CodecSupport.readText(p, ctxt);
+                        break;
+                    case "rel":
+                        rel = CodecSupport.readText(p, ctxt);
+                        break;
+                    case "href":
+                        href = CodecSupport.readText(p, ctxt);
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, Link.class, field);
+                }
+            }
+            return new Link(method, rel, href);
+        }
+    }
+}
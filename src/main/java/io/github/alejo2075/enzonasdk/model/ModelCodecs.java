@@ -0,0 +1,996 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.response.CompletePaymentResponse;
+import io.github.alejo2075.enzonasdk.model.response.CreatePaymentResponse;
+import io.github.alejo2075.enzonasdk.model.response.ListRefundsResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentDetailsResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentsListResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundsListResponse;
+
+import java.io.IOException;
+
+/**
+ * Hand-written JSON codecs for the shared model types and for the requests and responses of the payment calls made
+ * most often: creating, looking up and completing a payment and listing payments and refunds. Each codec reads with
+ * the streaming {@link JsonParser} and writes with the {@link JsonGenerator} through plain accessor calls, so these
+ * types skip bean introspection on the first call and reflective accessors afterwards. The JSON they produce and
+ * accept is the same: properties are written in the declaration order of the fields, and unknown properties are
+ * handled as configured on the mapper.
+ *
+ * <p>{@link io.github.alejo2075.enzonasdk.util.JsonUtil} registers the {@link #module()} unless the
+ * {@code enzona.json.codecs} system property is {@code false}. The other model types, and every type when the
+ * codecs are turned off, go through Jackson's bean introspection as before.</p>
+ */
+public final class ModelCodecs {
+
+    private static final SerializedString MERCHANT_UUID = new SerializedString("merchantUuid");
+    private static final SerializedString MERCHANT_OP_ID = new SerializedString("merchantOpId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString RETURN_URL = new SerializedString("returnUrl");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString INVOICE_NUMBER = new SerializedString("invoiceNumber");
+    private static final SerializedString CANCEL_URL = new SerializedString("cancelUrl");
+    private static final SerializedString BUYER_IDENTITY_CODE = new SerializedString("buyerIdentityCode");
+    private static final SerializedString TERMINAL_ID = new SerializedString("terminalId");
+    private static final SerializedString STATUS_CODE = new SerializedString("statusCode");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString TRANSACTION_UUID = new SerializedString("transactionUuid");
+    private static final SerializedString UPDATE_AT = new SerializedString("updateAt");
+    private static final SerializedString STATUS_DENOM = new SerializedString("statusDenom");
+    private static final SerializedString LINKS = new SerializedString("links");
+    private static final SerializedString PAYMENTS = new SerializedString("payments");
+    private static final SerializedString TRANSACTION_CODE = new SerializedString("transactionCode");
+    private static final SerializedString TRANSACTION_SIGNATURE = new SerializedString("transactionSignature");
+    private static final SerializedString TRANSACTION_DENOM = new SerializedString("transactionDenom");
+    private static final SerializedString AVATAR = new SerializedString("avatar");
+    private static final SerializedString TRANSACTION_DESCRIPTION = new SerializedString("transactionDescription");
+    private static final SerializedString TRANSACTION_UPDATED_AT = new SerializedString("transactionUpdatedAt");
+    private static final SerializedString LASTNAME = new SerializedString("lastname");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString TRANSACTION_CREATED_AT = new SerializedString("transactionCreatedAt");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString REFUNDS = new SerializedString("refunds");
+
+    private ModelCodecs() {
+    }
+
+    /**
+     * Returns a Jackson module registering the codecs with an {@link com.fasterxml.jackson.databind.ObjectMapper}.
+     *
+     * @return a new module.
+     */
+    public static Module module() {
+        SimpleModule module = new SimpleModule("enzona-model-codecs");
+        module.addSerializer(Amount.class, Amount.Serializer.INSTANCE);
+        module.addDeserializer(Amount.class, Amount.Deserializer.INSTANCE);
+        module.addSerializer(Amount.Details.class, Amount.Details.Serializer.INSTANCE);
+        module.addDeserializer(Amount.Details.class, Amount.Details.Deserializer.INSTANCE);
+        module.addSerializer(Item.class, Item.Serializer.INSTANCE);
+        module.addDeserializer(Item.class, Item.Deserializer.INSTANCE);
+        module.addSerializer(Link.class, Link.Serializer.INSTANCE);
+        module.addDeserializer(Link.class, Link.Deserializer.INSTANCE);
+        module.addSerializer(CreatePaymentRequest.class, CreatePaymentRequestSerializer.INSTANCE);
+        module.addDeserializer(CreatePaymentRequest.class, CreatePaymentRequestDeserializer.INSTANCE);
+        module.addSerializer(CreatePaymentResponse.class, CreatePaymentResponseSerializer.INSTANCE);
+        module.addDeserializer(CreatePaymentResponse.class, CreatePaymentResponseDeserializer.INSTANCE);
+        module.addSerializer(PaymentDetailsResponse.class, PaymentDetailsResponseSerializer.INSTANCE);
+        module.addDeserializer(PaymentDetailsResponse.class, PaymentDetailsResponseDeserializer.INSTANCE);
+        module.addSerializer(CompletePaymentResponse.class, CompletePaymentResponseSerializer.INSTANCE);
+        module.addDeserializer(CompletePaymentResponse.class, CompletePaymentResponseDeserializer.INSTANCE);
+        module.addSerializer(PaymentsListResponse.Payment.class, PaymentSerializer.INSTANCE);
+        module.addDeserializer(PaymentsListResponse.Payment.class, PaymentDeserializer.INSTANCE);
+        module.addSerializer(PaymentsListResponse.class, PaymentsListSerializer.INSTANCE);
+        module.addDeserializer(PaymentsListResponse.class, PaymentsListDeserializer.INSTANCE);
+        module.addSerializer(RefundsListResponse.Refund.class, RefundSerializer.INSTANCE);
+        module.addDeserializer(RefundsListResponse.Refund.class, RefundDeserializer.INSTANCE);
+        module.addSerializer(RefundsListResponse.class, RefundsListSerializer.INSTANCE);
+        module.addDeserializer(RefundsListResponse.class, RefundsListDeserializer.INSTANCE);
+        module.addSerializer(ListRefundsResponse.Refund.class, PaymentRefundSerializer.INSTANCE);
+        module.addDeserializer(ListRefundsResponse.Refund.class, PaymentRefundDeserializer.INSTANCE);
+        module.addSerializer(ListRefundsResponse.class, ListRefundsSerializer.INSTANCE);
+        module.addDeserializer(ListRefundsResponse.class, ListRefundsDeserializer.INSTANCE);
+        return module;
+    }
+
+    private static final class CreatePaymentRequestSerializer extends StdSerializer<CreatePaymentRequest> {
+        static final CreatePaymentRequestSerializer INSTANCE = new CreatePaymentRequestSerializer();
+
+        private CreatePaymentRequestSerializer() {
+            super(CreatePaymentRequest.class);
+        }
+
+        @Override
+        public void serialize(CreatePaymentRequest request, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(request);
+            gen.writeFieldName(MERCHANT_UUID);
+            gen.writeString(request.getMerchantUuid());
+            gen.writeFieldName(MERCHANT_OP_ID);
+            gen.writeNumber(request.getMerchantOpId());
+            gen.writeFieldName(AMOUNT);
+            CodecSupport.writeValue(request.getAmount(), gen, provider, Amount.Serializer.INSTANCE);
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(request.getDescription());
+            gen.writeFieldName(RETURN_URL);
+            gen.writeString(request.getReturnUrl());
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(request.getCurrency());
+            gen.writeFieldName(ITEMS);
+            CodecSupport.writeList(request.getItems(), gen, provider, Item.Serializer.INSTANCE);
+            gen.writeFieldName(INVOICE_NUMBER);
+            gen.writeNumber(request.getInvoiceNumber());
+            gen.writeFieldName(CANCEL_URL);
+            gen.writeString(request.getCancelUrl());
+            gen.writeFieldName(BUYER_IDENTITY_CODE);
+            gen.writeString(request.getBuyerIdentityCode());
+            gen.writeFieldName(TERMINAL_ID);
+            gen.writeNumber(request.getTerminalId());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class CreatePaymentRequestDeserializer extends StdDeserializer<CreatePaymentRequest> {
+        static final CreatePaymentRequestDeserializer INSTANCE = new CreatePaymentRequestDeserializer();
+
+        private CreatePaymentRequestDeserializer() {
+            super(CreatePaymentRequest.class);
+        }
+
+        @Override
+        public CreatePaymentRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (CreatePaymentRequest) ctxt.handleUnexpectedToken(CreatePaymentRequest.class, p);
+            }
+            CreatePaymentRequest request = new CreatePaymentRequest();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "merchantUuid":
+                        request.setMerchantUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "merchantOpId":
+                        request.setMerchantOpId(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "amount":
+                        request.setAmount(CodecSupport.readValue(p, ctxt, Amount.Deserializer.INSTANCE));
+                        break;
+                    case "description":
+                        request.setDescription(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "returnUrl":
+                        request.setReturnUrl(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "currency":
+                        request.setCurrency(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "items":
+                        request.setItems(CodecSupport.readList(p, ctxt, Item.Deserializer.INSTANCE));
+                        break;
+                    case "invoiceNumber":
+                        request.setInvoiceNumber(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "cancelUrl":
+                        request.setCancelUrl(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "buyerIdentityCode":
+                        request.setBuyerIdentityCode(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "terminalId":
+                        request.setTerminalId(CodecSupport.readLong(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, request, field);
+                }
+            }
+            return request;
+        }
+    }
+
+    private static final class CreatePaymentResponseSerializer extends StdSerializer<CreatePaymentResponse> {
+        static final CreatePaymentResponseSerializer INSTANCE = new CreatePaymentResponseSerializer();
+
+        private CreatePaymentResponseSerializer() {
+            super(CreatePaymentResponse.class);
+        }
+
+        @Override
+        public void serialize(CreatePaymentResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(AMOUNT);
+            CodecSupport.writeValue(response.getAmount(), gen, provider, Amount.Serializer.INSTANCE);
+            gen.writeFieldName(STATUS_CODE);
+            gen.writeString(response.getStatusCode());
+            gen.writeFieldName(CREATED_AT);
+            gen.writeString(response.getCreatedAt());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(response.getDescription());
+            gen.writeFieldName(TRANSACTION_UUID);
+            gen.writeString(response.getTransactionUuid());
+            gen.writeFieldName(MERCHANT_OP_ID);
+            gen.writeNumber(response.getMerchantOpId());
+            gen.writeFieldName(UPDATE_AT);
+            gen.writeString(response.getUpdateAt());
+            gen.writeFieldName(STATUS_DENOM);
+            gen.writeString(response.getStatusDenom());
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(response.getCurrency());
+            gen.writeFieldName(LINKS);
+            CodecSupport.writeList(response.getLinks(), gen, provider, Link.Serializer.INSTANCE);
+            gen.writeFieldName(INVOICE_NUMBER);
+            gen.writeNumber(response.getInvoiceNumberAsLong());
+            gen.writeFieldName(ITEMS);
+            CodecSupport.writeList(response.getItems(), gen, provider, Item.Serializer.INSTANCE);
+            gen.writeFieldName(TERMINAL_ID);
+            gen.writeNumber(response.getTerminalIdAsLong());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class CreatePaymentResponseDeserializer extends StdDeserializer<CreatePaymentResponse> {
+        static final CreatePaymentResponseDeserializer INSTANCE = new CreatePaymentResponseDeserializer();
+
+        private CreatePaymentResponseDeserializer() {
+            super(CreatePaymentResponse.class);
+        }
+
+        @Override
+        public CreatePaymentResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (CreatePaymentResponse) ctxt.handleUnexpectedToken(CreatePaymentResponse.class, p);
+            }
+            CreatePaymentResponse response = new CreatePaymentResponse();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "amount":
+                        response.setAmount(CodecSupport.readValue(p, ctxt, Amount.Deserializer.INSTANCE));
+                        break;
+                    case "statusCode":
+                        response.setStatusCode(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "createdAt":
+                        response.setCreatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "description":
+                        response.setDescription(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUuid":
+                        response.setTransactionUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "merchantOpId":
+                        response.setMerchantOpId(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "updateAt":
+                        response.setUpdateAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "statusDenom":
+                        response.setStatusDenom(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "currency":
+                        response.setCurrency(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "links":
+                        response.setLinks(CodecSupport.readList(p, ctxt, Link.Deserializer.INSTANCE));
+                        break;
+                    case "invoiceNumber":
+                        response.setInvoiceNumberAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "items":
+                        response.setItems(CodecSupport.readList(p, ctxt, Item.Deserializer.INSTANCE));
+                        break;
+                    case "terminalId":
+                        response.setTerminalIdAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, response, field);
+                }
+            }
+            return response;
+        }
+    }
+
+    private static final class PaymentDetailsResponseSerializer extends StdSerializer<PaymentDetailsResponse> {
+        static final PaymentDetailsResponseSerializer INSTANCE = new PaymentDetailsResponseSerializer();
+
+        private PaymentDetailsResponseSerializer() {
+            super(PaymentDetailsResponse.class);
+        }
+
+        @Override
+        public void serialize(PaymentDetailsResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(AMOUNT);
+            CodecSupport.writeValue(response.getAmount(), gen, provider, Amount.Serializer.INSTANCE);
+            gen.writeFieldName(STATUS_CODE);
+            gen.writeString(response.getStatusCode());
+            gen.writeFieldName(CREATED_AT);
+            gen.writeString(response.getCreatedAt());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(response.getDescription());
+            gen.writeFieldName(TRANSACTION_UUID);
+            gen.writeString(response.getTransactionUuid());
+            gen.writeFieldName(MERCHANT_OP_ID);
+            gen.writeString(response.getMerchantOpId());
+            gen.writeFieldName(UPDATE_AT);
+            gen.writeString(response.getUpdateAt());
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(response.getCurrency());
+            gen.writeFieldName(LINKS);
+            CodecSupport.writeList(response.getLinks(), gen, provider, Link.Serializer.INSTANCE);
+            gen.writeFieldName(MERCHANT_UUID);
+            gen.writeString(response.getMerchantUuid());
+            gen.writeFieldName(INVOICE_NUMBER);
+            gen.writeString(response.getInvoiceNumber());
+            gen.writeFieldName(ITEMS);
+            CodecSupport.writeList(response.getItems(), gen, provider, Item.Serializer.INSTANCE);
+            gen.writeFieldName(TERMINAL_ID);
+            gen.writeString(response.getTerminalId());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class PaymentDetailsResponseDeserializer extends StdDeserializer<PaymentDetailsResponse> {
+        static final PaymentDetailsResponseDeserializer INSTANCE = new PaymentDetailsResponseDeserializer();
+
+        private PaymentDetailsResponseDeserializer() {
+            super(PaymentDetailsResponse.class);
+        }
+
+        @Override
+        public PaymentDetailsResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (PaymentDetailsResponse) ctxt.handleUnexpectedToken(PaymentDetailsResponse.class, p);
+            }
+            PaymentDetailsResponse response = new PaymentDetailsResponse();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "amount":
+                        response.setAmount(CodecSupport.readValue(p, ctxt, Amount.Deserializer.INSTANCE));
+                        break;
+                    case "statusCode":
+                        response.setStatusCode(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "createdAt":
+                        response.setCreatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "description":
+                        response.setDescription(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUuid":
+                        response.setTransactionUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "merchantOpId":
+                        response.setMerchantOpId(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "updateAt":
+                        response.setUpdateAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "currency":
+                        response.setCurrency(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "links":
+                        response.setLinks(CodecSupport.readList(p, ctxt, Link.Deserializer.INSTANCE));
+                        break;
+                    case "merchantUuid":
+                        response.setMerchantUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "invoiceNumber":
+                        response.setInvoiceNumber(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "items":
+                        response.setItems(CodecSupport.readList(p, ctxt, Item.Deserializer.INSTANCE));
+                        break;
+                    case "terminalId":
+                        response.setTerminalId(CodecSupport.readText(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, response, field);
+                }
+            }
+            return response;
+        }
+    }
+
+    private static final class CompletePaymentResponseSerializer extends StdSerializer<CompletePaymentResponse> {
+        static final CompletePaymentResponseSerializer INSTANCE = new CompletePaymentResponseSerializer();
+
+        private CompletePaymentResponseSerializer() {
+            super(CompletePaymentResponse.class);
+        }
+
+        @Override
+        public void serialize(CompletePaymentResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(AMOUNT);
+            CodecSupport.writeValue(response.getAmount(), gen, provider, Amount.Serializer.INSTANCE);
+            gen.writeFieldName(STATUS_CODE);
+            gen.writeString(response.getStatusCode());
+            gen.writeFieldName(CREATED_AT);
+            gen.writeString(response.getCreatedAt());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(response.getDescription());
+            gen.writeFieldName(TRANSACTION_UUID);
+            gen.writeString(response.getTransactionUuid());
+            gen.writeFieldName(MERCHANT_OP_ID);
+            gen.writeString(response.getMerchantOpId());
+            gen.writeFieldName(UPDATE_AT);
+            gen.writeString(response.getUpdateAt());
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(response.getCurrency());
+            gen.writeFieldName(LINKS);
+            CodecSupport.writeList(response.getLinks(), gen, provider, Link.Serializer.INSTANCE);
+            gen.writeFieldName(MERCHANT_UUID);
+            gen.writeString(response.getMerchantUuid());
+            gen.writeFieldName(INVOICE_NUMBER);
+            gen.writeString(response.getInvoiceNumber());
+            gen.writeFieldName(ITEMS);
+            CodecSupport.writeList(response.getItems(), gen, provider, Item.Serializer.INSTANCE);
+            gen.writeFieldName(TERMINAL_ID);
+            gen.writeString(response.getTerminalId());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class CompletePaymentResponseDeserializer extends StdDeserializer<CompletePaymentResponse> {
+        static final CompletePaymentResponseDeserializer INSTANCE = new CompletePaymentResponseDeserializer();
+
+        private CompletePaymentResponseDeserializer() {
+            super(CompletePaymentResponse.class);
+        }
+
+        @Override
+        public CompletePaymentResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (CompletePaymentResponse) ctxt.handleUnexpectedToken(CompletePaymentResponse.class, p);
+            }
+            CompletePaymentResponse response = new CompletePaymentResponse();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "amount":
+                        response.setAmount(CodecSupport.readValue(p, ctxt, Amount.Deserializer.INSTANCE));
+                        break;
+                    case "statusCode":
+                        response.setStatusCode(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "createdAt":
+                        response.setCreatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "description":
+                        response.setDescription(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUuid":
+                        response.setTransactionUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "merchantOpId":
+                        response.setMerchantOpId(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "updateAt":
+                        response.setUpdateAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "currency":
+                        response.setCurrency(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "links":
+                        response.setLinks(CodecSupport.readList(p, ctxt, Link.Deserializer.INSTANCE));
+                        break;
+                    case "merchantUuid":
+                        response.setMerchantUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "invoiceNumber":
+                        response.setInvoiceNumber(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "items":
+                        response.setItems(CodecSupport.readList(p, ctxt, Item.Deserializer.INSTANCE));
+                        break;
+                    case "terminalId":
+                        response.setTerminalId(CodecSupport.readText(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, response, field);
+                }
+            }
+            return response;
+        }
+    }
+
+    private static final class PaymentSerializer extends StdSerializer<PaymentsListResponse.Payment> {
+        static final PaymentSerializer INSTANCE = new PaymentSerializer();
+
+        private PaymentSerializer() {
+            super(PaymentsListResponse.Payment.class);
+        }
+
+        @Override
+        public void serialize(PaymentsListResponse.Payment payment, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(payment);
+            gen.writeFieldName(AMOUNT);
+            CodecSupport.writeValue(payment.getAmount(), gen, provider, Amount.Serializer.INSTANCE);
+            gen.writeFieldName(STATUS_CODE);
+            gen.writeString(payment.getStatusCode());
+            gen.writeFieldName(CREATED_AT);
+            gen.writeString(payment.getCreatedAt());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(payment.getDescription());
+            gen.writeFieldName(TRANSACTION_UUID);
+            gen.writeString(payment.getTransactionUuid());
+            gen.writeFieldName(MERCHANT_OP_ID);
+            gen.writeNumber(payment.getMerchantOpId());
+            gen.writeFieldName(UPDATE_AT);
+            gen.writeString(payment.getUpdateAt());
+            gen.writeFieldName(STATUS_DENOM);
+            gen.writeString(payment.getStatusDenom());
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(payment.getCurrency());
+            gen.writeFieldName(LINKS);
+            CodecSupport.writeList(payment.getLinks(), gen, provider, Link.Serializer.INSTANCE);
+            gen.writeFieldName(INVOICE_NUMBER);
+            gen.writeNumber(payment.getInvoiceNumberAsLong());
+            gen.writeFieldName(ITEMS);
+            CodecSupport.writeList(payment.getItems(), gen, provider, Item.Serializer.INSTANCE);
+            gen.writeFieldName(TERMINAL_ID);
+            gen.writeNumber(payment.getTerminalIdAsLong());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class PaymentDeserializer extends StdDeserializer<PaymentsListResponse.Payment> {
+        static final PaymentDeserializer INSTANCE = new PaymentDeserializer();
+
+        private PaymentDeserializer() {
+            super(PaymentsListResponse.Payment.class);
+        }
+
+        @Override
+        public PaymentsListResponse.Payment deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (PaymentsListResponse.Payment) ctxt.handleUnexpectedToken(PaymentsListResponse.Payment.class, p);
+            }
+            PaymentsListResponse.Payment payment = new PaymentsListResponse.Payment();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "amount":
+                        payment.setAmount(CodecSupport.readValue(p, ctxt, Amount.Deserializer.INSTANCE));
+                        break;
+                    case "statusCode":
+                        payment.setStatusCode(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "createdAt":
+                        payment.setCreatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "description":
+                        payment.setDescription(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUuid":
+                        payment.setTransactionUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "merchantOpId":
+                        payment.setMerchantOpId(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "updateAt":
+                        payment.setUpdateAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "statusDenom":
+                        payment.setStatusDenom(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "currency":
+                        payment.setCurrency(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "links":
+                        payment.setLinks(CodecSupport.readList(p, ctxt, Link.Deserializer.INSTANCE));
+                        break;
+                    case "invoiceNumber":
+                        payment.setInvoiceNumberAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "items":
+                        payment.setItems(CodecSupport.readList(p, ctxt, Item.Deserializer.INSTANCE));
+                        break;
+                    case "terminalId":
+                        payment.setTerminalIdAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, payment, field);
+                }
+            }
+            return payment;
+        }
+    }
+
+    private static final class PaymentsListSerializer extends StdSerializer<PaymentsListResponse> {
+        static final PaymentsListSerializer INSTANCE = new PaymentsListSerializer();
+
+        private PaymentsListSerializer() {
+            super(PaymentsListResponse.class);
+        }
+
+        @Override
+        public void serialize(PaymentsListResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(PAYMENTS);
+            CodecSupport.writeList(response.getPayments(), gen, provider, PaymentSerializer.INSTANCE);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class PaymentsListDeserializer extends StdDeserializer<PaymentsListResponse> {
+        static final PaymentsListDeserializer INSTANCE = new PaymentsListDeserializer();
+
+        private PaymentsListDeserializer() {
+            super(PaymentsListResponse.class);
+        }
+
+        @Override
+        public PaymentsListResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (PaymentsListResponse) ctxt.handleUnexpectedToken(PaymentsListResponse.class, p);
+            }
+            PaymentsListResponse response = new PaymentsListResponse();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "payments":
+                        response.setPayments(CodecSupport.readList(p, ctxt, PaymentDeserializer.INSTANCE));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, response, field);
+                }
+            }
+            return response;
+        }
+    }
+
+    private static final class RefundSerializer extends StdSerializer<RefundsListResponse.Refund> {
+        static final RefundSerializer INSTANCE = new RefundSerializer();
+
+        private RefundSerializer() {
+            super(RefundsListResponse.Refund.class);
+        }
+
+        @Override
+        public void serialize(RefundsListResponse.Refund refund, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(refund);
+            gen.writeFieldName(TRANSACTION_CODE);
+            gen.writeNumber(refund.getTransactionCode());
+            gen.writeFieldName(AMOUNT);
+            CodecSupport.writeValue(refund.getAmount(), gen, provider, Amount.Serializer.INSTANCE);
+            gen.writeFieldName(STATUS_CODE);
+            gen.writeString(refund.getStatusCode());
+            gen.writeFieldName(TRANSACTION_SIGNATURE);
+            gen.writeString(refund.getTransactionSignature());
+            gen.writeFieldName(TRANSACTION_DENOM);
+            gen.writeString(refund.getTransactionDenom());
+            gen.writeFieldName(TRANSACTION_UUID);
+            gen.writeString(refund.getTransactionUuid());
+            gen.writeFieldName(AVATAR);
+            gen.writeString(refund.getAvatar());
+            gen.writeFieldName(TRANSACTION_DESCRIPTION);
+            gen.writeString(refund.getTransactionDescription());
+            gen.writeFieldName(TRANSACTION_UPDATED_AT);
+            gen.writeString(refund.getTransactionUpdatedAt());
+            gen.writeFieldName(LASTNAME);
+            gen.writeString(refund.getLastname());
+            gen.writeFieldName(NAME);
+            gen.writeString(refund.getName());
+            gen.writeFieldName(STATUS_DENOM);
+            gen.writeString(refund.getStatusDenom());
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(refund.getCurrency());
+            gen.writeFieldName(TRANSACTION_CREATED_AT);
+            gen.writeString(refund.getTransactionCreatedAt());
+            gen.writeFieldName(INVOICE_NUMBER);
+            gen.writeNumber(refund.getInvoiceNumberAsLong());
+            gen.writeFieldName(ITEMS);
+            CodecSupport.writeList(refund.getItems(), gen, provider, Item.Serializer.INSTANCE);
+            gen.writeFieldName(TERMINAL_ID);
+            gen.writeNumber(refund.getTerminalIdAsLong());
+            gen.writeFieldName(USERNAME);
+            gen.writeString(refund.getUsername());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class RefundDeserializer extends StdDeserializer<RefundsListResponse.Refund> {
+        static final RefundDeserializer INSTANCE = new RefundDeserializer();
+
+        private RefundDeserializer() {
+            super(RefundsListResponse.Refund.class);
+        }
+
+        @Override
+        public RefundsListResponse.Refund deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (RefundsListResponse.Refund) ctxt.handleUnexpectedToken(RefundsListResponse.Refund.class, p);
+            }
+            RefundsListResponse.Refund refund = new RefundsListResponse.Refund();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "transactionCode":
+                        refund.setTransactionCode(CodecSupport.readInt(p, ctxt));
+                        break;
+                    case "amount":
+                        refund.setAmount(CodecSupport.readValue(p, ctxt, Amount.Deserializer.INSTANCE));
+                        break;
+                    case "statusCode":
+                        refund.setStatusCode(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionSignature":
+                        refund.setTransactionSignature(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionDenom":
+                        refund.setTransactionDenom(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUuid":
+                        refund.setTransactionUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "avatar":
+                        refund.setAvatar(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionDescription":
+                        refund.setTransactionDescription(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUpdatedAt":
+                        refund.setTransactionUpdatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "lastname":
+                        refund.setLastname(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "name":
+                        refund.setName(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "statusDenom":
+                        refund.setStatusDenom(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "currency":
+                        refund.setCurrency(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionCreatedAt":
+                        refund.setTransactionCreatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "invoiceNumber":
+                        refund.setInvoiceNumberAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "items":
+                        refund.setItems(CodecSupport.readList(p, ctxt, Item.Deserializer.INSTANCE));
+                        break;
+                    case "terminalId":
+                        refund.setTerminalIdAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "username":
+                        refund.setUsername(CodecSupport.readText(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, refund, field);
+                }
+            }
+            return refund;
+        }
+    }
+
+    private static final class RefundsListSerializer extends StdSerializer<RefundsListResponse> {
+        static final RefundsListSerializer INSTANCE = new RefundsListSerializer();
+
+        private RefundsListSerializer() {
+            super(RefundsListResponse.class);
+        }
+
+        @Override
+        public void serialize(RefundsListResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(REFUNDS);
+            CodecSupport.writeList(response.getRefunds(), gen, provider, RefundSerializer.INSTANCE);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class RefundsListDeserializer extends StdDeserializer<RefundsListResponse> {
+        static final RefundsListDeserializer INSTANCE = new RefundsListDeserializer();
+
+        private RefundsListDeserializer() {
+            super(RefundsListResponse.class);
+        }
+
+        @Override
+        public RefundsListResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (RefundsListResponse) ctxt.handleUnexpectedToken(RefundsListResponse.class, p);
+            }
+            RefundsListResponse response = new RefundsListResponse();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "refunds":
+                        response.setRefunds(CodecSupport.readList(p, ctxt, RefundDeserializer.INSTANCE));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, response, field);
+                }
+            }
+            return response;
+        }
+    }
+
+    private static final class PaymentRefundSerializer extends StdSerializer<ListRefundsResponse.Refund> {
+        static final PaymentRefundSerializer INSTANCE = new PaymentRefundSerializer();
+
+        private PaymentRefundSerializer() {
+            super(ListRefundsResponse.Refund.class);
+        }
+
+        @Override
+        public void serialize(ListRefundsResponse.Refund refund, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(refund);
+            gen.writeFieldName(TRANSACTION_CODE);
+            gen.writeNumber(refund.getTransactionCode());
+            gen.writeFieldName(AMOUNT);
+            CodecSupport.writeValue(refund.getAmount(), gen, provider, Amount.Serializer.INSTANCE);
+            gen.writeFieldName(STATUS_CODE);
+            gen.writeString(refund.getStatusCode());
+            gen.writeFieldName(TRANSACTION_SIGNATURE);
+            gen.writeString(refund.getTransactionSignature());
+            gen.writeFieldName(TRANSACTION_DENOM);
+            gen.writeString(refund.getTransactionDenom());
+            gen.writeFieldName(TRANSACTION_UUID);
+            gen.writeString(refund.getTransactionUuid());
+            gen.writeFieldName(AVATAR);
+            gen.writeString(refund.getAvatar());
+            gen.writeFieldName(TRANSACTION_DESCRIPTION);
+            gen.writeString(refund.getTransactionDescription());
+            gen.writeFieldName(TRANSACTION_UPDATED_AT);
+            gen.writeString(refund.getTransactionUpdatedAt());
+            gen.writeFieldName(LASTNAME);
+            gen.writeString(refund.getLastname());
+            gen.writeFieldName(NAME);
+            gen.writeString(refund.getName());
+            gen.writeFieldName(STATUS_DENOM);
+            gen.writeString(refund.getStatusDenom());
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(refund.getCurrency());
+            gen.writeFieldName(TRANSACTION_CREATED_AT);
+            gen.writeString(refund.getTransactionCreatedAt());
+            gen.writeFieldName(INVOICE_NUMBER);
+            gen.writeNumber(refund.getInvoiceNumberAsLong());
+            gen.writeFieldName(ITEMS);
+            CodecSupport.writeList(refund.getItems(), gen, provider, Item.Serializer.INSTANCE);
+            gen.writeFieldName(TERMINAL_ID);
+            gen.writeNumber(refund.getTerminalIdAsLong());
+            gen.writeFieldName(USERNAME);
+            gen.writeString(refund.getUsername());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class PaymentRefundDeserializer extends StdDeserializer<ListRefundsResponse.Refund> {
+        static final PaymentRefundDeserializer INSTANCE = new PaymentRefundDeserializer();
+
+        private PaymentRefundDeserializer() {
+            super(ListRefundsResponse.Refund.class);
+        }
+
+        @Override
+        public ListRefundsResponse.Refund deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (ListRefundsResponse.Refund) ctxt.handleUnexpectedToken(ListRefundsResponse.Refund.class, p);
+            }
+            ListRefundsResponse.Refund refund = new ListRefundsResponse.Refund();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "transactionCode":
+                        refund.setTransactionCode(CodecSupport.readInt(p, ctxt));
+                        break;
+                    case "amount":
+                        refund.setAmount(CodecSupport.readValue(p, ctxt, Amount.Deserializer.INSTANCE));
+                        break;
+                    case "statusCode":
+                        refund.setStatusCode(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionSignature":
+                        refund.setTransactionSignature(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionDenom":
+                        refund.setTransactionDenom(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUuid":
+                        refund.setTransactionUuid(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "avatar":
+                        refund.setAvatar(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionDescription":
+                        refund.setTransactionDescription(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionUpdatedAt":
+                        refund.setTransactionUpdatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "lastname":
+                        refund.setLastname(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "name":
+                        refund.setName(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "statusDenom":
+                        refund.setStatusDenom(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "currency":
+                        refund.setCurrency(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "transactionCreatedAt":
+                        refund.setTransactionCreatedAt(CodecSupport.readText(p, ctxt));
+                        break;
+                    case "invoiceNumber":
+                        refund.setInvoiceNumberAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "items":
+                        refund.setItems(CodecSupport.readList(p, ctxt, Item.Deserializer.INSTANCE));
+                        break;
+                    case "terminalId":
+                        refund.setTerminalIdAsLong(CodecSupport.readLong(p, ctxt));
+                        break;
+                    case "username":
+                        refund.setUsername(CodecSupport.readText(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, refund, field);
+                }
+            }
+            return refund;
+        }
+    }
+
+    private static final class ListRefundsSerializer extends StdSerializer<ListRefundsResponse> {
+        static final ListRefundsSerializer INSTANCE = new ListRefundsSerializer();
+
+        private ListRefundsSerializer() {
+            super(ListRefundsResponse.class);
+        }
+
+        @Override
+        public void serialize(ListRefundsResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(REFUNDS);
+            CodecSupport.writeList(response.getRefunds(), gen, provider, PaymentRefundSerializer.INSTANCE);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class ListRefundsDeserializer extends StdDeserializer<ListRefundsResponse> {
+        static final ListRefundsDeserializer INSTANCE = new ListRefundsDeserializer();
+
+        private ListRefundsDeserializer() {
+            super(ListRefundsResponse.class);
+        }
+
+        @Override
+        public ListRefundsResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!CodecSupport.isObject(p)) {
+                return (ListRefundsResponse) ctxt.handleUnexpectedToken(ListRefundsResponse.class, p);
+            }
+            ListRefundsResponse response = new ListRefundsResponse();
+            for (String field = CodecSupport.firstFieldName(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "refunds":
+                        response.setRefunds(CodecSupport.readList(p, ctxt, PaymentRefundDeserializer.INSTANCE));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, response, field);
+                }
+            }
+            return response;
+        }
+    }
+}
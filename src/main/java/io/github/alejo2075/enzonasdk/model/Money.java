@@ -0,0 +1,345 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact amount of money with two decimal places, held as a number of minor units (cents).
+ *
+ * <p>The amount fields of the request and response models store minor units, read straight from the decimal digits
+ * of the JSON document and written back as the same decimal string, e.g. {@code 12.50}, so amounts never go through
+ * binary floating point. Every amount field {@code x} has a {@code getXMoney()} accessor next to the historical
+ * {@code double} one, which remains as a convenience; mutable models also have {@code setXMoney(Money)}, and the
+ * builders of the immutable {@link Amount} and {@link Item} accept either type.</p>
+ *
+ * <p>Amounts with more than two decimal places are rounded to the nearest cent with {@link #ROUNDING}, half-up,
+ * whether they are read from JSON, passed to {@link #of(String)} or {@link #of(BigDecimal)}, or set through a
+ * {@code double} accessor: {@code 12.345} becomes {@code 12.35} and {@code -12.345} becomes {@code -12.35}. A
+ * {@code double} is rounded by its shortest decimal representation, so {@code 1.005} becomes {@code 1.01} even though
+ * the closest binary value is slightly below it.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Money total = details.getAmount().getTotalMoney();
+ * Money refunded = Money.of("10.00");
+ * if (total.compareTo(refunded) &gt; 0) { ... }
+ * </pre>
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * The number of decimal places of every amount.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Zero.
+     */
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * How amounts with more than two decimal places are rounded to the nearest cent.
+     */
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    private static final long MINOR_PER_UNIT = 100;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Returns the amount of the given number of minor units.
+     *
+     * @param minorUnits the amount in cents, e.g. {@code 1250} for 12.50.
+     * @return the amount.
+     */
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Parses a decimal amount such as {@code "12.5"} or {@code "-0.25"}, rounding it to the nearest cent.
+     *
+     * @param decimal the amount.
+     * @return the amount.
+     * @throws NumberFormatException if the text is not a decimal number.
+     * @throws ArithmeticException if the amount does not fit.
+     */
+    public static Money of(String decimal) {
+        return of(new BigDecimal(decimal));
+    }
+
+    /**
+     * Converts a decimal amount, rounding it to the nearest cent.
+     *
+     * @param decimal the amount.
+     * @return the amount.
+     * @throws ArithmeticException if the amount does not fit.
+     */
+    public static Money of(BigDecimal decimal) {
+        return ofMinorUnits(toMinorUnits(decimal));
+    }
+
+    /**
+     * Returns the number of minor units.
+     *
+     * @return the amount in cents.
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Converts the amount into a {@link BigDecimal} with a scale of two.
+     *
+     * @return the exact amount.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Returns the closest {@code double} to the amount.
+     *
+     * @return the amount as a floating point number.
+     */
+    public double doubleValue() {
+        return toDouble(minorUnits);
+    }
+
+    /**
+     * Adds an amount.
+     *
+     * @param other the amount to add.
+     * @return the sum.
+     * @throws ArithmeticException if the sum overflows.
+     */
+    public Money plus(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Subtracts an amount.
+     *
+     * @param other the amount to subtract.
+     * @return the difference.
+     * @throws ArithmeticException if the difference overflows.
+     */
+    public Money minus(Money other) {
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Returns the sign of the amount.
+     *
+     * @return -1, 0 or 1 as the amount is negative, zero or positive.
+     */
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * Formats the amount with exactly two decimal places, as it is sent to the API.
+     *
+     * @return the amount, e.g. {@code 12.50}.
+     */
+    @Override
+    public String toString() {
+        return format(minorUnits);
+    }
+
+    /**
+     * Rounds a floating point amount to the nearest number of minor units, going through its shortest decimal
+     * representation as {@link BigDecimal#valueOf(double)} does.
+     *
+     * @param value the amount.
+     * @return the amount in cents.
+     * @throws NumberFormatException if the value is infinite or NaN.
+     * @throws ArithmeticException if the amount does not fit.
+     */
+    public static long toMinorUnits(double value) {
+        return toMinorUnits(BigDecimal.valueOf(value));
+    }
+
+    private static long toMinorUnits(BigDecimal decimal) {
+        return decimal.setScale(SCALE, ROUNDING).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a number of minor units into the closest {@code double}.
+     *
+     * @param minorUnits the amount in cents.
+     * @return the amount as a floating point number.
+     */
+    public static double toDouble(long minorUnits) {
+        return minorUnits / (double) MINOR_PER_UNIT;
+    }
+
+    /**
+     * Converts an amount into minor units, treating null as zero.
+     *
+     * @param money the amount, or null.
+     * @return the amount in cents.
+     */
+    public static long toMinorUnits(Money money) {
+        return money == null ? 0 : money.minorUnits;
+    }
+
+    private static String format(long minorUnits) {
+        char[] text = new char[24];
+        return new String(text, 0, format(minorUnits, text));
+    }
+
+    /**
+     * Formats minor units into {@code text}, which must hold 24 characters.
+     *
+     * @return the number of characters written.
+     */
+    private static int format(long minorUnits, char[] text) {
+        long units = Math.abs(minorUnits / MINOR_PER_UNIT);
+        int cents = (int) Math.abs(minorUnits % MINOR_PER_UNIT);
+        int end = text.length;
+        text[--end] = (char) ('0' + cents % 10);
+        text[--end] = (char) ('0' + cents / 10);
+        text[--end] = '.';
+        do {
+            text[--end] = (char) ('0' + units % 10);
+            units /= 10;
+        } while (units != 0);
+        if (minorUnits < 0) {
+            text[--end] = '-';
+        }
+        int length = text.length - end;
+        System.arraycopy(text, end, text, 0, length);
+        return length;
+    }
+
+    /**
+     * Writes minor units as a decimal JSON number with two decimal places.
+     */
+    static void write(long minorUnits, JsonGenerator gen) throws IOException {
+        char[] text = new char[24];
+        gen.writeNumber(text, 0, format(minorUnits, text));
+    }
+
+    /**
+     * Reads a decimal JSON number, or a string holding one, into minor units; {@code null} reads as zero.
+     */
+    static long read(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == JsonParser.NumberType.INT) {
+            return p.getIntValue() * MINOR_PER_UNIT;
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                || token == JsonToken.VALUE_STRING) {
+            try {
+                return parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            } catch (NumberFormatException | ArithmeticException e) {
+                return (Long) ctxt.handleWeirdStringValue(Long.class, p.getText(), "not a valid amount");
+            }
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+    }
+
+    /**
+     * Parses the decimal digits of a JSON number or string into minor units without allocating. Falls back to
+     * {@link BigDecimal} for exponents and for amounts with more than two decimal places, which it rounds.
+     */
+    private static long parse(char[] text, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (i < end && (text[i] == '-' || text[i] == '+')) {
+            negative = text[i] == '-';
+            i++;
+        }
+        long units = 0;
+        int digits = 0;
+        while (i < end && text[i] >= '0' && text[i] <= '9' && digits < 16) {
+            units = units * 10 + (text[i++] - '0');
+            digits++;
+        }
+        int cents = 0;
+        int decimals = 0;
+        if (i < end && text[i] == '.') {
+            i++;
+            while (i < end && text[i] >= '0' && text[i] <= '9' && decimals < SCALE) {
+                cents = cents * 10 + (text[i++] - '0');
+                decimals++;
+            }
+        }
+        if (i != end || digits == 0 && decimals == 0) {
+            return toMinorUnits(new BigDecimal(text, offset, length));
+        }
+        if (decimals == 1) {
+            cents *= 10;
+        }
+        long minorUnits = units * MINOR_PER_UNIT + cents;
+        return negative ? -minorUnits : minorUnits;
+    }
+
+    /**
+     * Writes a {@code long} field holding minor units as a decimal JSON number with two decimal places.
+     */
+    public static final class Serializer extends StdSerializer<Long> {
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long minorUnits, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(minorUnits, gen);
+        }
+    }
+
+    /**
+     * Reads a decimal JSON number, or a string holding one, into a {@code long} field holding minor units.
+     */
+    public static final class Deserializer extends StdDeserializer<Long> {
+
+        public Deserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return read(p, ctxt);
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext ctxt) {
+            return 0L;
+        }
+    }
+}
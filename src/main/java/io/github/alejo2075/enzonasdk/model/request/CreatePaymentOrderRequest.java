@@ -1,11 +1,35 @@
 package io.github.alejo2075.enzonasdk.model.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.alejo2075.enzonasdk.model.Money;
+import io.github.alejo2075.enzonasdk.model.MoneyField;
 import lombok.Data;
 
 @Data
 public class CreatePaymentOrderRequest {
     private long merchantOpId;
-    private double amount;
+    @MoneyField
+    private long amount;
     private String description;
     private String currency;
+
+    @JsonIgnore
+    public double getAmount() {
+        return Money.toDouble(amount);
+    }
+
+    @JsonIgnore
+    public void setAmount(double amount) {
+        this.amount = Money.toMinorUnits(amount);
+    }
+
+    @JsonIgnore
+    public Money getAmountMoney() {
+        return Money.ofMinorUnits(amount);
+    }
+
+    @JsonIgnore
+    public void setAmountMoney(Money amount) {
+        this.amount = Money.toMinorUnits(amount);
+    }
 }
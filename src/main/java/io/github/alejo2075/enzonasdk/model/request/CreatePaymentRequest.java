@@ -1,5 +1,7 @@
 package io.github.alejo2075.enzonasdk.model.request;
 
+import io.github.alejo2075.enzonasdk.model.Amount;
+import io.github.alejo2075.enzonasdk.model.Item;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,34 +23,5 @@ public class CreatePaymentRequest {
     private String cancelUrl;
     private String buyerIdentityCode;
     private long terminalId;
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Amount {
-        private double total;
-        private Details details;
-
-        @Getter
-        @Setter
-        @NoArgsConstructor
-        public static class Details {
-            private double shipping;
-            private double discount;
-            private double tax;
-            private double tip;
-        }
-    }
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Item {
-        private int quantity;
-        private double price;
-        private String name;
-        private String description;
-        private double tax;
-    }
 }
 
@@ -1,5 +1,8 @@
 package io.github.alejo2075.enzonasdk.model.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.alejo2075.enzonasdk.model.Money;
+import io.github.alejo2075.enzonasdk.model.MoneyField;
 import lombok.Data;
 import java.util.List;
 
@@ -18,15 +21,78 @@ public class PayProductRequest {
 
     @Data
     public static class Amount {
-        private double total;
-        private double shipping;
+        @MoneyField
+        private long total;
+        @MoneyField
+        private long shipping;
+
+        @JsonIgnore
+        public double getTotal() {
+            return Money.toDouble(total);
+        }
+
+        @JsonIgnore
+        public void setTotal(double total) {
+            this.total = Money.toMinorUnits(total);
+        }
+
+        @JsonIgnore
+        public Money getTotalMoney() {
+            return Money.ofMinorUnits(total);
+        }
+
+        @JsonIgnore
+        public void setTotalMoney(Money total) {
+            this.total = Money.toMinorUnits(total);
+        }
+
+        @JsonIgnore
+        public double getShipping() {
+            return Money.toDouble(shipping);
+        }
+
+        @JsonIgnore
+        public void setShipping(double shipping) {
+            this.shipping = Money.toMinorUnits(shipping);
+        }
+
+        @JsonIgnore
+        public Money getShippingMoney() {
+            return Money.ofMinorUnits(shipping);
+        }
+
+        @JsonIgnore
+        public void setShippingMoney(Money shipping) {
+            this.shipping = Money.toMinorUnits(shipping);
+        }
     }
 
     @Data
     public static class Item {
         private int quantity;
-        private double price;
+        @MoneyField
+        private long price;
         private String productId;
         private String productName;
+
+        @JsonIgnore
+        public double getPrice() {
+            return Money.toDouble(price);
+        }
+
+        @JsonIgnore
+        public void setPrice(double price) {
+            this.price = Money.toMinorUnits(price);
+        }
+
+        @JsonIgnore
+        public Money getPriceMoney() {
+            return Money.ofMinorUnits(price);
+        }
+
+        @JsonIgnore
+        public void setPriceMoney(Money price) {
+            this.price = Money.toMinorUnits(price);
+        }
     }
 }
@@ -1,5 +1,7 @@
 package io.github.alejo2075.enzonasdk.model.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.alejo2075.enzonasdk.model.Money;
 import lombok.Data;
 
 @Data
@@ -12,5 +14,15 @@ public class RefundPaymentRequest {
     @Data
     public static class Amount {
         private String total;
+
+        @JsonIgnore
+        public Money getTotalMoney() {
+            return total == null ? null : Money.of(total);
+        }
+
+        @JsonIgnore
+        public void setTotalMoney(Money total) {
+            this.total = total == null ? null : total.toString();
+        }
     }
 }
@@ -1,5 +1,8 @@
 package io.github.alejo2075.enzonasdk.model.response;
 
+import io.github.alejo2075.enzonasdk.model.Amount;
+import io.github.alejo2075.enzonasdk.model.Item;
+import io.github.alejo2075.enzonasdk.model.Link;
 import lombok.Data;
 import java.util.List;
 
@@ -18,35 +21,5 @@ public class CompletePaymentResponse {
     private String invoiceNumber;
     private List<Item> items;
     private String terminalId;
-
-    @Data
-    public static class Amount {
-        private double total;
-        private Details details;
-
-        @Data
-        public static class Details {
-            private double shipping;
-            private double discount;
-            private double tax;
-            private double tip;
-        }
-    }
-
-    @Data
-    public static class Link {
-        private String method;
-        private String rel;
-        private String href;
-    }
-
-    @Data
-    public static class Item {
-        private int quantity;
-        private double price;
-        private String name;
-        private String description;
-        private double tax;
-    }
 }
 
@@ -1,5 +1,10 @@
 package io.github.alejo2075.enzonasdk.model.response;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.alejo2075.enzonasdk.model.Amount;
+import io.github.alejo2075.enzonasdk.model.InvoiceReference;
+import io.github.alejo2075.enzonasdk.model.Item;
+import io.github.alejo2075.enzonasdk.model.Link;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -9,7 +14,7 @@ import java.util.List;
 @Getter
 @Setter
 @NoArgsConstructor
-public class CreatePaymentOrderResponse {
+public class CreatePaymentOrderResponse implements InvoiceReference {
     private Amount amount;
     private String statusCode;
     private String createdAt;
@@ -20,45 +25,9 @@ public class CreatePaymentOrderResponse {
     private String statusDenom;
     private String currency;
     private List<Link> links;
-    private double invoiceNumber;
+    @JsonProperty("invoiceNumber")
+    private long invoiceNumberAsLong;
     private List<Item> items;
-    private double terminalId;
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Amount {
-        private double total;
-        private Details details;
-
-        @Getter
-        @Setter
-        @NoArgsConstructor
-        public static class Details {
-            private double shipping;
-            private double discount;
-            private double tax;
-            private double tip;
-        }
-    }
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Link {
-        private String method;
-        private String rel;
-        private String href;
-    }
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Item {
-        private int quantity;
-        private double price;
-        private String name;
-        private String description;
-        private double tax;
-    }
+    @JsonProperty("terminalId")
+    private long terminalIdAsLong;
 }
@@ -1,5 +1,8 @@
 package io.github.alejo2075.enzonasdk.model.response;
 
+import io.github.alejo2075.enzonasdk.model.Amount;
+import io.github.alejo2075.enzonasdk.model.Item;
+import io.github.alejo2075.enzonasdk.model.Link;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -22,42 +25,4 @@ public class PaymentDetailsResponse {
     private String invoiceNumber;
     private List<Item> items;
     private String terminalId;
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Amount {
-        private double total;
-        private Details details;
-
-        @Getter
-        @Setter
-        @NoArgsConstructor
-        public static class Details {
-            private double shipping;
-            private double discount;
-            private double tax;
-            private double tip;
-        }
-    }
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Link {
-        private String method;
-        private String rel;
-        private String href;
-    }
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Item {
-        private int quantity;
-        private double price;
-        private String name;
-        private String description;
-        private double tax;
-    }
 }
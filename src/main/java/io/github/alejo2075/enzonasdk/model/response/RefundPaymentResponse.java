@@ -1,5 +1,6 @@
 package io.github.alejo2075.enzonasdk.model.response;
 
+import io.github.alejo2075.enzonasdk.model.Link;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -19,13 +20,4 @@ public class RefundPaymentResponse {
     private List<Link> links;
     private String state;
     private String uuid;
-
-    @Getter
-    @Setter
-    @NoArgsConstructor
-    public static class Link {
-        private String method;
-        private String rel;
-        private String href;
-    }
 }
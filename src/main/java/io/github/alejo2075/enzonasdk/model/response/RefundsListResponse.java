@@ -1,5 +1,9 @@
 package io.github.alejo2075.enzonasdk.model.response;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.alejo2075.enzonasdk.model.Amount;
+import io.github.alejo2075.enzonasdk.model.InvoiceReference;
+import io.github.alejo2075.enzonasdk.model.Item;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,7 +18,7 @@ public class RefundsListResponse {
     @Getter
     @Setter
     @NoArgsConstructor
-    public static class Refund {
+    public static class Refund implements InvoiceReference {
         private int transactionCode;
         private Amount amount;
         private String statusCode;
@@ -29,40 +33,11 @@ public class RefundsListResponse {
         private String statusDenom;
         private String currency;
         private String transactionCreatedAt;
-        private double invoiceNumber;
+        @JsonProperty("invoiceNumber")
+        private long invoiceNumberAsLong;
         private List<Item> items;
-        private double terminalId;
+        @JsonProperty("terminalId")
+        private long terminalIdAsLong;
         private String username;
-
-        @Getter
-        @Setter
-        @NoArgsConstructor
-        public static class Amount {
-            private double total;
-            private Details details;
-
-            @Getter
-            @Setter
-            @NoArgsConstructor
-            public static class Details {
-                private double shipping;
-                private double totalRefunded;
-                private double discount;
-                private double tax;
-                private double tip;
-                private double refunded;
-            }
-        }
-
-        @Getter
-        @Setter
-        @NoArgsConstructor
-        public static class Item {
-            private int quantity;
-            private double price;
-            private String name;
-            private String description;
-            private double tax;
-        }
     }
 }
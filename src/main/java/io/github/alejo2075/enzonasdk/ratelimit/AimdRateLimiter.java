@@ -0,0 +1,182 @@
+package io.github.alejo2075.enzonasdk.ratelimit;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Discovers how many concurrent requests the server accepts, using additive increase and multiplicative decrease.
+ *
+ * <p>Every accepted request raises the concurrency limit by {@code 1 / limit}, i.e. by about one per round of
+ * requests. Every throttling response multiplies it by the backoff ratio and pauses admissions until the
+ * {@code Retry-After} delay, or the default backoff when the server sent none, has passed. The limit therefore
+ * settles just below the point where the server starts throttling, without needing to know its quota.
+ * Callers that cannot be admitted within the queue timeout fail with an
+ * {@link io.github.alejo2075.enzonasdk.exception.EnzonaException}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * RateLimiter limiter = AimdRateLimiter.builder()
+ *         .initialLimit(10)
+ *         .maxLimit(100)
+ *         .build();
+ * </pre>
+ */
+public final class AimdRateLimiter extends BlockingRateLimiter {
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private double limit;
+
+    private AimdRateLimiter(Builder builder) {
+        super(builder.queueTimeout, builder.defaultBackoff);
+        if (builder.minLimit > builder.maxLimit) {
+            throw new IllegalArgumentException("minLimit must not exceed maxLimit");
+        }
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, builder.initialLimit));
+    }
+
+    /**
+     * Starts building an adaptive limiter.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the number of requests currently allowed in flight at once.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    long admissionDelay(long now, int inFlight) {
+        return inFlight < (int) limit ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    void onAdmitted() {
+    }
+
+    @Override
+    void onResponse(boolean throttled) {
+        limit = throttled
+                ? Math.max(minLimit, limit * backoffRatio)
+                : Math.min(maxLimit, limit + 1 / limit);
+    }
+
+    /**
+     * Builder for {@link AimdRateLimiter}.
+     */
+    public static class Builder {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.5;
+        private Duration queueTimeout = Duration.ofSeconds(5);
+        private Duration defaultBackoff = Duration.ofSeconds(1);
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the concurrency limit used until the first responses arrive. Defaults to 20.
+         *
+         * @param initialLimit the starting number of concurrent requests.
+         * @return this builder.
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = requirePositive(initialLimit, "initialLimit");
+            return this;
+        }
+
+        /**
+         * Sets the limit below which throttling responses no longer reduce concurrency. Defaults to 1.
+         *
+         * @param minLimit the smallest concurrency limit.
+         * @return this builder.
+         */
+        public Builder minLimit(int minLimit) {
+            this.minLimit = requirePositive(minLimit, "minLimit");
+            return this;
+        }
+
+        /**
+         * Sets the limit above which successful responses no longer raise concurrency. Defaults to 200,
+         * the default size of the connection pool.
+         *
+         * @param maxLimit the largest concurrency limit.
+         * @return this builder.
+         */
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = requirePositive(maxLimit, "maxLimit");
+            return this;
+        }
+
+        /**
+         * Sets the factor applied to the limit after a throttling response. Defaults to 0.5.
+         *
+         * @param backoffRatio a factor strictly between 0 and 1.
+         * @return this builder.
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for admission before failing. Defaults to 5 seconds.
+         *
+         * @param queueTimeout the maximum time to wait for a permit.
+         * @return this builder.
+         */
+        public Builder queueTimeout(Duration queueTimeout) {
+            this.queueTimeout = Objects.requireNonNull(queueTimeout);
+            return this;
+        }
+
+        /**
+         * Sets how long admissions are paused after a throttling response without a {@code Retry-After} header.
+         * Defaults to 1 second.
+         *
+         * @param defaultBackoff the pause applied when the server does not say how long to wait.
+         * @return this builder.
+         */
+        public Builder defaultBackoff(Duration defaultBackoff) {
+            this.defaultBackoff = Objects.requireNonNull(defaultBackoff);
+            return this;
+        }
+
+        /**
+         * Builds the limiter.
+         *
+         * @return a new {@link AimdRateLimiter}.
+         */
+        public AimdRateLimiter build() {
+            return new AimdRateLimiter(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package io.github.alejo2075.enzonasdk.ratelimit;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared machinery of the blocking limiters: a bounded number of requests in flight, a queue timeout for callers
+ * waiting for admission, and a pause of all admissions after the server throttles a request.
+ *
+ * <p>All state is guarded by a {@link ReentrantLock} rather than a monitor, so virtual threads waiting for a permit
+ * do not pin their carrier threads. The lock is never held while a request is on the wire.</p>
+ *
+ * <p>{@link #acquireAsync(Executor)} does not hold a thread while it waits: its callers queue up in arrival order and
+ * are admitted when a permit is returned or, through a single timer, when tokens are refilled, a throttling pause
+ * ends or the queue timeout of the oldest caller expires.</p>
+ */
+abstract class BlockingRateLimiter implements RateLimiter, RateLimiter.Permit {
+
+    final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition admissionChanged = lock.newCondition();
+    private final long queueTimeoutNanos;
+    private final long defaultBackoffNanos;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int inFlight;
+    private long pausedUntil;
+    private boolean paused;
+    private long wakeupAt;
+    private boolean wakeupScheduled;
+
+    BlockingRateLimiter(Duration queueTimeout, Duration defaultBackoff) {
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.defaultBackoffNanos = defaultBackoff.toNanos();
+    }
+
+    @Override
+    public Permit acquire() throws EnzonaException {
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    long delay = delay(now);
+                    if (delay == 0) {
+                        admit();
+                        return this;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        throw timeout();
+                    }
+                    admissionChanged.awaitNanos(Math.min(delay, remaining));
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnzonaException("Interrupted while waiting for a rate limit permit", e);
+        }
+    }
+
+    /**
+     * Obtains a permit without holding a thread while waiting. Callers are admitted in the order they asked, and the
+     * permit is handed over on {@code executor}.
+     *
+     * @param executor the executor completing the future once the permit is granted.
+     * @return a future completed with the permit, or exceptionally with an {@link EnzonaException} if none is granted
+     * within the queue timeout.
+     */
+    @Override
+    public CompletableFuture<Permit> acquireAsync(Executor executor) {
+        Waiter waiter;
+        List<Waiter> admitted = new ArrayList<>(1);
+        List<Waiter> expired = new ArrayList<>(1);
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (waiters.isEmpty() && delay(now) == 0) {
+                admit();
+                return CompletableFuture.completedFuture(this);
+            }
+            waiter = new Waiter(executor, now + queueTimeoutNanos);
+            waiters.add(waiter);
+            drain(now, admitted, expired);
+        } finally {
+            lock.unlock();
+        }
+        handOver(admitted, expired);
+        return waiter.future;
+    }
+
+    @Override
+    public void success() {
+        complete(false, null);
+    }
+
+    @Override
+    public void throttled(Duration retryAfter) {
+        complete(true, retryAfter);
+    }
+
+    @Override
+    public void release() {
+        List<Waiter> admitted = new ArrayList<>(1);
+        List<Waiter> expired = new ArrayList<>(1);
+        lock.lock();
+        try {
+            inFlight--;
+            admissionChanged.signalAll();
+            drain(System.nanoTime(), admitted, expired);
+        } finally {
+            lock.unlock();
+        }
+        handOver(admitted, expired);
+    }
+
+    /**
+     * Returns the number of requests currently holding a permit.
+     *
+     * @return the number of requests in flight.
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells how long a caller must wait before it may be admitted, ignoring any throttling pause. Called with the lock held.
+     *
+     * @param now the current {@link System#nanoTime()}.
+     * @param inFlight the number of requests currently holding a permit.
+     * @return zero to admit now, otherwise the number of nanoseconds after which to check again; callers are also
+     * woken whenever a permit is returned.
+     */
+    abstract long admissionDelay(long now, int inFlight);
+
+    /**
+     * Records the admission of a request. Called with the lock held.
+     */
+    abstract void onAdmitted();
+
+    /**
+     * Adjusts the limiter after the server answered a request. Called with the lock held.
+     *
+     * @param throttled whether the server throttled the request.
+     */
+    abstract void onResponse(boolean throttled);
+
+    private void complete(boolean throttled, Duration retryAfter) {
+        List<Waiter> admitted = new ArrayList<>(1);
+        List<Waiter> expired = new ArrayList<>(1);
+        lock.lock();
+        try {
+            inFlight--;
+            onResponse(throttled);
+            if (throttled) {
+                long until = System.nanoTime() + (retryAfter != null ? retryAfter.toNanos() : defaultBackoffNanos);
+                if (!paused || until - pausedUntil > 0) {
+                    pausedUntil = until;
+                    paused = true;
+                }
+            }
+            admissionChanged.signalAll();
+            drain(System.nanoTime(), admitted, expired);
+        } finally {
+            lock.unlock();
+        }
+        handOver(admitted, expired);
+    }
+
+    /**
+     * Tells how long a caller must wait before it may be admitted, including any throttling pause. Called with the
+     * lock held.
+     */
+    private long delay(long now) {
+        if (paused && now - pausedUntil < 0) {
+            return pausedUntil - now;
+        }
+        paused = false;
+        return admissionDelay(now, inFlight);
+    }
+
+    private void admit() {
+        inFlight++;
+        onAdmitted();
+    }
+
+    /**
+     * Admits queued callers from the head while permits are available, drops the ones that timed out or gave up, and
+     * schedules a wake-up for the next time the head could be admitted or expires. Called with the lock held.
+     */
+    private void drain(long now, List<Waiter> admitted, List<Waiter> expired) {
+        while (!waiters.isEmpty()) {
+            Waiter head = waiters.peek();
+            if (head.future.isDone()) {
+                waiters.poll();
+                continue;
+            }
+            long delay = delay(now);
+            if (delay == 0) {
+                waiters.poll();
+                admit();
+                admitted.add(head);
+                continue;
+            }
+            long remaining = head.deadline - now;
+            if (remaining <= 0) {
+                waiters.poll();
+                expired.add(head);
+                continue;
+            }
+            // Waiters share the queue timeout, so the head is also the first to expire
+            scheduleWakeup(now + Math.min(delay, remaining), head.executor);
+            return;
+        }
+    }
+
+    private void scheduleWakeup(long at, Executor executor) {
+        if (wakeupScheduled && at - wakeupAt >= 0) {
+            return;
+        }
+        wakeupAt = at;
+        wakeupScheduled = true;
+        Executor delayed = CompletableFuture.delayedExecutor(Math.max(0, at - System.nanoTime()), TimeUnit.NANOSECONDS, executor);
+        delayed.execute(this::wakeUp);
+    }
+
+    private void wakeUp() {
+        List<Waiter> admitted = new ArrayList<>(1);
+        List<Waiter> expired = new ArrayList<>(1);
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (wakeupScheduled && now - wakeupAt >= 0) {
+                wakeupScheduled = false;
+            }
+            drain(now, admitted, expired);
+        } finally {
+            lock.unlock();
+        }
+        handOver(admitted, expired);
+    }
+
+    /**
+     * Completes the futures of admitted and expired callers outside the lock, on their executors. A permit whose
+     * caller gave up in the meantime is returned.
+     */
+    private void handOver(List<Waiter> admitted, List<Waiter> expired) {
+        for (Waiter waiter : admitted) {
+            Runnable grant = () -> {
+                if (!waiter.future.complete(this)) {
+                    release();
+                }
+            };
+            try {
+                waiter.executor.execute(grant);
+            } catch (RejectedExecutionException e) {
+                grant.run();
+            }
+        }
+        for (Waiter waiter : expired) {
+            waiter.future.completeExceptionally(timeout());
+        }
+    }
+
+    private EnzonaException timeout() {
+        return new EnzonaException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos)
+                + " ms waiting for a rate limit permit");
+    }
+
+    /**
+     * A caller of {@link #acquireAsync(Executor)} waiting for admission.
+     */
+    private static final class Waiter {
+        final CompletableFuture<Permit> future = new CompletableFuture<>();
+        final Executor executor;
+        final long deadline;
+
+        Waiter(Executor executor, long deadline) {
+            this.executor = executor;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.alejo2075.enzonasdk.ratelimit;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Decides when a request to an Enzona endpoint may be sent.
+ * Every request first takes a {@link Permit}, then reports through it how the server answered, so implementations
+ * can both cap the request rate and adapt to throttling responses.
+ *
+ * <p>Implementations must be thread safe. The SDK ships a fixed-rate {@link TokenBucketRateLimiter}, an adaptive
+ * {@link AimdRateLimiter} and the default {@link #unlimited()} limiter, which admits every request immediately.</p>
+ */
+public interface RateLimiter {
+
+    /**
+     * Waits until a request may be sent.
+     *
+     * @return the permit of the request; exactly one of its methods must be called once the response is known.
+     * @throws EnzonaException if no permit is granted within the limiter's queue timeout or the thread is interrupted.
+     */
+    Permit acquire() throws EnzonaException;
+
+    /**
+     * Obtains a permit without blocking the calling thread. The default implementation waits for
+     * {@link #acquire()} on the given executor, tying up one of its threads per waiting request; the limiters of the
+     * SDK override it to wait without holding a thread, and implementations that can wait should do the same.
+     *
+     * @param executor the executor on which to wait for the permit.
+     * @return a future completed with the permit, or exceptionally with an {@link EnzonaException}.
+     */
+    default CompletableFuture<Permit> acquireAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return acquire();
+            } catch (EnzonaException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns the limiter that admits every request immediately and ignores all feedback.
+     *
+     * @return the shared no-op limiter.
+     */
+    static RateLimiter unlimited() {
+        return UnlimitedRateLimiter.INSTANCE;
+    }
+
+    /**
+     * The admission of a single request. Exactly one of its methods must be called.
+     */
+    interface Permit {
+
+        /**
+         * Reports that the server accepted the request, whatever the status of its answer apart from throttling.
+         */
+        void success();
+
+        /**
+         * Reports that the server throttled the request with HTTP 429 or 503.
+         *
+         * @param retryAfter the delay requested by the server's {@code Retry-After} header, or null if it sent none.
+         */
+        void throttled(Duration retryAfter);
+
+        /**
+         * Returns the permit without feedback, e.g. when the request failed before reaching the server.
+         */
+        void release();
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.alejo2075.enzonasdk.ratelimit;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Admits requests at a fixed average rate, allowing short bursts, with a bound on the number of requests in flight.
+ *
+ * <p>The bucket holds up to {@code burst} tokens and is refilled continuously at {@code permitsPerSecond}; each
+ * request takes one token. When the server throttles a request, the bucket is emptied and no request is admitted
+ * until the {@code Retry-After} delay, or the default backoff when the server sent none, has passed. Callers that
+ * cannot be admitted within the queue timeout fail with an
+ * {@link io.github.alejo2075.enzonasdk.exception.EnzonaException}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * RateLimiter limiter = TokenBucketRateLimiter.builder(50)
+ *         .burst(100)
+ *         .maxConcurrent(32)
+ *         .build();
+ * </pre>
+ */
+public final class TokenBucketRateLimiter extends BlockingRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final int maxConcurrent;
+    private double tokens;
+    private long refilledAt;
+
+    private TokenBucketRateLimiter(Builder builder) {
+        super(builder.queueTimeout, builder.defaultBackoff);
+        this.permitsPerNano = builder.permitsPerSecond / 1_000_000_000d;
+        this.burst = builder.burst;
+        this.maxConcurrent = builder.maxConcurrent;
+        this.tokens = builder.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Starts building a limiter admitting {@code permitsPerSecond} requests per second on average.
+     *
+     * @param permitsPerSecond the sustained request rate, must be positive.
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder(double permitsPerSecond) {
+        return new Builder(permitsPerSecond);
+    }
+
+    /**
+     * Returns the sustained request rate of this limiter.
+     *
+     * @return the number of requests admitted per second on average.
+     */
+    public double getPermitsPerSecond() {
+        return permitsPerNano * 1_000_000_000d;
+    }
+
+    @Override
+    long admissionDelay(long now, int inFlight) {
+        if (inFlight >= maxConcurrent) {
+            return Long.MAX_VALUE;
+        }
+        refill(now);
+        return tokens >= 1 ? 0 : Math.max(1, (long) Math.ceil((1 - tokens) / permitsPerNano));
+    }
+
+    @Override
+    void onAdmitted() {
+        tokens -= 1;
+    }
+
+    @Override
+    void onResponse(boolean throttled) {
+        if (throttled) {
+            refill(System.nanoTime());
+            tokens = 0;
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+
+    /**
+     * Builder for {@link TokenBucketRateLimiter}.
+     */
+    public static class Builder {
+        private final double permitsPerSecond;
+        private int burst = 1;
+        private int maxConcurrent = Integer.MAX_VALUE;
+        private Duration queueTimeout = Duration.ofSeconds(5);
+        private Duration defaultBackoff = Duration.ofSeconds(1);
+
+        private Builder(double permitsPerSecond) {
+            if (!(permitsPerSecond > 0)) {
+                throw new IllegalArgumentException("permitsPerSecond must be positive");
+            }
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        /**
+         * Sets how many requests may be sent back to back after an idle period. Defaults to 1.
+         *
+         * @param burst the capacity of the bucket.
+         * @return this builder.
+         */
+        public Builder burst(int burst) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("burst must be positive");
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests in flight at once. Unbounded by default.
+         *
+         * @param maxConcurrent the maximum number of concurrent requests.
+         * @return this builder.
+         */
+        public Builder maxConcurrent(int maxConcurrent) {
+            if (maxConcurrent <= 0) {
+                throw new IllegalArgumentException("maxConcurrent must be positive");
+            }
+            this.maxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for admission before failing. Defaults to 5 seconds.
+         *
+         * @param queueTimeout the maximum time to wait for a permit.
+         * @return this builder.
+         */
+        public Builder queueTimeout(Duration queueTimeout) {
+            this.queueTimeout = Objects.requireNonNull(queueTimeout);
+            return this;
+        }
+
+        /**
+         * Sets how long admissions are paused after a throttling response without a {@code Retry-After} header.
+         * Defaults to 1 second.
+         *
+         * @param defaultBackoff the pause applied when the server does not say how long to wait.
+         * @return this builder.
+         */
+        public Builder defaultBackoff(Duration defaultBackoff) {
+            this.defaultBackoff = Objects.requireNonNull(defaultBackoff);
+            return this;
+        }
+
+        /**
+         * Builds the limiter, starting with a full bucket.
+         *
+         * @return a new {@link TokenBucketRateLimiter}.
+         */
+        public TokenBucketRateLimiter build() {
+            return new TokenBucketRateLimiter(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.alejo2075.enzonasdk.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Admits every request immediately and ignores all feedback. Used for every family without a configured limiter,
+ * so the unthrottled path allocates nothing per request.
+ */
+final class UnlimitedRateLimiter implements RateLimiter, RateLimiter.Permit {
+
+    static final UnlimitedRateLimiter INSTANCE = new UnlimitedRateLimiter();
+
+    private UnlimitedRateLimiter() {
+    }
+
+    @Override
+    public Permit acquire() {
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<Permit> acquireAsync(Executor executor) {
+        return CompletableFuture.completedFuture(this);
+    }
+
+    @Override
+    public void success() {
+    }
+
+    @Override
+    public void throttled(Duration retryAfter) {
+    }
+
+    @Override
+    public void release() {
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.alejo2075.enzonasdk.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries to a fraction of the requests sent, so that retries cannot multiply the load on a server that is
+ * already failing.
+ *
+ * <p>Every first attempt deposits {@code ratio} of a token and every retry withdraws a whole token, with the balance
+ * capped at {@code maxTokens}. A budget with a ratio of 0.1 therefore allows about one retry per ten requests once its
+ * initial reserve of {@code maxTokens} is spent. Budgets are thread safe and lock free.</p>
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * Creates a budget.
+     *
+     * @param ratio the number of retries earned per request, between 0 and 1.
+     * @param maxTokens the number of retries that can be saved up, also the initial balance.
+     */
+    public RetryBudget(double ratio, int maxTokens) {
+        if (!(ratio >= 0 && ratio <= 1)) {
+            throw new IllegalArgumentException("ratio must be between 0 and 1");
+        }
+        if (maxTokens < 0) {
+            throw new IllegalArgumentException("maxTokens must not be negative");
+        }
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /**
+     * Returns a budget that never refuses a retry.
+     *
+     * @return an unlimited budget.
+     */
+    public static RetryBudget unlimited() {
+        return new RetryBudget(1, Integer.MAX_VALUE / (int) SCALE);
+    }
+
+    /**
+     * Records a first attempt, earning a fraction of a retry.
+     */
+    public void onRequest() {
+        if (depositPerRequest == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + depositPerRequest)));
+    }
+
+    /**
+     * Takes one retry from the budget if one is available.
+     *
+     * @return {@code true} if the retry may be attempted.
+     */
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * Returns the number of retries currently available.
+     *
+     * @return the whole tokens in the budget.
+     */
+    public long getAvailableRetries() {
+        return balance.get() / SCALE;
+    }
+}
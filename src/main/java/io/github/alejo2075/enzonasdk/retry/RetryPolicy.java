@@ -0,0 +1,236 @@
+package io.github.alejo2075.enzonasdk.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how often and after which delay a failed request is sent again.
+ *
+ * <p>Delays grow exponentially from {@code initialBackoff} by {@code multiplier} up to {@code maxBackoff}, and are
+ * randomised by the jitter factor so that clients failing together do not retry together. When the server sends a
+ * {@code Retry-After} header its delay is used instead; a requested delay longer than {@code maxBackoff} ends the
+ * retries. Retries are also refused once the shared {@link RetryBudget} is exhausted.</p>
+ *
+ * <p>The policy only says when a retry is allowed. Which failures may be retried depends on the operation: the SDK
+ * retries reads on any transient failure, but mutations only when the request provably had no effect.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * RetryPolicy policy = RetryPolicy.builder()
+ *         .maxAttempts(4)
+ *         .initialBackoff(Duration.ofMillis(200))
+ *         .build();
+ * </pre>
+ */
+public final class RetryPolicy {
+
+    private static final RetryPolicy DISABLED = builder().maxAttempts(1).build();
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final int[] retryableStatuses;
+    private final RetryBudget budget;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffNanos = builder.initialBackoff.toNanos();
+        this.maxBackoffNanos = builder.maxBackoff.toNanos();
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.retryableStatuses = builder.retryableStatuses.clone();
+        Arrays.sort(this.retryableStatuses);
+        this.budget = builder.budget != null ? builder.budget : new RetryBudget(0.1, 10);
+    }
+
+    /**
+     * Starts building a policy initialised with the defaults: 3 attempts, 100 ms initial backoff doubling up to
+     * 5 seconds with full jitter, retries on HTTP 429, 500, 502, 503 and 504, and a budget of one retry per ten requests.
+     *
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the policy used when none is configured, as built by {@link #builder()}.
+     *
+     * @return a new default policy with its own budget.
+     */
+    public static RetryPolicy defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Returns a policy that never retries.
+     *
+     * @return the shared single-attempt policy.
+     */
+    public static RetryPolicy disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns the maximum number of attempts per request, including the first one.
+     *
+     * @return the maximum number of attempts.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the budget shared by every request sent under this policy.
+     *
+     * @return the retry budget.
+     */
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Tells whether a response with the given status may be retried.
+     *
+     * @param statusCode the HTTP status of the response.
+     * @return {@code true} if the status denotes a transient failure.
+     */
+    public boolean isRetryableStatus(int statusCode) {
+        return Arrays.binarySearch(retryableStatuses, statusCode) >= 0;
+    }
+
+    /**
+     * Returns the delay before the given retry, or a negative value if the server asked for a longer delay than
+     * {@code maxBackoff} allows.
+     *
+     * @param retry the number of the retry, starting at 1 for the second attempt.
+     * @param retryAfter the delay requested by the server's {@code Retry-After} header, or null.
+     * @return the delay in nanoseconds, or a negative value if the request should not be retried.
+     */
+    public long delayNanos(int retry, Duration retryAfter) {
+        if (retryAfter != null) {
+            long requested = retryAfter.toNanos();
+            return requested <= maxBackoffNanos ? requested : -1;
+        }
+        double backoff = Math.min(maxBackoffNanos, initialBackoffNanos * Math.pow(multiplier, retry - 1));
+        return (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}.
+     */
+    public static class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+        private double multiplier = 2;
+        private double jitter = 1;
+        private int[] retryableStatuses = {429, 500, 502, 503, 504};
+        private RetryBudget budget;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of attempts per request, including the first one. Defaults to 3.
+         *
+         * @param maxAttempts the maximum number of attempts, 1 to disable retries.
+         * @return this builder.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry. Defaults to 100 milliseconds.
+         *
+         * @param initialBackoff the base delay.
+         * @return this builder.
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = Objects.requireNonNull(initialBackoff);
+            return this;
+        }
+
+        /**
+         * Sets the longest delay between two attempts, including delays requested through {@code Retry-After}.
+         * Defaults to 5 seconds.
+         *
+         * @param maxBackoff the maximum delay.
+         * @return this builder.
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = Objects.requireNonNull(maxBackoff);
+            return this;
+        }
+
+        /**
+         * Sets the factor by which the delay grows after each retry. Defaults to 2.
+         *
+         * @param multiplier a factor of at least 1.
+         * @return this builder.
+         */
+        public Builder multiplier(double multiplier) {
+            if (!(multiplier >= 1)) {
+                throw new IllegalArgumentException("multiplier must be at least 1");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of each delay that is randomised: 0 for fixed delays, 1 for delays drawn uniformly
+         * between zero and the exponential backoff. Defaults to 1.
+         *
+         * @param jitter a factor between 0 and 1.
+         * @return this builder.
+         */
+        public Builder jitter(double jitter) {
+            if (!(jitter >= 0 && jitter <= 1)) {
+                throw new IllegalArgumentException("jitter must be between 0 and 1");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP statuses treated as transient failures. Defaults to 429, 500, 502, 503 and 504.
+         *
+         * @param statusCodes the retryable statuses.
+         * @return this builder.
+         */
+        public Builder retryableStatuses(int... statusCodes) {
+            this.retryableStatuses = statusCodes.clone();
+            return this;
+        }
+
+        /**
+         * Sets the budget capping retries across all requests. Defaults to one retry per ten requests with a reserve
+         * of ten retries.
+         *
+         * @param budget the shared retry budget.
+         * @return this builder.
+         */
+        public Builder budget(RetryBudget budget) {
+            this.budget = Objects.requireNonNull(budget);
+            return this;
+        }
+
+        /**
+         * Builds the policy.
+         *
+         * @return a new {@link RetryPolicy}.
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
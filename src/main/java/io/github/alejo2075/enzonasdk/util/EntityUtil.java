@@ -0,0 +1,99 @@
+package io.github.alejo2075.enzonasdk.util;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Provides utility methods for reading HTTP response bodies that are only needed for error reporting.
+ * Error bodies are read up to a fixed number of bytes so a misbehaving server cannot make the SDK buffer
+ * an arbitrarily large payload just to build an exception message.
+ */
+public class EntityUtil {
+
+    /**
+     * Maximum number of bytes of an error body that are read and included in exception messages.
+     */
+    public static final int MAX_ERROR_BODY_BYTES = 8 * 1024;
+
+    private EntityUtil() {
+    }
+
+    /**
+     * Reads at most {@code maxBytes} of the entity's content and decodes them with the entity's charset,
+     * falling back to UTF-8. When the content is longer the rest is left unread and the stream open, so the
+     * caller must close the response, which then discards the connection instead of draining it.
+     *
+     * @param entity   the entity to read, may be null
+     * @param maxBytes the maximum number of bytes to read
+     * @return the decoded prefix of the content, followed by an ellipsis if it was truncated, or an empty
+     * string if there is no entity
+     * @throws IOException if the content cannot be read
+     */
+    public static String toBoundedString(HttpEntity entity, int maxBytes) throws IOException {
+        if (entity == null) {
+            return "";
+        }
+        Charset charset = ContentType.getOrDefault(entity).getCharset();
+        InputStream content = entity.getContent();
+        if (content == null) {
+            return "";
+        }
+        byte[] buffer = content.readNBytes(maxBytes + 1);
+        if (buffer.length <= maxBytes) {
+            content.close();
+        }
+        return decode(buffer, buffer.length, maxBytes, charset != null ? charset : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads at most {@code maxBytes + 1} bytes of the entity's content without decoding them, for exceptions that
+     * decode their body lazily. A result longer than {@code maxBytes} marks a truncated body, which
+     * {@link #toBoundedString(byte[], int)} renders with an ellipsis. As with {@link #toBoundedString(HttpEntity, int)},
+     * a truncated stream is left open for the caller to discard with the response.
+     *
+     * @param entity   the entity to read, may be null
+     * @param maxBytes the maximum number of bytes to keep
+     * @return the raw prefix of the content, or null if there is no entity
+     * @throws IOException if the content cannot be read
+     */
+    public static byte[] toBoundedBytes(HttpEntity entity, int maxBytes) throws IOException {
+        if (entity == null) {
+            return null;
+        }
+        InputStream content = entity.getContent();
+        if (content == null) {
+            return null;
+        }
+        byte[] buffer = content.readNBytes(maxBytes + 1);
+        if (buffer.length <= maxBytes) {
+            content.close();
+        }
+        return buffer;
+    }
+
+    /**
+     * Decodes at most {@code maxBytes} of an already buffered body as UTF-8.
+     *
+     * @param body     the body bytes, may be null
+     * @param maxBytes the maximum number of bytes to decode
+     * @return the decoded prefix of the body, followed by an ellipsis if it was truncated
+     */
+    public static String toBoundedString(byte[] body, int maxBytes) {
+        if (body == null) {
+            return "";
+        }
+        return decode(body, body.length, maxBytes, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(byte[] bytes, int length, int maxBytes, Charset charset) {
+        if (length <= maxBytes) {
+            return new String(bytes, 0, length, charset);
+        }
+        return new String(bytes, 0, maxBytes, charset) + "...";
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.alejo2075.enzonasdk.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Provides utility methods for interpreting HTTP response headers.
+ */
+public final class HeaderUtil {
+
+    private HeaderUtil() {
+    }
+
+    /**
+     * Parses the value of a {@code Retry-After} header, given either as a number of seconds or as an HTTP date.
+     *
+     * @param value the header value, may be null
+     * @param clock the clock against which an HTTP date is resolved
+     * @return the requested delay, never negative, or null if the value is absent or malformed
+     */
+    public static Duration parseRetryAfter(String value, Clock clock) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            // not delta-seconds, try an HTTP date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(clock.instant(), date.toInstant());
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -2,21 +2,81 @@ package io.github.alejo2075.enzonasdk.util;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.github.alejo2075.enzonasdk.exception.JsonProcessingException;
+import io.github.alejo2075.enzonasdk.model.ModelCodecs;
+
+import java.io.InputStream;
 
 /**
  * Provides utility methods for converting between JSON strings and Java objects.
- * This class configures the ObjectMapper to not fail on unknown properties and to format the JSON output.
+ * This class configures the ObjectMapper to not fail on unknown properties and writes compact JSON.
+ *
+ * <p>Readers and writers are resolved once per type and cached, so the hot path skips the per-call type lookup of
+ * {@link ObjectMapper}. Pretty-printed output can be enabled for debugging with {@link #setPrettyPrint(boolean)} or
+ * the {@code enzona.json.prettyPrint} system property.</p>
+ *
+ * <p>The shared model types and the payment requests and responses used most are read and written by the streaming
+ * codecs of {@link ModelCodecs} rather than through bean introspection. Setting the {@code enzona.json.codecs} system
+ * property to {@code false} falls back to introspection for every type.</p>
  *
  * <p>Exception handling is centralized via the JsonProcessingException, providing a clear protocol for error management across JSON processing tasks.</p>
  */
 public class JsonUtil {
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final boolean codecs = !"false".equalsIgnoreCase(System.getProperty("enzona.json.codecs"));
+
     static {
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+        if (codecs) {
+            objectMapper.registerModule(ModelCodecs.module());
+        }
+    }
+
+    private static final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return objectMapper.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return objectMapper.writerFor(type);
+        }
+    };
+
+    private static volatile boolean prettyPrint = Boolean.getBoolean("enzona.json.prettyPrint");
+
+    /**
+     * Enables or disables indented JSON output. Intended for debugging only; compact output is the default.
+     *
+     * @param enabled whether serialized JSON should be pretty-printed
+     */
+    public static void setPrettyPrint(boolean enabled) {
+        prettyPrint = enabled;
+    }
+
+    /**
+     * Tells whether serialized JSON is currently pretty-printed.
+     *
+     * @return {@code true} if pretty-printing is enabled
+     */
+    public static boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    /**
+     * Tells whether the streaming codecs of {@link ModelCodecs} are in use, as decided by the
+     * {@code enzona.json.codecs} system property when this class is loaded.
+     *
+     * @return {@code true} unless the property is {@code false}
+     */
+    public static boolean isCodecsEnabled() {
+        return codecs;
     }
 
     /**
@@ -30,7 +90,43 @@ public class JsonUtil {
      */
     public static <T> T fromJson(String json, Class<T> valueType) {
         try {
-            return objectMapper.readValue(json, valueType);
+            return readers.get(valueType).readValue(json);
+        } catch (Exception e) {
+            throw new JsonProcessingException("Failed to deserialize JSON to " + valueType.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Deserializes a JSON document read from a stream into an object of the specified Java class.
+     * The document is parsed as it arrives, without first being buffered into a {@link String}.
+     * The stream is closed once the document has been read.
+     *
+     * @param json      the stream providing the JSON document
+     * @param valueType the class of type T to which json is to be deserialized
+     * @param <T>       the type parameter indicating the type of the Java object to be returned
+     * @return an instance of {@code T} populated with data converted from the JSON document
+     * @throws JsonProcessingException if JSON to Java object deserialization fails
+     */
+    public static <T> T fromJson(InputStream json, Class<T> valueType) {
+        try {
+            return readers.get(valueType).readValue(json);
+        } catch (Exception e) {
+            throw new JsonProcessingException("Failed to deserialize JSON to " + valueType.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Deserializes a UTF-8 encoded JSON document into an object of the specified Java class.
+     *
+     * @param json      the JSON bytes to be deserialized
+     * @param valueType the class of type T to which json is to be deserialized
+     * @param <T>       the type parameter indicating the type of the Java object to be returned
+     * @return an instance of {@code T} populated with data converted from the JSON bytes
+     * @throws JsonProcessingException if JSON to Java object deserialization fails
+     */
+    public static <T> T fromJson(byte[] json, Class<T> valueType) {
+        try {
+            return readers.get(valueType).readValue(json);
         } catch (Exception e) {
             throw new JsonProcessingException("Failed to deserialize JSON to " + valueType.getSimpleName(), e);
         }
@@ -45,9 +141,65 @@ public class JsonUtil {
      */
     public static String toJson(Object value) {
         try {
-            return objectMapper.writeValueAsString(value);
+            return writerFor(value).writeValueAsString(value);
         } catch (Exception e) {
             throw new JsonProcessingException("Failed to serialize object to JSON", e);
         }
     }
+
+    /**
+     * Serializes an object into UTF-8 encoded JSON bytes, ready to be sent as a request body.
+     * Jackson encodes straight into its recycled buffers, so no intermediate {@link String} is created.
+     *
+     * @param value the Java object to be serialized
+     * @return the UTF-8 encoded JSON representation of {@code value}
+     * @throws JsonProcessingException if object to JSON serialization fails
+     */
+    public static byte[] toJsonBytes(Object value) {
+        try {
+            return writerFor(value).writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new JsonProcessingException("Failed to serialize object to JSON", e);
+        }
+    }
+
+    /**
+     * Serializes an object into compact UTF-8 encoded JSON bytes, ignoring {@link #setPrettyPrint(boolean)}, so the
+     * result always fits on a single line of a line-delimited file.
+     *
+     * @param value the Java object to be serialized
+     * @return the compact UTF-8 encoded JSON representation of {@code value}
+     * @throws JsonProcessingException if object to JSON serialization fails
+     */
+    public static byte[] toJsonLineBytes(Object value) {
+        try {
+            ObjectWriter writer = value == null ? objectMapper.writer() : writers.get(value.getClass());
+            return writer.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new JsonProcessingException("Failed to serialize object to JSON", e);
+        }
+    }
+
+    /**
+     * Converts an object into an instance of another class with the same JSON shape, e.g. a listed payment into the
+     * response of the call that created it.
+     *
+     * @param value     the Java object to be converted
+     * @param valueType the class of type T to which value is to be converted
+     * @param <T>       the type parameter indicating the type of the Java object to be returned
+     * @return an instance of {@code T} populated with the properties of {@code value}
+     * @throws JsonProcessingException if the conversion fails
+     */
+    public static <T> T convertValue(Object value, Class<T> valueType) {
+        try {
+            return objectMapper.convertValue(value, valueType);
+        } catch (Exception e) {
+            throw new JsonProcessingException("Failed to convert object to " + valueType.getSimpleName(), e);
+        }
+    }
+
+    private static ObjectWriter writerFor(Object value) {
+        ObjectWriter writer = value == null ? objectMapper.writer() : writers.get(value.getClass());
+        return prettyPrint ? writer.withDefaultPrettyPrinter() : writer;
+    }
 }
@@ -0,0 +1,135 @@
+package io.github.alejo2075.enzonasdk.circuitbreaker;
+
+import io.github.alejo2075.enzonasdk.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private final List<String> transitions = new ArrayList<>();
+
+    @Test
+    void opensOnceFailureRateReachesThreshold() throws Exception {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        fail(breaker, 2);
+        succeed(breaker, 1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(breaker, 1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+        assertEquals(1, breaker.getMetrics().getNotPermittedCalls());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void halfOpensAfterOpenDurationAndClosesWhenProbesSucceed() throws Exception {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(0);
+        breaker.acquirePermission();
+        breaker.onSuccess(0);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void reopensWhenProbesFail() throws Exception {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+
+        breaker.acquirePermission();
+        breaker.onFailure(0);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN"), transitions);
+    }
+
+    @Test
+    void rejectsCallsBeyondPermittedProbes() throws Exception {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void releasedProbeIsHandedToTheNextCall() throws Exception {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        breaker.releasePermission();
+        breaker.acquirePermission();
+
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+    }
+
+    @Test
+    void staysOpenUntilOpenDurationElapses() throws Exception {
+        CircuitBreaker breaker = opened(Duration.ofMinutes(1));
+
+        CircuitBreakerOpenException e = assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+        assertEquals("payments", e.getBreakerName());
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(30)) > 0);
+    }
+
+    @Test
+    void disabledBreakerPermitsEveryCall() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.disabled("payments");
+
+        fail(breaker, 10);
+
+        assertEquals(CircuitBreaker.State.DISABLED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().getBufferedCalls());
+    }
+
+    private CircuitBreaker breaker(Duration openDuration) {
+        CircuitBreaker breaker = CircuitBreaker.builder("payments")
+                .slidingWindowSize(4)
+                .minimumCalls(4)
+                .failureRateThreshold(50)
+                .openDuration(openDuration)
+                .permittedCallsInHalfOpen(2)
+                .build();
+        breaker.addListener((source, from, to) -> transitions.add(from + "->" + to));
+        return breaker;
+    }
+
+    private CircuitBreaker opened(Duration openDuration) throws Exception {
+        CircuitBreaker breaker = breaker(openDuration);
+        fail(breaker, 4);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static void fail(CircuitBreaker breaker, int calls) throws Exception {
+        for (int i = 0; i < calls; i++) {
+            breaker.acquirePermission();
+            breaker.onFailure(0);
+        }
+    }
+
+    private static void succeed(CircuitBreaker breaker, int calls) throws Exception {
+        for (int i = 0; i < calls; i++) {
+            breaker.acquirePermission();
+            breaker.onSuccess(0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchLookupTest {
+
+    private static final List<String> KEYS = List.of("a", "b", "c", "d", "e");
+
+    @Test
+    void everyKeyFailsWhenTheExecutorRejectsTheWorkers() {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("Saturated");
+        };
+        BatchLookup<String> lookup = new BatchLookup<>(key -> key, KEYS, 2, rejecting);
+
+        List<BatchResult<String>> results = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> lookup.stream().collect(Collectors.toList()));
+
+        assertEquals(Set.copyOf(KEYS), results.stream().map(BatchResult::getKey).collect(Collectors.toSet()));
+        assertTrue(results.stream().noneMatch(BatchResult::isSuccess));
+        assertTrue(results.get(0).getError().getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void keysLeftByAWorkerStoppedByAnErrorFail() {
+        Executor threads = task -> {
+            Thread thread = new Thread(task);
+            thread.setUncaughtExceptionHandler((t, e) -> { });
+            thread.start();
+        };
+        BatchLookup<String> lookup = new BatchLookup<>(key -> {
+            if (key.equals("b")) {
+                throw new StackOverflowError();
+            }
+            return key;
+        }, KEYS, 1, threads);
+
+        List<BatchResult<String>> results = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> lookup.stream().collect(Collectors.toList()));
+
+        assertEquals(KEYS, results.stream().map(BatchResult::getKey).collect(Collectors.toList()));
+        assertTrue(results.get(0).isSuccess());
+        for (BatchResult<String> result : results.subList(1, results.size())) {
+            assertFalse(result.isSuccess());
+            assertTrue(result.getError().getCause() instanceof StackOverflowError);
+        }
+    }
+
+    @Test
+    void publisherDeliversWithASingleThreadExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BatchLookup<String> lookup = new BatchLookup<>(key -> key, KEYS, 1, executor);
+            CompletableFuture<List<String>> delivered = new CompletableFuture<>();
+            lookup.publisher().subscribe(new Flow.Subscriber<>() {
+                private final List<String> values = new ArrayList<>();
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(BatchResult<String> item) {
+                    values.add(item.getValue());
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    delivered.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    delivered.complete(values);
+                }
+            });
+
+            assertEquals(KEYS, delivered.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
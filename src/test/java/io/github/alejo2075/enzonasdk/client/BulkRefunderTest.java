@@ -0,0 +1,150 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaHttpException;
+import io.github.alejo2075.enzonasdk.exception.EnzonaTimeoutException;
+import io.github.alejo2075.enzonasdk.model.request.RefundPaymentRequest;
+import io.github.alejo2075.enzonasdk.model.request.RefundsListRequest;
+import io.github.alejo2075.enzonasdk.model.response.RefundPaymentResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundsListResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkRefunderTest {
+
+    @TempDir
+    Path dir;
+
+    private final EnzonaClient client = EnzonaClient.builder("key", "secret").build();
+    private final StubPaymentApi api = new StubPaymentApi(client);
+
+    @AfterEach
+    void close() throws IOException {
+        client.close();
+    }
+
+    @Test
+    void resumedRunSkipsIssuedAndRejectedRefunds() throws Exception {
+        Path journal = dir.resolve("refunds.journal");
+        api.failures.put("tx-r2", new EnzonaHttpException(400, "refund", "Invalid amount".getBytes(StandardCharsets.UTF_8)));
+        refunder(journal).run(List.of(instruction("r1"), instruction("r2")));
+
+        BulkRefundProgress progress = refunder(journal).run(List.of(instruction("r1"), instruction("r2"), instruction("r3")));
+
+        assertEquals(List.of("tx-r1", "tx-r2", "tx-r3"), api.refunded);
+        assertEquals(1, progress.getSucceeded());
+        assertEquals(2, progress.getSkipped());
+    }
+
+    @Test
+    void refundInDoubtIsNotSentAgainOnResume() throws Exception {
+        Path journal = dir.resolve("refunds.journal");
+        api.failures.put("tx-r1", new EnzonaTimeoutException("refund", false, new SocketTimeoutException("Read timed out")));
+        BulkRefundProgress first = refunder(journal).run(List.of(instruction("r1")));
+        assertEquals(1, first.getInDoubt());
+        api.failures.clear();
+
+        BulkRefundProgress progress = refunder(journal).run(List.of(instruction("r1")));
+
+        assertEquals(List.of("tx-r1"), api.refunded);
+        assertEquals(1, progress.getInDoubt());
+        assertEquals(0, api.listings);
+    }
+
+    @Test
+    void startedRefundIsNotSentAgainOnResume() throws Exception {
+        Path journal = dir.resolve("refunds.journal");
+        try (RefundJournal crashed = RefundJournal.open(journal)) {
+            crashed.append(new RefundJournal.Entry("r1", "tx-r1", RefundJournal.Status.STARTED, null, false, null,
+                    System.currentTimeMillis()), true);
+        }
+
+        BulkRefundProgress progress = refunder(journal).run(List.of(instruction("r1"), instruction("r2")));
+
+        assertEquals(List.of("tx-r2"), api.refunded);
+        assertEquals(1, progress.getInDoubt());
+        assertEquals(1, progress.getSucceeded());
+    }
+
+    @Test
+    void operatorResendsRefundsInDoubt() throws Exception {
+        Path journal = dir.resolve("refunds.journal");
+        api.failures.put("tx-r1", new EnzonaTimeoutException("refund", false, new SocketTimeoutException("Read timed out")));
+        refunder(journal).run(List.of(instruction("r1")));
+        api.failures.clear();
+
+        BulkRefundProgress resent = refunder(journal).resendInDoubt(true).run(List.of(instruction("r1")));
+        BulkRefundProgress resumed = refunder(journal).run(List.of(instruction("r1")));
+
+        assertEquals(List.of("tx-r1", "tx-r1"), api.refunded);
+        assertEquals(1, resent.getSucceeded());
+        assertEquals(1, resumed.getSkipped());
+    }
+
+    @Test
+    void duplicateIdsAreRejectedBeforeAnyRefundIsSent() {
+        Path journal = dir.resolve("refunds.journal");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> refunder(journal).run(List.of(instruction("r1"), instruction("r2"), instruction("r1"))));
+
+        assertEquals(List.of(), api.refunded);
+    }
+
+    private BulkRefunder refunder(Path journal) {
+        return new BulkRefunder(api, journal, Runnable::run).parallelism(1);
+    }
+
+    private static RefundInstruction instruction(String id) {
+        RefundPaymentRequest request = new RefundPaymentRequest();
+        request.setCommerceRefundId(id);
+        return RefundInstruction.of("tx-" + id, request);
+    }
+
+    /**
+     * Records refunds instead of sending them, failing those of the payments in {@link #failures}.
+     */
+    private static final class StubPaymentApi extends PaymentApi {
+
+        private final List<String> refunded = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, EnzonaException> failures = new ConcurrentHashMap<>();
+        private int listings;
+
+        StubPaymentApi(EnzonaClient client) {
+            super(client);
+        }
+
+        @Override
+        public RefundPaymentResponse refundPayment(String transactionUuid, RefundPaymentRequest request)
+                throws EnzonaException {
+            refunded.add(transactionUuid);
+            EnzonaException failure = failures.get(transactionUuid);
+            if (failure != null) {
+                throw failure;
+            }
+            RefundPaymentResponse response = new RefundPaymentResponse();
+            response.setUuid("refund-" + request.getCommerceRefundId());
+            return response;
+        }
+
+        @Override
+        public RefundsListResponse getRefundsList(RefundsListRequest request) {
+            listings++;
+            return new RefundsListResponse();
+        }
+    }
+}
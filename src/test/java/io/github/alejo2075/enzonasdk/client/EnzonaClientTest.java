@@ -0,0 +1,34 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EnzonaClientTest {
+
+    @Test
+    void credentialConstructorsDoNotShareClients() throws IOException {
+        PaymentApi first = new PaymentApi("key", "secret");
+        PaymentApi second = new PaymentApi("key", "secret");
+        ClaimApi claims = new ClaimApi("key", "secret");
+
+        assertNotSame(first.getClient(), second.getClient());
+        assertNotSame(first.getClient(), claims.getClient());
+
+        first.getClient().close();
+
+        assertThrows(IllegalStateException.class, () -> transport(first.getClient()).get());
+        assertNotNull(transport(second.getClient()).get());
+        assertNotNull(transport(claims.getClient()).get());
+        second.getClient().close();
+        claims.getClient().close();
+    }
+
+    private static LazyHttpClient transport(EnzonaClient client) {
+        return (LazyHttpClient) client.getHttpClient();
+    }
+}
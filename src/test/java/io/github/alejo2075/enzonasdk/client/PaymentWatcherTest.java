@@ -0,0 +1,156 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import io.github.alejo2075.enzonasdk.model.response.PaymentDetailsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentWatcherTest {
+
+    private final ExecutorService callExecutor = Executors.newSingleThreadExecutor();
+    private final EnzonaClient client = EnzonaClient.builder("key", "secret").callExecutor(callExecutor).build();
+    private final StubPaymentApi api = new StubPaymentApi(client);
+    private PaymentWatcher watcher;
+
+    @AfterEach
+    void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+        client.close();
+        callExecutor.shutdownNow();
+    }
+
+    @Test
+    void watchEndsAtFinalStatus() throws Exception {
+        watcher = watcher(Duration.ofMinutes(1));
+
+        PaymentDetailsResponse details = watcher.watch("tx-1").get(5, TimeUnit.SECONDS);
+
+        assertEquals("1111", details.getStatusCode());
+    }
+
+    @Test
+    void watchFailsOnceTheExecutorIsShutDown() throws Exception {
+        watcher = watcher(Duration.ofMinutes(1));
+        callExecutor.shutdown();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> watcher.watch("tx-1").get(5, TimeUnit.SECONDS));
+
+        assertTrue(e.getCause() instanceof EnzonaException);
+        assertEquals(0, api.polls.get());
+    }
+
+    @Test
+    void rejectedPollIsDeferredToTheNextTick() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicInteger rejections = new AtomicInteger(3);
+        try (EnzonaClient saturated = EnzonaClient.builder("key", "secret")
+                .callExecutor(new RejectingExecutor(pool, rejections))
+                .build()) {
+            StubPaymentApi saturatedApi = new StubPaymentApi(saturated);
+            watcher = PaymentWatcher.builder(saturatedApi)
+                    .tickDuration(Duration.ofMillis(10))
+                    .timeout(Duration.ofMinutes(1))
+                    .build();
+
+            PaymentDetailsResponse details = watcher.watch("tx-1").get(5, TimeUnit.SECONDS);
+
+            assertEquals("1111", details.getStatusCode());
+            assertEquals(0, rejections.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private PaymentWatcher watcher(Duration timeout) {
+        return PaymentWatcher.builder(api)
+                .tickDuration(Duration.ofMillis(10))
+                .timeout(timeout)
+                .build();
+    }
+
+    /**
+     * Answers every poll with a payment in a final status.
+     */
+    private static final class StubPaymentApi extends PaymentApi {
+
+        private final AtomicInteger polls = new AtomicInteger();
+
+        StubPaymentApi(EnzonaClient client) {
+            super(client);
+        }
+
+        @Override
+        public PaymentDetailsResponse getPaymentDetails(String transactionUuid) {
+            polls.incrementAndGet();
+            PaymentDetailsResponse details = new PaymentDetailsResponse();
+            details.setTransactionUuid(transactionUuid);
+            details.setStatusCode("1111");
+            return details;
+        }
+    }
+
+    /**
+     * Rejects the first tasks it is given, as a saturated bounded pool would.
+     */
+    private static final class RejectingExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final AtomicInteger rejections;
+
+        RejectingExecutor(ExecutorService delegate, AtomicInteger rejections) {
+            this.delegate = delegate;
+            this.rejections = rejections;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (rejections.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new RejectedExecutionException("Saturated");
+            }
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefundJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumedJournalHoldsTheLatestEntryOfEveryRefund() throws IOException {
+        Path path = dir.resolve("refunds.journal");
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            journal.append(entry("r1", RefundJournal.Status.STARTED, null), true);
+            journal.append(entry("r2", RefundJournal.Status.STARTED, null), true);
+            journal.append(entry("r1", RefundJournal.Status.SUCCEEDED, "refund-1"), false);
+        }
+
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            assertEquals(RefundJournal.Status.SUCCEEDED, journal.latest("r1").getStatus());
+            assertEquals("refund-1", journal.latest("r1").getRefundUuid());
+            assertEquals(RefundJournal.Status.STARTED, journal.latest("r2").getStatus());
+            assertNull(journal.latest("r3"));
+        }
+    }
+
+    @Test
+    void tornLastLineIsIgnoredAndReplacedByTheNextEntry() throws IOException {
+        Path path = dir.resolve("refunds.journal");
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            journal.append(entry("r1", RefundJournal.Status.STARTED, null), true);
+        }
+        Files.write(path, "{\"id\":\"r2\",\"transactionUuid\":\"tx".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            assertEquals(RefundJournal.Status.STARTED, journal.latest("r1").getStatus());
+            assertNull(journal.latest("r2"));
+            journal.append(entry("r3", RefundJournal.Status.STARTED, null), true);
+        }
+
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            assertEquals(RefundJournal.Status.STARTED, journal.latest("r1").getStatus());
+            assertEquals(RefundJournal.Status.STARTED, journal.latest("r3").getStatus());
+        }
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"r3\""));
+    }
+
+    @Test
+    void completeLastLineWithoutNewlineIsKept() throws IOException {
+        Path path = dir.resolve("refunds.journal");
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            journal.append(entry("r1", RefundJournal.Status.STARTED, null), true);
+        }
+        byte[] content = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(content, content.length - 1));
+
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            assertEquals(RefundJournal.Status.STARTED, journal.latest("r1").getStatus());
+            journal.append(entry("r2", RefundJournal.Status.STARTED, null), true);
+        }
+
+        try (RefundJournal journal = RefundJournal.open(path)) {
+            assertEquals(RefundJournal.Status.STARTED, journal.latest("r1").getStatus());
+            assertEquals(RefundJournal.Status.STARTED, journal.latest("r2").getStatus());
+        }
+    }
+
+    @Test
+    void malformedLineBeforeTheLastIsRejected() throws IOException {
+        Path path = dir.resolve("refunds.journal");
+        Files.write(path, List.of("not json", "{\"id\":\"r1\",\"status\":\"STARTED\"}"), StandardCharsets.UTF_8);
+
+        IOException e = assertThrows(IOException.class, () -> RefundJournal.open(path));
+
+        assertTrue(e.getMessage().endsWith(path + ":1"));
+    }
+
+    private static RefundJournal.Entry entry(String id, RefundJournal.Status status, String refundUuid) {
+        return new RefundJournal.Entry(id, "tx-" + id, status, refundUuid, false, null, System.currentTimeMillis());
+    }
+}
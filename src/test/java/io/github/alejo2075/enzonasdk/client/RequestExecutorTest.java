@@ -0,0 +1,323 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.alejo2075.enzonasdk.exception.EnzonaTimeoutException;
+import io.github.alejo2075.enzonasdk.instrumentation.Instrumentation;
+import io.github.alejo2075.enzonasdk.retry.RetryBudget;
+import io.github.alejo2075.enzonasdk.retry.RetryPolicy;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestExecutorTest {
+
+    private static final String URL = "https://api.enzona.net/payment/v1.0.0/payments";
+
+    private final RequestExecutor executor = new RequestExecutor(null, Map.of(), Map.of(), Map.of(),
+            RetryPolicy.builder()
+                    .maxAttempts(3)
+                    .initialBackoff(Duration.ZERO)
+                    .jitter(0)
+                    .budget(RetryBudget.unlimited())
+                    .build(),
+            Instrumentation.noop());
+
+    @Test
+    void mutationThatCouldNotConnectIsSentAgain() throws Exception {
+        StubHttpClient http = new StubHttpClient(new ConnectException("Connection refused"), 200);
+
+        int status = executor.execute(http, null, EndpointFamily.PAYMENTS, "createPayment", new HttpPost(URL), false,
+                response -> response.getStatusLine().getStatusCode());
+
+        assertEquals(200, status);
+        assertEquals(2, http.calls);
+    }
+
+    @Test
+    void poolTimeoutIsNotRetriedEvenWhenIdempotent() {
+        StubHttpClient http = new StubHttpClient(new ConnectionPoolTimeoutException("Timeout waiting for connection"), 200);
+
+        EnzonaTimeoutException e = assertThrows(EnzonaTimeoutException.class, () -> executor.execute(http, null,
+                EndpointFamily.PAYMENTS, "getPaymentDetails", new HttpGet(URL), true,
+                response -> response.getStatusLine().getStatusCode()));
+
+        assertTrue(e.isRetryable());
+        assertEquals(1, http.calls);
+    }
+
+    @Test
+    void idempotentReadTimeoutIsSentAgain() throws Exception {
+        StubHttpClient http = new StubHttpClient(new SocketTimeoutException("Read timed out"), 200);
+
+        int status = executor.execute(http, null, EndpointFamily.PAYMENTS, "getPaymentDetails", new HttpGet(URL), true,
+                response -> response.getStatusLine().getStatusCode());
+
+        assertEquals(200, status);
+        assertEquals(2, http.calls);
+    }
+
+    @Test
+    void mutationReadTimeoutIsAmbiguousAndNotSentAgain() {
+        StubHttpClient http = new StubHttpClient(new SocketTimeoutException("Read timed out"), 200);
+
+        EnzonaTimeoutException e = assertThrows(EnzonaTimeoutException.class, () -> executor.execute(http, null,
+                EndpointFamily.PAYMENTS, "completePayment", new HttpPost(URL), false,
+                response -> response.getStatusLine().getStatusCode()));
+
+        assertFalse(e.isRetryable());
+        assertEquals(1, http.calls);
+    }
+
+    @Test
+    void ambiguousMutationReturnsTheOutcomeFoundByTheLookup() throws Exception {
+        StubHttpClient http = new StubHttpClient(new SocketTimeoutException("Read timed out"), 200);
+        AtomicInteger lookups = new AtomicInteger();
+
+        int status = executor.execute(http, null, EndpointFamily.PAYMENTS, "createPayment", new HttpPost(URL),
+                () -> {
+                    lookups.incrementAndGet();
+                    return 201;
+                },
+                response -> response.getStatusLine().getStatusCode());
+
+        assertEquals(201, status);
+        assertEquals(1, lookups.get());
+        assertEquals(1, http.calls);
+    }
+
+    @Test
+    void ambiguousMutationWithoutEffectIsSentAgain() throws Exception {
+        StubHttpClient http = new StubHttpClient(503, 200);
+        AtomicInteger lookups = new AtomicInteger();
+
+        int status = executor.execute(http, null, EndpointFamily.PAYMENTS, "createPayment", new HttpPost(URL),
+                () -> {
+                    lookups.incrementAndGet();
+                    return null;
+                },
+                response -> response.getStatusLine().getStatusCode());
+
+        assertEquals(200, status);
+        assertEquals(1, lookups.get());
+        assertEquals(2, http.calls);
+    }
+
+    @Test
+    void mutationServerErrorIsReturnedWithoutLookup() throws Exception {
+        StubHttpClient http = new StubHttpClient(503, 200);
+
+        int status = executor.execute(http, null, EndpointFamily.PAYMENTS, "completePayment", new HttpPost(URL), false,
+                response -> response.getStatusLine().getStatusCode());
+
+        assertEquals(503, status);
+        assertEquals(1, http.calls);
+    }
+
+    @Test
+    void throttledMutationIsSentAgain() throws Exception {
+        StubHttpClient http = new StubHttpClient(429, 200);
+
+        int status = executor.execute(http, null, EndpointFamily.PAYMENTS, "completePayment", new HttpPost(URL), false,
+                response -> response.getStatusLine().getStatusCode());
+
+        assertEquals(200, status);
+        assertEquals(2, http.calls);
+    }
+
+    @Test
+    void lastAttemptReturnsTheRetryableStatus() throws Exception {
+        StubHttpClient http = new StubHttpClient(503, 503, 503, 200);
+
+        int status = executor.execute(http, null, EndpointFamily.PAYMENTS, "getPaymentDetails", new HttpGet(URL), true,
+                response -> response.getStatusLine().getStatusCode());
+
+        assertEquals(503, status);
+        assertEquals(3, http.calls);
+    }
+
+    @Test
+    void requestWithoutAuthClientIsSentAsItIs() throws Exception {
+        StubHttpClient http = new StubHttpClient(200);
+        HttpGet request = new HttpGet(URL);
+
+        executor.execute(http, null, EndpointFamily.PAYMENTS, "getPaymentDetails", request, true,
+                response -> response.getStatusLine().getStatusCode());
+
+        assertNull(request.getFirstHeader("Authorization"));
+    }
+
+    @Test
+    void ambiguousAsyncMutationReturnsTheOutcomeFoundByTheLookup() throws Exception {
+        try (StubServer server = new StubServer(503, 200)) {
+            AtomicInteger lookups = new AtomicInteger();
+
+            int status = sendAsync(server, () -> {
+                lookups.incrementAndGet();
+                return CompletableFuture.completedFuture(201);
+            });
+
+            assertEquals(201, status);
+            assertEquals(1, lookups.get());
+            assertEquals(1, server.calls.get());
+        }
+    }
+
+    @Test
+    void ambiguousAsyncMutationWithoutEffectIsSentAgain() throws Exception {
+        try (StubServer server = new StubServer(503, 200)) {
+            AtomicInteger lookups = new AtomicInteger();
+
+            int status = sendAsync(server, () -> {
+                lookups.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            });
+
+            assertEquals(200, status);
+            assertEquals(1, lookups.get());
+            assertEquals(2, server.calls.get());
+        }
+    }
+
+    @Test
+    void asyncMutationServerErrorIsReturnedWithoutLookup() throws Exception {
+        try (StubServer server = new StubServer(503, 200)) {
+            int status = sendAsync(server, null);
+
+            assertEquals(503, status);
+            assertEquals(1, server.calls.get());
+        }
+    }
+
+    private int sendAsync(StubServer server, RequestExecutor.AsyncOutcomeLookup<Integer> lookup) throws Exception {
+        return executor.sendAsync(java.net.http.HttpClient.newHttpClient(), new StubAuthClient(), EndpointFamily.PAYMENTS,
+                        "createPayment", java.net.http.HttpRequest.newBuilder(server.uri())
+                                .POST(java.net.http.HttpRequest.BodyPublishers.noBody()),
+                        Duration.ofSeconds(5), false, lookup, java.net.http.HttpResponse::statusCode, Runnable::run)
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Answers each request with the next status code.
+     */
+    private static final class StubServer implements AutoCloseable {
+
+        private final HttpServer server;
+        private final Deque<Integer> statusCodes;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubServer(Integer... statusCodes) throws IOException {
+            this.statusCodes = new ConcurrentLinkedDeque<>(Arrays.asList(statusCodes));
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", exchange -> {
+                calls.incrementAndGet();
+                exchange.sendResponseHeaders(this.statusCodes.removeFirst(), -1);
+                exchange.close();
+            });
+            server.start();
+        }
+
+        URI uri() {
+            return URI.create("http://localhost:" + server.getAddress().getPort() + "/payments");
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+
+    private static final class StubAuthClient extends AuthClient {
+
+        StubAuthClient() {
+            super("key", "secret");
+        }
+
+        @Override
+        public CompletableFuture<String> getAccessTokenAsync() {
+            return CompletableFuture.completedFuture("token");
+        }
+    }
+
+    /**
+     * Answers each request with the next status code, or fails it with the next exception.
+     */
+    private static final class StubHttpClient extends CloseableHttpClient {
+
+        private final Deque<Object> outcomes;
+        private int calls;
+
+        StubHttpClient(Object... outcomes) {
+            this.outcomes = new ArrayDeque<>(Arrays.asList(outcomes));
+        }
+
+        @Override
+        protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+                throws IOException {
+            calls++;
+            Object outcome = outcomes.removeFirst();
+            if (outcome instanceof IOException) {
+                throw (IOException) outcome;
+            }
+            return new StubResponse((Integer) outcome);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        @Deprecated
+        public HttpParams getParams() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @Deprecated
+        public ClientConnectionManager getConnectionManager() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class StubResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        StubResponse(int statusCode) {
+            super(HttpVersion.HTTP_1_1, statusCode, null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
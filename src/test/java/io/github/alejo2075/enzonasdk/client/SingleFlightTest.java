@@ -0,0 +1,163 @@
+package io.github.alejo2075.enzonasdk.client;
+
+import io.github.alejo2075.enzonasdk.exception.EnzonaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 3;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareTheResult() throws Exception {
+        List<Future<String>> results = coalesce(() -> "details");
+
+        for (Future<String> result : results) {
+            assertEquals("details", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(FOLLOWERS, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    void ioExceptionReachesEveryCaller() throws Exception {
+        IOException failure = new SocketTimeoutException("Read timed out");
+
+        List<Future<String>> results = coalesce(() -> {
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            assertSame(failure, cause(result));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void enzonaExceptionReachesEveryCaller() throws Exception {
+        EnzonaException failure = new EnzonaException("Payment not found");
+
+        List<Future<String>> results = coalesce(() -> {
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            assertSame(failure, cause(result));
+        }
+    }
+
+    @Test
+    void runtimeExceptionReachesEveryCaller() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Connection pool shut down");
+
+        List<Future<String>> results = coalesce(() -> {
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            assertSame(failure, cause(result));
+        }
+    }
+
+    @Test
+    void failureIsNotRememberedForLaterCalls() throws Exception {
+        assertThrows(IOException.class, () -> singleFlight.execute("key", String.class, () -> {
+            throw new IOException("Connection reset");
+        }));
+
+        assertEquals("details", singleFlight.execute("key", String.class, () -> "details"));
+    }
+
+    @Test
+    void interruptedFollowerStopsWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> singleFlight.execute("key", String.class, () -> {
+            started.countDown();
+            await(release);
+            return "details";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Thread.currentThread().interrupt();
+        EnzonaException e = assertThrows(EnzonaException.class,
+                () -> singleFlight.execute("key", String.class, () -> "not sent"));
+
+        assertTrue(Thread.interrupted());
+        assertTrue(e.getCause() instanceof InterruptedException);
+        release.countDown();
+    }
+
+    /**
+     * Starts a call that completes through {@code outcome} only once {@link #FOLLOWERS} further callers joined it.
+     *
+     * @return the results of the leader and the followers.
+     */
+    private List<Future<String>> coalesce(SingleFlight.Call<String> outcome) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("key", String.class, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return outcome.call();
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", String.class, () -> {
+                calls.incrementAndGet();
+                return "not coalesced";
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalescedCount() < FOLLOWERS && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) throws EnzonaException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new EnzonaException("Interrupted", e);
+        }
+    }
+
+    private static Throwable cause(Future<?> result) throws Exception {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("Call succeeded");
+    }
+}
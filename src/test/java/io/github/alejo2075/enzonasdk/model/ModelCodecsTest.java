@@ -0,0 +1,104 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.alejo2075.enzonasdk.model.request.CreatePaymentRequest;
+import io.github.alejo2075.enzonasdk.model.response.CompletePaymentResponse;
+import io.github.alejo2075.enzonasdk.model.response.CreatePaymentResponse;
+import io.github.alejo2075.enzonasdk.model.response.ListRefundsResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentDetailsResponse;
+import io.github.alejo2075.enzonasdk.model.response.PaymentsListResponse;
+import io.github.alejo2075.enzonasdk.model.response.RefundsListResponse;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ModelCodecsTest {
+
+    private static final String AMOUNT = "{\"total\":25.97,\"details\":{\"shipping\":5.00,\"tax\":1.25,"
+            + "\"discount\":0.5,\"tip\":0,\"totalRefunded\":3.10,\"refunded\":1.005}}";
+
+    private static final String ITEMS = "[{\"quantity\":2,\"price\":9.86,\"name\":\"Product 1\","
+            + "\"description\":\"First product\",\"tax\":0.25},{\"name\":\"Product 2\",\"price\":\"1.5\"}]";
+
+    private static final String LINKS = "[{\"method\":\"REDIRECT\",\"rel\":\"confirm\","
+            + "\"href\":\"https://www.enzona.net/checkout/login/4e5a4f4e\"},{\"rel\":\"self\"}]";
+
+    private static final String PAYMENT = "{\"transactionUuid\":\"4e5a4f4e-4100-03e8-0000-000000000000\","
+            + "\"statusCode\":\"1116\",\"statusDenom\":\"Pendiente\",\"createdAt\":\"2024-03-01T10:15:30\","
+            + "\"updateAt\":\"2024-03-01T10:16:00\",\"description\":\"Order \\\"#1000001\\\" \\u00e9\","
+            + "\"currency\":\"CUP\",\"merchantOpId\":123456789012,\"merchantUuid\":\"m-1\","
+            + "\"invoiceNumber\":1000001,\"terminalId\":12,\"amount\":" + AMOUNT + ",\"items\":" + ITEMS
+            + ",\"links\":" + LINKS + ",\"unknown\":{\"nested\":[1,2,{\"deep\":true}]}}";
+
+    private static final String REFUND = "{\"transactionCode\":7,\"transactionUuid\":\"r-1\",\"statusCode\":\"1111\","
+            + "\"statusDenom\":\"Confirmada\",\"transactionSignature\":\"sig\",\"transactionDenom\":\"Devolucion\","
+            + "\"avatar\":null,\"transactionDescription\":\"Refund\",\"transactionUpdatedAt\":\"2024-03-02\","
+            + "\"transactionCreatedAt\":\"2024-03-01\",\"lastname\":\"Perez\",\"name\":\"Ana\",\"username\":\"ana\","
+            + "\"currency\":\"CUP\",\"invoiceNumber\":\"42\",\"terminalId\":3,\"amount\":" + AMOUNT + ",\"items\":"
+            + ITEMS + ",\"unknown\":[]}";
+
+    private static final ObjectMapper CODECS = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModule(ModelCodecs.module());
+
+    private static final ObjectMapper REFLECTION = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final ObjectMapper TREES = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    static Stream<Arguments> documents() {
+        return Stream.of(
+                Arguments.of(Amount.class, AMOUNT),
+                Arguments.of(Amount.class, "{\"total\":null}"),
+                Arguments.of(Item.class, "{\"quantity\":1,\"price\":12.345,\"name\":null}"),
+                Arguments.of(Link.class, "{\"method\":\"GET\",\"rel\":\"self\",\"href\":\"https://example.com\"}"),
+                Arguments.of(CreatePaymentRequest.class, PAYMENT),
+                Arguments.of(CreatePaymentResponse.class, PAYMENT),
+                Arguments.of(PaymentDetailsResponse.class, PAYMENT),
+                Arguments.of(CompletePaymentResponse.class, PAYMENT),
+                Arguments.of(PaymentsListResponse.Payment.class, PAYMENT),
+                Arguments.of(PaymentsListResponse.class, "{\"payments\":[" + PAYMENT + ",{}],\"totalCount\":2}"),
+                Arguments.of(RefundsListResponse.Refund.class, REFUND),
+                Arguments.of(RefundsListResponse.class, "{\"refunds\":[" + REFUND + ",{}]}"),
+                Arguments.of(ListRefundsResponse.Refund.class, REFUND),
+                Arguments.of(ListRefundsResponse.class, "{\"refunds\":[" + REFUND + "]}"),
+                Arguments.of(PaymentsListResponse.class, "{\"payments\":null}"),
+                Arguments.of(PaymentDetailsResponse.class, "{}"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("documents")
+    void codecsReadLikeReflection(Class<?> type, String json) throws Exception {
+        Object byCodecs = CODECS.readValue(json, type);
+        Object byReflection = REFLECTION.readValue(json, type);
+
+        assertEquals(tree(REFLECTION.writeValueAsString(byReflection)), tree(REFLECTION.writeValueAsString(byCodecs)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("documents")
+    void codecsWriteLikeReflection(Class<?> type, String json) throws Exception {
+        Object value = REFLECTION.readValue(json, type);
+
+        assertEquals(tree(REFLECTION.writeValueAsString(value)), tree(CODECS.writeValueAsString(value)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("documents")
+    void codecsRoundTrip(Class<?> type, String json) throws Exception {
+        String written = CODECS.writeValueAsString(CODECS.readValue(json, type));
+
+        assertEquals(tree(written), tree(CODECS.writeValueAsString(CODECS.readValue(written, type))));
+    }
+
+    private static JsonNode tree(String json) throws Exception {
+        return TREES.readTree(json);
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.alejo2075.enzonasdk.model;
+
+import io.github.alejo2075.enzonasdk.util.JsonUtil;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void parsesDecimalAmounts() {
+        assertEquals(1250, Money.of("12.5").getMinorUnits());
+        assertEquals(1250, Money.of("12.50").getMinorUnits());
+        assertEquals(1200, Money.of("12").getMinorUnits());
+        assertEquals(-25, Money.of("-0.25").getMinorUnits());
+        assertEquals(1250, Money.of("12.500").getMinorUnits());
+        assertSame(Money.ZERO, Money.of("0.00"));
+    }
+
+    @Test
+    void rejectsInvalidAmounts() {
+        assertThrows(NumberFormatException.class, () -> Money.of("12,50"));
+        assertThrows(ArithmeticException.class, () -> Money.of("92233720368547758.08"));
+        assertThrows(NumberFormatException.class, () -> Money.toMinorUnits(Double.NaN));
+    }
+
+    @Test
+    void formatsWithTwoDecimalPlaces() {
+        assertEquals("12.50", Money.ofMinorUnits(1250).toString());
+        assertEquals("0.05", Money.ofMinorUnits(5).toString());
+        assertEquals("-0.05", Money.ofMinorUnits(-5).toString());
+        assertEquals("-12.30", Money.ofMinorUnits(-1230).toString());
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("92233720368547758.07", Money.ofMinorUnits(Long.MAX_VALUE).toString());
+    }
+
+    @Test
+    void formatAndParseRoundTrip() {
+        for (long minorUnits : new long[]{0, 1, 9, 10, 99, 100, 101, 1999, -1, -100, 123456789}) {
+            Money money = Money.ofMinorUnits(minorUnits);
+            assertEquals(money, Money.of(money.toString()));
+            assertEquals(money.toBigDecimal(), new BigDecimal(money.toString()));
+        }
+    }
+
+    @Test
+    void readsJsonAmountsExactly() {
+        assertEquals(Money.of("0.30"), JsonUtil.fromJson("{\"total\":0.3}", Amount.class).getTotalMoney());
+        assertEquals(Money.of("25.97"), JsonUtil.fromJson("{\"total\":25.97}", Amount.class).getTotalMoney());
+        assertEquals(Money.of("7.00"), JsonUtil.fromJson("{\"total\":7}", Amount.class).getTotalMoney());
+        assertEquals(Money.of("7.25"), JsonUtil.fromJson("{\"total\":\"7.25\"}", Amount.class).getTotalMoney());
+        assertEquals(Money.of("120.00"), JsonUtil.fromJson("{\"total\":1.2E2}", Amount.class).getTotalMoney());
+        assertEquals(Money.ZERO, JsonUtil.fromJson("{\"total\":null}", Amount.class).getTotalMoney());
+    }
+
+    @Test
+    void roundsJsonAmountsHalfUp() {
+        assertEquals(Money.of("12.35"), JsonUtil.fromJson("{\"total\":12.345}", Amount.class).getTotalMoney());
+        assertEquals(Money.of("12.36"), JsonUtil.fromJson("{\"total\":12.355}", Amount.class).getTotalMoney());
+        assertEquals(Money.of("12.34"), JsonUtil.fromJson("{\"total\":12.3449}", Amount.class).getTotalMoney());
+        assertEquals(Money.of("-12.35"), JsonUtil.fromJson("{\"total\":-12.345}", Amount.class).getTotalMoney());
+    }
+
+    @Test
+    void everyEntryPointRoundsAlike() {
+        for (String decimal : new String[]{"1.005", "0.125", "-0.125", "2.675"}) {
+            long expected = new BigDecimal(decimal).setScale(Money.SCALE, Money.ROUNDING).unscaledValue().longValueExact();
+            double value = Double.parseDouble(decimal);
+
+            assertEquals(expected, Money.of(decimal).getMinorUnits(), decimal);
+            assertEquals(expected, Money.of(new BigDecimal(decimal)).getMinorUnits(), decimal);
+            assertEquals(expected, Money.toMinorUnits(value), decimal);
+            assertEquals(expected, Amount.builder().total(value).build().getTotalMoney().getMinorUnits(), decimal);
+            assertEquals(expected, JsonUtil.fromJson("{\"total\":" + decimal + "}", Amount.class).getTotalMoney().getMinorUnits(), decimal);
+            assertEquals(expected, JsonUtil.fromJson("{\"total\":\"" + decimal + "\"}", Amount.class).getTotalMoney().getMinorUnits(), decimal);
+        }
+        assertEquals(101, Money.toMinorUnits(1.005));
+        assertEquals(13, Money.toMinorUnits(0.125));
+    }
+
+    @Test
+    void writesJsonAmountsWithTwoDecimalPlaces() {
+        String json = JsonUtil.toJson(Amount.builder().total(Money.of("12.5")).build());
+
+        assertTrue(json.contains("\"total\":12.50"), json);
+    }
+
+    @Test
+    void roundsDoublesHalfUp() {
+        assertEquals(13, Money.toMinorUnits(0.125));
+        assertEquals(30, Money.toMinorUnits(0.1 + 0.2));
+        assertEquals(2597, Money.toMinorUnits(25.97));
+        assertEquals(12.5, Money.ofMinorUnits(1250).doubleValue());
+    }
+
+    @Test
+    void arithmeticIsExactAndChecked() {
+        assertEquals(Money.of("0.30"), Money.of("0.10").plus(Money.of("0.20")));
+        assertEquals(Money.of("-0.10"), Money.of("0.10").minus(Money.of("0.20")));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinorUnits(Long.MAX_VALUE).plus(Money.ofMinorUnits(1)));
+        assertTrue(Money.of("1.00").compareTo(Money.of("0.99")) > 0);
+    }
+}